@@ -1,17 +1,127 @@
 package com.banking;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import com.banking.config.database.DatabaseConnectionManager;
+import com.banking.config.server.ServerLoadEnv;
+import com.banking.dao.AccountDao;
+import com.banking.dao.impl.AccountDaoImpl;
+import com.banking.dao.impl.InstrumentedAccountDao;
+import com.banking.dao.transaction.DataSourceTransactionManager;
+import com.banking.events.dao.AccountCreationEventDao;
+import com.banking.events.dao.impl.AccountCreationEventDaoImpl;
+import com.banking.grpc.AccountGrpcService;
+import com.banking.grpc.GrpcServer;
+import com.banking.grpc.MetricsServerInterceptor;
+import com.banking.id.AccountNumberGenerator;
+import com.banking.id.SnowflakeIdGenerator;
+import com.banking.idempotency.IdempotencyGuard;
+import com.banking.idempotency.PersistentIdempotencyGuard;
+import com.banking.idempotency.dao.impl.IdempotencyKeyDaoImpl;
+import com.banking.ledger.Ledger;
+import com.banking.ledger.OptimisticLedger;
+import com.banking.ledger.ShardedLedger;
+import com.banking.observability.MetricsHttpServer;
+import com.banking.observability.MetricsRegistry;
+import com.banking.outbox.GroupCommitOutboxWriter;
+import com.banking.outbox.OutboxWriter;
+import com.banking.outbox.TransactionalOutboxWriter;
+import com.banking.registry.service.impl.CuratorZooKeeperClient;
+import com.banking.service.AccountService;
+import com.banking.service.impl.AccountServiceImpl;
+import com.banking.service.impl.InstrumentedAccountService;
+import com.banking.workerid.service.WorkerIdLease;
+import com.banking.workerid.service.impl.CuratorWorkerIdLease;
+import com.banking.workerid.service.impl.StaticWorkerIdLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.util.List;
+
+/**
+ * Starts the banking gRPC server against the configured PostgreSQL database.
+ */
 public class Main {
-    public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
-
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+    private static final Logger logger = LoggerFactory.getLogger(Main.class);
+
+    private static final String WORKER_ID_PATH = "/worker-ids";
+
+    public static void main(String[] args) throws Exception {
+        ServerLoadEnv config = new ServerLoadEnv();
+
+        DatabaseConnectionManager connectionManager = DatabaseConnectionManager.getInstance();
+        DataSourceTransactionManager transactionManager =
+                new DataSourceTransactionManager(connectionManager.getDataSource());
+        AccountDao accountDao = new InstrumentedAccountDao(new AccountDaoImpl(transactionManager));
+        AccountCreationEventDao eventDao = new AccountCreationEventDaoImpl(transactionManager);
+
+        OutboxWriter outboxWriter = switch (config.getAccountWriteMode()) {
+            case GROUP_COMMIT -> new GroupCommitOutboxWriter(transactionManager, accountDao, eventDao);
+            case TRANSACTIONAL -> new TransactionalOutboxWriter(transactionManager, accountDao, eventDao);
+        };
+        Ledger ledger = switch (config.getLedgerMode()) {
+            case SHARDED -> new ShardedLedger(accountDao);
+            case OPTIMISTIC -> new OptimisticLedger(accountDao);
+        };
+        // Account numbers embed a worker ID that must be unique across the nodes of a deployment
+        CuratorZooKeeperClient zooKeeperClient = config.getZookeeperConnect().isEmpty()
+                ? null : new CuratorZooKeeperClient(config.getZookeeperConnect());
+        WorkerIdLease workerIdLease;
+        if (zooKeeperClient == null) {
+            logger.warn("ZOOKEEPER_CONNECT not set; using WORKER_ID {} for account numbers", config.getWorkerId());
+            workerIdLease = new StaticWorkerIdLease(config.getWorkerId());
+        } else {
+            workerIdLease = new CuratorWorkerIdLease(zooKeeperClient.getClient(), WORKER_ID_PATH,
+                    SnowflakeIdGenerator.MAX_WORKER_ID + 1,
+                    InetAddress.getLocalHost().getHostName() + ":" + config.getPort());
+        }
+        workerIdLease.acquire();
+        AccountNumberGenerator accountNumberGenerator =
+                new AccountNumberGenerator(new SnowflakeIdGenerator(workerIdLease));
+
+        AccountService accountService = new InstrumentedAccountService(
+                new AccountServiceImpl(outboxWriter, ledger, accountNumberGenerator));
+        IdempotencyGuard idempotencyGuard =
+                new PersistentIdempotencyGuard(new IdempotencyKeyDaoImpl(transactionManager));
+
+        GrpcServer server = new GrpcServer(
+                config.getPort(),
+                config.getExecutorType(),
+                config.getThreads(),
+                config.getShutdownTimeoutSeconds(),
+                List.of(new AccountGrpcService(accountService, idempotencyGuard)),
+                List.of(new MetricsServerInterceptor()));
+        MetricsHttpServer metricsServer = config.getMetricsPort() == 0
+                ? null : new MetricsHttpServer(config.getMetricsPort(), MetricsRegistry.INSTANCE);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // Stop taking calls first, then drain pending writes before the pool goes away
+            server.stop();
+            idempotencyGuard.close();
+            outboxWriter.close();
+            ledger.close();
+            closeQuietly(workerIdLease);
+            if (zooKeeperClient != null) {
+                zooKeeperClient.close();
+            }
+            DatabaseConnectionManager.shutdown();
+            if (metricsServer != null) {
+                metricsServer.close();
+            }
+            logger.info("Shutdown complete");
+        }, "shutdown"));
+
+        if (metricsServer != null) {
+            metricsServer.start();
+        }
+        server.start();
+        server.blockUntilShutdown();
+    }
+
+    private static void closeQuietly(WorkerIdLease workerIdLease) {
+        try {
+            workerIdLease.close();
+        } catch (Exception e) {
+            logger.warn("Error releasing worker ID lease", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.banking.cache;
+
+/**
+ * Point-in-time counters of a cache. Evictions include entries dropped because they expired.
+ */
+public record CacheStats(long hits, long misses, long evictions) {
+
+    public long requests() {
+        return hits + misses;
+    }
+
+    public double hitRate() {
+        long requests = requests();
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,192 @@
+package com.banking.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache with least-recently-used eviction and expiry after write.
+ * Keys are spread over independently locked segments, each an access-ordered {@link LinkedHashMap},
+ * so eviction is LRU within a segment and readers of different segments do not contend.
+ * <p>
+ * A value loaded from elsewhere can be installed with {@link #putIfUnchanged}, which drops it if the key's
+ * segment was written or invalidated while the value was being loaded.
+ */
+public class LruCache<K, V> {
+    private static final int MAX_SEGMENTS = 16;
+    /** Small caches keep a single segment so that eviction order stays close to global LRU. */
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private final Segment<K, V>[] segments;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param ttl how long an entry stays valid after it was written; zero or less disables expiry
+     */
+    public LruCache(int maximumSize, long ttl, TimeUnit unit) {
+        this(maximumSize, ttl, unit, System::nanoTime);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    LruCache(int maximumSize, long ttl, TimeUnit unit, LongSupplier clock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maximumSize / MIN_SEGMENT_CAPACITY)));
+        int segmentCapacity = (maximumSize + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentCapacity, evictions);
+        }
+        this.ttlNanos = ttl > 0 ? unit.toNanos(ttl) : Long.MAX_VALUE;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the cached value, or {@code null} if absent or expired
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = clock.getAsLong();
+        segment.lock.lock();
+        try {
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null && now - entry.writtenAt < ttlNanos) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                segment.map.remove(key);
+                evictions.increment();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        Entry<V> entry = new Entry<>(value, clock.getAsLong());
+        segment.lock.lock();
+        try {
+            segment.generation++;
+            segment.map.put(key, entry);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the token to pass to {@link #putIfUnchanged}; read it before loading the value
+     */
+    public long generation(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.generation;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores the value unless the key's segment has been written or invalidated since {@code generation}
+     * was read, in which case the value may be older than what the cache has seen since.
+     * Writes to other keys of the same segment also count, so a fill is occasionally skipped needlessly.
+     *
+     * @return whether the value was stored
+     */
+    public boolean putIfUnchanged(K key, V value, long generation) {
+        Segment<K, V> segment = segmentFor(key);
+        Entry<V> entry = new Entry<>(value, clock.getAsLong());
+        segment.lock.lock();
+        try {
+            if (segment.generation != generation) {
+                return false;
+            }
+            segment.generation++;
+            segment.map.put(key, entry);
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.generation++;
+            segment.map.remove(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.generation++;
+                segment.map.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (segments.length - 1)];
+    }
+
+    private record Entry<V>(V value, long writtenAt) {
+    }
+
+    private static final class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<K, Entry<V>> map;
+        /** Bumped by every put and invalidation, guarded by {@link #lock}. */
+        private long generation;
+
+        Segment(int capacity, LongAdder evictions) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.banking.config.database;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 
@@ -23,6 +24,7 @@ public class DatabaseConnectionManager {
         hikariConfig.setIdleTimeout(30000); // 30 seconds
         hikariConfig.setConnectionTimeout(30000); // 30 seconds
         hikariConfig.setPoolName("BankingPool");
+        hikariConfig.setMetricsTrackerFactory(new HikariPoolMetrics());
 
         this.dataSource = new HikariDataSource(hikariConfig);
     }
@@ -43,6 +45,10 @@ public class DatabaseConnectionManager {
         return dataSource.getConnection();
     }
 
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
     public static void shutdown() {
         if (instance != null && instance.dataSource != null) {
             instance.dataSource.close();
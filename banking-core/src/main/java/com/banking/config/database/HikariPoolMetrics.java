@@ -0,0 +1,63 @@
+package com.banking.config.database;
+
+import com.banking.observability.Counter;
+import com.banking.observability.LatencyHistogram;
+import com.banking.observability.MetricsRegistry;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes HikariCP pool metrics: how long callers waited for a connection, how long they held it,
+ * timeouts, and the pool occupancy as gauges. Hikari refreshes the occupancy at most once a second.
+ */
+public class HikariPoolMetrics implements MetricsTrackerFactory {
+
+    private final MetricsRegistry registry;
+
+    public HikariPoolMetrics() {
+        this(MetricsRegistry.INSTANCE);
+    }
+
+    public HikariPoolMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        registry.gauge("hikari_connections_active", "Connections in use", "pool")
+                .labels(poolName).track(poolStats::getActiveConnections);
+        registry.gauge("hikari_connections_idle", "Idle connections", "pool")
+                .labels(poolName).track(poolStats::getIdleConnections);
+        registry.gauge("hikari_connections_pending", "Threads waiting for a connection", "pool")
+                .labels(poolName).track(poolStats::getPendingThreads);
+        registry.gauge("hikari_connections_max", "Maximum pool size", "pool")
+                .labels(poolName).track(poolStats::getMaxConnections);
+
+        LatencyHistogram acquire = registry.histogram("hikari_connection_acquire_duration_seconds",
+                "Time spent waiting for a pooled connection", "pool").labels(poolName);
+        LatencyHistogram usage = registry.histogram("hikari_connection_usage_duration_seconds",
+                "Time a connection was held before being returned to the pool", "pool").labels(poolName);
+        Counter timeouts = registry.counter("hikari_connection_timeouts_total",
+                "Connection requests that timed out", "pool").labels(poolName);
+
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquire.recordNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.banking.config.server;
+
+import com.banking.config.exception.ConfigurationException;
+import com.banking.id.SnowflakeIdGenerator;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.util.Locale;
+
+/**
+ * gRPC server settings read from the environment or a {@code .env} file.
+ */
+public class ServerLoadEnv {
+
+    public enum ExecutorType {
+        /** One virtual thread per call; blocking JDBC work parks instead of holding a carrier thread. */
+        VIRTUAL,
+        /** Fixed pool of platform threads. */
+        FIXED
+    }
+
+    public enum AccountWriteMode {
+        TRANSACTIONAL,
+        GROUP_COMMIT
+    }
+
+    public enum LedgerMode {
+        /** In-memory single-writer shards; this node must be the only writer of its accounts. */
+        SHARDED,
+        /** Version-checked writes against the database; safe with several nodes serving the same accounts. */
+        OPTIMISTIC
+    }
+
+    private final int port;
+    private final ExecutorType executorType;
+    private final int threads;
+    private final long shutdownTimeoutSeconds;
+    private final AccountWriteMode accountWriteMode;
+    private final LedgerMode ledgerMode;
+    private final String zookeeperConnect;
+    private final int workerId;
+    private final int metricsPort;
+
+    public ServerLoadEnv() {
+        this(Dotenv.configure().ignoreIfMissing().load());
+    }
+
+    ServerLoadEnv(Dotenv dotenv) {
+        this.port = parseInt(dotenv, "GRPC_PORT", "9090");
+        this.executorType = parseEnum(dotenv, "GRPC_EXECUTOR", ExecutorType.VIRTUAL, ExecutorType.class);
+        this.threads = parseInt(dotenv, "GRPC_THREADS",
+                String.valueOf(Runtime.getRuntime().availableProcessors() * 2));
+        this.shutdownTimeoutSeconds = parseInt(dotenv, "GRPC_SHUTDOWN_TIMEOUT_SECONDS", "30");
+        this.accountWriteMode = parseEnum(dotenv, "ACCOUNT_WRITE_MODE", AccountWriteMode.GROUP_COMMIT,
+                AccountWriteMode.class);
+        this.ledgerMode = parseEnum(dotenv, "LEDGER_MODE", LedgerMode.SHARDED, LedgerMode.class);
+        // When set, the worker ID for account numbers is leased from ZooKeeper and WORKER_ID is ignored
+        this.zookeeperConnect = dotenv.get("ZOOKEEPER_CONNECT", "").trim();
+        this.workerId = parseInt(dotenv, "WORKER_ID", "0");
+        if (workerId > SnowflakeIdGenerator.MAX_WORKER_ID) {
+            throw new ConfigurationException("WORKER_ID must not exceed " + SnowflakeIdGenerator.MAX_WORKER_ID
+                    + ": " + workerId);
+        }
+        // 0 turns the Prometheus endpoint off
+        this.metricsPort = parseInt(dotenv, "METRICS_PORT", "9464");
+    }
+
+    public int getPort() { return port; }
+    public ExecutorType getExecutorType() { return executorType; }
+    public int getThreads() { return threads; }
+    public long getShutdownTimeoutSeconds() { return shutdownTimeoutSeconds; }
+    public AccountWriteMode getAccountWriteMode() { return accountWriteMode; }
+    public LedgerMode getLedgerMode() { return ledgerMode; }
+    public String getZookeeperConnect() { return zookeeperConnect; }
+    public int getWorkerId() { return workerId; }
+    public int getMetricsPort() { return metricsPort; }
+
+    private static int parseInt(Dotenv dotenv, String key, String defaultValue) {
+        String value = dotenv.get(key, defaultValue);
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < 0) {
+                throw new ConfigurationException(key + " must not be negative: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Dotenv dotenv, String key, E defaultValue, Class<E> type) {
+        String value = dotenv.get(key, defaultValue.name());
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ConfigurationException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+}
@@ -1,18 +1,57 @@
 package com.banking.dao;
 
+import com.banking.dao.batch.BatchResult;
+import com.banking.ledger.TransferResult;
 import com.banking.model.Account;
+import com.banking.model.Money;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AccountDao {
     void save(Account account) throws SQLException;
+
+    /**
+     * Inserts accounts in chunks; rows rejected by the database are reported rather than thrown.
+     */
+    BatchResult<Account> saveAll(Collection<Account> accounts) throws SQLException;
     Optional<Account> findById(String id) throws SQLException ;
     Optional<Account> findByNumber(String number);
-    void update(Account account);
+
+    /**
+     * Compare-and-set write of balance and status, checked against {@link Account#getVersion()}.
+     * On success the account is advanced to the version now stored.
+     *
+     * @throws com.banking.dao.exception.OptimisticLockException if the stored version differs
+     */
+    void update(Account account) throws SQLException;
+
+    /**
+     * Moves money between two accounts in one transaction, joining the caller's transaction if one is open.
+     * Rows are locked in account ID order, so concurrent opposing transfers cannot deadlock.
+     *
+     * @return both balances after the transfer
+     * @throws com.banking.service.exception.InsufficientFundsException if the source balance is below the amount
+     * @throws com.banking.service.exception.AccountNotFoundException if either account does not exist
+     */
+    TransferResult transfer(String sourceId, String targetId, Money amount) throws SQLException;
     void delete(String id);
     List<Account> findAll();
+
+    /**
+     * Streams every account in account ID order without loading the table into memory.
+     * The stream holds database resources and must be closed.
+     */
+    Stream<Account> streamAll() throws SQLException;
+
+    /**
+     * Returns up to {@code limit} accounts whose ID sorts after {@code afterAccountId}, in ID order.
+     * Pass {@code null} to start from the first account.
+     */
+    List<Account> findPage(String afterAccountId, int limit) throws SQLException;
 }
 
 //doAnswer(invocation -> {
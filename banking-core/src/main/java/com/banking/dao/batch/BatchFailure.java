@@ -0,0 +1,9 @@
+package com.banking.dao.batch;
+
+import java.sql.SQLException;
+
+/**
+ * A row that could not be written, with the error the database reported for it.
+ */
+public record BatchFailure<T>(T item, SQLException cause) {
+}
@@ -0,0 +1,174 @@
+package com.banking.dao.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes rows in chunks using one multi-row {@code INSERT ... VALUES (...), (...)} per full chunk
+ * and a JDBC batch of single-row inserts for the remainder.
+ * A chunk that fails is rolled back and retried row by row so that only the offending rows are
+ * reported as failures. When the connection is in auto-commit mode each chunk is committed on its own;
+ * otherwise rows are written inside the caller's transaction and nothing is committed here.
+ */
+public class BatchInserter<T> {
+    private static final Logger logger = LoggerFactory.getLogger(BatchInserter.class);
+
+    /** Bind parameter limit of the PostgreSQL wire protocol. */
+    private static final int MAX_PARAMETERS = 65_535;
+
+    private final String insertPrefix;
+    private final int columnCount;
+    private final int chunkSize;
+    private final ParameterBinder<T> binder;
+    private final String singleRowSql;
+    private final String chunkSql;
+
+    /**
+     * Binds the columns of one row starting at the given parameter index.
+     */
+    @FunctionalInterface
+    public interface ParameterBinder<T> {
+        void bind(PreparedStatement stmt, int offset, T item) throws SQLException;
+    }
+
+    /**
+     * @param insertPrefix statement up to the {@code VALUES} keyword, e.g. {@code INSERT INTO t (a, b)}
+     */
+    public BatchInserter(String insertPrefix, int columnCount, int chunkSize, ParameterBinder<T> binder) {
+        if (columnCount <= 0) {
+            throw new IllegalArgumentException("Column count must be positive");
+        }
+        if (chunkSize <= 0 || (long) chunkSize * columnCount > MAX_PARAMETERS) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + MAX_PARAMETERS / columnCount);
+        }
+        this.insertPrefix = insertPrefix;
+        this.columnCount = columnCount;
+        this.chunkSize = chunkSize;
+        this.binder = binder;
+        this.singleRowSql = valuesSql(1);
+        this.chunkSql = valuesSql(chunkSize);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Inserts all items and reports the ones the database rejected.
+     * @throws SQLException if the connection itself fails, e.g. a commit or savepoint cannot be taken
+     */
+    public BatchResult<T> insert(Connection connection, Collection<? extends T> items) throws SQLException {
+        List<T> rows = new ArrayList<>(items);
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+
+        int inserted = 0;
+        List<BatchFailure<T>> failures = new ArrayList<>();
+        try (PreparedStatement chunkStmt = rows.size() >= chunkSize ? connection.prepareStatement(chunkSql) : null;
+             PreparedStatement rowStmt = connection.prepareStatement(singleRowSql)) {
+            for (int from = 0; from < rows.size(); from += chunkSize) {
+                List<T> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    if (chunk.size() == chunkSize) {
+                        insertChunk(chunkStmt, chunk);
+                    } else {
+                        insertBatch(rowStmt, chunk);
+                    }
+                    connection.releaseSavepoint(savepoint);
+                    inserted += chunk.size();
+                } catch (SQLException e) {
+                    connection.rollback(savepoint);
+                    logger.debug("Chunk of {} rows failed, retrying row by row", chunk.size(), e);
+                    inserted += insertRowByRow(connection, rowStmt, chunk, failures);
+                }
+                if (autoCommit) {
+                    connection.commit();
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (autoCommit) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            logger.warn("Batch insert stored {} rows, rejected {}", inserted, failures.size());
+        }
+        return new BatchResult<>(inserted, failures);
+    }
+
+    private void insertChunk(PreparedStatement stmt, List<T> chunk) throws SQLException {
+        stmt.clearParameters();
+        int offset = 1;
+        for (T item : chunk) {
+            binder.bind(stmt, offset, item);
+            offset += columnCount;
+        }
+        stmt.executeUpdate();
+    }
+
+    private void insertBatch(PreparedStatement stmt, List<T> rows) throws SQLException {
+        try {
+            for (T item : rows) {
+                binder.bind(stmt, 1, item);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        } finally {
+            stmt.clearBatch();
+        }
+    }
+
+    private int insertRowByRow(Connection connection, PreparedStatement stmt, List<T> rows,
+                               List<BatchFailure<T>> failures) throws SQLException {
+        int inserted = 0;
+        for (T item : rows) {
+            // Each row gets its own savepoint; PostgreSQL aborts the whole transaction on the first error
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                binder.bind(stmt, 1, item);
+                stmt.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                inserted++;
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                failures.add(new BatchFailure<>(item, e));
+            }
+        }
+        return inserted;
+    }
+
+    private String valuesSql(int rows) {
+        StringBuilder row = new StringBuilder("(");
+        for (int i = 0; i < columnCount; i++) {
+            row.append(i == 0 ? "?" : ", ?");
+        }
+        row.append(')');
+
+        StringBuilder sql = new StringBuilder(insertPrefix.length() + rows * (row.length() + 2) + 8);
+        sql.append(insertPrefix).append(" VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+}
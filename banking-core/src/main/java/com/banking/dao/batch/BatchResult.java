@@ -0,0 +1,17 @@
+package com.banking.dao.batch;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch write: how many rows were stored and which rows were rejected.
+ */
+public record BatchResult<T>(int insertedCount, List<BatchFailure<T>> failures) {
+
+    public BatchResult {
+        failures = List.copyOf(failures);
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+}
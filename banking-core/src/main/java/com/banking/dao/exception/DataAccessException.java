@@ -0,0 +1,14 @@
+package com.banking.dao.exception;
+
+/**
+ * Unchecked wrapper for a database error raised where {@link java.sql.SQLException} cannot be thrown,
+ * e.g. while a result stream is being consumed.
+ */
+public class DataAccessException extends RuntimeException {
+    public DataAccessException(String message) {
+        super(message);
+    }
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.banking.dao.exception;
+
+/**
+ * Raised when a compare-and-set update finds the row at a different version than the caller read,
+ * meaning another writer changed it in between. Callers re-read and retry.
+ */
+public class OptimisticLockException extends DataAccessException {
+    public OptimisticLockException(String message) {
+        super(message);
+    }
+    public OptimisticLockException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
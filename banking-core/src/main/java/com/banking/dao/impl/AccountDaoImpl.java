@@ -1,41 +1,97 @@
 package com.banking.dao.impl;
 
 import com.banking.dao.AccountDao;
+import com.banking.dao.batch.BatchInserter;
+import com.banking.dao.batch.BatchResult;
+import com.banking.dao.exception.DataAccessException;
+import com.banking.dao.exception.OptimisticLockException;
+import com.banking.dao.support.JdbcStreams;
+import com.banking.dao.support.SqlDialect;
+import com.banking.dao.transaction.ConnectionProvider;
+import com.banking.dao.transaction.SingleConnectionProvider;
+import com.banking.ledger.TransferResult;
 import com.banking.model.Account;
 import com.banking.model.AccountStatus;
 import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.banking.service.exception.AccountNotFoundException;
+import com.banking.service.exception.InsufficientFundsException;
 
+import java.math.BigDecimal;
 import java.sql.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class AccountDaoImpl implements AccountDao {
-    private final Connection connection;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    private static final String INSERT_PREFIX = "INSERT INTO accounts (account_id, number, owner_id, balance, " +
+            "currency, account_type, status, created_at, updated_at, version)";
+    private static final int INSERT_COLUMNS = 10;
+
+    private static final String DEBIT_SQL = "UPDATE accounts SET balance = balance - ?, updated_at = ?, " +
+            "version = version + 1 WHERE account_id = ? AND currency = ? AND status = 'ACTIVE' AND balance >= ?";
+    private static final String CREDIT_SQL = "UPDATE accounts SET balance = balance + ?, updated_at = ?, " +
+            "version = version + 1 WHERE account_id = ? AND currency = ? AND status = 'ACTIVE'";
+
+    private final ConnectionProvider connectionProvider;
+    private final BatchInserter<Account> batchInserter;
+    private volatile SqlDialect dialect;
 
     public AccountDaoImpl(Connection connection) {
-        this.connection = connection;
+        this(new SingleConnectionProvider(connection));
+    }
+
+    public AccountDaoImpl(Connection connection, int batchSize) {
+        this(new SingleConnectionProvider(connection), batchSize);
+    }
+
+    public AccountDaoImpl(ConnectionProvider connectionProvider) {
+        this(connectionProvider, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize number of rows sent per multi-row insert by {@link #saveAll}
+     */
+    public AccountDaoImpl(ConnectionProvider connectionProvider, int batchSize) {
+        this.connectionProvider = connectionProvider;
+        this.batchInserter = new BatchInserter<>(INSERT_PREFIX, INSERT_COLUMNS, batchSize,
+                AccountDaoImpl::setAccountParameters);
     }
 
     @Override
     public void save(Account account) throws SQLException {
-        String sql = "INSERT INTO accounts (account_id, number, owner_id, balance, " +
-                "currency, account_type, status, created_at, updated_at) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = INSERT_PREFIX + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            setAccountParameters(stmt, account);
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            setAccountParameters(stmt, 1, account);
             stmt.executeUpdate();
         }
     }
 
+    @Override
+    public BatchResult<Account> saveAll(Collection<Account> accounts) throws SQLException {
+        try (Connection connection = connectionProvider.getConnection()) {
+            return batchInserter.insert(connection, accounts);
+        }
+    }
+
     @Override
     public Optional<Account> findById(String accountId) throws SQLException {
         String sql = "SELECT * FROM accounts WHERE account_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, accountId);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next() ? Optional.of(fromResultSet(rs)) : Optional.empty();
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Optional.of(fromResultSet(rs)) : Optional.empty();
+            }
         }
     }
 
@@ -44,9 +100,137 @@ public class AccountDaoImpl implements AccountDao {
         return Optional.empty();
     }
 
+    /**
+     * Writes the account only if the row is still at {@link Account#getVersion()}, then advances the
+     * account to the new version.
+     *
+     * @throws OptimisticLockException if the row is missing or another writer updated it first
+     */
+    @Override
+    public void update(Account account) throws SQLException {
+        String sql = "UPDATE accounts SET balance = ?, status = ?, updated_at = ?, version = version + 1 " +
+                "WHERE account_id = ? AND version = ?";
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setBigDecimal(1, account.getBalance().toBigDecimal());
+            stmt.setString(2, account.getStatus().name());
+            stmt.setTimestamp(3, Timestamp.from(account.getUpdatedAt()));
+            stmt.setString(4, account.getAccountId());
+            stmt.setLong(5, account.getVersion());
+            if (stmt.executeUpdate() == 0) {
+                throw new OptimisticLockException("Account " + account.getAccountId()
+                        + " is no longer at version " + account.getVersion());
+            }
+        }
+        account.markPersisted(account.getVersion() + 1);
+    }
+
     @Override
-    public void update(Account account) {
+    public TransferResult transfer(String sourceId, String targetId, Money amount) throws SQLException {
+        if (sourceId.equals(targetId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        if (!amount.isPositive()) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+
+        try (Connection connection = connectionProvider.getConnection()) {
+            boolean ownTransaction = connection.getAutoCommit();
+            if (ownTransaction) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                TransferResult result = applyTransfer(connection, sourceId, targetId, amount);
+                if (ownTransaction) {
+                    connection.commit();
+                }
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                if (ownTransaction) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (ownTransaction) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Each UPDATE takes its row lock, so the statements are issued in account ID order: opposing
+     * transfers then queue on the same first row instead of each holding the lock the other needs.
+     * The debit is conditional on the balance, which makes the check and the write a single statement.
+     */
+    private TransferResult applyTransfer(Connection connection, String sourceId, String targetId, Money amount)
+            throws SQLException {
+        SqlDialect dialect = dialect(connection);
+        Timestamp now = Timestamp.from(Instant.now());
+        Money sourceBalance;
+        Money targetBalance;
+        if (sourceId.compareTo(targetId) < 0) {
+            sourceBalance = applyDelta(connection, dialect, sourceId, amount, true, now);
+            targetBalance = applyDelta(connection, dialect, targetId, amount, false, now);
+        } else {
+            targetBalance = applyDelta(connection, dialect, targetId, amount, false, now);
+            sourceBalance = applyDelta(connection, dialect, sourceId, amount, true, now);
+        }
+        return new TransferResult(sourceBalance, targetBalance);
+    }
+
+    private Money applyDelta(Connection connection, SqlDialect dialect, String accountId, Money amount,
+                             boolean debit, Timestamp now) throws SQLException {
+        BigDecimal value = amount.toBigDecimal();
+        String sql = dialect.updateReturning(debit ? DEBIT_SQL : CREDIT_SQL, "balance");
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setBigDecimal(1, value);
+            stmt.setTimestamp(2, now);
+            stmt.setString(3, accountId);
+            stmt.setString(4, amount.getCurrency());
+            if (debit) {
+                stmt.setBigDecimal(5, value);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Money.of(rs.getBigDecimal(1), amount.getCurrency());
+                }
+            }
+        }
+        throw rejectionCause(connection, accountId, amount);
+    }
+
+    /**
+     * Works out why a conditional update matched no row. Only runs on the failure path.
+     */
+    private static RuntimeException rejectionCause(Connection connection, String accountId, Money amount)
+            throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT currency, status FROM accounts WHERE account_id = ?")) {
+            stmt.setString(1, accountId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return new AccountNotFoundException("Account not found: " + accountId);
+                }
+                if (!amount.hasCurrency(rs.getString("currency"))) {
+                    return new IllegalArgumentException("Currency mismatch for account " + accountId);
+                }
+                if (AccountStatus.safeValueOf(rs.getString("status")) != AccountStatus.ACTIVE) {
+                    return new IllegalStateException("Account is not active: " + accountId);
+                }
+                return new InsufficientFundsException("Insufficient balance");
+            }
+        }
+    }
 
+    private SqlDialect dialect(Connection connection) throws SQLException {
+        SqlDialect resolved = dialect;
+        if (resolved == null) {
+            resolved = SqlDialect.of(connection);
+            dialect = resolved;
+        }
+        return resolved;
     }
 
     @Override
@@ -56,33 +240,65 @@ public class AccountDaoImpl implements AccountDao {
 
     @Override
     public List<Account> findAll() {
-        return List.of();
+        try (Stream<Account> accounts = streamAll()) {
+            return accounts.toList();
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load accounts", e);
+        }
+    }
+
+    @Override
+    public Stream<Account> streamAll() throws SQLException {
+        return JdbcStreams.stream(connectionProvider.getConnection(), "SELECT * FROM accounts ORDER BY account_id",
+                DEFAULT_FETCH_SIZE, AccountDaoImpl::fromResultSet);
+    }
+
+    @Override
+    public List<Account> findPage(String afterAccountId, int limit) throws SQLException {
+        String sql = "SELECT * FROM accounts WHERE account_id > ? ORDER BY account_id LIMIT ?";
+        List<Account> accounts = new ArrayList<>(Math.min(limit, 1024));
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, afterAccountId == null ? "" : afterAccountId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    accounts.add(fromResultSet(rs));
+                }
+            }
+        }
+        return accounts;
     }
 
-    private void setAccountParameters(PreparedStatement stmt, Account account)
+    private static void setAccountParameters(PreparedStatement stmt, int offset, Account account)
             throws SQLException {
-        stmt.setString(1, account.getAccountId());
-        stmt.setString(2, account.getNumber());
-        stmt.setString(3, account.getOwnerId());
-        stmt.setBigDecimal(4, account.getBalance());
-        stmt.setString(5, account.getCurrency());
-        stmt.setString(6, account.getAccountType().name());
-        stmt.setString(7, account.getStatus().name());
-        stmt.setTimestamp(8, Timestamp.from(account.getCreatedAt()));
-        stmt.setTimestamp(9, Timestamp.from(account.getUpdatedAt()));
+        stmt.setString(offset, account.getAccountId());
+        stmt.setString(offset + 1, account.getNumber());
+        stmt.setString(offset + 2, account.getOwnerId());
+        stmt.setBigDecimal(offset + 3, account.getBalance().toBigDecimal());
+        stmt.setString(offset + 4, account.getCurrency());
+        stmt.setString(offset + 5, account.getAccountType().name());
+        stmt.setString(offset + 6, account.getStatus().name());
+        stmt.setTimestamp(offset + 7, Timestamp.from(account.getCreatedAt()));
+        stmt.setTimestamp(offset + 8, Timestamp.from(account.getUpdatedAt()));
+        stmt.setLong(offset + 9, account.getVersion());
     }
 
     public static Account fromResultSet(ResultSet rs) throws SQLException {
+        String currency = rs.getString("currency");
+        BigDecimal balance = rs.getBigDecimal("balance");
         return new Account.Builder()
                 .accountId(rs.getString("account_id"))
                 .accountNumber(rs.getString("number"))
                 .ownerId(rs.getString("owner_id"))
-                .balance(rs.getBigDecimal("balance"))
-                .currency(rs.getString("currency"))
+                .balance(balance == null ? null : Money.of(balance, currency))
+                .currency(currency)
                 .type(AccountType.safeValueOf(rs.getString("account_type")))
                 .status(AccountStatus.safeValueOf(rs.getString("status")))
                 .createdAt(rs.getTimestamp("created_at").toInstant())
                 .updatedAt(rs.getTimestamp("updated_at").toInstant())
+                .version(rs.getLong("version"))
                 .build();
     }
 
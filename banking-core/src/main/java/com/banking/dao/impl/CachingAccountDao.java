@@ -0,0 +1,165 @@
+package com.banking.dao.impl;
+
+import com.banking.cache.CacheStats;
+import com.banking.cache.LruCache;
+import com.banking.dao.AccountDao;
+import com.banking.dao.batch.BatchFailure;
+import com.banking.dao.batch.BatchResult;
+import com.banking.dao.transaction.TransactionManager;
+import com.banking.ledger.TransferResult;
+import com.banking.model.Account;
+import com.banking.model.Money;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Read-through, write-through cache of accounts by ID in front of another {@link AccountDao}.
+ * Accounts are mutable, so the cache stores and hands out copies; callers never share an instance.
+ * Only {@link #findById} is served from the cache.
+ * <p>
+ * Nothing read or written inside a transaction reaches the cache before the transaction commits, since a
+ * rollback would leave the cache ahead of the database: writes drop the entry straight away and put the
+ * written account back through {@link TransactionManager#afterCommit}, and rows loaded on a miss are
+ * cached the same way. A row loaded on a miss is only cached if no write or invalidation of its entry
+ * happened since the load started, so a slow reader cannot put back a row that a writer has replaced.
+ */
+public class CachingAccountDao implements AccountDao {
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final long DEFAULT_TTL_SECONDS = 300;
+
+    private final AccountDao delegate;
+    private final TransactionManager transactionManager;
+    private final LruCache<String, Account> cache;
+
+    /**
+     * @param transactionManager the one the delegate's writes run under
+     */
+    public CachingAccountDao(AccountDao delegate, TransactionManager transactionManager) {
+        this(delegate, transactionManager, DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public CachingAccountDao(AccountDao delegate, TransactionManager transactionManager, int maximumSize, long ttl,
+                             TimeUnit unit) {
+        this.delegate = delegate;
+        this.transactionManager = transactionManager;
+        this.cache = new LruCache<>(maximumSize, ttl, unit);
+    }
+
+    @Override
+    public void save(Account account) throws SQLException {
+        cache.invalidate(account.getAccountId());
+        delegate.save(account);
+        putAfterCommit(account);
+    }
+
+    @Override
+    public BatchResult<Account> saveAll(Collection<Account> accounts) throws SQLException {
+        for (Account account : accounts) {
+            cache.invalidate(account.getAccountId());
+        }
+        BatchResult<Account> result = delegate.saveAll(accounts);
+        Set<Account> rejected = new HashSet<>();
+        for (BatchFailure<Account> failure : result.failures()) {
+            rejected.add(failure.item());
+        }
+        for (Account account : accounts) {
+            if (!rejected.contains(account)) {
+                putAfterCommit(account);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Account> findById(String id) throws SQLException {
+        Account cached = cache.get(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        long generation = cache.generation(id);
+        Optional<Account> loaded = delegate.findById(id);
+        if (loaded.isPresent()) {
+            Account stored = copy(loaded.get());
+            transactionManager.afterCommit(() -> cache.putIfUnchanged(id, stored, generation));
+        }
+        return loaded;
+    }
+
+    @Override
+    public Optional<Account> findByNumber(String number) {
+        return delegate.findByNumber(number);
+    }
+
+    @Override
+    public void update(Account account) throws SQLException {
+        // Dropped up front so that readers go to the database until the update commits
+        cache.invalidate(account.getAccountId());
+        delegate.update(account);
+        putAfterCommit(account);
+    }
+
+    @Override
+    public TransferResult transfer(String sourceId, String targetId, Money amount) throws SQLException {
+        // Balances change in the database; drop both entries rather than patching copies
+        try {
+            return delegate.transfer(sourceId, targetId, amount);
+        } finally {
+            invalidateNowAndAfterCommit(sourceId);
+            invalidateNowAndAfterCommit(targetId);
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        delegate.delete(id);
+        invalidateNowAndAfterCommit(id);
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<Account> streamAll() throws SQLException {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<Account> findPage(String afterAccountId, int limit) throws SQLException {
+        return delegate.findPage(afterAccountId, limit);
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    private void putAfterCommit(Account account) {
+        // Copied now, as the caller may go on changing the account before the transaction commits
+        Account stored = copy(account);
+        transactionManager.afterCommit(() -> cache.put(stored.getAccountId(), stored));
+    }
+
+    /**
+     * Readers may load the old row again until the transaction commits, so the entry is dropped once more then.
+     */
+    private void invalidateNowAndAfterCommit(String id) {
+        cache.invalidate(id);
+        transactionManager.afterCommit(() -> cache.invalidate(id));
+    }
+
+    private static Account copy(Account account) {
+        return new Account.Builder(account).build();
+    }
+}
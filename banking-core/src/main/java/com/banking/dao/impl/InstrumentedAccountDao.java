@@ -0,0 +1,172 @@
+package com.banking.dao.impl;
+
+import com.banking.dao.AccountDao;
+import com.banking.dao.batch.BatchResult;
+import com.banking.ledger.TransferResult;
+import com.banking.model.Account;
+import com.banking.model.Money;
+import com.banking.observability.Counter;
+import com.banking.observability.LatencyHistogram;
+import com.banking.observability.MetricFamily;
+import com.banking.observability.MetricsRegistry;
+import com.banking.observability.jfr.DaoStatementEvent;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Records the latency and failures of each {@link AccountDao} statement around another DAO, including
+ * the wait for a pooled connection, as metrics and as a {@link DaoStatementEvent} for flight recordings.
+ * {@link #streamAll} is timed until the stream is open, not until it has been read.
+ */
+public class InstrumentedAccountDao implements AccountDao {
+
+    private enum Statement {
+        SAVE, SAVE_ALL, FIND_BY_ID, FIND_BY_NUMBER, UPDATE, TRANSFER, DELETE, FIND_ALL, STREAM_ALL, FIND_PAGE;
+
+        final String label = name().toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    private final AccountDao delegate;
+    private final LatencyHistogram[] durations = new LatencyHistogram[Statement.values().length];
+    private final Counter[] errors = new Counter[Statement.values().length];
+
+    public InstrumentedAccountDao(AccountDao delegate) {
+        this(delegate, MetricsRegistry.INSTANCE);
+    }
+
+    public InstrumentedAccountDao(AccountDao delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        MetricFamily<LatencyHistogram> duration = registry.histogram("banking_dao_statement_duration_seconds",
+                "Latency of DAO calls, including the wait for a connection", "dao", "statement");
+        MetricFamily<Counter> failures = registry.counter("banking_dao_statement_errors_total",
+                "DAO calls that threw", "dao", "statement");
+        for (Statement statement : Statement.values()) {
+            durations[statement.ordinal()] = duration.labels("account", statement.label);
+            errors[statement.ordinal()] = failures.labels("account", statement.label);
+        }
+    }
+
+    @Override
+    public void save(Account account) throws SQLException {
+        timed(Statement.SAVE, () -> {
+            delegate.save(account);
+            return null;
+        });
+    }
+
+    @Override
+    public BatchResult<Account> saveAll(Collection<Account> accounts) throws SQLException {
+        return timed(Statement.SAVE_ALL, () -> delegate.saveAll(accounts));
+    }
+
+    @Override
+    public Optional<Account> findById(String id) throws SQLException {
+        return timed(Statement.FIND_BY_ID, () -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<Account> findByNumber(String number) {
+        return timedUnchecked(Statement.FIND_BY_NUMBER, () -> delegate.findByNumber(number));
+    }
+
+    @Override
+    public void update(Account account) throws SQLException {
+        timed(Statement.UPDATE, () -> {
+            delegate.update(account);
+            return null;
+        });
+    }
+
+    @Override
+    public TransferResult transfer(String sourceId, String targetId, Money amount) throws SQLException {
+        return timed(Statement.TRANSFER, () -> delegate.transfer(sourceId, targetId, amount));
+    }
+
+    @Override
+    public void delete(String id) {
+        timedUnchecked(Statement.DELETE, () -> {
+            delegate.delete(id);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return timedUnchecked(Statement.FIND_ALL, delegate::findAll);
+    }
+
+    @Override
+    public Stream<Account> streamAll() throws SQLException {
+        return timed(Statement.STREAM_ALL, delegate::streamAll);
+    }
+
+    @Override
+    public List<Account> findPage(String afterAccountId, int limit) throws SQLException {
+        return timed(Statement.FIND_PAGE, () -> delegate.findPage(afterAccountId, limit));
+    }
+
+    private <T> T timed(Statement statement, SqlCall<T> call) throws SQLException {
+        DaoStatementEvent event = new DaoStatementEvent();
+        event.begin();
+        long start = System.nanoTime();
+        T result = null;
+        boolean succeeded = false;
+        try {
+            result = call.call();
+            succeeded = true;
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            errors[statement.ordinal()].increment();
+            throw e;
+        } finally {
+            durations[statement.ordinal()].recordSince(start);
+            commit(event, statement, succeeded, result);
+        }
+    }
+
+    private <T> T timedUnchecked(Statement statement, Supplier<T> call) {
+        DaoStatementEvent event = new DaoStatementEvent();
+        event.begin();
+        long start = System.nanoTime();
+        T result = null;
+        boolean succeeded = false;
+        try {
+            result = call.get();
+            succeeded = true;
+            return result;
+        } catch (RuntimeException e) {
+            errors[statement.ordinal()].increment();
+            throw e;
+        } finally {
+            durations[statement.ordinal()].recordSince(start);
+            commit(event, statement, succeeded, result);
+        }
+    }
+
+    private static void commit(DaoStatementEvent event, Statement statement, boolean succeeded, Object result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.dao = "account";
+            event.statement = statement.label;
+            event.succeeded = succeeded;
+            event.rows = switch (result) {
+                case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+                case List<?> list -> list.size();
+                case BatchResult<?> batch -> batch.insertedCount();
+                case null, default -> -1;
+            };
+            event.commit();
+        }
+    }
+}
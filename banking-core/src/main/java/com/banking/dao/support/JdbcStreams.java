@@ -0,0 +1,111 @@
+package com.banking.dao.support;
+
+import com.banking.dao.exception.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Exposes a query as a lazily fetched {@link Stream} backed by a server-side cursor.
+ * Rows are pulled from the database {@code fetchSize} at a time, so memory use does not grow with the table.
+ * <p>
+ * PostgreSQL only uses a cursor outside auto-commit mode, so the connection is switched to manual
+ * commit while the stream is open and restored when it is closed. The stream owns the connection and
+ * closes it along with itself, so it must be closed, typically with try-with-resources.
+ */
+public final class JdbcStreams {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcStreams.class);
+
+    private JdbcStreams() {
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    public static <T> Stream<T> stream(Connection connection, String sql, int fetchSize,
+                                       RowMapper<T> mapper) throws SQLException {
+        boolean autoCommit;
+        try {
+            autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+        PreparedStatement stmt = null;
+        ResultSet rs;
+        try {
+            stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            rs = stmt.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            release(connection, stmt, null, autoCommit);
+            throw e;
+        }
+
+        PreparedStatement openStmt = stmt;
+        return StreamSupport.stream(new RowSpliterator<>(rs, mapper), false)
+                .onClose(() -> release(connection, openStmt, rs, autoCommit));
+    }
+
+    private static void release(Connection connection, PreparedStatement stmt, ResultSet rs, boolean autoCommit) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+            if (stmt != null) {
+                stmt.close();
+            }
+            if (autoCommit) {
+                // Ends the read-only transaction the cursor lived in
+                connection.commit();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.warn("Failed to release streaming query", e);
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.warn("Failed to close streaming connection", e);
+            }
+        }
+    }
+
+    private static final class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+
+        RowSpliterator(ResultSet rs, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!rs.next()) {
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                throw new DataAccessException("Failed to read next row", e);
+            }
+        }
+    }
+}
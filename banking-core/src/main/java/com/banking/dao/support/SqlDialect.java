@@ -0,0 +1,35 @@
+package com.banking.dao.support;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * The few places where the SQL we issue differs between PostgreSQL (production) and H2 (tests).
+ */
+public enum SqlDialect {
+    POSTGRESQL {
+        @Override
+        public String updateReturning(String update, String column) {
+            return update + " RETURNING " + column;
+        }
+    },
+    H2 {
+        @Override
+        public String updateReturning(String update, String column) {
+            // H2 has no RETURNING clause; a data change delta table yields the same row in one statement
+            return "SELECT " + column + " FROM FINAL TABLE (" + update + ")";
+        }
+    };
+
+    /**
+     * Wraps an {@code UPDATE} so that executing it as a query returns {@code column} of every updated row,
+     * as it is after the update.
+     */
+    public abstract String updateReturning(String update, String column);
+
+    public static SqlDialect of(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product.toLowerCase(Locale.ROOT).contains("h2") ? H2 : POSTGRESQL;
+    }
+}
@@ -0,0 +1,34 @@
+package com.banking.dao.transaction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Actions registered through {@link TransactionManager#afterCommit} while a transaction is open.
+ */
+final class AfterCommitActions {
+    private static final Logger logger = LoggerFactory.getLogger(AfterCommitActions.class);
+
+    private final List<Runnable> actions = new ArrayList<>();
+
+    void add(Runnable action) {
+        actions.add(action);
+    }
+
+    /**
+     * Runs every action in registration order. The transaction has already committed, so a failing
+     * action is logged and does not stop the others.
+     */
+    void run() {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.error("After-commit action failed", e);
+            }
+        }
+    }
+}
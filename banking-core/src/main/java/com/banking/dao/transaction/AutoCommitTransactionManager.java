@@ -0,0 +1,20 @@
+package com.banking.dao.transaction;
+
+import java.sql.SQLException;
+
+/**
+ * Runs callbacks without a transaction, so each statement commits on its own.
+ * Only suitable where partial writes are acceptable, e.g. tests against mocked DAOs.
+ */
+public final class AutoCommitTransactionManager implements TransactionManager {
+
+    public static final AutoCommitTransactionManager INSTANCE = new AutoCommitTransactionManager();
+
+    private AutoCommitTransactionManager() {
+    }
+
+    @Override
+    public <T> T inTransaction(TransactionCallback<T> callback) throws SQLException {
+        return callback.doInTransaction();
+    }
+}
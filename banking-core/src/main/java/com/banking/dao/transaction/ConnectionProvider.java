@@ -0,0 +1,14 @@
+package com.banking.dao.transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands DAOs a connection for one unit of work.
+ * Callers always close the returned connection; if it belongs to an open transaction,
+ * closing it leaves the transaction's connection untouched.
+ */
+@FunctionalInterface
+public interface ConnectionProvider {
+    Connection getConnection() throws SQLException;
+}
@@ -0,0 +1,85 @@
+package com.banking.dao.transaction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Borrows connections from a pool per unit of work.
+ * Outside a transaction every {@link #getConnection()} call gets its own pooled connection, which the
+ * DAO returns by closing it. {@link #inTransaction} binds one connection to the calling thread so that
+ * all DAO calls made from the callback share it and commit together; nested calls join the outer transaction.
+ */
+public class DataSourceTransactionManager implements TransactionManager, ConnectionProvider {
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceTransactionManager.class);
+
+    private final DataSource dataSource;
+    private final ThreadLocal<Connection> boundConnection = new ThreadLocal<>();
+    private final ThreadLocal<AfterCommitActions> afterCommit = new ThreadLocal<>();
+
+    public DataSourceTransactionManager(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection bound = boundConnection.get();
+        return bound != null ? NonClosingConnection.wrap(bound) : dataSource.getConnection();
+    }
+
+    @Override
+    public <T> T inTransaction(TransactionCallback<T> callback) throws SQLException {
+        if (boundConnection.get() != null) {
+            return callback.doInTransaction();
+        }
+
+        T result;
+        AfterCommitActions actions = new AfterCommitActions();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            boundConnection.set(connection);
+            afterCommit.set(actions);
+            try {
+                result = callback.doInTransaction();
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                rollback(connection, e);
+                throw e;
+            } finally {
+                boundConnection.remove();
+                afterCommit.remove();
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        // Outside the transaction, so actions that touch the database get connections of their own
+        actions.run();
+        return result;
+    }
+
+    @Override
+    public void afterCommit(Runnable action) {
+        AfterCommitActions actions = afterCommit.get();
+        if (actions != null) {
+            actions.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    public boolean isTransactionActive() {
+        return boundConnection.get() != null;
+    }
+
+    private void rollback(Connection connection, Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+            logger.error("Rollback failed", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.banking.dao.transaction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Demarcates transactions on the single connection shared by the DAOs.
+ * Transactions are serialized, since a JDBC connection carries one transaction at a time.
+ * A call made while a transaction is already open on the connection joins it.
+ */
+public class JdbcTransactionManager implements TransactionManager {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTransactionManager.class);
+
+    private final Connection connection;
+    private final ReentrantLock lock = new ReentrantLock();
+    private AfterCommitActions afterCommit; // guarded by lock
+
+    public JdbcTransactionManager(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public <T> T inTransaction(TransactionCallback<T> callback) throws SQLException {
+        T result;
+        AfterCommitActions actions = new AfterCommitActions();
+        lock.lock();
+        try {
+            if (!connection.getAutoCommit()) {
+                return callback.doInTransaction();
+            }
+            connection.setAutoCommit(false);
+            afterCommit = actions;
+            try {
+                result = callback.doInTransaction();
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                rollback(e);
+                throw e;
+            } finally {
+                afterCommit = null;
+                connection.setAutoCommit(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+        actions.run();
+        return result;
+    }
+
+    @Override
+    public void afterCommit(Runnable action) {
+        if (lock.isHeldByCurrentThread() && afterCommit != null) {
+            afterCommit.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    private void rollback(Exception cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+            logger.error("Rollback failed", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.dao.transaction;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+/**
+ * Wraps a connection so that {@link Connection#close()} is ignored, for handing out a
+ * connection whose lifetime is managed elsewhere.
+ */
+final class NonClosingConnection {
+
+    private NonClosingConnection() {
+    }
+
+    static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,20 @@
+package com.banking.dao.transaction;
+
+import java.sql.Connection;
+
+/**
+ * Serves every unit of work from one long-lived connection, which DAOs never close.
+ * Kept for tests and tools that manage a single connection themselves.
+ */
+public class SingleConnectionProvider implements ConnectionProvider {
+    private final Connection connection;
+
+    public SingleConnectionProvider(Connection connection) {
+        this.connection = NonClosingConnection.wrap(connection);
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+}
@@ -0,0 +1,27 @@
+package com.banking.dao.transaction;
+
+import java.sql.SQLException;
+
+/**
+ * Runs a unit of DAO work so that its statements commit or roll back together.
+ */
+public interface TransactionManager {
+
+    /**
+     * Runs the callback in a transaction, committing if it returns and rolling back if it throws.
+     */
+    <T> T inTransaction(TransactionCallback<T> callback) throws SQLException;
+
+    /**
+     * Runs the action once the transaction open on the calling thread commits, or right away if there is
+     * none. Actions registered by a transaction that rolls back are dropped.
+     */
+    default void afterCommit(Runnable action) {
+        action.run();
+    }
+
+    @FunctionalInterface
+    interface TransactionCallback<T> {
+        T doInTransaction() throws SQLException;
+    }
+}
@@ -1,9 +1,9 @@
 package com.banking.dto;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 import com.banking.model.AccountType;
+import com.banking.model.Money;
 
 /**
  * DTO for creating a new account.
@@ -12,10 +12,11 @@ import com.banking.model.AccountType;
 public record CreateAccountDto(
         String ownerId,
         String currency,
-        BigDecimal initialBalance,
+        Money initialBalance,
         AccountType accountType,
         Instant createdAt,
-        Instant updatedAt
+        Instant updatedAt,
+        String commandId // Client idempotency key, or null to derive one from the new account
 ) {
     // Validation to ensure timestamps are consistent
     public CreateAccountDto {
@@ -25,5 +26,13 @@ public record CreateAccountDto(
         if (createdAt.isAfter(updatedAt)) {
             throw new IllegalArgumentException("Created time cannot be after updated time");
         }
+        if (initialBalance != null && !initialBalance.hasCurrency(currency)) {
+            throw new IllegalArgumentException("Initial balance currency must match account currency");
+        }
+    }
+
+    public CreateAccountDto(String ownerId, String currency, Money initialBalance, AccountType accountType,
+                            Instant createdAt, Instant updatedAt) {
+        this(ownerId, currency, initialBalance, accountType, createdAt, updatedAt, null);
     }
 }
@@ -1,6 +1,6 @@
 package com.banking.events;
 
-import java.util.UUID;
+import com.banking.id.UuidV7Generator;
 
 public abstract class ReplicationEvent {
     private final String eventId;
@@ -11,7 +11,7 @@ public abstract class ReplicationEvent {
     private final byte[] commandData; // Serialized DTO
 
     public ReplicationEvent(EventType eventType, String commandId, String source, byte[] commandData) {
-        this.eventId = UUID.randomUUID().toString();
+        this.eventId = UuidV7Generator.INSTANCE.nextString();
         this.eventType = eventType;
         this.commandId = commandId;
         this.timestamp = System.currentTimeMillis();
@@ -0,0 +1,11 @@
+package com.banking.events.cdc;
+
+import com.banking.model.Account;
+
+/**
+ * A change to a row of {@code accounts}.
+ *
+ * @param after the row after the change, or null for a delete or truncate
+ */
+public record AccountChange(ChangeOperation op, long lsn, String table, Account after) implements ChangeEvent {
+}
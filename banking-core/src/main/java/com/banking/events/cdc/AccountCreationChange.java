@@ -0,0 +1,12 @@
+package com.banking.events.cdc;
+
+import com.banking.events.model.AccountCreationEvent;
+
+/**
+ * A change to a row of the {@code account_creation_events} outbox.
+ *
+ * @param after the row after the change, or null for a delete or truncate
+ */
+public record AccountCreationChange(ChangeOperation op, long lsn, String table, AccountCreationEvent after)
+        implements ChangeEvent {
+}
@@ -0,0 +1,16 @@
+package com.banking.events.cdc;
+
+/**
+ * A row change captured by Debezium from one of the tables the replicas follow.
+ */
+public sealed interface ChangeEvent permits AccountChange, AccountCreationChange {
+
+    ChangeOperation op();
+
+    /**
+     * @return position of the change in the Postgres write-ahead log, or -1 if the event carries none
+     */
+    long lsn();
+
+    String table();
+}
@@ -0,0 +1,14 @@
+package com.banking.events.cdc;
+
+/**
+ * Applies one decoded change on a replica.
+ */
+@FunctionalInterface
+public interface ChangeEventHandler {
+
+    /**
+     * @param key account ID the change belongs to, or null
+     * @throws Exception if the change was not applied; it is retried before any later change of the same key
+     */
+    void apply(String key, ChangeEvent change) throws Exception;
+}
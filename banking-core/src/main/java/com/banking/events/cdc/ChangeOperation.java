@@ -0,0 +1,36 @@
+package com.banking.events.cdc;
+
+import com.banking.events.cdc.exception.ChangeEventDecodeException;
+
+/**
+ * The {@code op} of a Debezium change event.
+ */
+public enum ChangeOperation {
+    CREATE("c"),
+    UPDATE("u"),
+    DELETE("d"),
+    /** A row read by the initial snapshot. */
+    READ("r"),
+    TRUNCATE("t");
+
+    private final String code;
+
+    ChangeOperation(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static ChangeOperation fromCode(String code) {
+        return switch (code) {
+            case "c" -> CREATE;
+            case "u" -> UPDATE;
+            case "d" -> DELETE;
+            case "r" -> READ;
+            case "t" -> TRUNCATE;
+            default -> throw new ChangeEventDecodeException("Unknown change operation: " + code);
+        };
+    }
+}
@@ -0,0 +1,383 @@
+package com.banking.events.cdc;
+
+import com.banking.events.cdc.exception.ChangeEventDecodeException;
+import com.banking.events.cdc.exception.UnsupportedChangeEncodingException;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes Debezium change events straight from the JSON bytes with a streaming parser. Only {@code op},
+ * {@code source.lsn}, {@code source.table} and the {@code after} columns that map to {@link Account} or
+ * {@link AccountCreationEvent} are read, plus the scales of the decimal columns of {@code after} from the
+ * schema; {@code before} and every other field are skipped without being decoded or materialized as a tree.
+ * <p>
+ * Both the bare envelope and the {@code {"schema": ..., "payload": ...}} form of the JSON converter are
+ * accepted, with fields in any order. Decimal columns may be sent as strings or numbers
+ * ({@code decimal.handling.mode} {@code string} or {@code double}), or in the default {@code precise} mode
+ * as base64 unscaled values, which needs the schema for their scale. Timestamps may be numbers in
+ * microseconds since the epoch, as Debezium sends {@code TIMESTAMP} columns by default, or ISO-8601
+ * strings, as it sends {@code TIMESTAMPTZ}.
+ * <p>
+ * Thread-safe; use {@link #INSTANCE}.
+ */
+public final class DebeziumChangeDecoder {
+
+    public static final DebeziumChangeDecoder INSTANCE = new DebeziumChangeDecoder();
+
+    public static final String ACCOUNTS_TABLE = "accounts";
+    public static final String ACCOUNT_CREATION_EVENTS_TABLE = "account_creation_events";
+
+    /** Schema name Kafka Connect gives {@code precise} decimals. */
+    private static final String DECIMAL_SCHEMA = "org.apache.kafka.connect.data.Decimal";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private DebeziumChangeDecoder() {}
+
+    /**
+     * @return the change, or null for a tombstone or a change to a table no replica follows
+     * @throws ChangeEventDecodeException if the bytes are not a change event this decoder can read
+     * @throws UnsupportedChangeEncodingException if a column is encoded in a form this decoder does not read
+     */
+    public ChangeEvent decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        Envelope envelope = new Envelope();
+        try (JsonParser parser = jsonFactory.createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ChangeEventDecodeException("Change event is not a JSON object");
+            }
+            readEnvelope(parser, envelope);
+        } catch (IOException e) {
+            throw new ChangeEventDecodeException("Malformed change event JSON", e);
+        }
+        if (envelope.op == null) {
+            // A schema-wrapped tombstone has a null payload
+            return null;
+        }
+        try {
+            return toChange(envelope);
+        } catch (ChangeEventDecodeException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Columns the models reject, e.g. an unknown currency, fail the same way every time
+            throw new ChangeEventDecodeException("Cannot map change event of " + envelope.table, e);
+        }
+    }
+
+    //=== Envelope ===//
+
+    private static void readEnvelope(JsonParser parser, Envelope envelope) throws IOException {
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "payload" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        readEnvelope(parser, envelope);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "op" -> {
+                    if (token == JsonToken.VALUE_STRING) {
+                        envelope.op = ChangeOperation.fromCode(parser.getText());
+                    }
+                }
+                case "schema" -> readSchema(parser, envelope);
+                case "source" -> readSource(parser, envelope);
+                case "after" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        envelope.after = readRow(parser);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readSource(JsonParser parser, Envelope envelope) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "lsn" -> {
+                    if (token == JsonToken.VALUE_NUMBER_INT) {
+                        envelope.lsn = parser.getLongValue();
+                    }
+                }
+                case "table" -> envelope.table = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readSchema(JsonParser parser, Envelope envelope) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            if (field.equals("fields") && token == JsonToken.START_ARRAY) {
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                    if (element == JsonToken.START_OBJECT) {
+                        readEnvelopeFieldSchema(parser, envelope);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Reads the schema of one envelope field; only that of {@code after} is kept.
+     */
+    private static void readEnvelopeFieldSchema(JsonParser parser, Envelope envelope) throws IOException {
+        String name = null;
+        Map<String, Integer> scales = Map.of();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "field" -> name = parser.getValueAsString();
+                case "fields" -> {
+                    if (token == JsonToken.START_ARRAY) {
+                        scales = readDecimalScales(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if ("after".equals(name)) {
+            envelope.decimalScales = scales;
+        }
+    }
+
+    /**
+     * @return the scale of every {@code precise} decimal column, by column name
+     */
+    private static Map<String, Integer> readDecimalScales(JsonParser parser) throws IOException {
+        Map<String, Integer> scales = new HashMap<>();
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+            if (element != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String column = null;
+            String schemaName = null;
+            String scale = null;
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "field" -> column = parser.getValueAsString();
+                    case "name" -> schemaName = parser.getValueAsString();
+                    case "parameters" -> scale = readScaleParameter(parser, token);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (column != null && DECIMAL_SCHEMA.equals(schemaName)) {
+                if (scale == null) {
+                    throw new ChangeEventDecodeException("Decimal column " + column + " has no scale");
+                }
+                try {
+                    scales.put(column, Integer.parseInt(scale));
+                } catch (NumberFormatException e) {
+                    throw new ChangeEventDecodeException("Decimal column " + column + " has scale " + scale, e);
+                }
+            }
+        }
+        return scales;
+    }
+
+    private static String readScaleParameter(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String scale = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            if (field.equals("scale")) {
+                scale = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return scale;
+    }
+
+    private static Row readRow(JsonParser parser) throws IOException {
+        Row row = new Row();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "account_id" -> row.accountId = parser.getText();
+                case "number" -> row.number = parser.getText();
+                case "owner_id" -> row.ownerId = parser.getText();
+                case "balance", "initial_balance" -> {
+                    row.amount = readDecimal(parser, token);
+                    row.amountColumn = field;
+                }
+                case "currency" -> row.currency = parser.getText();
+                case "account_type" -> row.accountType = parser.getText();
+                case "status" -> row.status = parser.getText();
+                case "created_at" -> row.createdAt = readInstant(parser, token);
+                case "updated_at" -> row.updatedAt = readInstant(parser, token);
+                case "version" -> row.version = parser.getValueAsLong();
+                case "event_id" -> row.eventId = parser.getText();
+                case "command_id" -> row.commandId = parser.getText();
+                case "source" -> row.source = parser.getText();
+                case "timestamp" -> row.timestamp = parser.getValueAsLong();
+                default -> parser.skipChildren();
+            }
+        }
+        return row;
+    }
+
+    private static String readDecimal(JsonParser parser, JsonToken token) throws IOException {
+        return token.isNumeric() ? parser.getDecimalValue().toPlainString() : parser.getText();
+    }
+
+    private static Instant readInstant(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isNumeric()) {
+            long micros = parser.getLongValue();
+            return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    Math.floorMod(micros, 1_000_000L) * 1_000L);
+        }
+        try {
+            return Instant.parse(parser.getText());
+        } catch (DateTimeParseException e) {
+            throw new ChangeEventDecodeException("Unsupported timestamp: " + parser.getText(), e);
+        }
+    }
+
+    //=== Mapping ===//
+
+    private static ChangeEvent toChange(Envelope envelope) {
+        if (envelope.table == null) {
+            throw new ChangeEventDecodeException("Change event has no source table");
+        }
+        Row row = envelope.after;
+        if (row != null && row.amount != null) {
+            Integer scale = envelope.decimalScales.get(row.amountColumn);
+            if (scale != null) {
+                row.amount = fromPrecise(row.amount, scale);
+            }
+        }
+        return switch (envelope.table) {
+            case ACCOUNTS_TABLE -> new AccountChange(envelope.op, envelope.lsn, envelope.table,
+                    row == null ? null : toAccount(row));
+            case ACCOUNT_CREATION_EVENTS_TABLE -> new AccountCreationChange(envelope.op, envelope.lsn,
+                    envelope.table, row == null ? null : toAccountCreationEvent(row));
+            default -> null;
+        };
+    }
+
+    private static Account toAccount(Row row) {
+        return new Account.Builder()
+                .accountId(row.accountId)
+                .accountNumber(row.number)
+                .ownerId(row.ownerId)
+                .currency(row.currency)
+                .balance(row.amount == null ? null : money(row))
+                .type(AccountType.safeValueOf(row.accountType))
+                .status(AccountStatus.safeValueOf(row.status))
+                .createdAt(row.createdAt)
+                .updatedAt(row.updatedAt)
+                .version(row.version)
+                .build();
+    }
+
+    private static AccountCreationEvent toAccountCreationEvent(Row row) {
+        return new AccountCreationEvent(row.eventId, row.commandId, row.timestamp, row.source, row.ownerId,
+                row.currency, row.amount == null ? null : money(row), AccountType.safeValueOf(row.accountType),
+                row.createdAt, row.updatedAt);
+    }
+
+    /**
+     * @param encoded base64 of the big-endian two's-complement unscaled value
+     */
+    private static String fromPrecise(String encoded, int scale) {
+        try {
+            return new BigDecimal(new BigInteger(Base64.getDecoder().decode(encoded)), scale).toPlainString();
+        } catch (IllegalArgumentException e) {
+            // Also covers NumberFormatException for zero bytes
+            throw new ChangeEventDecodeException("Invalid precise decimal " + encoded, e);
+        }
+    }
+
+    private static Money money(Row row) {
+        try {
+            return Money.parse(row.amount, row.currency);
+        } catch (NumberFormatException e) {
+            // Most likely precise decimals sent without a schema, which would fail for every change
+            throw new UnsupportedChangeEncodingException("Unsupported decimal " + row.amount
+                    + "; set decimal.handling.mode to string, or enable schemas for precise decimals", e);
+        } catch (ArithmeticException | IllegalArgumentException e) {
+            throw new ChangeEventDecodeException("Invalid amount " + row.amount + " " + row.currency, e);
+        }
+    }
+
+    /** The parts of the envelope that are kept. */
+    private static final class Envelope {
+        private ChangeOperation op;
+        private long lsn = -1;
+        private String table;
+        private Row after;
+        private Map<String, Integer> decimalScales = Map.of();
+    }
+
+    /** The {@code after} columns of both followed tables; the table is only known once the envelope is read. */
+    private static final class Row {
+        private String accountId;
+        private String number;
+        private String ownerId;
+        private String amount;
+        private String amountColumn;
+        private String currency;
+        private String accountType;
+        private String status;
+        private Instant createdAt;
+        private Instant updatedAt;
+        private long version;
+        private String eventId;
+        private String commandId;
+        private String source;
+        private long timestamp;
+    }
+}
@@ -0,0 +1,53 @@
+package com.banking.events.cdc;
+
+import com.bank.replication.LogEntryHandler;
+import com.bank.replication.exception.InvalidLogEntryException;
+import com.banking.events.cdc.exception.ChangeEventDecodeException;
+import com.banking.events.cdc.exception.UnsupportedChangeEncodingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes replicated Debezium log entries and passes the typed changes on, so a replica works on
+ * {@link AccountChange}s and {@link AccountCreationChange}s instead of JSON. Tombstones and changes to
+ * tables no replica follows are skipped.
+ */
+public class DebeziumLogEntryHandler implements LogEntryHandler {
+    private static final Logger logger = LoggerFactory.getLogger(DebeziumLogEntryHandler.class);
+
+    private final DebeziumChangeDecoder decoder;
+    private final ChangeEventHandler handler;
+
+    public DebeziumLogEntryHandler(ChangeEventHandler handler) {
+        this(DebeziumChangeDecoder.INSTANCE, handler);
+    }
+
+    DebeziumLogEntryHandler(DebeziumChangeDecoder decoder, ChangeEventHandler handler) {
+        this.decoder = decoder;
+        this.handler = handler;
+    }
+
+    /**
+     * @throws InvalidLogEntryException if the entry is not a change event; it would fail the same way on
+     *         every retry, so it is skipped
+     * @throws UnsupportedChangeEncodingException if the connector sends columns in a form the decoder does not
+     *         read; skipping would drop every change and let the replica diverge silently, so the entry is
+     *         retried and its lane stalls until the connector is fixed
+     */
+    @Override
+    public void apply(String key, byte[] entry) throws Exception {
+        ChangeEvent change;
+        try {
+            change = decoder.decode(entry);
+        } catch (UnsupportedChangeEncodingException e) {
+            throw e;
+        } catch (ChangeEventDecodeException e) {
+            throw new InvalidLogEntryException("Undecodable change event for key " + key, e);
+        }
+        if (change == null) {
+            logger.debug("Skipped log entry for key {} with no followed change", key);
+            return;
+        }
+        handler.apply(key, change);
+    }
+}
@@ -0,0 +1,13 @@
+package com.banking.events.cdc.exception;
+
+/**
+ * The bytes given to the change event decoder are not a Debezium change event it can read.
+ */
+public class ChangeEventDecodeException extends RuntimeException {
+    public ChangeEventDecodeException(String message) {
+        super(message);
+    }
+    public ChangeEventDecodeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.banking.events.cdc.exception;
+
+/**
+ * A change event uses an encoding the decoder does not read, such as a {@code decimal.handling.mode} it
+ * cannot interpret. Unlike a malformed event this affects every change, so the connector configuration is
+ * at fault rather than the event.
+ */
+public class UnsupportedChangeEncodingException extends ChangeEventDecodeException {
+    public UnsupportedChangeEncodingException(String message) {
+        super(message);
+    }
+    public UnsupportedChangeEncodingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
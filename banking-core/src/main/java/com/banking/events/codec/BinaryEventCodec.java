@@ -0,0 +1,209 @@
+package com.banking.events.codec;
+
+import com.banking.events.EventType;
+import com.banking.events.codec.exception.EventCodecException;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.events.model.ReplicationEvent;
+import com.banking.model.AccountType;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Compact big-endian encoding of replication events, versioned by its first byte.
+ * <p>
+ * Format version 1 starts with a fixed-size part: version (u8), event type (u8), timestamp (i64), then
+ * the fixed-size fields of the event type. For {@link EventType#ACCOUNT_CREATED} those are the initial
+ * balance in minor units (i64), the account type (u8), and the creation and update instants as epoch
+ * seconds (i64) plus nanos (i32). The other event types carry no payload yet and stop after the
+ * timestamp. Strings follow: event id, command id, source, then for account creation the owner id and
+ * currency, each as a u16 byte length and UTF-8 bytes, with length {@code 0xFFFF} for null.
+ * <p>
+ * Because every number sits at a fixed offset, {@link #decode} returns a view that reads each field
+ * only when asked for it.
+ */
+public final class BinaryEventCodec implements EventCodec {
+
+    public static final BinaryEventCodec INSTANCE = new BinaryEventCodec();
+
+    public static final int FORMAT_VERSION = 1;
+    public static final int MAX_STRING_BYTES = 0xFFFE;
+
+    static final int NULL_LENGTH = 0xFFFF;
+
+    static final int VERSION_OFFSET = 0;
+    static final int TYPE_OFFSET = 1;
+    static final int TIMESTAMP_OFFSET = 2;
+    static final int HEADER_SIZE = 10;
+    static final int HEADER_STRINGS = 3;
+
+    static final int BALANCE_OFFSET = HEADER_SIZE;
+    static final int ACCOUNT_TYPE_OFFSET = BALANCE_OFFSET + Long.BYTES;
+    static final int CREATED_AT_OFFSET = ACCOUNT_TYPE_OFFSET + 1;
+    static final int UPDATED_AT_OFFSET = CREATED_AT_OFFSET + Long.BYTES + Integer.BYTES;
+    static final int ACCOUNT_CREATED_SIZE = UPDATED_AT_OFFSET + Long.BYTES + Integer.BYTES;
+    static final int ACCOUNT_CREATED_STRINGS = HEADER_STRINGS + 2;
+
+    // Wire ids are indexes into these tables. Only ever append; reordering needs a new format version.
+    private static final EventType[] EVENT_TYPES = {
+            EventType.ACCOUNT_CREATED,
+            EventType.ACCOUNT_DEBITED,
+            EventType.ACCOUNT_CREDITED,
+            EventType.ACCOUNT_HOLD_PLACED,
+            EventType.ACCOUNT_HOLD_RELEASED,
+            EventType.ACCOUNT_STATUS_CHANGED
+    };
+    static final AccountType[] ACCOUNT_TYPES = {
+            AccountType.SAVINGS,
+            AccountType.CHECKING,
+            AccountType.BUSINESS,
+            AccountType.LOAN,
+            AccountType.FIXED_DEPOSIT
+    };
+
+    private static final int[] EVENT_TYPE_IDS = wireIds(EVENT_TYPES, EventType.values().length);
+    private static final int[] ACCOUNT_TYPE_IDS = wireIds(ACCOUNT_TYPES, AccountType.values().length);
+
+    private BinaryEventCodec() {
+    }
+
+    /**
+     * @throws EventCodecException if a string is longer than {@link #MAX_STRING_BYTES} in UTF-8
+     */
+    @Override
+    public int encodedSize(ReplicationEvent event) {
+        return encodedSize(event, event.getEventType() == EventType.ACCOUNT_CREATED ? accountCreation(event) : null);
+    }
+
+    private static int encodedSize(ReplicationEvent event, AccountCreationEvent created) {
+        int size = stringSize(event.getEventId()) + stringSize(event.getCommandId()) + stringSize(event.getSource());
+        if (created != null) {
+            return size + ACCOUNT_CREATED_SIZE + stringSize(created.getOwnerId()) + stringSize(created.getCurrency());
+        }
+        return size + HEADER_SIZE;
+    }
+
+    @Override
+    public void encode(ReplicationEvent event, ByteBuffer out) {
+        EventType eventType = event.getEventType();
+        int typeId = EVENT_TYPE_IDS[eventType.ordinal()];
+        if (typeId < 0) {
+            throw new EventCodecException("No wire id for event type " + eventType);
+        }
+        // Validate before writing anything, so a rejected event leaves the buffer as it was
+        AccountCreationEvent created = null;
+        int accountTypeId = -1;
+        if (eventType == EventType.ACCOUNT_CREATED) {
+            created = accountCreation(event);
+            accountTypeId = ACCOUNT_TYPE_IDS[created.getAccountType().ordinal()];
+            if (accountTypeId < 0) {
+                throw new EventCodecException("No wire id for account type " + created.getAccountType());
+            }
+            if (!created.getInitialBalance().hasCurrency(created.getCurrency())) {
+                throw new EventCodecException("Initial balance of event " + event.getEventId()
+                        + " is not in " + created.getCurrency());
+            }
+        }
+        int size = encodedSize(event, created);
+        if (out.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+
+        out.put((byte) FORMAT_VERSION);
+        out.put((byte) typeId);
+        out.putLong(event.getTimestamp());
+        if (created != null) {
+            out.putLong(created.getInitialBalance().getMinorUnits());
+            out.put((byte) accountTypeId);
+            putInstant(out, created.getCreatedAt());
+            putInstant(out, created.getUpdatedAt());
+        }
+
+        putString(out, event.getEventId());
+        putString(out, event.getCommandId());
+        putString(out, event.getSource());
+        if (created != null) {
+            putString(out, created.getOwnerId());
+            putString(out, created.getCurrency());
+        }
+    }
+
+    @Override
+    public EncodedEvent decode(ByteBuffer in) {
+        ByteBuffer event = in.slice();
+        if (event.remaining() < HEADER_SIZE) {
+            throw new EventCodecException("Event is " + event.remaining() + " bytes, shorter than its header");
+        }
+        int version = event.get(VERSION_OFFSET) & 0xFF;
+        if (version != FORMAT_VERSION) {
+            throw new EventCodecException("Unsupported event format version " + version);
+        }
+        int typeId = event.get(TYPE_OFFSET) & 0xFF;
+        if (typeId >= EVENT_TYPES.length) {
+            throw new EventCodecException("Unknown event type id " + typeId);
+        }
+        EventType eventType = EVENT_TYPES[typeId];
+        if (eventType == EventType.ACCOUNT_CREATED) {
+            requireSize(event, ACCOUNT_CREATED_SIZE);
+            return new EncodedAccountCreationEvent(event);
+        }
+        return new EncodedEvent(event, eventType, HEADER_SIZE, HEADER_STRINGS);
+    }
+
+    //=== Helpers ===//
+
+    private static AccountCreationEvent accountCreation(ReplicationEvent event) {
+        if (event instanceof AccountCreationEvent created) {
+            return created;
+        }
+        throw new EventCodecException("ACCOUNT_CREATED event " + event.getEventId()
+                + " is a " + event.getClass().getSimpleName());
+    }
+
+    private static void putInstant(ByteBuffer out, Instant instant) {
+        out.putLong(instant.getEpochSecond());
+        out.putInt(instant.getNano());
+    }
+
+    private static int stringSize(String value) {
+        if (value == null) {
+            return Short.BYTES;
+        }
+        int length = Utf8.encodedLength(value);
+        if (length > MAX_STRING_BYTES) {
+            throw new EventCodecException("String of " + length + " bytes exceeds " + MAX_STRING_BYTES);
+        }
+        return Short.BYTES + length;
+    }
+
+    /**
+     * Only called once {@link #encodedSize} has checked the length of every string and the room left.
+     */
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putShort((short) NULL_LENGTH);
+            return;
+        }
+        int lengthPosition = out.position();
+        out.position(lengthPosition + Short.BYTES);
+        int length = Utf8.write(out, value);
+        out.putShort(lengthPosition, (short) length);
+    }
+
+    private static void requireSize(ByteBuffer event, int size) {
+        if (event.remaining() < size) {
+            throw new EventCodecException("Event is " + event.remaining() + " bytes, expected at least " + size);
+        }
+    }
+
+    private static int[] wireIds(Enum<?>[] table, int constants) {
+        int[] ids = new int[constants];
+        Arrays.fill(ids, -1);
+        for (int i = 0; i < table.length; i++) {
+            ids[table[i].ordinal()] = i;
+        }
+        return ids;
+    }
+}
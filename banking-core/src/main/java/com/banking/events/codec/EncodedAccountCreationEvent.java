@@ -0,0 +1,63 @@
+package com.banking.events.codec;
+
+import com.banking.events.EventType;
+import com.banking.events.codec.exception.EventCodecException;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import static com.banking.events.codec.BinaryEventCodec.ACCOUNT_CREATED_SIZE;
+import static com.banking.events.codec.BinaryEventCodec.ACCOUNT_CREATED_STRINGS;
+import static com.banking.events.codec.BinaryEventCodec.ACCOUNT_TYPES;
+import static com.banking.events.codec.BinaryEventCodec.ACCOUNT_TYPE_OFFSET;
+import static com.banking.events.codec.BinaryEventCodec.BALANCE_OFFSET;
+import static com.banking.events.codec.BinaryEventCodec.CREATED_AT_OFFSET;
+import static com.banking.events.codec.BinaryEventCodec.UPDATED_AT_OFFSET;
+
+/**
+ * View of an encoded {@link EventType#ACCOUNT_CREATED} event.
+ */
+public class EncodedAccountCreationEvent extends EncodedEvent {
+
+    EncodedAccountCreationEvent(ByteBuffer buffer) {
+        super(buffer, EventType.ACCOUNT_CREATED, ACCOUNT_CREATED_SIZE, ACCOUNT_CREATED_STRINGS);
+    }
+
+    public String getOwnerId() { return string(3); }
+    public String getCurrency() { return string(4); }
+    public Instant getCreatedAt() { return instant(CREATED_AT_OFFSET); }
+    public Instant getUpdatedAt() { return instant(UPDATED_AT_OFFSET); }
+
+    public long getInitialBalanceMinorUnits() {
+        return buffer().getLong(BALANCE_OFFSET);
+    }
+
+    public Money getInitialBalance() {
+        return Money.ofMinor(getInitialBalanceMinorUnits(), getCurrency());
+    }
+
+    public AccountType getAccountType() {
+        int id = buffer().get(ACCOUNT_TYPE_OFFSET) & 0xFF;
+        if (id >= ACCOUNT_TYPES.length) {
+            throw new EventCodecException("Unknown account type id " + id);
+        }
+        return ACCOUNT_TYPES[id];
+    }
+
+    /**
+     * Decodes every field into a full event, keeping its original ID and timestamp.
+     */
+    public AccountCreationEvent toEvent() {
+        String currency = getCurrency();
+        return new AccountCreationEvent(getEventId(), getCommandId(), getTimestamp(), getSource(), getOwnerId(),
+                currency, Money.ofMinor(getInitialBalanceMinorUnits(), currency), getAccountType(),
+                getCreatedAt(), getUpdatedAt());
+    }
+
+    private Instant instant(int offset) {
+        return Instant.ofEpochSecond(buffer().getLong(offset), buffer().getInt(offset + Long.BYTES));
+    }
+}
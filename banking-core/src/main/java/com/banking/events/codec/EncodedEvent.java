@@ -0,0 +1,78 @@
+package com.banking.events.codec;
+
+import com.banking.events.EventType;
+import com.banking.events.codec.exception.EventCodecException;
+
+import java.nio.ByteBuffer;
+
+import static com.banking.events.codec.BinaryEventCodec.NULL_LENGTH;
+import static com.banking.events.codec.BinaryEventCodec.TIMESTAMP_OFFSET;
+import static com.banking.events.codec.BinaryEventCodec.VERSION_OFFSET;
+
+/**
+ * Read-only view of an event encoded by {@link BinaryEventCodec}. Numbers are read from their fixed
+ * offset on every call; strings are decoded on every call too, after the string offsets have been
+ * located once. Not thread-safe.
+ */
+public class EncodedEvent {
+
+    private final ByteBuffer buffer;
+    private final EventType eventType;
+    private final int stringsOffset;
+    private final int stringCount;
+    private int[] stringOffsets;
+
+    EncodedEvent(ByteBuffer buffer, EventType eventType, int stringsOffset, int stringCount) {
+        this.buffer = buffer;
+        this.eventType = eventType;
+        this.stringsOffset = stringsOffset;
+        this.stringCount = stringCount;
+    }
+
+    public int getFormatVersion() { return buffer.get(VERSION_OFFSET) & 0xFF; }
+    public EventType getEventType() { return eventType; }
+    public long getTimestamp() { return buffer.getLong(TIMESTAMP_OFFSET); }
+    public String getEventId() { return string(0); }
+    public String getCommandId() { return string(1); }
+    public String getSource() { return string(2); }
+
+    /**
+     * @return the encoded length of the event in bytes
+     */
+    public int size() {
+        return buffer.limit();
+    }
+
+    protected final ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * @param index position of the string in the encoded event, counting the header strings
+     */
+    protected final String string(int index) {
+        if (stringOffsets == null) {
+            stringOffsets = locateStrings();
+        }
+        int offset = stringOffsets[index];
+        int length = buffer.getShort(offset) & 0xFFFF;
+        return length == NULL_LENGTH ? null : Utf8.read(buffer, offset + Short.BYTES, length);
+    }
+
+    private int[] locateStrings() {
+        int[] offsets = new int[stringCount];
+        int position = stringsOffset;
+        for (int i = 0; i < stringCount; i++) {
+            if (position + Short.BYTES > buffer.limit()) {
+                throw new EventCodecException("Event is truncated before string " + i);
+            }
+            offsets[i] = position;
+            int length = buffer.getShort(position) & 0xFFFF;
+            position += Short.BYTES + (length == NULL_LENGTH ? 0 : length);
+        }
+        if (position != buffer.limit()) {
+            throw new EventCodecException("Event is " + buffer.limit() + " bytes but its fields end at " + position);
+        }
+        return offsets;
+    }
+}
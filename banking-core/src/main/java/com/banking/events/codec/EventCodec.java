@@ -0,0 +1,39 @@
+package com.banking.events.codec;
+
+import com.banking.events.model.ReplicationEvent;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts replication events to and from their wire form.
+ */
+public interface EventCodec {
+
+    /**
+     * @return the exact number of bytes {@link #encode(ReplicationEvent, ByteBuffer)} writes for {@code event}
+     */
+    int encodedSize(ReplicationEvent event);
+
+    /**
+     * Writes {@code event} at the buffer's position and advances it, so one buffer can be reused for
+     * many events.
+     *
+     * @throws java.nio.BufferOverflowException if fewer than {@link #encodedSize} bytes remain
+     * @throws com.banking.events.codec.exception.EventCodecException if the event cannot be encoded
+     */
+    void encode(ReplicationEvent event, ByteBuffer out);
+
+    /**
+     * Reads the remaining bytes of {@code in} as one event without changing its position. Fields are
+     * decoded when they are first read, so the buffer must not be modified while the result is in use.
+     *
+     * @throws com.banking.events.codec.exception.EventCodecException if the bytes are not a known event
+     */
+    EncodedEvent decode(ByteBuffer in);
+
+    default byte[] encode(ReplicationEvent event) {
+        byte[] bytes = new byte[encodedSize(event)];
+        encode(event, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+}
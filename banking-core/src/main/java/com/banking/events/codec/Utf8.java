@@ -0,0 +1,76 @@
+package com.banking.events.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 straight into and out of a {@link ByteBuffer}, without the intermediate array of
+ * {@link String#getBytes}. Unpaired surrogates are written as {@code '?'}, as the JDK encoder does.
+ */
+final class Utf8 {
+
+    private Utf8() {
+    }
+
+    static int encodedLength(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // Two chars, four bytes
+                bytes += 2;
+                i++;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    static int write(ByteBuffer out, String value) {
+        int start = out.position();
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | c >> 6));
+                out.put((byte) (0x80 | c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                out.put((byte) (0xE0 | c >> 12));
+                out.put((byte) (0x80 | c >> 6 & 0x3F));
+                out.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | codePoint >> 18));
+                out.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                out.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                out.put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                out.put((byte) '?');
+            }
+        }
+        return out.position() - start;
+    }
+
+    static String read(ByteBuffer in, int offset, int length) {
+        if (in.hasArray()) {
+            return new String(in.array(), in.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        in.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,13 @@
+package com.banking.events.codec.exception;
+
+/**
+ * An event could not be encoded, or the bytes given to a codec are not an event it can read.
+ */
+public class EventCodecException extends RuntimeException {
+    public EventCodecException(String message) {
+        super(message);
+    }
+    public EventCodecException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,13 +1,40 @@
 package com.banking.events.dao;
 
+import com.banking.dao.batch.BatchResult;
 import com.banking.events.model.AccountCreationEvent;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AccountCreationEventDao {
     void save(AccountCreationEvent event) throws SQLException;
+
+    /**
+     * Inserts events in chunks; rows rejected by the database are reported rather than thrown.
+     */
+    BatchResult<AccountCreationEvent> saveAll(Collection<AccountCreationEvent> events) throws SQLException;
     List<AccountCreationEvent> findAll() throws SQLException;
+
+    /**
+     * Streams every event in (timestamp, event ID) order without loading the table into memory.
+     * The stream holds database resources and must be closed.
+     */
+    Stream<AccountCreationEvent> streamAll() throws SQLException;
+
+    /**
+     * Returns up to {@code limit} events ordered by (timestamp, event ID) that sort after the given position.
+     * Pass {@code Long.MIN_VALUE} and an empty ID to read from the oldest event.
+     */
+    List<AccountCreationEvent> findAfter(long timestamp, String eventId, int limit) throws SQLException;
+
     void delete(String eventId) throws SQLException;
+
+    /**
+     * Deletes the given events in one batch.
+     * @return number of rows deleted
+     */
+    int deleteAll(Collection<String> eventIds) throws SQLException;
 }
 
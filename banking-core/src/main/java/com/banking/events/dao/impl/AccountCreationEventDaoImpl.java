@@ -1,23 +1,26 @@
 package com.banking.events.dao.impl;
 
+import com.banking.dao.batch.BatchInserter;
+import com.banking.dao.batch.BatchResult;
+import com.banking.dao.support.JdbcStreams;
+import com.banking.dao.transaction.ConnectionProvider;
+import com.banking.dao.transaction.SingleConnectionProvider;
 import com.banking.events.dao.AccountCreationEventDao;
 import com.banking.events.model.AccountCreationEvent;
 import com.banking.model.AccountType;
+import com.banking.model.Money;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class AccountCreationEventDaoImpl implements AccountCreationEventDao {
-    private final Connection connection;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
 
-    public AccountCreationEventDaoImpl(Connection connection) {
-        this.connection = connection;
-    }
-
-    @Override
-    public void save(AccountCreationEvent event) throws SQLException {
-        String sql = """
+    private static final String INSERT_PREFIX = """
             INSERT INTO account_creation_events (
                 event_id,
                 event_type,
@@ -30,32 +33,58 @@ public class AccountCreationEventDaoImpl implements AccountCreationEventDao {
                 created_at,
                 updated_at,
                 timestamp
-            )
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
+            )""";
+    private static final int INSERT_COLUMNS = 11;
+
+    private final ConnectionProvider connectionProvider;
+    private final BatchInserter<AccountCreationEvent> batchInserter;
+
+    public AccountCreationEventDaoImpl(Connection connection) {
+        this(new SingleConnectionProvider(connection));
+    }
+
+    public AccountCreationEventDaoImpl(Connection connection, int batchSize) {
+        this(new SingleConnectionProvider(connection), batchSize);
+    }
+
+    public AccountCreationEventDaoImpl(ConnectionProvider connectionProvider) {
+        this(connectionProvider, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize number of rows sent per multi-row insert by {@link #saveAll}
+     */
+    public AccountCreationEventDaoImpl(ConnectionProvider connectionProvider, int batchSize) {
+        this.connectionProvider = connectionProvider;
+        this.batchInserter = new BatchInserter<>(INSERT_PREFIX, INSERT_COLUMNS, batchSize,
+                AccountCreationEventDaoImpl::setEventParameters);
+    }
+
+    @Override
+    public void save(AccountCreationEvent event) throws SQLException {
+        String sql = INSERT_PREFIX + "\nVALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, event.getEventId());
-            stmt.setString(2, event.getEventType().name());
-            stmt.setString(3, event.getCommandId());
-            stmt.setString(4, event.getSource());
-            stmt.setString(5, event.getOwnerId());
-            stmt.setString(6, event.getCurrency());
-            stmt.setBigDecimal(7, event.getInitialBalance());
-            stmt.setString(8, event.getAccountType().name());
-            stmt.setTimestamp(9, Timestamp.from(event.getCreatedAt()));
-            stmt.setTimestamp(10, Timestamp.from(event.getUpdatedAt()));
-            stmt.setLong(11, event.getTimestamp());
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            setEventParameters(stmt, 1, event);
             stmt.executeUpdate();
         }
     }
 
+    @Override
+    public BatchResult<AccountCreationEvent> saveAll(Collection<AccountCreationEvent> events) throws SQLException {
+        try (Connection connection = connectionProvider.getConnection()) {
+            return batchInserter.insert(connection, events);
+        }
+    }
+
     @Override
     public List<AccountCreationEvent> findAll() throws SQLException {
         String sql = "SELECT * FROM account_creation_events ORDER BY created_at DESC";
         List<AccountCreationEvent> events = new ArrayList<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 events.add(fromResultSet(rs));
@@ -65,22 +94,94 @@ public class AccountCreationEventDaoImpl implements AccountCreationEventDao {
         return events;
     }
 
+    @Override
+    public Stream<AccountCreationEvent> streamAll() throws SQLException {
+        return JdbcStreams.stream(connectionProvider.getConnection(),
+                "SELECT * FROM account_creation_events ORDER BY timestamp, event_id",
+                DEFAULT_FETCH_SIZE, this::fromResultSet);
+    }
+
+    @Override
+    public List<AccountCreationEvent> findAfter(long timestamp, String eventId, int limit) throws SQLException {
+        String sql = """
+            SELECT * FROM account_creation_events
+            WHERE (timestamp, event_id) > (?, ?)
+            ORDER BY timestamp, event_id
+            LIMIT ?
+        """;
+        List<AccountCreationEvent> events = new ArrayList<>(Math.min(limit, 1024));
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, timestamp);
+            stmt.setString(2, eventId);
+            stmt.setInt(3, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(fromResultSet(rs));
+                }
+            }
+        }
+
+        return events;
+    }
+
     @Override
     public void delete(String eventId) throws SQLException {
         String sql = "DELETE FROM account_creation_events WHERE event_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, eventId);
             stmt.executeUpdate();
         }
     }
 
+    @Override
+    public int deleteAll(Collection<String> eventIds) throws SQLException {
+        if (eventIds.isEmpty()) {
+            return 0;
+        }
+        String sql = "DELETE FROM account_creation_events WHERE event_id = ?";
+        int deleted = 0;
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (String eventId : eventIds) {
+                stmt.setString(1, eventId);
+                stmt.addBatch();
+            }
+            for (int count : stmt.executeBatch()) {
+                // Drivers may report SUCCESS_NO_INFO instead of a row count
+                deleted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return deleted;
+    }
+
+    private static void setEventParameters(PreparedStatement stmt, int offset, AccountCreationEvent event)
+            throws SQLException {
+        stmt.setString(offset, event.getEventId());
+        stmt.setString(offset + 1, event.getEventType().name());
+        stmt.setString(offset + 2, event.getCommandId());
+        stmt.setString(offset + 3, event.getSource());
+        stmt.setString(offset + 4, event.getOwnerId());
+        stmt.setString(offset + 5, event.getCurrency());
+        stmt.setBigDecimal(offset + 6, event.getInitialBalance().toBigDecimal());
+        stmt.setString(offset + 7, event.getAccountType().name());
+        stmt.setTimestamp(offset + 8, Timestamp.from(event.getCreatedAt()));
+        stmt.setTimestamp(offset + 9, Timestamp.from(event.getUpdatedAt()));
+        stmt.setLong(offset + 10, event.getTimestamp());
+    }
+
     private AccountCreationEvent fromResultSet(ResultSet rs) throws SQLException {
+        String currency = rs.getString("currency");
         return new AccountCreationEvent(
+                rs.getString("event_id"),
                 rs.getString("command_id"),
+                rs.getLong("timestamp"),
                 rs.getString("source"),
                 rs.getString("owner_id"),
-                rs.getString("currency"),
-                rs.getBigDecimal("initial_balance"),
+                currency,
+                Money.of(rs.getBigDecimal("initial_balance"), currency),
                 AccountType.valueOf(rs.getString("account_type")),
                 rs.getTimestamp("created_at").toInstant(),
                 rs.getTimestamp("updated_at").toInstant()
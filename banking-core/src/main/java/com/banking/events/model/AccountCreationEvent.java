@@ -2,15 +2,15 @@ package com.banking.events.model;
 
 import com.banking.events.EventType;
 import com.banking.model.AccountType;
+import com.banking.model.Money;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 public class AccountCreationEvent extends ReplicationEvent {
 
     private final String ownerId;
     private final String currency;
-    private final BigDecimal initialBalance;
+    private final Money initialBalance;
     private final AccountType accountType;
     private final Instant createdAt;
     private final Instant updatedAt;
@@ -19,7 +19,7 @@ public class AccountCreationEvent extends ReplicationEvent {
                                 String source,
                                 String ownerId,
                                 String currency,
-                                BigDecimal initialBalance,
+                                Money initialBalance,
                                 AccountType accountType,
                                 Instant createdAt,
                                 Instant updatedAt) {
@@ -32,10 +32,32 @@ public class AccountCreationEvent extends ReplicationEvent {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Restores a stored event with its original ID and timestamp.
+     */
+    public AccountCreationEvent(String eventId,
+                                String commandId,
+                                long timestamp,
+                                String source,
+                                String ownerId,
+                                String currency,
+                                Money initialBalance,
+                                AccountType accountType,
+                                Instant createdAt,
+                                Instant updatedAt) {
+        super(eventId, EventType.ACCOUNT_CREATED, commandId, timestamp, source);
+        this.ownerId = ownerId;
+        this.currency = currency;
+        this.initialBalance = initialBalance;
+        this.accountType = accountType;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters
     public String getOwnerId() { return ownerId; }
     public String getCurrency() { return currency; }
-    public BigDecimal getInitialBalance() { return initialBalance; }
+    public Money getInitialBalance() { return initialBalance; }
     public AccountType getAccountType() { return accountType; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
@@ -1,8 +1,7 @@
 package com.banking.events.model;
 
 import com.banking.events.EventType;
-
-import java.util.UUID;
+import com.banking.id.UuidV7Generator;
 
 public class ReplicationEvent {
     private final String eventId;
@@ -12,10 +11,17 @@ public class ReplicationEvent {
     private final String source;
 
     protected ReplicationEvent(EventType eventType, String commandId, String source) {
-        this.eventId = UUID.randomUUID().toString();
+        this(UuidV7Generator.INSTANCE.nextString(), eventType, commandId, System.currentTimeMillis(), source);
+    }
+
+    /**
+     * Restores an event that was already stored, keeping its identity and timestamp.
+     */
+    protected ReplicationEvent(String eventId, EventType eventType, String commandId, long timestamp, String source) {
+        this.eventId = eventId;
         this.eventType = eventType;
         this.commandId = commandId;
-        this.timestamp = System.currentTimeMillis();
+        this.timestamp = timestamp;
         this.source = source;
     }
 
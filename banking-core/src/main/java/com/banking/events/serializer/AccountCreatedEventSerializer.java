@@ -5,6 +5,8 @@ import com.banking.events.AccountCreatedEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class AccountCreatedEventSerializer {
     private final ObjectMapper objectMapper;
@@ -16,7 +18,7 @@ public class AccountCreatedEventSerializer {
     }
 
     public byte[] serializeAccountCreated(CreateAccountDto accountDto, String common) throws JsonProcessingException {
-        byte[] commandData = objectMapper.writeValueAsBytes(accountDto);
+        byte[] commandData = objectMapper.writeValueAsBytes(toPayload(accountDto));
 
         AccountCreatedEvent event = new AccountCreatedEvent("commandId",
                 this.sourceNode,
@@ -26,5 +28,18 @@ public class AccountCreatedEventSerializer {
         return objectMapper.writeValueAsBytes(event);
     }
 
+    // Plain values only: the mapper has no java.time support and Money is not a bean
+    private static Map<String, Object> toPayload(CreateAccountDto accountDto) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("ownerId", accountDto.ownerId());
+        payload.put("currency", accountDto.currency());
+        payload.put("initialBalance", accountDto.initialBalance().toString());
+        payload.put("accountType", accountDto.accountType().name());
+        payload.put("createdAt", accountDto.createdAt().toString());
+        payload.put("updatedAt", accountDto.updatedAt().toString());
+        payload.put("commandId", accountDto.commandId());
+        return payload;
+    }
+
 }
 
@@ -0,0 +1,35 @@
+package com.banking.events.serializer;
+
+import com.banking.events.model.AccountCreationEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serializes stored outbox events to the JSON published on the log topic.
+ */
+public class AccountCreationEventSerializer {
+    private final ObjectMapper objectMapper;
+
+    public AccountCreationEventSerializer() {
+        this.objectMapper = new ObjectMapper();
+    }
+
+    public byte[] serialize(AccountCreationEvent event) throws JsonProcessingException {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("eventId", event.getEventId());
+        payload.put("eventType", event.getEventType().name());
+        payload.put("commandId", event.getCommandId());
+        payload.put("timestamp", event.getTimestamp());
+        payload.put("source", event.getSource());
+        payload.put("ownerId", event.getOwnerId());
+        payload.put("currency", event.getCurrency());
+        payload.put("initialBalance", event.getInitialBalance().toString());
+        payload.put("accountType", event.getAccountType().name());
+        payload.put("createdAt", event.getCreatedAt().toString());
+        payload.put("updatedAt", event.getUpdatedAt().toString());
+        return objectMapper.writeValueAsBytes(payload);
+    }
+}
@@ -1,23 +1,41 @@
 package com.banking.grpc;
 
 import com.banking.dto.CreateAccountDto;
+import com.banking.idempotency.IdempotencyGuard;
+import com.banking.idempotency.NoOpIdempotencyGuard;
 import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.Money;
 import com.banking.service.AccountService;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import com.banking.model.AccountType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class AccountGrpcService extends AccountServiceGrpc.AccountServiceImplBase{
     private static final Logger logger = LoggerFactory.getLogger(AccountGrpcService.class);
 
+    /** Commands a single {@code StreamTransactions} call may have outstanding against the ledger. */
+    static final int MAX_IN_FLIGHT_PER_STREAM = 1_024;
+
     private final AccountService accountService;
 
+    private final IdempotencyGuard idempotencyGuard;
+
     public AccountGrpcService(AccountService accountService) {
+        this(accountService, NoOpIdempotencyGuard.INSTANCE);
+    }
+
+    public AccountGrpcService(AccountService accountService, IdempotencyGuard idempotencyGuard) {
         this.accountService = accountService;
+        this.idempotencyGuard = idempotencyGuard;
     }
 
     @Override
@@ -25,23 +43,126 @@ public class AccountGrpcService extends AccountServiceGrpc.AccountServiceImplBas
         try {
             // Generate timestamps ONCE at the entry point
             Instant createdAt = Instant.now();
+            String idempotencyKey = request.getIdempotencyKey();
             CreateAccountDto dto = new CreateAccountDto(
                     request.getOwnerId(),
                     request.getCurrency(),
-                    new BigDecimal(request.getInitialBalance()),
+                    Money.parse(request.getInitialBalance(), request.getCurrency()),
                     AccountType.valueOf(request.getAccountType()),
                     createdAt,
-                    createdAt
+                    createdAt,
+                    idempotencyKey.isEmpty() ? null : idempotencyKey
             );
-            Account account = accountService.createAccount(dto);
-            responseObserver.onNext(mapToAccountResponse(account));
-            responseObserver.onCompleted();
+            idempotent(idempotencyKey, "CreateAccount", AccountResponse.parser(), () ->
+                    CompletableFuture.completedFuture(mapToAccountResponse(accountService.createAccount(dto))))
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            responseObserver.onError(GrpcErrors.toStatusException(error));
+                        } else {
+                            responseObserver.onNext(response);
+                            responseObserver.onCompleted();
+                        }
+                    });
         } catch (Exception e) {
-            responseObserver.onError(e);
+            responseObserver.onError(GrpcErrors.toStatusException(e));
         }
     }
 
-    private AccountResponse mapToAccountResponse(Account account) {
+    @Override
+    public void deposit(TransactionRequest request, StreamObserver<AccountResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            Money amount = Money.parse(request.getAmount(), request.getCurrency());
+            return idempotent(request.getIdempotencyKey(), "Deposit", AccountResponse.parser(), () ->
+                    accountService.depositAsync(request.getAccountId(), amount)
+                            .thenApply(balance -> mapToBalanceResponse(request.getAccountId(), balance)));
+        });
+    }
+
+    @Override
+    public void withdraw(TransactionRequest request, StreamObserver<AccountResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            Money amount = Money.parse(request.getAmount(), request.getCurrency());
+            return idempotent(request.getIdempotencyKey(), "Withdraw", AccountResponse.parser(), () ->
+                    accountService.withdrawAsync(request.getAccountId(), amount)
+                            .thenApply(balance -> mapToBalanceResponse(request.getAccountId(), balance)));
+        });
+    }
+
+    @Override
+    public void transfer(TransferRequest request, StreamObserver<TransferResponse> responseObserver) {
+        respond(responseObserver, () -> {
+            Money amount = Money.parse(request.getAmount(), request.getCurrency());
+            return idempotent(request.getIdempotencyKey(), "Transfer", TransferResponse.parser(), () ->
+                    accountService.transferAsync(request.getSourceId(), request.getTargetId(), amount)
+                            .thenApply(result -> TransferResponse.newBuilder()
+                                    .setSourceBalance(result.sourceBalance().toString())
+                                    .setTargetBalance(result.targetBalance().toString())
+                                    .build()));
+        });
+    }
+
+    @Override
+    public void getBalance(AccountRequest request, StreamObserver<BalanceResponse> responseObserver) {
+        respond(responseObserver, () -> CompletableFuture.completedFuture(BalanceResponse.newBuilder()
+                .setBalance(accountService.getBalance(request.getAccountId()).toString())
+                .build()));
+    }
+
+    @Override
+    public void freezeAccount(AccountRequest request, StreamObserver<AccountResponse> responseObserver) {
+        respond(responseObserver, () -> idempotent(request.getIdempotencyKey(), "FreezeAccount",
+                AccountResponse.parser(), () -> {
+                    accountService.freezeAccount(request.getAccountId());
+                    return CompletableFuture.completedFuture(
+                            mapToStatusResponse(request.getAccountId(), AccountStatus.FROZEN));
+                }));
+    }
+
+    @Override
+    public void closeAccount(AccountRequest request, StreamObserver<AccountResponse> responseObserver) {
+        respond(responseObserver, () -> idempotent(request.getIdempotencyKey(), "CloseAccount",
+                AccountResponse.parser(), () -> {
+                    accountService.closeAccount(request.getAccountId());
+                    return CompletableFuture.completedFuture(
+                            mapToStatusResponse(request.getAccountId(), AccountStatus.CLOSED));
+                }));
+    }
+
+    @Override
+    public StreamObserver<TransactionCommand> streamTransactions(StreamObserver<TransactionResult> responseObserver) {
+        return new TransactionStream(accountService, idempotencyGuard,
+                (ServerCallStreamObserver<TransactionResult>) responseObserver, MAX_IN_FLIGHT_PER_STREAM);
+    }
+
+    /**
+     * Requests without a key skip the guard entirely.
+     */
+    private <T extends MessageLite> CompletableFuture<T> idempotent(String key, String operation, Parser<T> parser,
+                                                                    Supplier<CompletableFuture<T>> action) {
+        return key.isEmpty()
+                ? IdempotencyGuard.invoke(action)
+                : idempotencyGuard.execute(key, operation, parser, action);
+    }
+
+    /**
+     * Completes the call once the response is ready, translating failures into gRPC statuses.
+     */
+    private static <T> void respond(StreamObserver<T> responseObserver, Supplier<CompletableFuture<T>> call) {
+        IdempotencyGuard.invoke(call).whenComplete((response, error) -> {
+            if (error != null) {
+                logger.debug("Request failed: {}", GrpcErrors.unwrap(error).getMessage());
+                responseObserver.onError(GrpcErrors.toStatusException(error));
+            } else {
+                responseObserver.onNext(response);
+                responseObserver.onCompleted();
+            }
+        });
+    }
+
+    /**
+     * Full account view, as returned by {@code CreateAccount}.
+     */
+    public static AccountResponse mapToAccountResponse(Account account) {
         return AccountResponse.newBuilder()
                 .setAccountId(account.getAccountId())
                 .setAccountNumber(account.getNumber())
@@ -52,4 +173,21 @@ public class AccountGrpcService extends AccountServiceGrpc.AccountServiceImplBas
                 .setStatus(account.getStatus().name())
                 .build();
     }
+
+    // The ledger reports only what changed, so money movements and status changes return partial accounts
+
+    private static AccountResponse mapToBalanceResponse(String accountId, Money balance) {
+        return AccountResponse.newBuilder()
+                .setAccountId(accountId)
+                .setBalance(balance.toString())
+                .setCurrency(balance.getCurrency())
+                .build();
+    }
+
+    private static AccountResponse mapToStatusResponse(String accountId, AccountStatus status) {
+        return AccountResponse.newBuilder()
+                .setAccountId(accountId)
+                .setStatus(status.name())
+                .build();
+    }
 }
@@ -0,0 +1,50 @@
+package com.banking.grpc;
+
+import com.banking.idempotency.exception.RequestInProgressException;
+import com.banking.idempotency.exception.RequestOutcomeUnknownException;
+import com.banking.service.exception.AccountNotFoundException;
+import com.banking.service.exception.InsufficientFundsException;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Maps domain exceptions onto gRPC status codes.
+ */
+final class GrpcErrors {
+
+    private GrpcErrors() {
+    }
+
+    static Status.Code statusCode(Throwable error) {
+        if (error instanceof AccountNotFoundException) {
+            return Status.Code.NOT_FOUND;
+        }
+        if (error instanceof InsufficientFundsException || error instanceof IllegalStateException) {
+            return Status.Code.FAILED_PRECONDITION;
+        }
+        if (error instanceof IllegalArgumentException || error instanceof ArithmeticException) {
+            return Status.Code.INVALID_ARGUMENT;
+        }
+        if (error instanceof RequestInProgressException) {
+            return Status.Code.ABORTED;
+        }
+        if (error instanceof RequestOutcomeUnknownException) {
+            return Status.Code.UNKNOWN;
+        }
+        return Status.Code.INTERNAL;
+    }
+
+    static StatusRuntimeException toStatusException(Throwable error) {
+        Throwable cause = unwrap(error);
+        return Status.fromCode(statusCode(cause))
+                .withDescription(cause.getMessage())
+                .withCause(cause)
+                .asRuntimeException();
+    }
+
+    static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,108 @@
+package com.banking.grpc;
+
+import com.banking.config.server.ServerLoadEnv.ExecutorType;
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts the gRPC services on a configurable executor.
+ * Handlers run on that executor rather than on the transport threads, so a handler that blocks on
+ * JDBC only occupies its own (by default virtual) thread.
+ */
+public class GrpcServer {
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServer.class);
+
+    private final Server server;
+    private final ExecutorService executor;
+    private final long shutdownTimeoutSeconds;
+
+    public GrpcServer(int port, ExecutorType executorType, int threads, long shutdownTimeoutSeconds,
+                      List<BindableService> services) {
+        this(port, executorType, threads, shutdownTimeoutSeconds, services, List.of());
+    }
+
+    /**
+     * @param interceptors applied to every call of every service; the first one in the list sees the call first
+     */
+    public GrpcServer(int port, ExecutorType executorType, int threads, long shutdownTimeoutSeconds,
+                      List<BindableService> services, List<ServerInterceptor> interceptors) {
+        this.executor = createExecutor(executorType, threads);
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        ServerBuilder<?> builder = ServerBuilder.forPort(port).executor(executor);
+        services.forEach(builder::addService);
+        // The builder runs the last added interceptor first
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            builder.intercept(interceptors.get(i));
+        }
+        this.server = builder.build();
+        logger.info("gRPC server configured on port {} with {} executor", port, executorType);
+    }
+
+    static ExecutorService createExecutor(ExecutorType executorType, int threads) {
+        return switch (executorType) {
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-call-", 0).factory());
+            case FIXED -> {
+                if (threads <= 0) {
+                    throw new IllegalArgumentException("Thread count must be positive");
+                }
+                yield Executors.newFixedThreadPool(threads, platformThreads());
+            }
+        };
+    }
+
+    private static ThreadFactory platformThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "grpc-call-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public GrpcServer start() throws IOException {
+        server.start();
+        logger.info("gRPC server listening on port {}", server.getPort());
+        return this;
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+
+    public void blockUntilShutdown() throws InterruptedException {
+        server.awaitTermination();
+    }
+
+    /**
+     * Stops accepting calls, lets in-flight calls finish within the shutdown timeout, then cancels the rest.
+     */
+    public void stop() {
+        logger.info("Shutting down gRPC server");
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                logger.warn("gRPC calls still running after {}s, cancelling them", shutdownTimeoutSeconds);
+                server.shutdownNow();
+                server.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
+        logger.info("gRPC server stopped");
+    }
+}
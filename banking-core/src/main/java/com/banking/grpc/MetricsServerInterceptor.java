@@ -0,0 +1,68 @@
+package com.banking.grpc;
+
+import com.banking.observability.Counter;
+import com.banking.observability.LatencyHistogram;
+import com.banking.observability.MetricFamily;
+import com.banking.observability.MetricsRegistry;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Counts gRPC calls by method and status code and records how long each took, from the call arriving
+ * until its status was sent. A call the client cancels is recorded once, as {@code CANCELLED}.
+ * For streaming methods the latency is that of the whole stream.
+ */
+public class MetricsServerInterceptor implements ServerInterceptor {
+
+    private final MetricFamily<LatencyHistogram> durations;
+    private final MetricFamily<Counter> calls;
+
+    public MetricsServerInterceptor() {
+        this(MetricsRegistry.INSTANCE);
+    }
+
+    public MetricsServerInterceptor(MetricsRegistry registry) {
+        this.durations = registry.histogram("grpc_server_call_duration_seconds",
+                "Latency of gRPC calls until the status is sent", "method");
+        this.calls = registry.counter("grpc_server_calls_total",
+                "Completed gRPC calls by status code", "method", "code");
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String method = call.getMethodDescriptor().getFullMethodName();
+        long start = System.nanoTime();
+        AtomicBoolean recorded = new AtomicBoolean();
+
+        ServerCall<ReqT, RespT> timedCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                record(method, start, status.getCode(), recorded);
+                super.close(status, trailers);
+            }
+        };
+        ServerCall.Listener<ReqT> listener = next.startCall(timedCall, headers);
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onCancel() {
+                record(method, start, Status.Code.CANCELLED, recorded);
+                super.onCancel();
+            }
+        };
+    }
+
+    private void record(String method, long start, Status.Code code, AtomicBoolean recorded) {
+        if (recorded.compareAndSet(false, true)) {
+            durations.labels(method).recordSince(start);
+            calls.labels(method, code.name()).increment();
+        }
+    }
+}
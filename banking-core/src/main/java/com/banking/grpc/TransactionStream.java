@@ -0,0 +1,183 @@
+package com.banking.grpc;
+
+import com.banking.idempotency.IdempotencyGuard;
+import com.banking.ledger.TransferResult;
+import com.banking.model.Money;
+import com.banking.service.AccountService;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Server side of one {@code StreamTransactions} call.
+ * <p>
+ * Inbound flow control is manual: at most {@code maxInFlight} commands are requested from the
+ * client before their results have been written, and a finished command only releases a new
+ * request while the client keeps reading. A slow ledger or a slow reader therefore stalls the
+ * sender instead of growing buffers on the server.
+ * <p>
+ * Commands carrying an idempotency key are deduplicated like the unary RPCs; a replayed result
+ * is returned under the correlation ID of the command that replayed it.
+ */
+final class TransactionStream implements StreamObserver<TransactionCommand> {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStream.class);
+
+    private final AccountService accountService;
+    private final IdempotencyGuard idempotencyGuard;
+    private final ServerCallStreamObserver<TransactionResult> responses;
+
+    // Guards the fields below and every call on responses, which is not thread-safe
+    private final Object lock = new Object();
+    private int inFlight;
+    private int deferredRequests;
+    private boolean halfClosed;
+    private boolean done;
+
+    TransactionStream(AccountService accountService, IdempotencyGuard idempotencyGuard,
+                      ServerCallStreamObserver<TransactionResult> responses, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.accountService = accountService;
+        this.idempotencyGuard = idempotencyGuard;
+        this.responses = responses;
+        responses.disableAutoInboundFlowControl();
+        responses.setOnReadyHandler(this::releaseDeferredRequests);
+        responses.setOnCancelHandler(this::cancel);
+        responses.request(maxInFlight);
+    }
+
+    @Override
+    public void onNext(TransactionCommand command) {
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            inFlight++;
+        }
+
+        CompletableFuture<TransactionResult> result;
+        try {
+            result = apply(command);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.completedFuture(failure(command.getCorrelationId(), e));
+        }
+        result.exceptionally(e -> failure(command.getCorrelationId(), GrpcErrors.unwrap(e)))
+                .thenAccept(this::complete);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        logger.debug("Transaction stream aborted by client: {}", t.getMessage());
+        cancel();
+    }
+
+    @Override
+    public void onCompleted() {
+        synchronized (lock) {
+            halfClosed = true;
+            if (!done && inFlight == 0) {
+                done = true;
+                responses.onCompleted();
+            }
+        }
+    }
+
+    private CompletableFuture<TransactionResult> apply(TransactionCommand command) {
+        String correlationId = command.getCorrelationId();
+        CompletableFuture<TransactionResult> result = switch (command.getCommandCase()) {
+            case DEPOSIT -> {
+                TransactionRequest deposit = command.getDeposit();
+                Money amount = Money.parse(deposit.getAmount(), deposit.getCurrency());
+                yield idempotent(deposit.getIdempotencyKey(), "StreamTransactions/Deposit", () ->
+                        accountService.depositAsync(deposit.getAccountId(), amount)
+                                .thenApply(balance -> success(correlationId, balance).build()));
+            }
+            case WITHDRAW -> {
+                TransactionRequest withdraw = command.getWithdraw();
+                Money amount = Money.parse(withdraw.getAmount(), withdraw.getCurrency());
+                yield idempotent(withdraw.getIdempotencyKey(), "StreamTransactions/Withdraw", () ->
+                        accountService.withdrawAsync(withdraw.getAccountId(), amount)
+                                .thenApply(balance -> success(correlationId, balance).build()));
+            }
+            case TRANSFER -> {
+                TransferRequest transfer = command.getTransfer();
+                Money amount = Money.parse(transfer.getAmount(), transfer.getCurrency());
+                yield idempotent(transfer.getIdempotencyKey(), "StreamTransactions/Transfer", () ->
+                        accountService.transferAsync(transfer.getSourceId(), transfer.getTargetId(), amount)
+                                .thenApply(transferResult -> transferSuccess(correlationId, transferResult)));
+            }
+            default -> throw new IllegalArgumentException("Command has no operation set");
+        };
+        return result.thenApply(outcome -> outcome.getCorrelationId().equals(correlationId)
+                ? outcome : outcome.toBuilder().setCorrelationId(correlationId).build());
+    }
+
+    private CompletableFuture<TransactionResult> idempotent(String key, String operation,
+                                                            Supplier<CompletableFuture<TransactionResult>> action) {
+        return idempotencyGuard.execute(key, operation, TransactionResult.parser(), action);
+    }
+
+    private void complete(TransactionResult result) {
+        synchronized (lock) {
+            inFlight--;
+            if (done) {
+                return;
+            }
+            responses.onNext(result);
+            if (responses.isReady()) {
+                responses.request(1);
+            } else {
+                deferredRequests++;
+            }
+            if (halfClosed && inFlight == 0) {
+                done = true;
+                responses.onCompleted();
+            }
+        }
+    }
+
+    private void releaseDeferredRequests() {
+        synchronized (lock) {
+            if (done || deferredRequests == 0) {
+                return;
+            }
+            responses.request(deferredRequests);
+            deferredRequests = 0;
+        }
+    }
+
+    private void cancel() {
+        synchronized (lock) {
+            done = true;
+        }
+    }
+
+    //=== Result mapping ===//
+
+    private static TransactionResult.Builder success(String correlationId, Money balance) {
+        return TransactionResult.newBuilder()
+                .setCorrelationId(correlationId)
+                .setSuccess(true)
+                .setBalance(balance.toString());
+    }
+
+    private static TransactionResult transferSuccess(String correlationId, TransferResult result) {
+        return success(correlationId, result.sourceBalance())
+                .setTargetBalance(result.targetBalance().toString())
+                .build();
+    }
+
+    private static TransactionResult failure(String correlationId, Throwable error) {
+        return TransactionResult.newBuilder()
+                .setCorrelationId(correlationId)
+                .setSuccess(false)
+                .setErrorCode(GrpcErrors.statusCode(error).name())
+                .setErrorMessage(String.valueOf(error.getMessage()))
+                .build();
+    }
+}
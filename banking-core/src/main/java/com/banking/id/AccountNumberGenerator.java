@@ -0,0 +1,64 @@
+package com.banking.id;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Issues 20-digit account numbers: a zero-padded {@link SnowflakeIdGenerator} ID followed by a
+ * Luhn check digit, so that mistyped numbers are rejected before any lookup.
+ */
+public class AccountNumberGenerator {
+
+    static final int ID_DIGITS = 19;
+
+    public static final int LENGTH = ID_DIGITS + 1;
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    public AccountNumberGenerator(SnowflakeIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    public String next() {
+        return format(idGenerator.nextId());
+    }
+
+    static String format(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("id must not be negative: " + id);
+        }
+        byte[] digits = new byte[LENGTH];
+        int sum = 0;
+        // Luhn doubles every second digit counting leftwards from the one next to the check digit
+        for (int i = ID_DIGITS - 1, position = 0; i >= 0; i--, position++) {
+            int digit = (int) (id % 10);
+            id /= 10;
+            digits[i] = (byte) ('0' + digit);
+            sum += (position & 1) == 0 ? doubled(digit) : digit;
+        }
+        digits[ID_DIGITS] = (byte) ('0' + (10 - sum % 10) % 10);
+        return new String(digits, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Checks length, digits and the Luhn check digit of an account number.
+     */
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != LENGTH) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = LENGTH - 1, position = 0; i >= 0; i--, position++) {
+            int digit = accountNumber.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            sum += (position & 1) == 1 ? doubled(digit) : digit;
+        }
+        return sum % 10 == 0;
+    }
+
+    private static int doubled(int digit) {
+        int d = digit * 2;
+        return d > 9 ? d - 9 : d;
+    }
+}
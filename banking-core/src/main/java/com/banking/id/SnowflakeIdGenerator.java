@@ -0,0 +1,95 @@
+package com.banking.id;
+
+import com.banking.id.exception.IdGenerationException;
+import com.banking.workerid.service.WorkerIdLease;
+import com.banking.workerid.service.impl.StaticWorkerIdLease;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free generator of unique 63-bit IDs laid out as
+ * {@code [41 bits milliseconds since EPOCH_MILLIS][10 bits worker ID][12 bits sequence]}.
+ * <p>
+ * The last issued millisecond and sequence share one {@link AtomicLong}, so concurrent callers
+ * claim IDs with a single compare-and-set and never block each other. Up to 4096 IDs are issued per
+ * millisecond; callers beyond that spin until the next millisecond. If the clock steps back, IDs keep
+ * counting within the last issued millisecond, so they stay unique and increasing.
+ * <p>
+ * Uniqueness across nodes rests on the worker ID: every node must hold a distinct one, which
+ * {@link WorkerIdLease} guarantees. No IDs are issued while the lease is not valid.
+ */
+public class SnowflakeIdGenerator {
+
+    /** 2025-01-01T00:00:00Z; the timestamp bits last until 2094. */
+    public static final long EPOCH_MILLIS = 1_735_689_600_000L;
+
+    static final int WORKER_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+
+    public static final int MAX_WORKER_ID = (1 << WORKER_ID_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int WORKER_ID_SHIFT = SEQUENCE_BITS;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
+
+    private final WorkerIdLease lease;
+    private final long workerBits;
+    private final LongSupplier clock;
+
+    // (milliseconds since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Generator with a fixed worker ID; only unique as long as no other node uses the same one.
+     */
+    public SnowflakeIdGenerator(int workerId) {
+        this(new StaticWorkerIdLease(workerId));
+    }
+
+    public SnowflakeIdGenerator(WorkerIdLease lease) {
+        this(lease, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(WorkerIdLease lease, LongSupplier clock) {
+        int workerId = lease.getWorkerId();
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("workerId must be between 0 and " + MAX_WORKER_ID + ": " + workerId);
+        }
+        this.lease = lease;
+        this.workerBits = (long) workerId << WORKER_ID_SHIFT;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        if (!lease.isValid()) {
+            throw new IdGenerationException("Worker ID lease is not held");
+        }
+        while (true) {
+            long current = state.get();
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long next;
+            if (now > current >>> SEQUENCE_BITS) {
+                next = now << SEQUENCE_BITS;
+            } else if ((current & SEQUENCE_MASK) != SEQUENCE_MASK) {
+                // Same millisecond, or the clock stepped back: keep counting within the last one
+                next = current + 1;
+            } else {
+                // Sequence exhausted: wait for the clock to pass the last issued millisecond
+                Thread.onSpinWait();
+                continue;
+            }
+            if (state.compareAndSet(current, next)) {
+                return (next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT | workerBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public static long timestampMillis(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+    }
+
+    public static int workerId(long id) {
+        return (int) (id >>> WORKER_ID_SHIFT) & MAX_WORKER_ID;
+    }
+}
@@ -0,0 +1,66 @@
+package com.banking.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free generator of time-ordered version 7 UUIDs (RFC 9562).
+ * <p>
+ * The 48-bit Unix millisecond timestamp is followed by a 12-bit counter in {@code rand_a} and 62
+ * random bits in {@code rand_b}. Timestamp and counter advance together through one
+ * {@link AtomicLong}: a full counter carries into the next millisecond instead of waiting, and a
+ * clock that steps back does not move it backwards, so IDs from one generator strictly increase.
+ * Since the string form is fixed-width lowercase hex, it sorts in the same order.
+ * <p>
+ * The random bits come from {@link ThreadLocalRandom} rather than {@code SecureRandom}: they keep
+ * IDs from different nodes apart but do not make them unguessable.
+ */
+public final class UuidV7Generator {
+
+    public static final UuidV7Generator INSTANCE = new UuidV7Generator(System::currentTimeMillis);
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final LongSupplier clock;
+
+    // (unix milliseconds << COUNTER_BITS) | counter of the last issued UUID
+    private final AtomicLong state = new AtomicLong();
+
+    UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public UUID next() {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        long current;
+        long next;
+        do {
+            current = state.get();
+            next = Math.max(now, current + 1);
+        } while (!state.compareAndSet(current, next));
+
+        long mostSigBits = (next >>> COUNTER_BITS) << 16 | VERSION_7 | (next & COUNTER_MASK);
+        long leastSigBits = VARIANT_RFC | (ThreadLocalRandom.current().nextLong() & RAND_B_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public String nextString() {
+        return next().toString();
+    }
+
+    /**
+     * @return the Unix millisecond timestamp embedded in a version 7 UUID
+     */
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
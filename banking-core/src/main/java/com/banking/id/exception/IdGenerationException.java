@@ -0,0 +1,10 @@
+package com.banking.id.exception;
+
+public class IdGenerationException extends RuntimeException {
+    public IdGenerationException(String message) {
+        super(message);
+    }
+    public IdGenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,39 @@
+package com.banking.idempotency;
+
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs a mutating operation at most once per client-supplied idempotency key.
+ */
+public interface IdempotencyGuard extends AutoCloseable {
+
+    /**
+     * Runs {@code action} unless {@code key} has already been used, in which case the response of the
+     * first successful run is returned instead. Runs that were rejected without changing anything are not
+     * remembered, so they can be retried. An empty key disables deduplication.
+     *
+     * @param operation name of the RPC; reusing a key for a different operation is rejected
+     * @param parser    reads back a stored response
+     */
+    <T extends MessageLite> CompletableFuture<T> execute(String key, String operation, Parser<T> parser,
+                                                         Supplier<CompletableFuture<T>> action);
+
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Starts the action, turning an exception thrown before it returns a future into a failed future.
+     */
+    static <T> CompletableFuture<T> invoke(Supplier<CompletableFuture<T>> action) {
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
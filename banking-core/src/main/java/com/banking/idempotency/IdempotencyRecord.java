@@ -0,0 +1,19 @@
+package com.banking.idempotency;
+
+import java.time.Instant;
+
+/**
+ * A row of the dedup table: the operation a key was first used for and, once it succeeded, its response.
+ *
+ * @param response  serialized response, or {@code null} while the operation is still running
+ * @param createdAt when the key was claimed
+ */
+public record IdempotencyRecord(String key, String operation, Status status, byte[] response, Instant createdAt) {
+
+    public enum Status {
+        /** Claimed by a node that is running the operation. */
+        PENDING,
+        /** The operation succeeded and its response is stored. */
+        COMPLETED
+    }
+}
@@ -0,0 +1,24 @@
+package com.banking.idempotency;
+
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs every action, ignoring idempotency keys. For tests and deployments without a dedup table.
+ */
+public final class NoOpIdempotencyGuard implements IdempotencyGuard {
+
+    public static final NoOpIdempotencyGuard INSTANCE = new NoOpIdempotencyGuard();
+
+    private NoOpIdempotencyGuard() {
+    }
+
+    @Override
+    public <T extends MessageLite> CompletableFuture<T> execute(String key, String operation, Parser<T> parser,
+                                                                Supplier<CompletableFuture<T>> action) {
+        return IdempotencyGuard.invoke(action);
+    }
+}
@@ -0,0 +1,240 @@
+package com.banking.idempotency;
+
+import com.banking.cache.LruCache;
+import com.banking.idempotency.dao.IdempotencyKeyDao;
+import com.banking.idempotency.exception.IdempotencyException;
+import com.banking.idempotency.exception.RequestInProgressException;
+import com.banking.idempotency.exception.RequestOutcomeUnknownException;
+import com.banking.service.exception.AccountNotFoundException;
+import com.banking.service.exception.InsufficientFundsException;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates requests against the {@code idempotency_keys} table.
+ * <p>
+ * A key is claimed with a PENDING row before the action runs and completed with the serialized
+ * response afterwards, so two nodes racing on the same key cannot both apply it; the loser is told
+ * the request is in progress. The response is recorded after the action, not in its transaction, since
+ * the ledgers apply postings on threads of their own. A PENDING row may therefore belong to an action
+ * that was applied by a node which then died or lost the database, so it is never run again: once older
+ * than {@code pendingTimeout} the key is reported with {@link RequestOutcomeUnknownException} and must be
+ * reconciled. The timeout should outlast the slowest action, and compares claim times written by other
+ * nodes with this node's clock, so it should also cover their skew.
+ * <p>
+ * A failed action releases its claim only if it was rejected before changing anything, such as for
+ * insufficient funds. Other failures may have been applied, so their key stays PENDING.
+ * <p>
+ * Replays are answered from a bounded in-memory cache of recent responses without touching the
+ * database, and retries arriving while the first attempt is still running on this node wait for it
+ * instead of claiming again.
+ * <p>
+ * Database work runs on virtual threads of its own, never on the thread that completes the action,
+ * which may be a ledger shard.
+ */
+public class PersistentIdempotencyGuard implements IdempotencyGuard {
+    private static final Logger logger = LoggerFactory.getLogger(PersistentIdempotencyGuard.class);
+
+    public static final int DEFAULT_CACHE_SIZE = 100_000;
+    public static final long DEFAULT_CACHE_TTL_SECONDS = 3_600;
+    public static final Duration DEFAULT_PENDING_TIMEOUT = Duration.ofMinutes(5);
+
+    private record StoredResponse(String operation, byte[] body) {
+    }
+
+    private record InFlight(String operation, CompletableFuture<byte[]> response) {
+    }
+
+    private final IdempotencyKeyDao idempotencyKeyDao;
+    private final LruCache<String, StoredResponse> responses;
+    private final Duration pendingTimeout;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PersistentIdempotencyGuard(IdempotencyKeyDao idempotencyKeyDao) {
+        this(idempotencyKeyDao, DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TTL_SECONDS, TimeUnit.SECONDS, DEFAULT_PENDING_TIMEOUT);
+    }
+
+    public PersistentIdempotencyGuard(IdempotencyKeyDao idempotencyKeyDao, int cacheSize, long cacheTtl,
+                                      TimeUnit unit, Duration pendingTimeout) {
+        if (pendingTimeout.isNegative() || pendingTimeout.isZero()) {
+            throw new IllegalArgumentException("Pending timeout must be positive");
+        }
+        this.idempotencyKeyDao = idempotencyKeyDao;
+        this.responses = new LruCache<>(cacheSize, cacheTtl, unit);
+        this.pendingTimeout = pendingTimeout;
+    }
+
+    @Override
+    public <T extends MessageLite> CompletableFuture<T> execute(String key, String operation, Parser<T> parser,
+                                                                Supplier<CompletableFuture<T>> action) {
+        if (key == null || key.isEmpty()) {
+            return IdempotencyGuard.invoke(action);
+        }
+
+        StoredResponse cached = responses.get(key);
+        if (cached != null) {
+            return replay(key, operation, cached, parser);
+        }
+
+        InFlight mine = new InFlight(operation, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            if (!running.operation().equals(operation)) {
+                return CompletableFuture.failedFuture(keyReused(key, running.operation()));
+            }
+            return running.response().thenApply(body -> decode(key, parser, body));
+        }
+
+        // Truncated to what a TIMESTAMP column keeps, so the claim can be matched when completing it
+        Instant claimedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        CompletableFuture<T> result = CompletableFuture
+                .supplyAsync(() -> claim(key, operation, claimedAt), executor)
+                .thenCompose(stored -> stored.isPresent()
+                        ? CompletableFuture.completedFuture(decode(key, parser, stored.get()))
+                        : runAndRecord(key, operation, claimedAt, action));
+        // Responses are cached before the in-flight entry goes, so a newcomer always finds one or the other
+        result.whenComplete((response, error) -> {
+            inFlight.remove(key, mine);
+            if (error == null) {
+                mine.response().complete(response.toByteArray());
+            } else {
+                mine.response().completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return the stored response if the key was already completed, empty if the caller now owns the key
+     */
+    private Optional<byte[]> claim(String key, String operation, Instant claimedAt) {
+        try {
+            if (idempotencyKeyDao.claim(key, operation, claimedAt)) {
+                return Optional.empty();
+            }
+            IdempotencyRecord existing = idempotencyKeyDao.findByKey(key).orElseThrow(() ->
+                    // Claimed and released by a failed attempt between our insert and read
+                    new RequestInProgressException("Request with idempotency key " + key + " is in progress"));
+            if (!existing.operation().equals(operation)) {
+                throw keyReused(key, existing.operation());
+            }
+            if (existing.status() == IdempotencyRecord.Status.PENDING) {
+                if (existing.createdAt().isBefore(claimedAt.minus(pendingTimeout))) {
+                    logger.warn("Idempotency key {} claimed at {} was never completed", key, existing.createdAt());
+                    throw new RequestOutcomeUnknownException("Request with idempotency key " + key
+                            + " was started at " + existing.createdAt() + " and never completed; it may have "
+                            + "been applied");
+                }
+                throw new RequestInProgressException("Request with idempotency key " + key + " is in progress");
+            }
+            responses.put(key, new StoredResponse(operation, existing.response()));
+            return Optional.of(existing.response());
+        } catch (SQLException e) {
+            throw new IdempotencyException("Failed to claim idempotency key " + key, e);
+        }
+    }
+
+    private <T extends MessageLite> CompletableFuture<T> runAndRecord(String key, String operation,
+                                                                      Instant claimedAt,
+                                                                      Supplier<CompletableFuture<T>> action) {
+        return IdempotencyGuard.invoke(action).handleAsync((response, error) -> {
+            if (error != null) {
+                if (isRejection(error)) {
+                    release(key, claimedAt);
+                } else {
+                    logger.warn("Keeping idempotency key {} pending; its failed request may have been applied",
+                            key);
+                }
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            byte[] body = response.toByteArray();
+            try {
+                if (!idempotencyKeyDao.complete(key, claimedAt, body)) {
+                    logger.error("Claim on idempotency key {} was gone before it completed", key);
+                }
+            } catch (SQLException e) {
+                // The operation itself succeeded; this node still replays it from the cache, and the key
+                // stays pending elsewhere rather than running the operation again
+                logger.error("Failed to record response for idempotency key {}", key, e);
+            }
+            responses.put(key, new StoredResponse(operation, body));
+            return response;
+        }, executor);
+    }
+
+    /**
+     * @return whether the action was refused before it changed anything, so running it again is safe
+     */
+    private static boolean isRejection(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof AccountNotFoundException
+                || cause instanceof InsufficientFundsException
+                || cause instanceof IllegalStateException
+                || cause instanceof IllegalArgumentException
+                || cause instanceof ArithmeticException;
+    }
+
+    private void release(String key, Instant claimedAt) {
+        try {
+            idempotencyKeyDao.release(key, claimedAt);
+        } catch (SQLException e) {
+            logger.error("Failed to release idempotency key {}; retries will see it in progress", key, e);
+        }
+    }
+
+    private static <T extends MessageLite> CompletableFuture<T> replay(String key, String operation,
+                                                                       StoredResponse stored, Parser<T> parser) {
+        if (!stored.operation().equals(operation)) {
+            return CompletableFuture.failedFuture(keyReused(key, stored.operation()));
+        }
+        try {
+            return CompletableFuture.completedFuture(decode(key, parser, stored.body()));
+        } catch (IdempotencyException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T> T decode(String key, Parser<T> parser, byte[] body) {
+        try {
+            return parser.parseFrom(body);
+        } catch (InvalidProtocolBufferException e) {
+            throw new IdempotencyException("Stored response for idempotency key " + key + " is unreadable", e);
+        }
+    }
+
+    private static IllegalArgumentException keyReused(String key, String operation) {
+        return new IllegalArgumentException("Idempotency key " + key + " was already used for " + operation);
+    }
+
+    /**
+     * Waits for responses still being recorded.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Idempotency guard closed with responses still being recorded");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.idempotency.dao;
+
+import com.banking.idempotency.IdempotencyRecord;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyKeyDao {
+
+    /**
+     * Inserts a {@link IdempotencyRecord.Status#PENDING} row for the key.
+     * @return false if the key already exists, in which case nothing is written
+     */
+    boolean claim(String key, String operation, Instant claimedAt) throws SQLException;
+
+    Optional<IdempotencyRecord> findByKey(String key) throws SQLException;
+
+    /**
+     * Stores the response of a claimed key and marks it completed.
+     * @param claimedAt when the caller claimed the key; a newer claim of the key is left alone
+     * @return false if the caller no longer owns the claim
+     */
+    boolean complete(String key, Instant claimedAt, byte[] response) throws SQLException;
+
+    /**
+     * Deletes a claim that is still pending, so the key can be used again after a failure.
+     * @param claimedAt when the caller claimed the key; a newer claim of the key is left alone
+     */
+    void release(String key, Instant claimedAt) throws SQLException;
+}
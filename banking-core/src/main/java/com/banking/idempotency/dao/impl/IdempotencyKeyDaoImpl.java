@@ -0,0 +1,95 @@
+package com.banking.idempotency.dao.impl;
+
+import com.banking.dao.transaction.ConnectionProvider;
+import com.banking.idempotency.IdempotencyRecord;
+import com.banking.idempotency.dao.IdempotencyKeyDao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+public class IdempotencyKeyDaoImpl implements IdempotencyKeyDao {
+    // SQLSTATE for a unique constraint violation, shared by PostgreSQL and H2
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final ConnectionProvider connectionProvider;
+
+    public IdempotencyKeyDaoImpl(ConnectionProvider connectionProvider) {
+        this.connectionProvider = connectionProvider;
+    }
+
+    @Override
+    public boolean claim(String key, String operation, Instant claimedAt) throws SQLException {
+        String sql = "INSERT INTO idempotency_keys (idempotency_key, operation, status, created_at) " +
+                "VALUES (?, ?, ?, ?)";
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, key);
+            stmt.setString(2, operation);
+            stmt.setString(3, IdempotencyRecord.Status.PENDING.name());
+            stmt.setTimestamp(4, Timestamp.from(claimedAt));
+            stmt.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> findByKey(String key) throws SQLException {
+        String sql = "SELECT * FROM idempotency_keys WHERE idempotency_key = ?";
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, key);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(new IdempotencyRecord(
+                        rs.getString("idempotency_key"),
+                        rs.getString("operation"),
+                        IdempotencyRecord.Status.valueOf(rs.getString("status")),
+                        rs.getBytes("response"),
+                        rs.getTimestamp("created_at").toInstant()));
+            }
+        }
+    }
+
+    @Override
+    public boolean complete(String key, Instant claimedAt, byte[] response) throws SQLException {
+        String sql = "UPDATE idempotency_keys SET status = ?, response = ? " +
+                "WHERE idempotency_key = ? AND status = ? AND created_at = ?";
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, IdempotencyRecord.Status.COMPLETED.name());
+            stmt.setBytes(2, response);
+            stmt.setString(3, key);
+            stmt.setString(4, IdempotencyRecord.Status.PENDING.name());
+            stmt.setTimestamp(5, Timestamp.from(claimedAt));
+            return stmt.executeUpdate() == 1;
+        }
+    }
+
+    @Override
+    public void release(String key, Instant claimedAt) throws SQLException {
+        String sql = "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status = ? AND created_at = ?";
+
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, key);
+            stmt.setString(2, IdempotencyRecord.Status.PENDING.name());
+            stmt.setTimestamp(3, Timestamp.from(claimedAt));
+            stmt.executeUpdate();
+        }
+    }
+}
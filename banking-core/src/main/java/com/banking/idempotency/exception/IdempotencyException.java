@@ -0,0 +1,10 @@
+package com.banking.idempotency.exception;
+
+public class IdempotencyException extends RuntimeException {
+    public IdempotencyException(String message) {
+        super(message);
+    }
+    public IdempotencyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
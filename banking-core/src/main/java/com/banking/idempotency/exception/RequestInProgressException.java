@@ -0,0 +1,14 @@
+package com.banking.idempotency.exception;
+
+/**
+ * Another request with the same idempotency key has been claimed but has not finished yet.
+ * The client should retry later rather than treat the operation as failed.
+ */
+public class RequestInProgressException extends IdempotencyException {
+    public RequestInProgressException(String message) {
+        super(message);
+    }
+    public RequestInProgressException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.banking.idempotency.exception;
+
+/**
+ * A request with the same idempotency key was started long ago and never recorded a response, so it may
+ * or may not have been applied. It is not run again; the client should check the account before retrying
+ * under a new key.
+ */
+public class RequestOutcomeUnknownException extends IdempotencyException {
+    public RequestOutcomeUnknownException(String message) {
+        super(message);
+    }
+    public RequestOutcomeUnknownException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
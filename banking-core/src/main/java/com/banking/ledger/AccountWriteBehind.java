@@ -0,0 +1,202 @@
+package com.banking.ledger;
+
+import com.banking.dao.AccountDao;
+import com.banking.dao.exception.OptimisticLockException;
+import com.banking.model.Account;
+import com.banking.model.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Persists account snapshots produced by the ledger shards on a background thread.
+ * Snapshots of the same account are coalesced, so a burst of postings costs one UPDATE.
+ * <p>
+ * Snapshots carry the version the account was loaded at; the row version reached by each
+ * successful write is remembered here so the next compare-and-set expects it.
+ * <p>
+ * If the compare-and-set fails, another writer changed the row and the shard's cached account is stale.
+ * From then on the postings not yet written are rebased: the row is re-read and their balance change
+ * applied on top of it, so neither side's writes are lost. After each rebase the shard is told to evict its
+ * copy, which lacks postings only the rebase wrote. Snapshots are written whole again once one comes solely
+ * from a copy loaded at the version the last rebase wrote; such a copy holds every posting made so far.
+ * A rebase that would take the balance below zero is rejected, since the funds were spent elsewhere.
+ */
+final class AccountWriteBehind implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AccountWriteBehind.class);
+    private static final long NOT_REBASED = -1;
+
+    private final AccountDao accountDao;
+    private final long flushIntervalNanos;
+    private final Consumer<String> evictAccount;
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    // Confined to the flusher thread
+    private final Map<String, Long> persistedVersions = new HashMap<>();
+    // Accounts whose cached copy may lack postings, mapped to the version the last rebase wrote,
+    // or NOT_REBASED. Only this flusher writes that version, so any copy loaded at it was loaded afterwards.
+    private final Map<String, Long> staleAccounts = new HashMap<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    /**
+     * @param evictAccount drops the cached copy of an account whose row another writer changed
+     */
+    AccountWriteBehind(AccountDao accountDao, long flushInterval, TimeUnit unit, Consumer<String> evictAccount) {
+        this.accountDao = accountDao;
+        this.evictAccount = evictAccount;
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+        this.flusher = new Thread(this::run, "ledger-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues the latest state of an account, replacing any snapshot not yet written.
+     *
+     * @param balanceChange minor units the operation added to the balance
+     * @param statusChanged whether the operation changed the account status
+     */
+    void enqueue(Account snapshot, long balanceChange, boolean statusChanged) {
+        pending.merge(snapshot.getAccountId(),
+                new Pending(snapshot, snapshot.getVersion(), balanceChange, statusChanged, false), Pending::then);
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void run() {
+        while (running) {
+            if (pending.isEmpty() || !flush()) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Writes every pending snapshot once.
+     * @return false if a write failed and the flusher should back off
+     */
+    private boolean flush() {
+        for (String accountId : pending.keySet()) {
+            Pending next = pending.remove(accountId);
+            if (next == null) {
+                continue;
+            }
+            try {
+                Long rebasedVersion = staleAccounts.get(accountId);
+                if (rebasedVersion == null) {
+                    write(next);
+                } else if (!next.mixedCopies() && next.loadedVersion() == rebasedVersion) {
+                    // The shard reloaded the row the last rebase wrote, so the snapshot is complete
+                    staleAccounts.remove(accountId);
+                    write(next);
+                } else {
+                    rebase(next);
+                }
+            } catch (OptimisticLockException e) {
+                // Another writer changed the row, so this node was not its only owner. Retry the
+                // postings on top of the row as it is now, and have the shard reload it.
+                staleAccounts.put(accountId, NOT_REBASED);
+                persistedVersions.remove(accountId);
+                requeue(accountId, next);
+                evictAccount.accept(accountId);
+                logger.warn("Account {} was modified outside the ledger; rebasing its pending postings", accountId);
+            } catch (SQLException | RuntimeException e) {
+                requeue(accountId, next);
+                logger.error("Failed to persist account {}: {}", accountId, e.getMessage(), e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void write(Pending next) throws SQLException {
+        Account snapshot = next.snapshot();
+        Long persistedVersion = persistedVersions.get(snapshot.getAccountId());
+        snapshot.markPersisted(persistedVersion != null ? persistedVersion : next.loadedVersion());
+        accountDao.update(snapshot);
+        persistedVersions.put(snapshot.getAccountId(), snapshot.getVersion());
+    }
+
+    /**
+     * Applies the pending balance change, and the status if the ledger changed it, to the stored row,
+     * then has the shard reload the row.
+     */
+    private void rebase(Pending next) throws SQLException {
+        Account snapshot = next.snapshot();
+        String accountId = snapshot.getAccountId();
+        Optional<Account> stored = accountDao.findById(accountId);
+        if (stored.isEmpty()) {
+            staleAccounts.remove(accountId);
+            logger.error("Account {} was deleted with {} minor units of postings unpersisted",
+                    accountId, next.balanceChange());
+            return;
+        }
+        Account current = stored.get();
+        long balance = Math.addExact(current.getBalance().getMinorUnits(), next.balanceChange());
+        if (balance < 0) {
+            // Withdrawals checked against the stale copy; the row no longer has the funds
+            staleAccounts.put(accountId, NOT_REBASED);
+            evictAccount.accept(accountId);
+            logger.error("Rejected {} minor units of postings to account {}: they would overdraw its stored "
+                    + "balance of {}", next.balanceChange(), accountId, current.getBalance());
+            return;
+        }
+        Account merged = new Account.Builder(current)
+                .balance(Money.ofMinor(balance, current.getCurrency()))
+                .status(next.statusChanged() ? snapshot.getStatus() : current.getStatus())
+                .updatedAt(snapshot.getUpdatedAt())
+                .build();
+        accountDao.update(merged);
+        staleAccounts.put(accountId, merged.getVersion());
+        evictAccount.accept(accountId);
+    }
+
+    // Keeps a newer snapshot if one arrived meanwhile, adding this one's changes to it
+    private void requeue(String accountId, Pending failed) {
+        pending.merge(accountId, failed, (newer, older) -> older.then(newer));
+    }
+
+    /**
+     * Latest snapshot of an account and the changes made since the last write.
+     *
+     * @param loadedVersion version the shard's cached copy was loaded at
+     * @param mixedCopies whether the changes were made on more than one cached copy, in which case the
+     *        snapshot may lack some of them
+     */
+    private record Pending(Account snapshot, long loadedVersion, long balanceChange, boolean statusChanged,
+                           boolean mixedCopies) {
+        Pending then(Pending later) {
+            return new Pending(later.snapshot, later.loadedVersion, Math.addExact(balanceChange, later.balanceChange),
+                    statusChanged || later.statusChanged,
+                    mixedCopies || later.mixedCopies || loadedVersion != later.loadedVersion);
+        }
+    }
+
+    /**
+     * Stops the flusher after writing everything that is still pending.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!pending.isEmpty()) {
+            logger.warn("Ledger write-behind closed with {} unpersisted accounts", pending.size());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.banking.ledger;
+
+import com.banking.model.Money;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Applies money movements to accounts.
+ * Operations complete asynchronously; failures are reported through the returned future.
+ */
+public interface Ledger extends AutoCloseable {
+
+    /**
+     * Credits an account.
+     * @return future completed with the balance after the deposit
+     */
+    CompletableFuture<Money> deposit(String accountId, Money amount);
+
+    /**
+     * Debits an account.
+     * @return future completed with the balance after the withdrawal
+     */
+    CompletableFuture<Money> withdraw(String accountId, Money amount);
+
+    /**
+     * Moves money from the source account to the target account.
+     * @return future completed with both balances after the transfer
+     */
+    CompletableFuture<TransferResult> transfer(String sourceId, String targetId, Money amount);
+
+    CompletableFuture<Money> getBalance(String accountId);
+
+    CompletableFuture<Void> freezeAccount(String accountId);
+
+    CompletableFuture<Void> closeAccount(String accountId);
+
+    /**
+     * Stops accepting operations and flushes pending state.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,140 @@
+package com.banking.ledger;
+
+import com.banking.dao.AccountDao;
+import com.banking.ledger.exception.LedgerException;
+import com.banking.model.Account;
+import com.banking.service.exception.AccountNotFoundException;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A single-writer partition of the ledger.
+ * Every account routed to this shard is owned by its one thread, so operations need no locks.
+ */
+final class LedgerShard {
+    private final AccountDao accountDao;
+    private final AccountWriteBehind writeBehind;
+    private final ExecutorService executor;
+
+    // Confined to the shard thread
+    private final Map<String, Account> accounts = new HashMap<>();
+
+    LedgerShard(int index, AccountDao accountDao, AccountWriteBehind writeBehind) {
+        this.accountDao = accountDao;
+        this.writeBehind = writeBehind;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a read-only operation against an account.
+     */
+    <T> CompletableFuture<T> read(String accountId, Function<Account, T> operation) {
+        return submit(() -> operation.apply(load(accountId)));
+    }
+
+    /**
+     * Runs a mutating operation against an account and queues the new state for persistence.
+     * Nothing is persisted if the operation throws.
+     */
+    <T> CompletableFuture<T> write(String accountId, Function<Account, T> operation) {
+        return submit(() -> {
+            Account account = load(accountId);
+            Account before = snapshot(account);
+            T result = operation.apply(account);
+            enqueue(before, account);
+            return result;
+        });
+    }
+
+    /**
+     * Runs a mutating operation against two accounts owned by this shard as one step.
+     */
+    <T> CompletableFuture<T> write(String firstId, String secondId, BiFunction<Account, Account, T> operation) {
+        return submit(() -> {
+            Account first = load(firstId);
+            Account second = load(secondId);
+            Account firstBefore = snapshot(first);
+            Account secondBefore = snapshot(second);
+            T result = operation.apply(first, second);
+            enqueue(firstBefore, first);
+            enqueue(secondBefore, second);
+            return result;
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new LedgerException("Ledger is shut down", e));
+        }
+        return future;
+    }
+
+    private Account load(String accountId) {
+        Account account = accounts.get(accountId);
+        if (account != null) {
+            return account;
+        }
+        try {
+            Optional<Account> stored = accountDao.findById(accountId);
+            account = stored.orElseThrow(
+                    () -> new AccountNotFoundException("Account not found: " + accountId));
+        } catch (SQLException e) {
+            throw new LedgerException("Failed to load account " + accountId, e);
+        }
+        accounts.put(accountId, account);
+        return account;
+    }
+
+    /**
+     * Drops the cached copy of an account, so the next operation reloads it from the DAO.
+     */
+    void evict(String accountId) {
+        try {
+            executor.execute(() -> accounts.remove(accountId));
+        } catch (RejectedExecutionException e) {
+            // Shut down, nothing is cached any more
+        }
+    }
+
+    private void enqueue(Account before, Account after) {
+        long balanceChange = Math.subtractExact(after.getBalance().getMinorUnits(),
+                before.getBalance().getMinorUnits());
+        writeBehind.enqueue(snapshot(after), balanceChange, before.getStatus() != after.getStatus());
+    }
+
+    private static Account snapshot(Account account) {
+        return new Account.Builder(account).build();
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+}
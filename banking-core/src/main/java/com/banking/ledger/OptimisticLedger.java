@@ -0,0 +1,140 @@
+package com.banking.ledger;
+
+import com.banking.dao.AccountDao;
+import com.banking.ledger.exception.LedgerException;
+import com.banking.model.Account;
+import com.banking.model.Money;
+import com.banking.service.exception.AccountNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Ledger that keeps no account state in memory: every operation reads the account, applies the
+ * domain change and writes it back with a version-checked {@link AccountDao#update}. No row lock is
+ * held between the read and the write, and a lost race is retried with jittered backoff. Transfers
+ * are the exception and go to the database as one {@link AccountDao#transfer}.
+ * <p>
+ * Unlike {@link ShardedLedger}, any number of nodes may serve the same accounts. It suits the common
+ * case of rarely contended accounts; hot accounts spend their time retrying.
+ */
+public class OptimisticLedger implements Ledger {
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLedger.class);
+
+    private final AccountDao accountDao;
+    private final ExecutorService executor;
+    private final OptimisticRetry retry;
+
+    public OptimisticLedger(AccountDao accountDao) {
+        this(accountDao, new OptimisticRetry());
+    }
+
+    OptimisticLedger(AccountDao accountDao, OptimisticRetry retry) {
+        this.accountDao = accountDao;
+        // Operations block on JDBC and backoff sleeps, which virtual threads absorb cheaply
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.retry = retry;
+    }
+
+    @Override
+    public CompletableFuture<Money> deposit(String accountId, Money amount) {
+        return write(accountId, account -> {
+            account.deposit(amount);
+            return account.getBalance();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Money> withdraw(String accountId, Money amount) {
+        return write(accountId, account -> {
+            account.withdraw(amount);
+            return account.getBalance();
+        });
+    }
+
+    /**
+     * Both balances change in one transaction of conditional UPDATEs issued in account ID order, so
+     * there is no earlier read to go stale and nothing to retry.
+     */
+    @Override
+    public CompletableFuture<TransferResult> transfer(String sourceId, String targetId, Money amount) {
+        if (sourceId.equals(targetId)) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Source and target accounts must differ"));
+        }
+        return submit(() -> accountDao.transfer(sourceId, targetId, amount));
+    }
+
+    @Override
+    public CompletableFuture<Money> getBalance(String accountId) {
+        return submit(() -> load(accountId).getBalance());
+    }
+
+    @Override
+    public CompletableFuture<Void> freezeAccount(String accountId) {
+        return write(accountId, account -> {
+            account.freeze();
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAccount(String accountId) {
+        return write(accountId, account -> {
+            account.close();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> write(String accountId, Function<Account, T> operation) {
+        return submit(() -> retry.execute(() -> {
+            Account account = load(accountId);
+            T result = operation.apply(account);
+            accountDao.update(account);
+            return result;
+        }));
+    }
+
+    private <T> CompletableFuture<T> submit(OptimisticRetry.Attempt<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.run();
+                } catch (SQLException e) {
+                    throw new CompletionException(new LedgerException("Ledger operation failed", e));
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new LedgerException("Ledger is shut down", e));
+        }
+    }
+
+    private Account load(String accountId) throws SQLException {
+        return accountDao.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+    }
+
+    /**
+     * Waits for running operations to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Ledger operations did not finish within timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Ledger closed");
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.ledger;
+
+import com.banking.dao.exception.OptimisticLockException;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-runs a read-modify-write attempt when its compare-and-set loses to another writer.
+ * Waits between attempts are drawn uniformly from zero up to an exponentially growing cap
+ * ("full jitter"), so writers that collided once do not collide again in lockstep.
+ */
+final class OptimisticRetry {
+    static final int DEFAULT_MAX_ATTEMPTS = 8;
+    static final long DEFAULT_BASE_DELAY_MICROS = 500;
+    static final long DEFAULT_MAX_DELAY_MICROS = 100_000;
+
+    @FunctionalInterface
+    interface Attempt<T> {
+        T run() throws SQLException;
+    }
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+
+    OptimisticRetry() {
+        this(DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY_MICROS, DEFAULT_MAX_DELAY_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    OptimisticRetry(int maxAttempts, long baseDelay, long maxDelay, TimeUnit unit) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = unit.toNanos(baseDelay);
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+    }
+
+    /**
+     * @throws OptimisticLockException from the last attempt once {@code maxAttempts} have conflicted
+     */
+    <T> T execute(Attempt<T> attempt) throws SQLException {
+        for (int attempts = 1; ; attempts++) {
+            try {
+                return attempt.run();
+            } catch (OptimisticLockException e) {
+                if (attempts >= maxAttempts) {
+                    throw e;
+                }
+                LockSupport.parkNanos(delayNanos(attempts));
+            }
+        }
+    }
+
+    long delayNanos(int failedAttempts) {
+        long cap = Math.min(maxDelayNanos, baseDelayNanos << Math.min(failedAttempts - 1, 30));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
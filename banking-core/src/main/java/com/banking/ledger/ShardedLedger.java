@@ -0,0 +1,160 @@
+package com.banking.ledger;
+
+import com.banking.dao.AccountDao;
+import com.banking.model.Account;
+import com.banking.model.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory ledger that partitions accounts across single-writer shards.
+ * Account IDs hash to a shard, the shard thread applies {@link Account#deposit}/{@link Account#withdraw}
+ * without locking, and the resulting state is written to the {@link AccountDao} asynchronously.
+ * A node should be the only writer of the accounts it serves, since balances are cached after first use.
+ * If another writer changes a row anyway, the postings not yet persisted are applied on top of its
+ * change and the account is reloaded.
+ */
+public class ShardedLedger implements Ledger {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedLedger.class);
+
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 10;
+
+    private final LedgerShard[] shards;
+    private final AccountWriteBehind writeBehind;
+
+    public ShardedLedger(AccountDao accountDao) {
+        this(accountDao, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedLedger(AccountDao accountDao, int shardCount) {
+        this(accountDao, shardCount, DEFAULT_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public ShardedLedger(AccountDao accountDao, int shardCount, long flushInterval, TimeUnit unit) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.writeBehind = new AccountWriteBehind(accountDao, flushInterval, unit,
+                accountId -> shardFor(accountId).evict(accountId));
+        this.shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new LedgerShard(i, accountDao, writeBehind);
+        }
+        logger.info("Started ledger with {} shards", shardCount);
+    }
+
+    @Override
+    public CompletableFuture<Money> deposit(String accountId, Money amount) {
+        return shardFor(accountId).write(accountId, account -> {
+            account.deposit(amount);
+            return account.getBalance();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Money> withdraw(String accountId, Money amount) {
+        return shardFor(accountId).write(accountId, account -> {
+            account.withdraw(amount);
+            return account.getBalance();
+        });
+    }
+
+    /**
+     * Transfers between accounts of the same shard are applied as one step.
+     * Across shards the source is debited first and the target credited on its own shard;
+     * if the credit fails the debit is reversed before the returned future fails.
+     */
+    @Override
+    public CompletableFuture<TransferResult> transfer(String sourceId, String targetId, Money amount) {
+        if (sourceId.equals(targetId)) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Source and target accounts must differ"));
+        }
+        LedgerShard sourceShard = shardFor(sourceId);
+        LedgerShard targetShard = shardFor(targetId);
+
+        if (sourceShard == targetShard) {
+            return sourceShard.write(sourceId, targetId, (source, target) -> {
+                if (!target.isActive()) {
+                    throw new IllegalStateException("Account is not active");
+                }
+                source.withdraw(amount);
+                target.deposit(amount);
+                return new TransferResult(source.getBalance(), target.getBalance());
+            });
+        }
+
+        return sourceShard.write(sourceId, source -> {
+            source.withdraw(amount);
+            return source.getBalance();
+        }).thenCompose(sourceBalance -> targetShard.write(targetId, target -> {
+            target.deposit(amount);
+            return new TransferResult(sourceBalance, target.getBalance());
+        }).exceptionallyCompose(failure -> reverseWithdrawal(sourceShard, sourceId, amount, failure)));
+    }
+
+    private CompletableFuture<TransferResult> reverseWithdrawal(LedgerShard sourceShard, String sourceId,
+                                                                Money amount, Throwable failure) {
+        return sourceShard.write(sourceId, source -> {
+            source.reverseWithdrawal(amount);
+            return source.getBalance();
+        }).handle((balance, reversalFailure) -> {
+            if (reversalFailure != null) {
+                logger.error("Failed to reverse withdrawal of {} from account {}", amount, sourceId, reversalFailure);
+            }
+            return CompletableFuture.<TransferResult>failedFuture(failure);
+        }).thenCompose(result -> result);
+    }
+
+    @Override
+    public CompletableFuture<Money> getBalance(String accountId) {
+        return shardFor(accountId).read(accountId, Account::getBalance);
+    }
+
+    @Override
+    public CompletableFuture<Void> freezeAccount(String accountId) {
+        return shardFor(accountId).write(accountId, account -> {
+            account.freeze();
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAccount(String accountId) {
+        return shardFor(accountId).write(accountId, account -> {
+            account.close();
+            return null;
+        });
+    }
+
+    private LedgerShard shardFor(String accountId) {
+        int hash = accountId.hashCode();
+        // Spread the high bits so sequential IDs do not cluster on a few shards
+        hash ^= (hash >>> 16);
+        return shards[Math.floorMod(hash, shards.length)];
+    }
+
+    /**
+     * Drains every shard and writes all pending account state before returning.
+     */
+    @Override
+    public void close() {
+        for (LedgerShard shard : shards) {
+            shard.shutdown();
+        }
+        try {
+            for (LedgerShard shard : shards) {
+                if (!shard.awaitTermination(30, TimeUnit.SECONDS)) {
+                    logger.warn("Ledger shard did not drain within timeout");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeBehind.close();
+        logger.info("Ledger closed");
+    }
+}
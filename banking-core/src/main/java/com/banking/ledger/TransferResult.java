@@ -0,0 +1,9 @@
+package com.banking.ledger;
+
+import com.banking.model.Money;
+
+/**
+ * Balances of both accounts once a transfer has been applied.
+ */
+public record TransferResult(Money sourceBalance, Money targetBalance) {
+}
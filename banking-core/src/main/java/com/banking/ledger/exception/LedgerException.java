@@ -0,0 +1,10 @@
+package com.banking.ledger.exception;
+
+public class LedgerException extends RuntimeException {
+    public LedgerException(String message) {
+        super(message);
+    }
+    public LedgerException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
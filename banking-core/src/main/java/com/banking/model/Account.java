@@ -1,8 +1,8 @@
 package com.banking.model;
 
+import com.banking.id.UuidV7Generator;
 import com.banking.service.exception.InsufficientFundsException;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Objects;
 
@@ -13,35 +13,44 @@ public final class Account {
     private final String accountId;
     private final String number;
     private final String ownerId;
-    private BigDecimal balance;
+    private long balance; // minor units of currency
     private final String currency;
+    private final int currencyId;
     private final AccountType accountType;
     private AccountStatus status;
     private final Instant createdAt;
     private Instant updatedAt;
+    private long version; // row version for optimistic concurrency control
 
     private Account(Builder builder) {
         this.accountId = builder.accountId;
         this.number = builder.accountNumber;
         this.ownerId = builder.ownerId;
-        this.balance = builder.balance;
-        this.currency = builder.currency;
+        this.currency = builder.currency != null || builder.balance == null
+                ? builder.currency : builder.balance.getCurrency();
+        this.currencyId = currency == null ? Money.NO_CURRENCY : Money.currencyId(currency);
+        if (builder.balance != null && builder.balance.currencyId() != currencyId) {
+            throw new IllegalArgumentException("Balance currency does not match account currency " + currency);
+        }
+        this.balance = builder.balance == null ? 0 : builder.balance.getMinorUnits();
         this.accountType = builder.type;
         this.status = builder.status;
         this.createdAt = builder.createdAt;
         this.updatedAt = builder.updatedAt;
+        this.version = builder.version;
     }
 
     public static class Builder {
         private String accountId;
         private String accountNumber;
         private String ownerId;
-        private BigDecimal balance = BigDecimal.ZERO;
+        private Money balance;
         private String currency;
         private AccountType type;
         private AccountStatus status = AccountStatus.ACTIVE;
         private Instant createdAt = Instant.now();
         private Instant updatedAt = Instant.now();
+        private long version;
 
         public Builder() {}
 
@@ -49,23 +58,25 @@ public final class Account {
             this.accountId = account.accountId;
             this.accountNumber = account.number;
             this.ownerId = account.ownerId;
-            this.balance = account.balance;
+            this.balance = account.getBalance();
             this.currency = account.currency;
             this.type = account.accountType;
             this.status = account.status;
             this.createdAt = account.createdAt;
             this.updatedAt = account.updatedAt;
+            this.version = account.version;
         }
 
         public Builder accountId(String accountId) { this.accountId = accountId; return this; }
         public Builder accountNumber(String accountNumber) { this.accountNumber = accountNumber; return this; }
         public Builder ownerId(String ownerId) { this.ownerId = ownerId; return this; }
-        public Builder balance(BigDecimal balance) { this.balance = balance; return this; }
+        public Builder balance(Money balance) { this.balance = balance; return this; }
         public Builder currency(String currency) { this.currency = currency; return this; }
         public Builder type(AccountType type) { this.type = type; return this; }
         public Builder status(AccountStatus status) { this.status = status; return this; }
         public Builder createdAt(Instant createdAt) { this.createdAt = createdAt; return this; }
         public Builder updatedAt(Instant updatedAt) { this.updatedAt = updatedAt; return this; }
+        public Builder version(long version) { this.version = version; return this; }
 
         public Account build() {
             return new Account(this);
@@ -76,14 +87,15 @@ public final class Account {
     public String getAccountId() { return accountId; }
     public String getNumber() { return number; }
     public String getOwnerId() { return ownerId; }
-    public BigDecimal getBalance() { return balance; }
+    public Money getBalance() { return Money.ofMinor(balance, currencyId); }
     public String getCurrency() { return currency; }
     public AccountType getAccountType() { return accountType; }
     public AccountStatus getStatus() { return status; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public long getVersion() { return version; }
     public boolean isActive() { return status == AccountStatus.ACTIVE; }
-    public boolean canWithdraw(BigDecimal amount) { return balance.compareTo(amount) >= 0; }
+    public boolean canWithdraw(Money amount) { return balance >= validateCurrency(amount).getMinorUnits(); }
 
     @Override
     public boolean equals(Object o) {
@@ -105,15 +117,11 @@ public final class Account {
      */
 
     public static Account create(String ownerId, String currency, AccountType accountType,
-                                 BigDecimal initialBalance) {
-        return create(ownerId, currency, accountType, initialBalance, Instant.now(), Instant.now());
-    }
-
-    public static Account create(String ownerId, String currency, AccountType accountType,
-                                 BigDecimal initialBalance, Instant createdAt, Instant updatedAt) {
+                                 Money initialBalance, Instant createdAt, Instant updatedAt,
+                                 String accountNumber) {
         return new Builder()
-                .accountId(java.util.UUID.randomUUID().toString())
-                .accountNumber(generateAccountNumber())
+                .accountId(UuidV7Generator.INSTANCE.nextString())
+                .accountNumber(accountNumber)
                 .ownerId(ownerId)
                 .currency(currency)
                 .type(accountType)
@@ -128,9 +136,9 @@ public final class Account {
      * Deposits money into the account (Domain Logic)
      * @throws IllegalStateException if account is not active
      */
-    public void deposit(BigDecimal amount) {
+    public void deposit(Money amount) {
         validateActiveAccount();
-        this.balance = balance.add(amount);
+        this.balance = Math.addExact(balance, validateAmount(amount));
         this.updatedAt = Instant.now();
     }
 
@@ -139,12 +147,22 @@ public final class Account {
      * @throws InsufficientFundsException if balance < amount
      * @throws IllegalStateException if account is not active
      */
-    public void withdraw(BigDecimal amount) {
+    public void withdraw(Money amount) {
         validateActiveAccount();
-        if (balance.compareTo(amount) < 0) {
+        long units = validateAmount(amount);
+        if (balance < units) {
             throw new InsufficientFundsException("Insufficient balance");
         }
-        this.balance = balance.subtract(amount);
+        this.balance = balance - units;
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * Credits back a withdrawal that could not be completed (Domain Logic)
+     * Applies regardless of status, since the money never left the account.
+     */
+    public void reverseWithdrawal(Money amount) {
+        this.balance = Math.addExact(balance, validateAmount(amount));
         this.updatedAt = Instant.now();
     }
 
@@ -164,13 +182,20 @@ public final class Account {
      * @throws IllegalStateException if balance != 0
      */
     public void close() {
-        if (balance.compareTo(BigDecimal.ZERO) != 0) {
+        if (balance != 0) {
             throw new IllegalStateException("Account balance must be zero before closing");
         }
         this.status = AccountStatus.CLOSED;
         this.updatedAt = Instant.now();
     }
 
+    /**
+     * Records the row version the persistence layer has just written, so the next update is checked against it.
+     */
+    public void markPersisted(long version) {
+        this.version = version;
+    }
+
     //=== Validation Helpers ===//
     private void validateActiveAccount() {
         if (status != AccountStatus.ACTIVE) {
@@ -178,21 +203,27 @@ public final class Account {
         }
     }
 
-    private BigDecimal validateAmount(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    /**
+     * @return the amount in minor units of the account currency
+     */
+    private long validateAmount(Money amount) {
+        if (!validateCurrency(amount).isPositive()) {
             throw new IllegalArgumentException("Amount must be positive");
         }
+        return amount.getMinorUnits();
+    }
+
+    private Money validateCurrency(Money amount) {
+        if (amount.currencyId() != currencyId) {
+            throw new IllegalArgumentException("Amount currency does not match account currency " + currency);
+        }
         return amount;
     }
 
-    private BigDecimal validateBalance(BigDecimal balance) {
-        if (balance.compareTo(BigDecimal.ZERO) < 0) {
+    private Money validateBalance(Money balance) {
+        if (balance.isNegative()) {
             throw new IllegalArgumentException("Initial balance cannot be negative");
         }
         return balance;
     }
-
-    private static String generateAccountNumber() {
-        return "ACC" + System.currentTimeMillis();
-    }
 }
@@ -0,0 +1,220 @@
+package com.banking.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-point monetary amount stored as a count of minor units (e.g. cents) of one currency.
+ * The currency and its scale are packed into a single int, so an amount is two primitives.
+ * Arithmetic is overflow-checked and never rounds.
+ */
+public final class Money implements Comparable<Money> {
+
+    /** Packed id of an amount whose currency is unknown, e.g. a partially populated row. */
+    static final int NO_CURRENCY = 0;
+
+    private static final ConcurrentHashMap<String, Integer> CURRENCY_IDS = new ConcurrentHashMap<>();
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+
+    private final long minorUnits;
+    private final int currencyId;
+
+    private Money(long minorUnits, int currencyId) {
+        this.minorUnits = minorUnits;
+        this.currencyId = currencyId;
+    }
+
+    //=== Factories ===//
+
+    public static Money zero(String currencyCode) {
+        return new Money(0, currencyId(currencyCode));
+    }
+
+    public static Money ofMinor(long minorUnits, String currencyCode) {
+        return new Money(minorUnits, currencyId(currencyCode));
+    }
+
+    static Money ofMinor(long minorUnits, int currencyId) {
+        return new Money(minorUnits, currencyId);
+    }
+
+    /**
+     * Converts a decimal amount exactly.
+     * @throws ArithmeticException if the amount has more decimals than the currency allows or overflows
+     */
+    public static Money of(BigDecimal amount, String currencyCode) {
+        int currencyId = currencyId(currencyCode);
+        return new Money(amount.movePointRight(scaleOf(currencyId)).longValueExact(), currencyId);
+    }
+
+    /**
+     * Parses a plain decimal string such as {@code "-12.50"} without going through {@link BigDecimal}.
+     * @throws NumberFormatException if the text is not a plain decimal number
+     * @throws ArithmeticException if the amount has more decimals than the currency allows or overflows
+     */
+    public static Money parse(String amount, String currencyCode) {
+        int currencyId = currencyId(currencyCode);
+        int scale = scaleOf(currencyId);
+        int length = amount.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (amount.charAt(0) == '-' || amount.charAt(0) == '+')) {
+            negative = amount.charAt(0) == '-';
+            index++;
+        }
+
+        long units = 0;
+        int fractionDigits = -1;
+        boolean hasDigits = false;
+        for (; index < length; index++) {
+            char c = amount.charAt(index);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Invalid amount: " + amount);
+            }
+            hasDigits = true;
+            if (fractionDigits >= 0) {
+                if (fractionDigits == scale) {
+                    // Digits past the scale are only allowed as trailing zeros and are not counted
+                    if (c != '0') {
+                        throw new ArithmeticException("Amount " + amount + " exceeds scale of " + currencyCode);
+                    }
+                    continue;
+                }
+                fractionDigits++;
+            }
+            units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+        }
+        if (!hasDigits) {
+            throw new NumberFormatException("Invalid amount: " + amount);
+        }
+        int missingDigits = scale - Math.max(fractionDigits, 0);
+        units = Math.multiplyExact(units, POWERS_OF_TEN[missingDigits]);
+        return new Money(negative ? -units : units, currencyId);
+    }
+
+    //=== Arithmetic ===//
+
+    public Money add(Money other) {
+        return new Money(Math.addExact(minorUnits, sameCurrency(other).minorUnits), currencyId);
+    }
+
+    public Money subtract(Money other) {
+        return new Money(Math.subtractExact(minorUnits, sameCurrency(other).minorUnits), currencyId);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currencyId);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, sameCurrency(other).minorUnits);
+    }
+
+    public boolean isZero() { return minorUnits == 0; }
+    public boolean isPositive() { return minorUnits > 0; }
+    public boolean isNegative() { return minorUnits < 0; }
+
+    public boolean hasCurrency(String currencyCode) {
+        return currencyCode != null && currencyId == currencyId(currencyCode);
+    }
+
+    private Money sameCurrency(Money other) {
+        if (other.currencyId != currencyId) {
+            throw new IllegalArgumentException("Currency mismatch: " + getCurrency() + " vs " + other.getCurrency());
+        }
+        return other;
+    }
+
+    //=== Accessors ===//
+
+    public long getMinorUnits() { return minorUnits; }
+    public String getCurrency() { return currencyCode(currencyId); }
+    public int getScale() { return scaleOf(currencyId); }
+
+    int currencyId() { return currencyId; }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scaleOf(currencyId));
+    }
+
+    /**
+     * Plain decimal representation at the currency scale, e.g. {@code "2500.00"}.
+     */
+    @Override
+    public String toString() {
+        int scale = scaleOf(currencyId);
+        if (scale == 0) {
+            return Long.toString(minorUnits);
+        }
+        long divisor = POWERS_OF_TEN[scale];
+        long whole = Math.abs(minorUnits / divisor);
+        long fraction = Math.abs(minorUnits % divisor);
+        StringBuilder text = new StringBuilder(24);
+        if (minorUnits < 0) {
+            text.append('-');
+        }
+        text.append(whole).append('.');
+        String digits = Long.toString(fraction);
+        for (int i = digits.length(); i < scale; i++) {
+            text.append('0');
+        }
+        return text.append(digits).toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money money)) return false;
+        return minorUnits == money.minorUnits && currencyId == money.currencyId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currencyId;
+    }
+
+    //=== Currency packing ===//
+
+    /**
+     * Packs an ISO 4217 code and its default fraction digits as {@code scale << 24 | c0 << 16 | c1 << 8 | c2}.
+     * @throws IllegalArgumentException if the code is not a known currency with a fixed scale
+     */
+    static int currencyId(String currencyCode) {
+        if (currencyCode == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        Integer cached = CURRENCY_IDS.get(currencyCode);
+        if (cached != null) {
+            return cached;
+        }
+        Currency currency = Currency.getInstance(currencyCode);
+        int scale = currency.getDefaultFractionDigits();
+        if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported currency: " + currencyCode);
+        }
+        String code = currency.getCurrencyCode();
+        int id = scale << 24 | code.charAt(0) << 16 | code.charAt(1) << 8 | code.charAt(2);
+        CURRENCY_IDS.putIfAbsent(currencyCode, id);
+        return id;
+    }
+
+    private static String currencyCode(int currencyId) {
+        if (currencyId == NO_CURRENCY) {
+            return null;
+        }
+        return new String(new char[]{
+                (char) (currencyId >>> 16 & 0xFF), (char) (currencyId >>> 8 & 0xFF), (char) (currencyId & 0xFF)});
+    }
+
+    private static int scaleOf(int currencyId) {
+        return currencyId >>> 24;
+    }
+}
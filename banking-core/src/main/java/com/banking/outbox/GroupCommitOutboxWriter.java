@@ -0,0 +1,196 @@
+package com.banking.outbox;
+
+import com.banking.dao.AccountDao;
+import com.banking.dao.batch.BatchResult;
+import com.banking.dao.transaction.TransactionManager;
+import com.banking.events.dao.AccountCreationEventDao;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.model.Account;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Folds concurrent account creations into one transaction.
+ * Callers enqueue their rows and block; a single committer thread takes everything queued
+ * since the previous commit, inserts it with {@link AccountDao#saveAll} and
+ * {@link AccountCreationEventDao#saveAll} and commits once for the whole group.
+ * If the group is rejected, its members are retried one transaction each so that a single bad
+ * row only fails its own caller.
+ */
+public class GroupCommitOutboxWriter implements OutboxWriter {
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitOutboxWriter.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private final TransactionManager transactionManager;
+    private final AccountDao accountDao;
+    private final AccountCreationEventDao accountCreationEventDao;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private volatile boolean running = true;
+
+    private record PendingWrite(Account account, AccountCreationEvent event, CompletableFuture<Void> result) {
+    }
+
+    public GroupCommitOutboxWriter(TransactionManager transactionManager,
+                                   AccountDao accountDao,
+                                   AccountCreationEventDao accountCreationEventDao) {
+        this(transactionManager, accountDao, accountCreationEventDao, DEFAULT_MAX_BATCH_SIZE, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param linger how long the committer waits after the first queued write for others to join its group
+     */
+    public GroupCommitOutboxWriter(TransactionManager transactionManager,
+                                   AccountDao accountDao,
+                                   AccountCreationEventDao accountCreationEventDao,
+                                   int maxBatchSize,
+                                   long linger,
+                                   TimeUnit unit) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.transactionManager = transactionManager;
+        this.accountDao = accountDao;
+        this.accountCreationEventDao = accountCreationEventDao;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = unit.toNanos(linger);
+        this.committer = new Thread(this::run, "outbox-group-commit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    @Override
+    public void write(Account account, AccountCreationEvent event) throws SQLException {
+        if (!running) {
+            throw new IllegalStateException("Outbox writer is closed");
+        }
+        PendingWrite write = new PendingWrite(account, event, new CompletableFuture<>());
+        queue.add(write);
+        if (!running && queue.remove(write)) {
+            throw new IllegalStateException("Outbox writer is closed");
+        }
+
+        try {
+            write.result().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Group commit failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for group commit", e);
+        }
+    }
+
+    /** Number of writes waiting for the committer. */
+    int pendingCount() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                if (lingerNanos > 0) {
+                    LockSupport.parkNanos(lingerNanos);
+                }
+                queue.drainTo(batch, maxBatchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Group commit failed unexpectedly", e);
+                batch.forEach(write -> write.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(write -> write.result().completeExceptionally(
+                new IllegalStateException("Outbox writer is closed")));
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        if (batch.size() == 1) {
+            commitSingle(batch.get(0));
+            return;
+        }
+
+        List<Account> accounts = new ArrayList<>(batch.size());
+        List<AccountCreationEvent> events = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            accounts.add(write.account());
+            events.add(write.event());
+        }
+
+        try {
+            transactionManager.inTransaction(() -> {
+                BatchResult<Account> savedAccounts = accountDao.saveAll(accounts);
+                BatchResult<AccountCreationEvent> savedEvents = accountCreationEventDao.saveAll(events);
+                int rejected = savedAccounts.failures().size() + savedEvents.failures().size();
+                if (rejected > 0) {
+                    // Roll the group back; its members are retried individually below
+                    throw new SQLException("Group commit rejected " + rejected + " rows");
+                }
+                return null;
+            });
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Group commit of {} accounts failed, committing individually: {}", batch.size(), e.getMessage());
+            batch.forEach(this::commitSingle);
+            return;
+        }
+        logger.debug("Group committed {} accounts", batch.size());
+        batch.forEach(write -> write.result().complete(null));
+    }
+
+    private void commitSingle(PendingWrite write) {
+        try {
+            transactionManager.inTransaction(() -> {
+                accountDao.save(write.account());
+                accountCreationEventDao.save(write.event());
+                return null;
+            });
+            write.result().complete(null);
+        } catch (SQLException | RuntimeException e) {
+            write.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Commits everything already queued, then stops the committer thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            committer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
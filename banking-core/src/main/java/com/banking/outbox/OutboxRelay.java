@@ -0,0 +1,178 @@
+package com.banking.outbox;
+
+import com.bank.pulsar.MessageService;
+import com.banking.dao.transaction.TransactionManager;
+import com.banking.events.dao.AccountCreationEventDao;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.events.serializer.AccountCreationEventSerializer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes outbox rows from {@code account_creation_events} to the {@link MessageService}
+ * and deletes them once the broker has accepted them.
+ * <p>
+ * Rows are read in (timestamp, event ID) order one page at a time. Every row of a page is sent
+ * without waiting, and the next page is read while those sends are in flight. Rows whose send
+ * succeeded are then deleted in one batch. When a page comes back empty the relay starts again
+ * from the oldest row, which also picks up rows committed late with an older timestamp.
+ * Delivery is at-least-once: a crash between publishing and deleting re-sends the page.
+ */
+public class OutboxRelay implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    private static final long DEFAULT_IDLE_MILLIS = 50;
+
+    private final AccountCreationEventDao eventDao;
+    private final TransactionManager transactionManager;
+    private final MessageService messageService;
+    private final AccountCreationEventSerializer serializer;
+    private final int batchSize;
+    private final long idleNanos;
+    private final Thread relayThread;
+    private volatile boolean running;
+
+    private long cursorTimestamp = Long.MIN_VALUE;
+    private String cursorEventId = "";
+
+    public OutboxRelay(AccountCreationEventDao eventDao,
+                       TransactionManager transactionManager,
+                       MessageService messageService) {
+        this(eventDao, transactionManager, messageService, DEFAULT_BATCH_SIZE,
+                DEFAULT_IDLE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param idleInterval pause before polling again once the outbox is empty or a send failed
+     */
+    public OutboxRelay(AccountCreationEventDao eventDao,
+                       TransactionManager transactionManager,
+                       MessageService messageService,
+                       int batchSize,
+                       long idleInterval,
+                       TimeUnit unit) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.eventDao = eventDao;
+        this.transactionManager = transactionManager;
+        this.messageService = messageService;
+        this.serializer = new AccountCreationEventSerializer();
+        this.batchSize = batchSize;
+        this.idleNanos = unit.toNanos(idleInterval);
+        this.relayThread = new Thread(this::run, "outbox-relay");
+        this.relayThread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        relayThread.start();
+        logger.info("Outbox relay started with batch size {}", batchSize);
+    }
+
+    private void run() {
+        List<AccountCreationEvent> page = List.of();
+        while (running) {
+            try {
+                if (page.isEmpty()) {
+                    page = fetchNextPage();
+                    if (page.isEmpty()) {
+                        rewind();
+                        LockSupport.parkNanos(idleNanos);
+                        continue;
+                    }
+                }
+                page = relay(page);
+            } catch (SQLException | RuntimeException e) {
+                logger.error("Outbox relay iteration failed", e);
+                page = List.of();
+                rewind();
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        logger.info("Outbox relay stopped");
+    }
+
+    /**
+     * Publishes one page, reads the following page while the sends are in flight,
+     * then deletes what was published.
+     * @return the prefetched page, or an empty list if the page has to be retried
+     */
+    List<AccountCreationEvent> relay(List<AccountCreationEvent> page) throws SQLException {
+        List<CompletableFuture<Void>> sends = new ArrayList<>(page.size());
+        for (AccountCreationEvent event : page) {
+            sends.add(send(event));
+        }
+        AccountCreationEvent last = page.get(page.size() - 1);
+        cursorTimestamp = last.getTimestamp();
+        cursorEventId = last.getEventId();
+
+        List<AccountCreationEvent> next = fetchNextPage();
+
+        List<String> published = new ArrayList<>(page.size());
+        Throwable failure = null;
+        for (int i = 0; i < sends.size(); i++) {
+            try {
+                sends.get(i).join();
+                published.add(page.get(i).getEventId());
+            } catch (CompletionException e) {
+                failure = e.getCause();
+            }
+        }
+        if (!published.isEmpty()) {
+            transactionManager.inTransaction(() -> eventDao.deleteAll(published));
+        }
+        logger.debug("Relayed {} of {} outbox events", published.size(), page.size());
+
+        if (failure != null) {
+            logger.warn("Failed to publish {} outbox events, retrying from the oldest",
+                    page.size() - published.size(), failure);
+            rewind();
+            LockSupport.parkNanos(idleNanos);
+            return List.of();
+        }
+        return next;
+    }
+
+    private CompletableFuture<Void> send(AccountCreationEvent event) {
+        try {
+            return messageService.sendLogMessageAsync(serializer.serialize(event));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private List<AccountCreationEvent> fetchNextPage() throws SQLException {
+        // Reads share the DAO connection, so they go through the transaction manager to stay out of
+        // other callers' open transactions
+        return transactionManager.inTransaction(
+                () -> eventDao.findAfter(cursorTimestamp, cursorEventId, batchSize));
+    }
+
+    private void rewind() {
+        cursorTimestamp = Long.MIN_VALUE;
+        cursorEventId = "";
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (relayThread.isAlive()) {
+            try {
+                relayThread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.banking.outbox;
+
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.model.Account;
+
+import java.sql.SQLException;
+
+/**
+ * Persists a new account together with its outbox event.
+ * Either both rows are stored or neither is.
+ */
+public interface OutboxWriter extends AutoCloseable {
+
+    /**
+     * Returns once the account and its event are committed.
+     */
+    void write(Account account, AccountCreationEvent event) throws SQLException;
+
+    @Override
+    default void close() {
+    }
+}
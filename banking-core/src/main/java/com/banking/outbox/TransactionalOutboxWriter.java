@@ -0,0 +1,35 @@
+package com.banking.outbox;
+
+import com.banking.dao.AccountDao;
+import com.banking.dao.transaction.TransactionManager;
+import com.banking.events.dao.AccountCreationEventDao;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.model.Account;
+
+import java.sql.SQLException;
+
+/**
+ * Writes each account and its event in a transaction of their own.
+ */
+public class TransactionalOutboxWriter implements OutboxWriter {
+    private final TransactionManager transactionManager;
+    private final AccountDao accountDao;
+    private final AccountCreationEventDao accountCreationEventDao;
+
+    public TransactionalOutboxWriter(TransactionManager transactionManager,
+                                     AccountDao accountDao,
+                                     AccountCreationEventDao accountCreationEventDao) {
+        this.transactionManager = transactionManager;
+        this.accountDao = accountDao;
+        this.accountCreationEventDao = accountCreationEventDao;
+    }
+
+    @Override
+    public void write(Account account, AccountCreationEvent event) throws SQLException {
+        transactionManager.inTransaction(() -> {
+            accountDao.save(account);
+            accountCreationEventDao.save(event);
+            return null;
+        });
+    }
+}
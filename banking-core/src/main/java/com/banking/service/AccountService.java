@@ -1,17 +1,25 @@
 package com.banking.service;
 
 import com.banking.dto.CreateAccountDto;
+import com.banking.ledger.TransferResult;
 import com.banking.model.Account;
+import com.banking.model.Money;
 
-import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
 
 public interface AccountService {
     Account createAccount(CreateAccountDto createAccountDto);
-    void deposit(String accountId, BigDecimal amount);
-    void withdraw(String accountId, BigDecimal amount);
-    void transfer(String sourceId, String targetId, BigDecimal amount);
-    BigDecimal getBalance(String accountId);
+    void deposit(String accountId, Money amount);
+    void withdraw(String accountId, Money amount);
+    void transfer(String sourceId, String targetId, Money amount);
+    Money getBalance(String accountId);
     void freezeAccount(String accountId);
     void closeAccount(String accountId);
+
+    //=== Non-blocking variants, failures are reported through the returned future ===//
+
+    CompletableFuture<Money> depositAsync(String accountId, Money amount);
+    CompletableFuture<Money> withdrawAsync(String accountId, Money amount);
+    CompletableFuture<TransferResult> transferAsync(String sourceId, String targetId, Money amount);
 }
 
@@ -0,0 +1,10 @@
+package com.banking.service.exception;
+
+public class AccountNotFoundException extends RuntimeException {
+    public AccountNotFoundException(String message) {
+        super(message);
+    }
+    public AccountNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
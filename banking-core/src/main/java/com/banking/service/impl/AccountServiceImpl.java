@@ -1,29 +1,40 @@
 package com.banking.service.impl;
 
-import com.banking.dao.AccountDao;
 import com.banking.dao.exception.AccountCreationException;
 import com.banking.dto.CreateAccountDto;
-import com.banking.events.dao.AccountCreationEventDao;
 import com.banking.events.model.AccountCreationEvent;
+import com.banking.id.AccountNumberGenerator;
+import com.banking.ledger.Ledger;
+import com.banking.ledger.TransferResult;
 import com.banking.model.Account;
+import com.banking.model.Money;
+import com.banking.outbox.OutboxWriter;
 import com.banking.service.AccountService;
 
-import java.math.BigDecimal;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class AccountServiceImpl implements AccountService {
-    private final AccountDao accountDao;
+    private final OutboxWriter outboxWriter;
 
-    private final AccountCreationEventDao accountCreationEventDao;
+    private final Ledger ledger;
+
+    private final AccountNumberGenerator accountNumberGenerator;
 
     private static final Logger logger = LoggerFactory.getLogger(AccountServiceImpl.class);
 
-    public AccountServiceImpl(AccountDao accountDao, AccountCreationEventDao accountCreationEventDao) {
-        this.accountDao = accountDao;
-        this.accountCreationEventDao = accountCreationEventDao;
+    /**
+     * @param accountNumberGenerator shared by everything issuing account numbers in this process, and
+     *                               backed by a worker ID no other node holds
+     */
+    public AccountServiceImpl(OutboxWriter outboxWriter, Ledger ledger, AccountNumberGenerator accountNumberGenerator) {
+        this.outboxWriter = outboxWriter;
+        this.ledger = ledger;
+        this.accountNumberGenerator = accountNumberGenerator;
     }
 
     @Override
@@ -36,14 +47,15 @@ public class AccountServiceImpl implements AccountService {
                     createAccountDto.accountType(),
                     createAccountDto.initialBalance(),
                     createAccountDto.createdAt(),
-                    createAccountDto.updatedAt()
+                    createAccountDto.updatedAt(),
+                    accountNumberGenerator.next()
             );
             logger.debug("Created account object: {}", newAccount);
-            accountDao.save(newAccount);
-            logger.info("Successfully created account with ID: {}", newAccount.getAccountId());
 
+            String commandId = createAccountDto.commandId() != null
+                    ? createAccountDto.commandId() : "CMD-" + newAccount.getAccountId();
             AccountCreationEvent event = new AccountCreationEvent(
-                    /* commandId = */ "CMD-" + newAccount.getAccountId(),
+                    commandId,
                     /* source = */ "AccountService",
                     /* business data */
                     newAccount.getOwnerId(),
@@ -54,8 +66,8 @@ public class AccountServiceImpl implements AccountService {
                     newAccount.getUpdatedAt()
             );
 
-            accountCreationEventDao.save(event);
-            logger.info("Saved AccountCreationEvent for account ID: {}", newAccount.getAccountId());
+            outboxWriter.write(newAccount, event);
+            logger.info("Successfully created account with ID: {}", newAccount.getAccountId());
             return newAccount;
 
         } catch (SQLException e) {
@@ -66,33 +78,66 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public void deposit(String accountId, BigDecimal amount) {
-
-
+    public void deposit(String accountId, Money amount) {
+        logger.debug("Depositing {} into account {}", amount, accountId);
+        await(ledger.deposit(accountId, amount));
     }
 
     @Override
-    public void withdraw(String accountId, BigDecimal amount) {
+    public void withdraw(String accountId, Money amount) {
+        logger.debug("Withdrawing {} from account {}", amount, accountId);
+        await(ledger.withdraw(accountId, amount));
+    }
 
+    @Override
+    public void transfer(String sourceId, String targetId, Money amount) {
+        logger.debug("Transferring {} from account {} to account {}", amount, sourceId, targetId);
+        await(ledger.transfer(sourceId, targetId, amount));
     }
 
     @Override
-    public void transfer(String sourceId, String targetId, BigDecimal amount) {
+    public Money getBalance(String accountId) {
+        return await(ledger.getBalance(accountId));
+    }
 
+    @Override
+    public void freezeAccount(String accountId) {
+        logger.info("Freezing account {}", accountId);
+        await(ledger.freezeAccount(accountId));
     }
 
     @Override
-    public BigDecimal getBalance(String accountId) {
-        return null;
+    public void closeAccount(String accountId) {
+        logger.info("Closing account {}", accountId);
+        await(ledger.closeAccount(accountId));
     }
 
     @Override
-    public void freezeAccount(String accountId) {
+    public CompletableFuture<Money> depositAsync(String accountId, Money amount) {
+        return ledger.deposit(accountId, amount);
+    }
 
+    @Override
+    public CompletableFuture<Money> withdrawAsync(String accountId, Money amount) {
+        return ledger.withdraw(accountId, amount);
     }
 
     @Override
-    public void closeAccount(String accountId) {
+    public CompletableFuture<TransferResult> transferAsync(String sourceId, String targetId, Money amount) {
+        return ledger.transfer(sourceId, targetId, amount);
+    }
 
+    /**
+     * Waits for a ledger operation and rethrows its domain exception unwrapped.
+     */
+    private static <T> T await(CompletableFuture<T> operation) {
+        try {
+            return operation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,168 @@
+package com.banking.service.impl;
+
+import com.banking.dto.CreateAccountDto;
+import com.banking.ledger.TransferResult;
+import com.banking.model.Account;
+import com.banking.model.Money;
+import com.banking.observability.Counter;
+import com.banking.observability.LatencyHistogram;
+import com.banking.observability.MetricFamily;
+import com.banking.observability.MetricsRegistry;
+import com.banking.observability.jfr.AccountOperationEvent;
+import com.banking.service.AccountService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Records the latency of every {@link AccountService} operation, and the failures by exception type,
+ * around another implementation, and emits an {@link AccountOperationEvent} per operation for flight
+ * recordings. Asynchronous operations are timed until their future completes.
+ */
+public class InstrumentedAccountService implements AccountService {
+
+    private final AccountService delegate;
+    private final MetricFamily<Counter> errors;
+
+    private final LatencyHistogram createAccount;
+    private final LatencyHistogram deposit;
+    private final LatencyHistogram withdraw;
+    private final LatencyHistogram transfer;
+    private final LatencyHistogram getBalance;
+    private final LatencyHistogram freezeAccount;
+    private final LatencyHistogram closeAccount;
+
+    public InstrumentedAccountService(AccountService delegate) {
+        this(delegate, MetricsRegistry.INSTANCE);
+    }
+
+    public InstrumentedAccountService(AccountService delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.errors = registry.counter("banking_service_errors_total",
+                "Account service operations that failed, by exception type", "operation", "error");
+        MetricFamily<LatencyHistogram> duration = registry.histogram("banking_service_operation_duration_seconds",
+                "Latency of account service operations, including failed ones", "operation");
+        this.createAccount = duration.labels("create_account");
+        this.deposit = duration.labels("deposit");
+        this.withdraw = duration.labels("withdraw");
+        this.transfer = duration.labels("transfer");
+        this.getBalance = duration.labels("get_balance");
+        this.freezeAccount = duration.labels("freeze_account");
+        this.closeAccount = duration.labels("close_account");
+    }
+
+    @Override
+    public Account createAccount(CreateAccountDto createAccountDto) {
+        return timed("create_account", null, createAccount, () -> delegate.createAccount(createAccountDto));
+    }
+
+    @Override
+    public void deposit(String accountId, Money amount) {
+        timed("deposit", accountId, deposit, () -> delegate.deposit(accountId, amount));
+    }
+
+    @Override
+    public void withdraw(String accountId, Money amount) {
+        timed("withdraw", accountId, withdraw, () -> delegate.withdraw(accountId, amount));
+    }
+
+    @Override
+    public void transfer(String sourceId, String targetId, Money amount) {
+        timed("transfer", sourceId, transfer, () -> delegate.transfer(sourceId, targetId, amount));
+    }
+
+    @Override
+    public Money getBalance(String accountId) {
+        return timed("get_balance", accountId, getBalance, () -> delegate.getBalance(accountId));
+    }
+
+    @Override
+    public void freezeAccount(String accountId) {
+        timed("freeze_account", accountId, freezeAccount, () -> delegate.freezeAccount(accountId));
+    }
+
+    @Override
+    public void closeAccount(String accountId) {
+        timed("close_account", accountId, closeAccount, () -> delegate.closeAccount(accountId));
+    }
+
+    @Override
+    public CompletableFuture<Money> depositAsync(String accountId, Money amount) {
+        return timedAsync("deposit", accountId, deposit, () -> delegate.depositAsync(accountId, amount));
+    }
+
+    @Override
+    public CompletableFuture<Money> withdrawAsync(String accountId, Money amount) {
+        return timedAsync("withdraw", accountId, withdraw, () -> delegate.withdrawAsync(accountId, amount));
+    }
+
+    @Override
+    public CompletableFuture<TransferResult> transferAsync(String sourceId, String targetId, Money amount) {
+        return timedAsync("transfer", sourceId, transfer, () -> delegate.transferAsync(sourceId, targetId, amount));
+    }
+
+    //=== Recording ===//
+
+    private <T> T timed(String operation, String accountId, LatencyHistogram histogram, Supplier<T> call) {
+        AccountOperationEvent event = new AccountOperationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            error = e;
+            failed(operation, e);
+            throw e;
+        } finally {
+            histogram.recordSince(start);
+            commit(event, operation, accountId, error);
+        }
+    }
+
+    private void timed(String operation, String accountId, LatencyHistogram histogram, Runnable call) {
+        timed(operation, accountId, histogram, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> timedAsync(String operation, String accountId, LatencyHistogram histogram,
+                                                Supplier<CompletableFuture<T>> call) {
+        AccountOperationEvent event = new AccountOperationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            histogram.recordSince(start);
+            failed(operation, e);
+            commit(event, operation, accountId, e);
+            throw e;
+        }
+        return future.whenComplete((result, e) -> {
+            histogram.recordSince(start);
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause != null) {
+                failed(operation, cause);
+            }
+            commit(event, operation, accountId, cause);
+        });
+    }
+
+    private static void commit(AccountOperationEvent event, String operation, String accountId, Throwable error) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.accountId = accountId;
+            event.error = error == null ? null : error.getClass().getSimpleName();
+            event.commit();
+        }
+    }
+
+    private void failed(String operation, Throwable e) {
+        errors.labels(operation, e.getClass().getSimpleName()).increment();
+    }
+}
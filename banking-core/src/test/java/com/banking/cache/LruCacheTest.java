@@ -0,0 +1,92 @@
+package com.banking.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void get_ShouldCountHitsAndMisses() {
+        LruCache<String, String> cache = new LruCache<>(10, 0, TimeUnit.SECONDS, now::get);
+        cache.put("a", "1");
+
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.stats()).isEqualTo(new CacheStats(1, 1, 0));
+        assertThat(cache.stats().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void put_OverCapacity_ShouldEvictLeastRecentlyUsed() {
+        LruCache<Integer, String> cache = new LruCache<>(1, 0, TimeUnit.SECONDS, now::get);
+        cache.put(1, "one");
+        cache.put(2, "two");
+
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(2)).isEqualTo("two");
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void get_RecentlyReadEntry_ShouldSurviveEviction() {
+        LruCache<Integer, String> cache = new LruCache<>(2, 0, TimeUnit.SECONDS, now::get);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+        cache.put(3, "three");
+
+        assertThat(cache.get(1)).isEqualTo("one");
+        assertThat(cache.get(2)).isNull();
+    }
+
+    @Test
+    void get_AfterTtl_ShouldExpireEntry() {
+        LruCache<String, String> cache = new LruCache<>(10, 5, TimeUnit.SECONDS, now::get);
+        cache.put("a", "1");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertThat(cache.get("a")).isEqualTo("1");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidate_ShouldRemoveEntry() {
+        LruCache<String, String> cache = new LruCache<>(10, 0, TimeUnit.SECONDS, now::get);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        cache.invalidate("a");
+        assertThat(cache.get("a")).isNull();
+
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void putIfUnchanged_AfterInterveningWrite_ShouldKeepNewerValue() {
+        LruCache<String, String> cache = new LruCache<>(10, 0, TimeUnit.SECONDS, now::get);
+        long beforeLoad = cache.generation("a");
+        cache.put("a", "new");
+
+        assertThat(cache.putIfUnchanged("a", "old", beforeLoad)).isFalse();
+        assertThat(cache.get("a")).isEqualTo("new");
+
+        long afterWrite = cache.generation("a");
+        cache.invalidate("a");
+        assertThat(cache.putIfUnchanged("a", "old", afterWrite)).isFalse();
+        assertThat(cache.get("a")).isNull();
+
+        assertThat(cache.putIfUnchanged("a", "fresh", cache.generation("a"))).isTrue();
+        assertThat(cache.get("a")).isEqualTo("fresh");
+    }
+}
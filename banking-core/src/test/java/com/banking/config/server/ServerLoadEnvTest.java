@@ -0,0 +1,71 @@
+package com.banking.config.server;
+
+import com.banking.config.exception.ConfigurationException;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServerLoadEnvTest {
+
+    @Test
+    void defaults_ShouldUseVirtualThreadsAndGroupCommit() {
+        ServerLoadEnv config = new ServerLoadEnv(dotenv(Map.of()));
+
+        assertThat(config.getPort()).isEqualTo(9090);
+        assertThat(config.getExecutorType()).isEqualTo(ServerLoadEnv.ExecutorType.VIRTUAL);
+        assertThat(config.getAccountWriteMode()).isEqualTo(ServerLoadEnv.AccountWriteMode.GROUP_COMMIT);
+        assertThat(config.getShutdownTimeoutSeconds()).isEqualTo(30);
+        assertThat(config.getLedgerMode()).isEqualTo(ServerLoadEnv.LedgerMode.SHARDED);
+        assertThat(config.getZookeeperConnect()).isEmpty();
+        assertThat(config.getWorkerId()).isZero();
+        assertThat(config.getMetricsPort()).isEqualTo(9464);
+    }
+
+    @Test
+    void overrides_ShouldBeParsed() {
+        ServerLoadEnv config = new ServerLoadEnv(dotenv(Map.of(
+                "GRPC_PORT", "7000",
+                "GRPC_EXECUTOR", "fixed",
+                "GRPC_THREADS", "64",
+                "ACCOUNT_WRITE_MODE", "transactional",
+                "LEDGER_MODE", "optimistic",
+                "ZOOKEEPER_CONNECT", "zk1:2181,zk2:2181",
+                "WORKER_ID", "17",
+                "METRICS_PORT", "0")));
+
+        assertThat(config.getPort()).isEqualTo(7000);
+        assertThat(config.getExecutorType()).isEqualTo(ServerLoadEnv.ExecutorType.FIXED);
+        assertThat(config.getThreads()).isEqualTo(64);
+        assertThat(config.getAccountWriteMode()).isEqualTo(ServerLoadEnv.AccountWriteMode.TRANSACTIONAL);
+        assertThat(config.getLedgerMode()).isEqualTo(ServerLoadEnv.LedgerMode.OPTIMISTIC);
+        assertThat(config.getZookeeperConnect()).isEqualTo("zk1:2181,zk2:2181");
+        assertThat(config.getWorkerId()).isEqualTo(17);
+        assertThat(config.getMetricsPort()).isZero();
+    }
+
+    @Test
+    void invalidValue_ShouldThrowConfigurationException() {
+        assertThatThrownBy(() -> new ServerLoadEnv(dotenv(Map.of("GRPC_EXECUTOR", "carrier-pigeon"))))
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("GRPC_EXECUTOR");
+        assertThatThrownBy(() -> new ServerLoadEnv(dotenv(Map.of("GRPC_PORT", "abc"))))
+                .isInstanceOf(ConfigurationException.class);
+        assertThatThrownBy(() -> new ServerLoadEnv(dotenv(Map.of("WORKER_ID", "1024"))))
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("WORKER_ID");
+    }
+
+    private static Dotenv dotenv(Map<String, String> values) {
+        Dotenv dotenv = mock(Dotenv.class);
+        when(dotenv.get(anyString(), anyString())).thenAnswer(invocation ->
+                values.getOrDefault(invocation.<String>getArgument(0), invocation.getArgument(1)));
+        return dotenv;
+    }
+}
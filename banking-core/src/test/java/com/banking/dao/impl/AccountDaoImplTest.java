@@ -1,20 +1,26 @@
 package com.banking.dao.impl;
 
 import com.banking.dao.AccountDao;
+import com.banking.dao.batch.BatchResult;
+import com.banking.dao.exception.OptimisticLockException;
 import com.banking.model.Account;
 import com.banking.model.AccountStatus;
 import com.banking.model.AccountType;
+import com.banking.model.Money;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,7 +42,8 @@ class AccountDaoImplTest {
                 "account_type VARCHAR, " +
                 "status VARCHAR, " +
                 "created_at TIMESTAMP, " +
-                "updated_at TIMESTAMP)");
+                "updated_at TIMESTAMP, " +
+                "version BIGINT DEFAULT 0 NOT NULL)");
     }
 
     @BeforeEach
@@ -57,7 +64,7 @@ class AccountDaoImplTest {
                 .accountId("A1")
                 .accountNumber("123")
                 .ownerId("U1")
-                .balance(new BigDecimal("100"))
+                .balance(Money.parse("100", "USD"))
                 .currency("USD")
                 .type(AccountType.SAVINGS)
                 .status(AccountStatus.ACTIVE)
@@ -69,6 +76,63 @@ class AccountDaoImplTest {
         assertEquals("123", fetched.get().getNumber());
     }
 
+    @Test
+    void saveAll_ShouldInsertFullAndPartialChunks() throws SQLException {
+        AccountDao batchDao = new AccountDaoImpl(connection, 4);
+
+        BatchResult<Account> result = batchDao.saveAll(accounts("B", 10));
+
+        assertTrue(result.isSuccessful());
+        assertEquals(10, result.insertedCount());
+        assertEquals(10, countAccounts());
+        assertEquals(Money.parse("100", "USD"), batchDao.findById("B9").orElseThrow().getBalance());
+    }
+
+    @Test
+    void saveAll_DuplicateRows_ShouldReportOnlyRejectedRows() throws SQLException {
+        AccountDao batchDao = new AccountDaoImpl(connection, 4);
+        batchDao.save(account("C2", "existing"));
+
+        List<Account> accounts = accounts("C", 10);
+        accounts.add(account("C7", "duplicate"));
+
+        BatchResult<Account> result = batchDao.saveAll(accounts);
+
+        assertEquals(9, result.insertedCount());
+        assertEquals(2, result.failures().size());
+        assertEquals("C2", result.failures().get(0).item().getAccountId());
+        assertEquals("duplicate", result.failures().get(1).item().getNumber());
+        assertEquals(10, countAccounts());
+        assertEquals("existing", batchDao.findById("C2").orElseThrow().getNumber());
+    }
+
+    @Test
+    void saveAll_InsideTransaction_ShouldLeaveCommitToCaller() throws SQLException {
+        AccountDao batchDao = new AccountDaoImpl(connection, 4);
+        connection.setAutoCommit(false);
+        try {
+            batchDao.saveAll(accounts("D", 6));
+            connection.rollback();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        assertEquals(0, countAccounts());
+    }
+
+    @Test
+    void saveAll_SeveralBatches_ShouldInsertEveryRow() throws SQLException {
+        // Not a multiple of the batch size, so the last multi-row insert is a partial one
+        int rows = 2 * AccountDaoImpl.DEFAULT_BATCH_SIZE + 7;
+
+        BatchResult<Account> result = dao.saveAll(accounts("M", rows));
+
+        assertEquals(rows, result.insertedCount());
+        assertTrue(result.isSuccessful());
+        assertEquals(rows, countAccounts());
+        assertEquals(Money.parse("100", "USD"), dao.findById("M" + (rows - 1)).orElseThrow().getBalance());
+    }
+
     @Test
     void findById() {
     }
@@ -78,7 +142,43 @@ class AccountDaoImplTest {
     }
 
     @Test
-    void update() {
+    void update() throws SQLException {
+        Account account = new Account.Builder()
+                .accountId("A2")
+                .accountNumber("456")
+                .ownerId("U2")
+                .balance(Money.parse("100", "USD"))
+                .currency("USD")
+                .type(AccountType.CHECKING)
+                .status(AccountStatus.ACTIVE)
+                .build();
+        dao.save(account);
+
+        account.deposit(Money.parse("50", "USD"));
+        account.freeze();
+        dao.update(account);
+
+        Account fetched = dao.findById("A2").orElseThrow();
+        assertEquals(Money.parse("150", "USD"), fetched.getBalance());
+        assertEquals(AccountStatus.FROZEN, fetched.getStatus());
+        assertEquals(1, fetched.getVersion());
+        assertEquals(1, account.getVersion());
+    }
+
+    @Test
+    void update_StaleVersion_ShouldFailWithoutWriting() throws SQLException {
+        dao.save(account("V1", "N-V1"));
+        Account first = dao.findById("V1").orElseThrow();
+        Account second = dao.findById("V1").orElseThrow();
+
+        first.deposit(Money.parse("10", "USD"));
+        dao.update(first);
+        second.deposit(Money.parse("20", "USD"));
+
+        assertThrows(OptimisticLockException.class, () -> dao.update(second));
+        Account fetched = dao.findById("V1").orElseThrow();
+        assertEquals(Money.parse("110", "USD"), fetched.getBalance());
+        assertEquals(1, fetched.getVersion());
     }
 
     @Test
@@ -86,10 +186,72 @@ class AccountDaoImplTest {
     }
 
     @Test
-    void findAll() {
+    void findAll() throws SQLException {
+        dao.saveAll(accounts("F", 3));
+
+        assertEquals(3, dao.findAll().size());
+    }
+
+    @Test
+    void streamAll_ShouldReturnAccountsInIdOrderAndRestoreAutoCommit() throws SQLException {
+        dao.saveAll(accounts("T", 25));
+
+        List<String> ids;
+        try (Stream<Account> accounts = dao.streamAll()) {
+            assertFalse(connection.getAutoCommit());
+            ids = accounts.map(Account::getAccountId).toList();
+        }
+
+        assertEquals(25, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    void findPage_ShouldWalkTableByKey() throws SQLException {
+        dao.saveAll(accounts("P", 7));
+
+        List<String> seen = new ArrayList<>();
+        String after = null;
+        List<Account> page;
+        do {
+            page = dao.findPage(after, 3);
+            page.forEach(account -> seen.add(account.getAccountId()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getAccountId();
+        } while (page.size() == 3);
+
+        assertEquals(List.of("P0", "P1", "P2", "P3", "P4", "P5", "P6"), seen);
     }
 
     @Test
     void fromResultSet() {
     }
+
+    private static List<Account> accounts(String prefix, int count) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(account(prefix + i, "N-" + prefix + i));
+        }
+        return accounts;
+    }
+
+    private static Account account(String accountId, String number) {
+        return new Account.Builder()
+                .accountId(accountId)
+                .accountNumber(number)
+                .ownerId("U1")
+                .balance(Money.parse("100", "USD"))
+                .currency("USD")
+                .type(AccountType.SAVINGS)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private static long countAccounts() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM accounts")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.banking.dao.impl;
+
+import com.banking.ledger.TransferResult;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.banking.service.exception.AccountNotFoundException;
+import com.banking.service.exception.InsufficientFundsException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountDaoImplTransferTest {
+
+    private static final int ACCOUNTS = 8;
+    private static final Money OPENING_BALANCE = usd("1000.00");
+
+    private static JdbcDataSource dataSource;
+
+    private AccountDaoImpl dao;
+
+    @BeforeAll
+    static void setupDatabase() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:transferdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS accounts (" +
+                    "account_id VARCHAR PRIMARY KEY, " +
+                    "number VARCHAR, " +
+                    "owner_id VARCHAR, " +
+                    "balance DECIMAL(19, 2), " +
+                    "currency VARCHAR, " +
+                    "account_type VARCHAR, " +
+                    "status VARCHAR, " +
+                    "created_at TIMESTAMP, " +
+                    "updated_at TIMESTAMP, " +
+                    "version BIGINT DEFAULT 0 NOT NULL)");
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dao = new AccountDaoImpl(dataSource::getConnection);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            dao.save(account("A" + i, OPENING_BALANCE));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM accounts");
+        }
+    }
+
+    @Test
+    void transfer_ShouldMoveMoneyAndReturnBothBalances() throws SQLException {
+        TransferResult result = dao.transfer("A1", "A0", usd("250.00"));
+
+        assertThat(result.sourceBalance()).isEqualTo(usd("750.00"));
+        assertThat(result.targetBalance()).isEqualTo(usd("1250.00"));
+        assertThat(dao.findById("A1").orElseThrow().getBalance()).isEqualTo(usd("750.00"));
+        assertThat(dao.findById("A0").orElseThrow().getBalance()).isEqualTo(usd("1250.00"));
+    }
+
+    @Test
+    void transfer_InsufficientFunds_ShouldLeaveBothBalancesUnchanged() throws SQLException {
+        assertThatThrownBy(() -> dao.transfer("A2", "A3", usd("1000.01")))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        assertThat(dao.findById("A2").orElseThrow().getBalance()).isEqualTo(OPENING_BALANCE);
+        assertThat(dao.findById("A3").orElseThrow().getBalance()).isEqualTo(OPENING_BALANCE);
+    }
+
+    @Test
+    void transfer_MissingTarget_ShouldRollBackDebit() throws SQLException {
+        // "A1" sorts before "Z9", so the debit is applied before the credit fails
+        assertThatThrownBy(() -> dao.transfer("A1", "Z9", usd("10.00")))
+                .isInstanceOf(AccountNotFoundException.class);
+
+        assertThat(dao.findById("A1").orElseThrow().getBalance()).isEqualTo(OPENING_BALANCE);
+    }
+
+    @Test
+    void transfer_ConcurrentOpposingTransfers_ShouldConserveMoney() throws Exception {
+        int threads = 8;
+        int transfersPerThread = 250;
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        int source = random.nextInt(ACCOUNTS);
+                        int target = (source + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                        try {
+                            dao.transfer("A" + source, "A" + target, usd("37.00"));
+                        } catch (InsufficientFundsException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            // Surfaces any deadlock or lock timeout raised in a worker
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long total = 0;
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Money balance = dao.findById("A" + i).orElseThrow().getBalance();
+            assertThat(balance.isNegative()).isFalse();
+            total += balance.getMinorUnits();
+        }
+        assertThat(total).isEqualTo(OPENING_BALANCE.getMinorUnits() * ACCOUNTS);
+        assertThat(rejected.get()).isLessThan(threads * transfersPerThread);
+    }
+
+    private static Account account(String accountId, Money balance) {
+        return new Account.Builder()
+                .accountId(accountId)
+                .accountNumber("ACC-" + accountId)
+                .ownerId("owner-" + accountId)
+                .balance(balance)
+                .currency("USD")
+                .type(AccountType.CHECKING)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private static Money usd(String amount) {
+        return Money.parse(amount, "USD");
+    }
+}
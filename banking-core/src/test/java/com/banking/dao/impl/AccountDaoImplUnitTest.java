@@ -4,6 +4,7 @@ import com.banking.dao.AccountDao;
 import com.banking.model.Account;
 import com.banking.model.AccountStatus;
 import com.banking.model.AccountType;
+import com.banking.model.Money;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -33,7 +34,7 @@ class AccountDaoImplUnitTest {
                 .accountId("A1")
                 .accountNumber("12345")
                 .ownerId("U1")
-                .balance(BigDecimal.valueOf(100))
+                .balance(Money.ofMinor(10_000, "USD"))
                 .currency("USD")
                 .type(AccountType.SAVINGS)
                 .status(AccountStatus.ACTIVE)
@@ -53,6 +54,8 @@ class AccountDaoImplUnitTest {
         when(mockRs.next()).thenReturn(true);
         when(mockRs.getString("account_id")).thenReturn("A1");
         when(mockRs.getString("number")).thenReturn("123");
+        when(mockRs.getString("currency")).thenReturn("USD");
+        when(mockRs.getBigDecimal("balance")).thenReturn(new BigDecimal("100.00"));
         when(mockRs.getTimestamp("created_at")).thenReturn(Timestamp.from(Instant.now()));
         when(mockRs.getTimestamp("updated_at")).thenReturn(Timestamp.from(Instant.now()));
 
@@ -61,6 +64,7 @@ class AccountDaoImplUnitTest {
 
         assertTrue(accountOpt.isPresent());
         assertEquals("A1", accountOpt.get().getAccountId());
+        assertEquals(Money.parse("100.00", "USD"), accountOpt.get().getBalance());
 
         verify(mockConnection).prepareStatement(anyString());
         verify(mockStmt).setString(1, "A1");
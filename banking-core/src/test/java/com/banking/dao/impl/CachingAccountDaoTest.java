@@ -0,0 +1,168 @@
+package com.banking.dao.impl;
+
+import com.banking.dao.AccountDao;
+import com.banking.dao.batch.BatchFailure;
+import com.banking.dao.batch.BatchResult;
+import com.banking.dao.transaction.AutoCommitTransactionManager;
+import com.banking.dao.transaction.JdbcTransactionManager;
+import com.banking.dao.transaction.TransactionManager;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAccountDaoTest {
+
+    @Mock
+    private AccountDao delegate;
+
+    private CachingAccountDao dao;
+
+    @BeforeEach
+    void setUp() {
+        dao = new CachingAccountDao(delegate, AutoCommitTransactionManager.INSTANCE, 100, 1, TimeUnit.MINUTES);
+    }
+
+    @Test
+    void findById_WarmEntry_ShouldNotHitDelegate() throws SQLException {
+        when(delegate.findById("A1")).thenReturn(Optional.of(account("A1", "100.00")));
+
+        dao.findById("A1");
+        Account cached = dao.findById("A1").orElseThrow();
+
+        assertThat(cached.getBalance()).isEqualTo(Money.parse("100.00", "USD"));
+        verify(delegate, times(1)).findById("A1");
+        assertThat(dao.getStats().hits()).isEqualTo(1);
+        assertThat(dao.getStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void findById_ShouldReturnCopies() throws SQLException {
+        dao.save(account("A1", "100.00"));
+
+        dao.findById("A1").orElseThrow().deposit(Money.parse("50.00", "USD"));
+
+        assertThat(dao.findById("A1").orElseThrow().getBalance()).isEqualTo(Money.parse("100.00", "USD"));
+    }
+
+    @Test
+    void update_ShouldWriteThrough() throws SQLException {
+        Account account = account("A1", "100.00");
+        dao.save(account);
+
+        account.deposit(Money.parse("25.00", "USD"));
+        dao.update(account);
+
+        verify(delegate).update(account);
+        assertThat(dao.findById("A1").orElseThrow().getBalance()).isEqualTo(Money.parse("125.00", "USD"));
+    }
+
+    @Test
+    void update_Failure_ShouldInvalidateEntry() throws SQLException {
+        Account account = account("A1", "100.00");
+        dao.save(account);
+        doThrow(new SQLException("timeout")).when(delegate).update(account);
+        when(delegate.findById("A1")).thenReturn(Optional.of(account("A1", "90.00")));
+
+        assertThatThrownBy(() -> dao.update(account)).isInstanceOf(SQLException.class);
+
+        assertThat(dao.findById("A1").orElseThrow().getBalance()).isEqualTo(Money.parse("90.00", "USD"));
+    }
+
+    @Test
+    void update_RolledBack_ShouldNotReachCache() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.getAutoCommit()).thenReturn(true);
+        TransactionManager transactionManager = new JdbcTransactionManager(connection);
+        dao = new CachingAccountDao(delegate, transactionManager, 100, 1, TimeUnit.MINUTES);
+        Account account = account("A1", "100.00");
+        dao.save(account);
+        when(delegate.findById("A1")).thenReturn(Optional.of(account("A1", "100.00")));
+
+        assertThatThrownBy(() -> transactionManager.inTransaction(() -> {
+            account.deposit(Money.parse("25.00", "USD"));
+            dao.update(account);
+            throw new IllegalStateException("outbox unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(dao.findById("A1").orElseThrow().getBalance()).isEqualTo(Money.parse("100.00", "USD"));
+        verify(connection).rollback();
+    }
+
+    @Test
+    void saveAll_ShouldCacheOnlyStoredAccounts() throws SQLException {
+        Account stored = account("A1", "100.00");
+        Account rejected = account("A2", "100.00");
+        List<Account> accounts = List.of(stored, rejected);
+        when(delegate.saveAll(accounts)).thenReturn(
+                new BatchResult<>(1, List.of(new BatchFailure<>(rejected, new SQLException("duplicate key")))));
+        when(delegate.findById("A2")).thenReturn(Optional.empty());
+
+        dao.saveAll(accounts);
+
+        assertThat(dao.findById("A1")).isPresent();
+        assertThat(dao.findById("A2")).isEmpty();
+        verify(delegate, times(0)).findById("A1");
+    }
+
+    @Test
+    void findById_SlowMissOverlappingUpdate_ShouldNotCacheStaleRow() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        when(delegate.findById("A1")).thenAnswer(invocation -> {
+            loading.countDown();
+            assertThat(updated.await(5, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(account("A1", "100.00"));
+        });
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<Account>> slowRead = reader.submit(() -> dao.findById("A1"));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            dao.update(account("A1", "125.00"));
+            updated.countDown();
+            slowRead.get(5, TimeUnit.SECONDS);
+        } finally {
+            reader.shutdownNow();
+        }
+
+        assertThat(dao.findById("A1").orElseThrow().getBalance()).isEqualTo(Money.parse("125.00", "USD"));
+        verify(delegate, times(1)).findById("A1");
+    }
+
+    private static Account account(String accountId, String balance) {
+        return new Account.Builder()
+                .accountId(accountId)
+                .accountNumber("N-" + accountId)
+                .ownerId("owner")
+                .balance(Money.parse(balance, "USD"))
+                .currency("USD")
+                .type(AccountType.CHECKING)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
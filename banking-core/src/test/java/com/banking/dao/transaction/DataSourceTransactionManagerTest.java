@@ -0,0 +1,175 @@
+package com.banking.dao.transaction;
+
+import com.banking.dao.AccountDao;
+import com.banking.dao.impl.AccountDaoImpl;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataSourceTransactionManagerTest {
+
+    private static JdbcDataSource dataSource;
+
+    private DataSourceTransactionManager transactionManager;
+    private AccountDao dao;
+
+    @BeforeAll
+    static void setupDatabase() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:txdb;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS accounts (" +
+                    "account_id VARCHAR PRIMARY KEY, " +
+                    "number VARCHAR, " +
+                    "owner_id VARCHAR, " +
+                    "balance DECIMAL, " +
+                    "currency VARCHAR, " +
+                    "account_type VARCHAR, " +
+                    "status VARCHAR, " +
+                    "created_at TIMESTAMP, " +
+                    "updated_at TIMESTAMP, " +
+                    "version BIGINT DEFAULT 0 NOT NULL)");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        dao = new AccountDaoImpl(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM accounts");
+        }
+    }
+
+    @Test
+    void inTransaction_ShouldRunDaoCallsOnOneConnection() throws SQLException {
+        transactionManager.inTransaction(() -> {
+            Connection first = transactionManager.getConnection();
+            Connection second = transactionManager.getConnection();
+            assertThat(first.getMetaData().getConnection()).isSameAs(second.getMetaData().getConnection());
+            assertThat(first.getAutoCommit()).isFalse();
+
+            dao.save(account("A1"));
+            dao.save(account("A2"));
+            return null;
+        });
+
+        assertThat(dao.findById("A1")).isPresent();
+        assertThat(dao.findById("A2")).isPresent();
+        assertThat(transactionManager.isTransactionActive()).isFalse();
+    }
+
+    @Test
+    void inTransaction_Failure_ShouldRollBackAllDaoCalls() {
+        assertThatThrownBy(() -> transactionManager.inTransaction(() -> {
+            dao.save(account("A1"));
+            dao.save(account("A1"));
+            return null;
+        })).isInstanceOf(SQLException.class);
+
+        assertThat(countAccounts()).isZero();
+    }
+
+    @Test
+    void inTransaction_UncommittedRows_ShouldBeInvisibleToOtherConnections() throws Exception {
+        AtomicLong seenByOthers = new AtomicLong(-1);
+        transactionManager.inTransaction(() -> {
+            dao.save(account("A1"));
+            Thread reader = new Thread(() -> seenByOthers.set(countAccounts()));
+            reader.start();
+            try {
+                reader.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+
+        assertThat(seenByOthers.get()).isZero();
+        assertThat(countAccounts()).isEqualTo(1);
+    }
+
+    @Test
+    void inTransaction_Nested_ShouldJoinOuterTransaction() {
+        assertThatThrownBy(() -> transactionManager.inTransaction(() -> {
+            transactionManager.inTransaction(() -> {
+                dao.save(account("A1"));
+                return null;
+            });
+            throw new IllegalStateException("outer failure");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(countAccounts()).isZero();
+    }
+
+    @Test
+    void afterCommit_ShouldRunOnceTransactionCommits() throws SQLException {
+        List<Long> seen = new ArrayList<>();
+        transactionManager.inTransaction(() -> {
+            dao.save(account("A1"));
+            transactionManager.afterCommit(() -> seen.add(countAccounts()));
+            assertThat(seen).isEmpty();
+            return null;
+        });
+
+        assertThat(seen).containsExactly(1L);
+    }
+
+    @Test
+    void afterCommit_RolledBack_ShouldBeDropped() {
+        List<String> ran = new ArrayList<>();
+        assertThatThrownBy(() -> transactionManager.inTransaction(() -> {
+            transactionManager.afterCommit(() -> ran.add("action"));
+            throw new IllegalStateException("failure");
+        })).isInstanceOf(IllegalStateException.class);
+
+        transactionManager.afterCommit(() -> ran.add("outside"));
+
+        assertThat(ran).containsExactly("outside");
+    }
+
+    private long countAccounts() {
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement();
+             var rs = stmt.executeQuery("SELECT COUNT(*) FROM accounts")) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Account account(String accountId) {
+        return new Account.Builder()
+                .accountId(accountId)
+                .accountNumber("N-" + accountId)
+                .ownerId("owner")
+                .balance(Money.parse("10.00", "USD"))
+                .currency("USD")
+                .type(AccountType.CHECKING)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.banking.events.cdc;
+
+import com.bank.replication.exception.InvalidLogEntryException;
+import com.banking.events.cdc.exception.ChangeEventDecodeException;
+import com.banking.events.cdc.exception.UnsupportedChangeEncodingException;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DebeziumChangeDecoderTest {
+
+    private static final String ACCOUNT_ROW = """
+            {"account_id":"acc-1","number":"1000-0001","owner_id":"owner-1","balance":"125.50",
+             "currency":"USD","account_type":"CHECKING","status":"FROZEN",
+             "created_at":1700000000123456,"updated_at":"2024-01-02T03:04:05.678Z","version":4,
+             "unmapped":{"nested":[1,2,{"deep":true}]}}""";
+
+    private final DebeziumChangeDecoder decoder = DebeziumChangeDecoder.INSTANCE;
+
+    @Test
+    void decode_SchemaWrappedAccountUpdate_ShouldMapAfterToAccount() {
+        String json = """
+                {"schema":{"type":"struct","fields":[{"field":"before","optional":true}]},
+                 "payload":{"before":{"account_id":"acc-1","balance":"1.00"},"after":%s,
+                  "source":{"version":"2.5.0","connector":"postgresql","table":"accounts","lsn":24023128,
+                   "schema":"public","txId":565},
+                  "op":"u","ts_ms":1700000000999,"transaction":null}}""".formatted(ACCOUNT_ROW);
+
+        AccountChange change = (AccountChange) decoder.decode(bytes(json));
+
+        assertThat(change.op()).isEqualTo(ChangeOperation.UPDATE);
+        assertThat(change.lsn()).isEqualTo(24023128L);
+        assertThat(change.table()).isEqualTo("accounts");
+        Account account = change.after();
+        assertThat(account.getAccountId()).isEqualTo("acc-1");
+        assertThat(account.getNumber()).isEqualTo("1000-0001");
+        assertThat(account.getOwnerId()).isEqualTo("owner-1");
+        assertThat(account.getBalance()).isEqualTo(Money.parse("125.50", "USD"));
+        assertThat(account.getAccountType()).isEqualTo(AccountType.CHECKING);
+        assertThat(account.getStatus()).isEqualTo(AccountStatus.FROZEN);
+        assertThat(account.getCreatedAt()).isEqualTo(Instant.ofEpochSecond(1_700_000_000L, 123_456_000));
+        assertThat(account.getUpdatedAt()).isEqualTo(Instant.parse("2024-01-02T03:04:05.678Z"));
+        assertThat(account.getVersion()).isEqualTo(4);
+    }
+
+    @Test
+    void decode_BareEnvelopeWithOpBeforeAfter_ShouldMapOutboxRow() {
+        String json = """
+                {"op":"c","source":{"table":"account_creation_events","lsn":77},
+                 "after":{"event_id":"evt-1","event_type":"ACCOUNT_CREATED","command_id":"CMD-1",
+                  "source":"node-1","owner_id":"owner-2","currency":"EUR","initial_balance":250.5,
+                  "account_type":"SAVINGS","created_at":1000000,"updated_at":2000000,"timestamp":1700000000000}}""";
+
+        AccountCreationChange change = (AccountCreationChange) decoder.decode(bytes(json));
+
+        assertThat(change.op()).isEqualTo(ChangeOperation.CREATE);
+        assertThat(change.lsn()).isEqualTo(77L);
+        AccountCreationEvent event = change.after();
+        assertThat(event.getEventId()).isEqualTo("evt-1");
+        assertThat(event.getCommandId()).isEqualTo("CMD-1");
+        assertThat(event.getSource()).isEqualTo("node-1");
+        assertThat(event.getOwnerId()).isEqualTo("owner-2");
+        assertThat(event.getInitialBalance()).isEqualTo(Money.parse("250.50", "EUR"));
+        assertThat(event.getAccountType()).isEqualTo(AccountType.SAVINGS);
+        assertThat(event.getCreatedAt()).isEqualTo(Instant.ofEpochSecond(1));
+        assertThat(event.getUpdatedAt()).isEqualTo(Instant.ofEpochSecond(2));
+        assertThat(event.getTimestamp()).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    void decode_NumericDecimalWithTrailingZeros_ShouldMapBalance() {
+        String json = """
+                {"op":"c","source":{"table":"accounts"},
+                 "after":{"account_id":"acc-1","balance":1.500,"currency":"USD"}}""";
+
+        AccountChange change = (AccountChange) decoder.decode(bytes(json));
+
+        assertThat(change.after().getBalance()).isEqualTo(Money.parse("1.50", "USD"));
+    }
+
+    @Test
+    void decode_PreciseDecimalWithSchemaAfterPayload_ShouldUseSchemaScale() {
+        // 12550 as big-endian two's complement, in the default decimal.handling.mode=precise
+        String json = """
+                {"payload":{"op":"c","source":{"table":"accounts","lsn":3},
+                  "before":null,"after":{"account_id":"acc-1","balance":"MQY=","currency":"USD"}},
+                 "schema":{"type":"struct","fields":[
+                  {"type":"struct","optional":true,"field":"before","fields":[
+                   {"type":"bytes","name":"org.apache.kafka.connect.data.Decimal","parameters":{"scale":"4"},
+                    "field":"balance"}]},
+                  {"type":"struct","optional":true,"fields":[
+                   {"type":"string","optional":false,"field":"account_id"},
+                   {"type":"bytes","optional":false,"name":"org.apache.kafka.connect.data.Decimal","version":1,
+                    "parameters":{"scale":"2","connect.decimal.precision":"19"},"field":"balance"}],
+                   "field":"after"}]}}""";
+
+        AccountChange change = (AccountChange) decoder.decode(bytes(json));
+
+        assertThat(change.after().getBalance()).isEqualTo(Money.parse("125.50", "USD"));
+    }
+
+    @Test
+    void decode_Delete_ShouldHaveNoAfter() {
+        String json = """
+                {"before":{"account_id":"acc-1"},"after":null,"source":{"table":"accounts","lsn":5},"op":"d"}""";
+
+        AccountChange change = (AccountChange) decoder.decode(bytes(json));
+
+        assertThat(change.op()).isEqualTo(ChangeOperation.DELETE);
+        assertThat(change.after()).isNull();
+    }
+
+    @Test
+    void decode_ShouldSkipTombstonesAndUnfollowedTables() {
+        assertThat(decoder.decode(new byte[0])).isNull();
+        assertThat(decoder.decode(bytes("{\"schema\":{\"type\":\"struct\"},\"payload\":null}"))).isNull();
+        assertThat(decoder.decode(bytes("""
+                {"after":{"id":1,"name":"Product1"},"source":{"table":"products","lsn":9},"op":"c"}"""))).isNull();
+    }
+
+    @Test
+    void decode_SnapshotReadWithoutLsn_ShouldDefaultLsn() {
+        String json = """
+                {"after":%s,"source":{"table":"accounts","snapshot":"true"},"op":"r"}""".formatted(ACCOUNT_ROW);
+
+        AccountChange change = (AccountChange) decoder.decode(bytes(json));
+
+        assertThat(change.op()).isEqualTo(ChangeOperation.READ);
+        assertThat(change.lsn()).isEqualTo(-1L);
+    }
+
+    @Test
+    void decode_InvalidInput_ShouldThrow() {
+        assertThatThrownBy(() -> decoder.decode(bytes("[1,2]")))
+                .isInstanceOf(ChangeEventDecodeException.class);
+        assertThatThrownBy(() -> decoder.decode(bytes("{\"op\":\"c\",\"after\":{")))
+                .isInstanceOf(ChangeEventDecodeException.class);
+        assertThatThrownBy(() -> decoder.decode(bytes("{\"op\":\"x\",\"source\":{\"table\":\"accounts\"}}")))
+                .isInstanceOf(ChangeEventDecodeException.class);
+        // decimal.handling.mode=precise without a schema gives no scale for the base64 bytes
+        assertThatThrownBy(() -> decoder.decode(bytes("""
+                {"op":"c","source":{"table":"accounts"},"after":{"balance":"BBo=","currency":"USD"}}""")))
+                .isInstanceOf(UnsupportedChangeEncodingException.class)
+                .hasMessageContaining("decimal.handling.mode");
+    }
+
+    @Test
+    void logEntryHandler_ShouldPassTypedChangesAndSkipOthers() throws Exception {
+        List<ChangeEvent> applied = new ArrayList<>();
+        DebeziumLogEntryHandler handler = new DebeziumLogEntryHandler((key, change) -> applied.add(change));
+
+        handler.apply("acc-1", bytes("""
+                {"after":%s,"source":{"table":"accounts","lsn":1},"op":"c"}""".formatted(ACCOUNT_ROW)));
+        handler.apply(null, bytes("""
+                {"after":{"id":1},"source":{"table":"products","lsn":2},"op":"c"}"""));
+        handler.apply("acc-1", new byte[0]);
+
+        assertThat(applied).singleElement().isInstanceOf(AccountChange.class);
+    }
+
+    @Test
+    void logEntryHandler_UndecodableEntry_ShouldThrowInvalidLogEntry() {
+        DebeziumLogEntryHandler handler = new DebeziumLogEntryHandler((key, change) -> { });
+
+        assertThatThrownBy(() -> handler.apply("acc-1", bytes("{\"op\":\"c\",\"after\":{")))
+                .isInstanceOf(InvalidLogEntryException.class)
+                .hasCauseInstanceOf(ChangeEventDecodeException.class);
+    }
+
+    @Test
+    void logEntryHandler_UnsupportedEncoding_ShouldFailWithoutSkipping() {
+        DebeziumLogEntryHandler handler = new DebeziumLogEntryHandler((key, change) -> { });
+
+        assertThatThrownBy(() -> handler.apply("acc-1", bytes("""
+                {"op":"c","source":{"table":"accounts"},"after":{"balance":"BBo=","currency":"USD"}}""")))
+                .isInstanceOf(UnsupportedChangeEncodingException.class);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
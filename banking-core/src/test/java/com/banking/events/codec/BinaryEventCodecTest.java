@@ -0,0 +1,139 @@
+package com.banking.events.codec;
+
+import com.banking.events.EventType;
+import com.banking.events.codec.exception.EventCodecException;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.events.model.ReplicationEvent;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryEventCodecTest {
+
+    private static final Instant CREATED_AT = Instant.ofEpochSecond(1_700_000_000L, 123_456_789);
+    private static final Instant UPDATED_AT = CREATED_AT.plusSeconds(5);
+
+    private final BinaryEventCodec codec = BinaryEventCodec.INSTANCE;
+
+    @Test
+    void encode_ThenDecode_ShouldRoundTripAccountCreation() {
+        AccountCreationEvent event = event("owner-1");
+
+        byte[] bytes = codec.encode(event);
+        EncodedEvent decoded = codec.decode(ByteBuffer.wrap(bytes));
+
+        assertThat(bytes).hasSize(codec.encodedSize(event));
+        assertThat(decoded).isInstanceOf(EncodedAccountCreationEvent.class);
+        AccountCreationEvent restored = ((EncodedAccountCreationEvent) decoded).toEvent();
+        assertThat(restored).usingRecursiveComparison().isEqualTo(event);
+        assertThat(decoded.getFormatVersion()).isEqualTo(BinaryEventCodec.FORMAT_VERSION);
+        assertThat(decoded.size()).isEqualTo(bytes.length);
+    }
+
+    @Test
+    void encode_NonAsciiAndNullStrings_ShouldRoundTrip() {
+        AccountCreationEvent event = new AccountCreationEvent("evt-1", null, 42L, "nœud-€", "owner-😀",
+                "EUR", Money.parse("-3.10", "EUR"), AccountType.BUSINESS, CREATED_AT, UPDATED_AT);
+
+        EncodedAccountCreationEvent decoded = (EncodedAccountCreationEvent) codec.decode(
+                ByteBuffer.wrap(codec.encode(event)));
+
+        assertThat(decoded.getCommandId()).isNull();
+        assertThat(decoded.getSource()).isEqualTo("nœud-€");
+        assertThat(decoded.getOwnerId()).isEqualTo("owner-😀");
+        assertThat(decoded.getInitialBalance()).isEqualTo(Money.parse("-3.10", "EUR"));
+    }
+
+    @Test
+    void encode_IntoReusedDirectBuffer_ShouldWriteEventsBackToBack() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        AccountCreationEvent first = event("owner-1");
+        AccountCreationEvent second = event("owner-2");
+
+        codec.encode(first, buffer);
+        int firstEnd = buffer.position();
+        codec.encode(second, buffer);
+
+        assertThat(firstEnd).isEqualTo(codec.encodedSize(first));
+        EncodedAccountCreationEvent decoded = (EncodedAccountCreationEvent) codec.decode(
+                buffer.flip().position(firstEnd));
+        assertThat(decoded.getOwnerId()).isEqualTo("owner-2");
+        assertThat(decoded.getAccountType()).isEqualTo(AccountType.SAVINGS);
+        assertThat(buffer.position()).isEqualTo(firstEnd);
+    }
+
+    @Test
+    void encode_EventWithoutPayload_ShouldKeepHeader() {
+        ReplicationEvent debited = new ReplicationEvent("evt-2", EventType.ACCOUNT_DEBITED, "CMD-2", 7L, "node-1") {
+        };
+
+        EncodedEvent decoded = codec.decode(ByteBuffer.wrap(codec.encode(debited)));
+
+        assertThat(decoded.getClass()).isEqualTo(EncodedEvent.class);
+        assertThat(decoded.getEventType()).isEqualTo(EventType.ACCOUNT_DEBITED);
+        assertThat(decoded.getEventId()).isEqualTo("evt-2");
+        assertThat(decoded.getCommandId()).isEqualTo("CMD-2");
+        assertThat(decoded.getTimestamp()).isEqualTo(7L);
+        assertThat(decoded.getSource()).isEqualTo("node-1");
+    }
+
+    @Test
+    void encode_BalanceInOtherCurrency_ShouldThrowWithoutWriting() {
+        AccountCreationEvent event = new AccountCreationEvent("evt-1", "CMD-1", 1L, "node-1", "owner-1",
+                "USD", Money.parse("1.00", "EUR"), AccountType.SAVINGS, CREATED_AT, UPDATED_AT);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        assertThatThrownBy(() -> codec.encode(event, buffer)).isInstanceOf(EventCodecException.class);
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void encode_OversizedLastString_ShouldThrowWithoutWriting() {
+        AccountCreationEvent event = event("x".repeat(BinaryEventCodec.MAX_STRING_BYTES + 1));
+        ByteBuffer buffer = ByteBuffer.allocate(128 * 1024);
+
+        assertThatThrownBy(() -> codec.encode(event, buffer)).isInstanceOf(EventCodecException.class);
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void encode_BufferTooSmall_ShouldThrowWithoutWriting() {
+        AccountCreationEvent event = event("owner-1");
+        ByteBuffer buffer = ByteBuffer.allocate(codec.encodedSize(event) - 1);
+
+        assertThatThrownBy(() -> codec.encode(event, buffer)).isInstanceOf(BufferOverflowException.class);
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void decode_UnknownVersion_ShouldThrow() {
+        byte[] bytes = codec.encode(event("owner-1"));
+        bytes[0] = 99;
+
+        assertThatThrownBy(() -> codec.decode(ByteBuffer.wrap(bytes)))
+                .isInstanceOf(EventCodecException.class)
+                .hasMessageContaining("version 99");
+    }
+
+    @Test
+    void decode_TruncatedStrings_ShouldThrowWhenAStringIsRead() {
+        byte[] bytes = codec.encode(event("owner-1"));
+        EncodedAccountCreationEvent decoded = (EncodedAccountCreationEvent) codec.decode(
+                ByteBuffer.wrap(bytes, 0, bytes.length - 2));
+
+        assertThat(decoded.getInitialBalanceMinorUnits()).isEqualTo(25_000);
+        assertThatThrownBy(decoded::getOwnerId).isInstanceOf(EventCodecException.class);
+    }
+
+    private static AccountCreationEvent event(String ownerId) {
+        return new AccountCreationEvent("0190f1e2-7b3c-7a00-8000-000000000001", "CMD-1", 1_700_000_000_000L,
+                "node-1", ownerId, "USD", Money.parse("250.00", "USD"), AccountType.SAVINGS, CREATED_AT, UPDATED_AT);
+    }
+}
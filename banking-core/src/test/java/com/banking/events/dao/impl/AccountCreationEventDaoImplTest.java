@@ -0,0 +1,161 @@
+package com.banking.events.dao.impl;
+
+import com.banking.dao.batch.BatchResult;
+import com.banking.events.dao.AccountCreationEventDao;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountCreationEventDaoImplTest {
+
+    private static Connection connection;
+    private AccountCreationEventDao dao;
+
+    @BeforeAll
+    static void setupDatabase() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1");
+        Statement stmt = connection.createStatement();
+        stmt.execute("CREATE TABLE IF NOT EXISTS account_creation_events (" +
+                "event_id VARCHAR PRIMARY KEY, " +
+                "event_type VARCHAR, " +
+                "command_id VARCHAR, " +
+                "source VARCHAR, " +
+                "owner_id VARCHAR, " +
+                "currency VARCHAR, " +
+                "initial_balance DECIMAL, " +
+                "account_type VARCHAR, " +
+                "created_at TIMESTAMP, " +
+                "updated_at TIMESTAMP, " +
+                "timestamp BIGINT)");
+    }
+
+    @BeforeEach
+    void setup() {
+        dao = new AccountCreationEventDaoImpl(connection, 3);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM account_creation_events");
+        }
+    }
+
+    @Test
+    void save() throws SQLException {
+        dao.save(event("cmd-1"));
+
+        List<AccountCreationEvent> events = dao.findAll();
+        assertEquals(1, events.size());
+        assertEquals("cmd-1", events.get(0).getCommandId());
+        assertEquals(Money.parse("10.00", "USD"), events.get(0).getInitialBalance());
+    }
+
+    @Test
+    void saveAll_ShouldInsertAllEvents() throws SQLException {
+        List<AccountCreationEvent> events = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            events.add(event("cmd-" + i));
+        }
+
+        BatchResult<AccountCreationEvent> result = dao.saveAll(events);
+
+        assertTrue(result.isSuccessful());
+        assertEquals(7, result.insertedCount());
+        assertEquals(7, dao.findAll().size());
+    }
+
+    @Test
+    void saveAll_RepeatedEvent_ShouldReportFailure() throws SQLException {
+        AccountCreationEvent repeated = event("cmd-repeated");
+        List<AccountCreationEvent> events = List.of(event("cmd-a"), repeated, event("cmd-b"), repeated);
+
+        BatchResult<AccountCreationEvent> result = dao.saveAll(events);
+
+        assertEquals(3, result.insertedCount());
+        assertEquals(1, result.failures().size());
+        assertSame(repeated, result.failures().get(0).item());
+        assertNotNull(result.failures().get(0).cause());
+        assertEquals(3, dao.findAll().size());
+    }
+
+    @Test
+    void findAll_ShouldKeepStoredEventIdAndTimestamp() throws SQLException {
+        AccountCreationEvent event = event("cmd-1");
+        dao.save(event);
+
+        AccountCreationEvent fetched = dao.findAll().get(0);
+        assertEquals(event.getEventId(), fetched.getEventId());
+        assertEquals(event.getTimestamp(), fetched.getTimestamp());
+    }
+
+    @Test
+    void findAfter_ShouldPageInTimestampAndIdOrder() throws SQLException {
+        List<AccountCreationEvent> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            events.add(event("event-" + i, "cmd-" + i, 1_000L + i / 2));
+        }
+        dao.saveAll(events);
+
+        List<AccountCreationEvent> first = dao.findAfter(Long.MIN_VALUE, "", 3);
+        AccountCreationEvent last = first.get(2);
+        List<AccountCreationEvent> second = dao.findAfter(last.getTimestamp(), last.getEventId(), 3);
+
+        assertEquals(List.of("event-0", "event-1", "event-2"), first.stream().map(AccountCreationEvent::getEventId).toList());
+        assertEquals(List.of("event-3", "event-4"), second.stream().map(AccountCreationEvent::getEventId).toList());
+    }
+
+    @Test
+    void streamAll_ShouldReturnEventsInKeyOrder() throws SQLException {
+        dao.saveAll(List.of(event("event-b", "cmd-b", 2_000L), event("event-a", "cmd-a", 2_000L),
+                event("event-c", "cmd-c", 1_000L)));
+
+        try (Stream<AccountCreationEvent> events = dao.streamAll()) {
+            assertEquals(List.of("event-c", "event-a", "event-b"),
+                    events.map(AccountCreationEvent::getEventId).toList());
+        }
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    void deleteAll_ShouldRemoveOnlyGivenEvents() throws SQLException {
+        AccountCreationEvent kept = event("cmd-kept");
+        AccountCreationEvent first = event("cmd-1");
+        AccountCreationEvent second = event("cmd-2");
+        dao.saveAll(List.of(kept, first, second));
+
+        int deleted = dao.deleteAll(List.of(first.getEventId(), second.getEventId(), "unknown"));
+
+        assertEquals(2, deleted);
+        List<AccountCreationEvent> remaining = dao.findAll();
+        assertEquals(1, remaining.size());
+        assertEquals(kept.getEventId(), remaining.get(0).getEventId());
+    }
+
+    private static AccountCreationEvent event(String eventId, String commandId, long timestamp) {
+        Instant now = Instant.now();
+        return new AccountCreationEvent(eventId, commandId, timestamp, "test", "owner-1", "USD",
+                Money.parse("10.00", "USD"), AccountType.CHECKING, now, now);
+    }
+
+    private static AccountCreationEvent event(String commandId) {
+        Instant now = Instant.now();
+        return new AccountCreationEvent(commandId, "test", "owner-1", "USD",
+                Money.parse("10.00", "USD"), AccountType.CHECKING, now, now);
+    }
+}
@@ -3,11 +3,17 @@ package com.banking.grpc;
 import com.bank.pulsar.LoadConfig;
 import com.bank.pulsar.PulsarService;
 import com.banking.dao.impl.AccountDaoImpl;
+import com.banking.dao.transaction.JdbcTransactionManager;
 import com.banking.events.dao.AccountCreationEventDao;
 import com.banking.events.dao.impl.AccountCreationEventDaoImpl;
+import com.banking.id.AccountNumberGenerator;
+import com.banking.id.SnowflakeIdGenerator;
+import com.banking.ledger.ShardedLedger;
 import com.banking.model.Account;
 import com.banking.model.AccountStatus;
 import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.banking.outbox.TransactionalOutboxWriter;
 import com.banking.service.impl.AccountServiceImpl;
 import io.grpc.ManagedChannel;
 import io.grpc.Server;
@@ -42,6 +48,8 @@ class AccountGrpcServiceIntegrationTest {
 
     private AccountCreationEventDao accountCreationEventDao;
 
+    private ShardedLedger ledger;
+
     private Server grpcServer;
 
     private ManagedChannel channel;
@@ -54,7 +62,11 @@ class AccountGrpcServiceIntegrationTest {
 
         accountDao = new AccountDaoImpl(connection);
         accountCreationEventDao = new AccountCreationEventDaoImpl(connection);
-        accountService = new AccountServiceImpl(accountDao, accountCreationEventDao);
+        ledger = new ShardedLedger(accountDao);
+        accountService = new AccountServiceImpl(
+                new TransactionalOutboxWriter(new JdbcTransactionManager(connection), accountDao,
+                        accountCreationEventDao),
+                ledger, new AccountNumberGenerator(new SnowflakeIdGenerator(1)));
 
         int port = findFreePort();
 
@@ -92,7 +104,7 @@ class AccountGrpcServiceIntegrationTest {
 
         Account account = persistedAccount.get();
         assertThat(account.getOwnerId()).isEqualTo("integration-user-1");
-        assertThat(account.getBalance()).isEqualByComparingTo("2500.00");
+        assertThat(account.getBalance()).isEqualTo(Money.parse("2500.00", "USD"));
         assertThat(account.getCurrency()).isEqualTo("USD");
         assertThat(account.getAccountType()).isEqualTo(AccountType.CHECKING);
         assertThat(account.getStatus()).isEqualTo(AccountStatus.ACTIVE);
@@ -127,7 +139,20 @@ class AccountGrpcServiceIntegrationTest {
                 "account_type VARCHAR, " +
                 "status VARCHAR, " +
                 "created_at TIMESTAMP, " +
-                "updated_at TIMESTAMP)");
+                "updated_at TIMESTAMP, " +
+                "version BIGINT DEFAULT 0 NOT NULL)");
+        stmt.execute("CREATE TABLE account_creation_events (" +
+                "event_id VARCHAR PRIMARY KEY, " +
+                "event_type VARCHAR, " +
+                "command_id VARCHAR, " +
+                "source VARCHAR, " +
+                "owner_id VARCHAR, " +
+                "currency VARCHAR, " +
+                "initial_balance DECIMAL, " +
+                "account_type VARCHAR, " +
+                "created_at TIMESTAMP, " +
+                "updated_at TIMESTAMP, " +
+                "timestamp BIGINT)");
     }
 
     private int findFreePort() throws IOException {
@@ -163,10 +188,15 @@ class AccountGrpcServiceIntegrationTest {
             grpcServer.shutdown().awaitTermination(5, TimeUnit.SECONDS);
         }
 
+        if (ledger != null) {
+            ledger.close();
+        }
+
         // Cleanup database
         if (connection != null) {
             try (Statement stmt = connection.createStatement()) {
                 stmt.execute("DROP TABLE accounts");
+                stmt.execute("DROP TABLE account_creation_events");
             }
             connection.close();
         }
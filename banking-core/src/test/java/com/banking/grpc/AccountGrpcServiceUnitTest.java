@@ -5,7 +5,10 @@ import com.banking.dto.CreateAccountDto;
 import com.banking.model.Account;
 import com.banking.model.AccountStatus;
 import com.banking.model.AccountType;
+import com.banking.model.Money;
 import com.banking.service.AccountService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,7 +19,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -59,7 +61,7 @@ class AccountGrpcServiceUnitTest {
                 .accountId(String.valueOf(UUID.randomUUID()))
                 .accountNumber("ACC123456789")
                 .ownerId("user-123")
-                .balance(new BigDecimal("1500.00"))
+                .balance(Money.parse("1500.00", "USD"))
                 .currency("USD")
                 .type(AccountType.CHECKING)
                 .status(AccountStatus.ACTIVE)
@@ -117,12 +119,25 @@ class AccountGrpcServiceUnitTest {
         verify(responseObserver, never()).onCompleted();
 
         Throwable actualError = errorCaptor.getValue();
-        assertEquals(expectedException, actualError);
+        assertThat(actualError).isInstanceOf(StatusRuntimeException.class);
+        assertEquals(Status.Code.INTERNAL, Status.fromThrowable(actualError).getCode());
         assertThat(actualError).hasMessageContaining("Service error");
+        assertEquals(expectedException, actualError.getCause());
+    }
 
-        verify(responseObserver).onError(expectedException);
+    @Test
+    void createAccount_InvalidAccountType_ShouldReturnInvalidArgument() {
+        // Arrange
+        CreateAccountRequest request = validRequest.toBuilder().setAccountType("INVALID_TYPE").build();
+
+        // Act
+        accountGrpcService.createAccount(request, responseObserver);
+
+        // Assert
+        verify(responseObserver).onError(errorCaptor.capture());
         verify(responseObserver, never()).onNext(any());
-        verify(responseObserver, never()).onCompleted();
+        verify(accountService, never()).createAccount(any(CreateAccountDto.class));
+        assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(errorCaptor.getValue()).getCode());
     }
 
 }
\ No newline at end of file
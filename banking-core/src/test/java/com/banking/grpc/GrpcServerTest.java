@@ -0,0 +1,91 @@
+package com.banking.grpc;
+
+import com.banking.config.server.ServerLoadEnv.ExecutorType;
+import com.banking.dto.CreateAccountDto;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.service.AccountService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GrpcServerTest {
+
+    private static final String ACCOUNT_NUMBER = "00000000000000000000";
+
+    @Mock
+    private AccountService accountService;
+
+    private GrpcServer server;
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (channel != null) {
+            channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void virtualExecutor_ShouldRunHandlersOnVirtualThreads() throws IOException {
+        AtomicBoolean virtual = new AtomicBoolean();
+        when(accountService.createAccount(any(CreateAccountDto.class))).thenAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            CreateAccountDto dto = invocation.getArgument(0);
+            return Account.create(dto.ownerId(), dto.currency(), dto.accountType(), dto.initialBalance(),
+                    dto.createdAt(), dto.updatedAt(), ACCOUNT_NUMBER);
+        });
+
+        AccountResponse response = startAndCreateAccount(ExecutorType.VIRTUAL);
+
+        assertThat(response.getOwnerId()).isEqualTo("owner-1");
+        assertThat(virtual).isTrue();
+    }
+
+    @Test
+    void fixedExecutor_ShouldRunHandlersOnPlatformThreads() throws IOException {
+        AtomicBoolean virtual = new AtomicBoolean(true);
+        when(accountService.createAccount(any(CreateAccountDto.class))).thenAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            CreateAccountDto dto = invocation.getArgument(0);
+            return Account.create(dto.ownerId(), dto.currency(), dto.accountType(), dto.initialBalance(),
+                    dto.createdAt(), dto.updatedAt(), ACCOUNT_NUMBER);
+        });
+
+        startAndCreateAccount(ExecutorType.FIXED);
+
+        assertThat(virtual).isFalse();
+    }
+
+    private AccountResponse startAndCreateAccount(ExecutorType executorType) throws IOException {
+        server = new GrpcServer(0, executorType, 2, 5,
+                List.of(new AccountGrpcService(accountService))).start();
+        channel = ManagedChannelBuilder.forAddress("localhost", server.getPort())
+                .usePlaintext()
+                .build();
+
+        return AccountServiceGrpc.newBlockingStub(channel).createAccount(CreateAccountRequest.newBuilder()
+                .setOwnerId("owner-1")
+                .setCurrency("USD")
+                .setInitialBalance("10.00")
+                .setAccountType(AccountType.CHECKING.name())
+                .build());
+    }
+}
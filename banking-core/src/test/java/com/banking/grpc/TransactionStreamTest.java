@@ -0,0 +1,169 @@
+package com.banking.grpc;
+
+import com.banking.idempotency.NoOpIdempotencyGuard;
+import com.banking.ledger.TransferResult;
+import com.banking.model.Money;
+import com.banking.service.AccountService;
+import com.banking.service.exception.InsufficientFundsException;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionStreamTest {
+
+    private static final int MAX_IN_FLIGHT = 4;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private ServerCallStreamObserver<TransactionResult> responses;
+
+    @Captor
+    private ArgumentCaptor<TransactionResult> resultCaptor;
+
+    @Captor
+    private ArgumentCaptor<Runnable> onReadyCaptor;
+
+    private TransactionStream stream;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(responses.isReady()).thenReturn(true);
+        stream = new TransactionStream(accountService, NoOpIdempotencyGuard.INSTANCE, responses, MAX_IN_FLIGHT);
+    }
+
+    @Test
+    void constructor_ShouldRequestInitialWindowManually() {
+        verify(responses).disableAutoInboundFlowControl();
+        verify(responses).request(MAX_IN_FLIGHT);
+    }
+
+    @Test
+    void deposit_ShouldEchoCorrelationIdAndRequestNextCommand() {
+        when(accountService.depositAsync("A1", usd("25.00")))
+                .thenReturn(CompletableFuture.completedFuture(usd("125.00")));
+
+        stream.onNext(deposit("c-1", "A1", "25.00"));
+
+        verify(responses).onNext(resultCaptor.capture());
+        TransactionResult result = resultCaptor.getValue();
+        assertThat(result.getCorrelationId()).isEqualTo("c-1");
+        assertThat(result.getSuccess()).isTrue();
+        assertThat(result.getBalance()).isEqualTo("125.00");
+        verify(responses).request(1);
+    }
+
+    @Test
+    void transfer_ShouldReturnBothBalances() {
+        when(accountService.transferAsync("A1", "A2", usd("40.00")))
+                .thenReturn(CompletableFuture.completedFuture(new TransferResult(usd("60.00"), usd("140.00"))));
+
+        stream.onNext(TransactionCommand.newBuilder()
+                .setCorrelationId("c-2")
+                .setTransfer(TransferRequest.newBuilder()
+                        .setSourceId("A1").setTargetId("A2").setAmount("40.00").setCurrency("USD"))
+                .build());
+
+        verify(responses).onNext(resultCaptor.capture());
+        assertThat(resultCaptor.getValue().getBalance()).isEqualTo("60.00");
+        assertThat(resultCaptor.getValue().getTargetBalance()).isEqualTo("140.00");
+    }
+
+    @Test
+    void withdraw_InsufficientFunds_ShouldReportFailureAndKeepStreamOpen() {
+        when(accountService.withdrawAsync("A1", usd("500.00")))
+                .thenReturn(CompletableFuture.failedFuture(new InsufficientFundsException("Insufficient funds")));
+
+        stream.onNext(TransactionCommand.newBuilder()
+                .setCorrelationId("c-3")
+                .setWithdraw(TransactionRequest.newBuilder()
+                        .setAccountId("A1").setAmount("500.00").setCurrency("USD"))
+                .build());
+
+        verify(responses).onNext(resultCaptor.capture());
+        assertThat(resultCaptor.getValue().getSuccess()).isFalse();
+        assertThat(resultCaptor.getValue().getErrorCode()).isEqualTo("FAILED_PRECONDITION");
+        verify(responses, never()).onError(any());
+        verify(responses).request(1);
+    }
+
+    @Test
+    void invalidAmount_ShouldFailWithoutReachingService() {
+        stream.onNext(deposit("c-4", "A1", "not-a-number"));
+
+        verify(responses).onNext(resultCaptor.capture());
+        assertThat(resultCaptor.getValue().getErrorCode()).isEqualTo("INVALID_ARGUMENT");
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void clientNotReading_ShouldDeferRequestsUntilReady() {
+        when(responses.isReady()).thenReturn(false);
+        when(accountService.depositAsync("A1", usd("1.00")))
+                .thenReturn(CompletableFuture.completedFuture(usd("101.00")));
+
+        stream.onNext(deposit("c-5", "A1", "1.00"));
+        stream.onNext(deposit("c-6", "A1", "1.00"));
+
+        verify(responses, never()).request(1);
+        verify(responses).setOnReadyHandler(onReadyCaptor.capture());
+        onReadyCaptor.getValue().run();
+        verify(responses).request(2);
+    }
+
+    @Test
+    void onCompleted_ShouldWaitForInFlightCommands() {
+        CompletableFuture<Money> pending = new CompletableFuture<>();
+        when(accountService.depositAsync("A1", usd("5.00"))).thenReturn(pending);
+
+        stream.onNext(deposit("c-7", "A1", "5.00"));
+        stream.onCompleted();
+        verify(responses, never()).onCompleted();
+
+        pending.complete(usd("105.00"));
+        verify(responses).onNext(any(TransactionResult.class));
+        verify(responses).onCompleted();
+    }
+
+    @Test
+    void clientError_ShouldDropLateResults() {
+        CompletableFuture<Money> pending = new CompletableFuture<>();
+        when(accountService.depositAsync("A1", usd("5.00"))).thenReturn(pending);
+
+        stream.onNext(deposit("c-8", "A1", "5.00"));
+        stream.onError(new RuntimeException("client went away"));
+        pending.complete(usd("105.00"));
+
+        verify(responses, never()).onNext(any());
+        verify(responses, never()).request(1);
+    }
+
+    private static TransactionCommand deposit(String correlationId, String accountId, String amount) {
+        return TransactionCommand.newBuilder()
+                .setCorrelationId(correlationId)
+                .setDeposit(TransactionRequest.newBuilder()
+                        .setAccountId(accountId).setAmount(amount).setCurrency("USD"))
+                .build();
+    }
+
+    private static Money usd(String amount) {
+        return Money.parse(amount, "USD");
+    }
+}
@@ -0,0 +1,53 @@
+package com.banking.id;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountNumberGeneratorTest {
+
+    @Test
+    void next_ShouldIssueDistinctValidNumbers() {
+        AccountNumberGenerator generator = new AccountNumberGenerator(new SnowflakeIdGenerator(42));
+
+        String first = generator.next();
+        String second = generator.next();
+
+        assertThat(first).hasSize(AccountNumberGenerator.LENGTH).containsOnlyDigits();
+        assertThat(AccountNumberGenerator.isValid(first)).isTrue();
+        assertThat(AccountNumberGenerator.isValid(second)).isTrue();
+        assertThat(second).isNotEqualTo(first).isGreaterThan(first);
+    }
+
+    @Test
+    void format_ShouldAppendLuhnCheckDigit() {
+        // 7992739871 is the textbook Luhn example with check digit 3
+        assertThat(AccountNumberGenerator.format(7_992_739_871L)).isEqualTo("00000000079927398713");
+        assertThat(AccountNumberGenerator.format(0)).isEqualTo("00000000000000000000");
+    }
+
+    @Test
+    void isValid_ShouldRejectSingleDigitErrorsAndTranspositions() {
+        String number = AccountNumberGenerator.format(1_234_567_890_123L);
+
+        for (int i = 0; i < number.length(); i++) {
+            char[] typo = number.toCharArray();
+            typo[i] = (char) ('0' + (typo[i] - '0' + 1) % 10);
+            assertThat(AccountNumberGenerator.isValid(new String(typo))).isFalse();
+        }
+        char[] swapped = number.toCharArray();
+        int i = number.length() - 3;
+        char c = swapped[i];
+        swapped[i] = swapped[i + 1];
+        swapped[i + 1] = c;
+        assertThat(swapped[i]).isNotEqualTo(swapped[i + 1]);
+        assertThat(AccountNumberGenerator.isValid(new String(swapped))).isFalse();
+    }
+
+    @Test
+    void isValid_ShouldRejectMalformedInput() {
+        assertThat(AccountNumberGenerator.isValid(null)).isFalse();
+        assertThat(AccountNumberGenerator.isValid("ACC1735689600000")).isFalse();
+        assertThat(AccountNumberGenerator.isValid("0000000007992739871A")).isFalse();
+    }
+}
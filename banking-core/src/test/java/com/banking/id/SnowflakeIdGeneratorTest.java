@@ -0,0 +1,112 @@
+package com.banking.id;
+
+import com.banking.id.exception.IdGenerationException;
+import com.banking.workerid.service.impl.StaticWorkerIdLease;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void nextId_ShouldEncodeTimestampAndWorkerId() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(new StaticWorkerIdLease(513), () -> NOW);
+
+        long id = generator.nextId();
+
+        assertThat(SnowflakeIdGenerator.timestampMillis(id)).isEqualTo(NOW);
+        assertThat(SnowflakeIdGenerator.workerId(id)).isEqualTo(513);
+        assertThat(id).isPositive();
+    }
+
+    @Test
+    void nextId_SequenceExhausted_ShouldWaitForNextMillisecond() {
+        AtomicLong clock = new AtomicLong(NOW);
+        AtomicLong reads = new AtomicLong();
+        // The clock only advances after the generator has spun on it for a while
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(new StaticWorkerIdLease(1), () ->
+                reads.incrementAndGet() > 5_000 ? clock.incrementAndGet() : clock.get());
+
+        long previous = -1;
+        for (int i = 0; i < 4_097; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+
+        assertThat(SnowflakeIdGenerator.timestampMillis(previous)).isGreaterThan(NOW);
+    }
+
+    @Test
+    void nextId_ClockStepsBack_ShouldKeepIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(new StaticWorkerIdLease(1), clock::get);
+
+        long before = generator.nextId();
+        clock.set(NOW - 5_000);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(SnowflakeIdGenerator.timestampMillis(after)).isEqualTo(NOW);
+    }
+
+    @Test
+    void nextId_ConcurrentCallers_ShouldNeverRepeat() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        int threads = 8;
+        int idsPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    long[] ids = new long[idsPerThread];
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> unique = new HashSet<>();
+            for (Future<long[]> worker : workers) {
+                long[] ids = worker.get();
+                for (int i = 0; i < ids.length; i++) {
+                    assertThat(unique.add(ids[i])).isTrue();
+                    if (i > 0) {
+                        assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                    }
+                }
+            }
+            assertThat(unique).hasSize(threads * idsPerThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nextId_LeaseNotHeld_ShouldThrow() {
+        StaticWorkerIdLease lease = new StaticWorkerIdLease(3);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(lease);
+        lease.close();
+
+        assertThatThrownBy(generator::nextId).isInstanceOf(IdGenerationException.class);
+    }
+
+    @Test
+    void constructor_WorkerIdOutOfRange_ShouldThrow() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.banking.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    @Test
+    void next_ShouldSetVersionVariantAndTimestamp() {
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        UUID uuid = generator.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7Generator.timestampMillis(uuid)).isEqualTo(NOW);
+    }
+
+    @Test
+    void next_SameMillisecond_ShouldIncreaseInBinaryAndStringOrder() {
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        UUID previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            UUID current = generator.next();
+            assertThat(Long.compareUnsigned(current.getMostSignificantBits(), previous.getMostSignificantBits()))
+                    .isPositive();
+            assertThat(current.toString()).isGreaterThan(previous.toString());
+            previous = current;
+        }
+        // 10,000 IDs overflow the 4096 counter values of one millisecond and carry into the next ones
+        assertThat(UuidV7Generator.timestampMillis(previous)).isEqualTo(NOW + 2);
+    }
+
+    @Test
+    void next_ClockStepsBack_ShouldKeepIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+        String before = generator.nextString();
+        clock.set(NOW - 60_000);
+        String after = generator.nextString();
+
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    void next_ConcurrentCallers_ShouldNeverRepeat() throws Exception {
+        int threads = 8;
+        int idsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<UUID>>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>(idsPerThread);
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(UuidV7Generator.INSTANCE.next());
+                    }
+                    return ids;
+                }));
+            }
+            Set<UUID> unique = new HashSet<>();
+            for (Future<List<UUID>> worker : workers) {
+                unique.addAll(worker.get());
+            }
+            assertThat(unique).hasSize(threads * idsPerThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void timestampMillis_RandomUuid_ShouldThrow() {
+        assertThatThrownBy(() -> UuidV7Generator.timestampMillis(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,203 @@
+package com.banking.idempotency;
+
+import com.banking.grpc.AccountResponse;
+import com.banking.idempotency.dao.IdempotencyKeyDao;
+import com.banking.idempotency.exception.RequestInProgressException;
+import com.banking.idempotency.exception.RequestOutcomeUnknownException;
+import com.banking.ledger.exception.LedgerException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PersistentIdempotencyGuardTest {
+
+    private static final AccountResponse RESPONSE = AccountResponse.newBuilder()
+            .setAccountId("A1")
+            .setBalance("125.00")
+            .setCurrency("USD")
+            .build();
+
+    @Mock
+    private IdempotencyKeyDao idempotencyKeyDao;
+
+    private PersistentIdempotencyGuard guard;
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        guard = new PersistentIdempotencyGuard(idempotencyKeyDao);
+    }
+
+    @AfterEach
+    void tearDown() {
+        guard.close();
+    }
+
+    @Test
+    void execute_FirstUse_ShouldClaimRunAndRecordResponse() throws SQLException {
+        when(idempotencyKeyDao.claim(eq("k-1"), eq("Deposit"), any(Instant.class))).thenReturn(true);
+
+        AccountResponse response = guard.execute("k-1", "Deposit", AccountResponse.parser(), this::deposit).join();
+
+        assertThat(response).isEqualTo(RESPONSE);
+        assertThat(invocations).hasValue(1);
+        verify(idempotencyKeyDao).complete(eq("k-1"), any(Instant.class), eq(RESPONSE.toByteArray()));
+    }
+
+    @Test
+    void execute_Replay_ShouldBeServedFromCacheWithoutDatabase() throws SQLException {
+        when(idempotencyKeyDao.claim(eq("k-2"), eq("Deposit"), any(Instant.class))).thenReturn(true);
+        guard.execute("k-2", "Deposit", AccountResponse.parser(), this::deposit).join();
+
+        AccountResponse replayed = guard.execute("k-2", "Deposit", AccountResponse.parser(), this::deposit).join();
+
+        assertThat(replayed).isEqualTo(RESPONSE);
+        assertThat(invocations).hasValue(1);
+        verify(idempotencyKeyDao, times(1)).claim(eq("k-2"), eq("Deposit"), any(Instant.class));
+    }
+
+    @Test
+    void execute_KeyCompletedByAnotherNode_ShouldReturnStoredResponse() throws SQLException {
+        when(idempotencyKeyDao.claim(eq("k-3"), eq("Deposit"), any(Instant.class))).thenReturn(false);
+        when(idempotencyKeyDao.findByKey("k-3")).thenReturn(Optional.of(new IdempotencyRecord("k-3", "Deposit",
+                IdempotencyRecord.Status.COMPLETED, RESPONSE.toByteArray(), Instant.now())));
+
+        AccountResponse response = guard.execute("k-3", "Deposit", AccountResponse.parser(), this::deposit).join();
+
+        assertThat(response).isEqualTo(RESPONSE);
+        assertThat(invocations).hasValue(0);
+    }
+
+    @Test
+    void execute_KeyPendingElsewhere_ShouldFailAsInProgress() throws SQLException {
+        when(idempotencyKeyDao.claim(eq("k-4"), eq("Deposit"), any(Instant.class))).thenReturn(false);
+        when(idempotencyKeyDao.findByKey("k-4")).thenReturn(Optional.of(new IdempotencyRecord("k-4", "Deposit",
+                IdempotencyRecord.Status.PENDING, null, Instant.now())));
+
+        assertThatThrownBy(() -> guard.execute("k-4", "Deposit", AccountResponse.parser(), this::deposit).join())
+                .hasCauseInstanceOf(RequestInProgressException.class);
+        assertThat(invocations).hasValue(0);
+    }
+
+    @Test
+    void execute_KeyReusedForOtherOperation_ShouldBeRejected() throws SQLException {
+        when(idempotencyKeyDao.claim(eq("k-5"), eq("Deposit"), any(Instant.class))).thenReturn(true);
+        guard.execute("k-5", "Deposit", AccountResponse.parser(), this::deposit).join();
+
+        assertThatThrownBy(() -> guard.execute("k-5", "Withdraw", AccountResponse.parser(), this::deposit).join())
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(invocations).hasValue(1);
+    }
+
+    @Test
+    void execute_ActionFails_ShouldReleaseKeySoRetryCanRun() throws SQLException {
+        when(idempotencyKeyDao.claim(eq("k-6"), eq("Deposit"), any(Instant.class))).thenReturn(true);
+
+        assertThatThrownBy(() -> guard.execute("k-6", "Deposit", AccountResponse.parser(),
+                () -> CompletableFuture.<AccountResponse>failedFuture(new IllegalStateException("frozen"))).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        verify(idempotencyKeyDao).release(eq("k-6"), any(Instant.class));
+        verify(idempotencyKeyDao, never()).complete(eq("k-6"), any(), any());
+    }
+
+    @Test
+    void execute_AmbiguousFailure_ShouldKeepKeyPending() throws SQLException {
+        when(idempotencyKeyDao.claim(eq("k-8"), eq("Deposit"), any(Instant.class))).thenReturn(true);
+
+        assertThatThrownBy(() -> guard.execute("k-8", "Deposit", AccountResponse.parser(),
+                () -> CompletableFuture.<AccountResponse>failedFuture(new LedgerException("timed out"))).join())
+                .hasCauseInstanceOf(LedgerException.class);
+
+        verify(idempotencyKeyDao, never()).release(eq("k-8"), any(Instant.class));
+        verify(idempotencyKeyDao, never()).complete(eq("k-8"), any(), any());
+    }
+
+    @Test
+    void execute_CrashBeforeRecordingResponse_ShouldNotRunActionAgain() throws SQLException {
+        // The first node applies the deposit but loses the database before recording the response
+        when(idempotencyKeyDao.claim(eq("k-9"), eq("Deposit"), any(Instant.class))).thenReturn(true, false);
+        when(idempotencyKeyDao.complete(eq("k-9"), any(Instant.class), any()))
+                .thenThrow(new SQLException("connection lost"));
+        guard.execute("k-9", "Deposit", AccountResponse.parser(), this::deposit).join();
+        ArgumentCaptor<Instant> claimedAt = ArgumentCaptor.forClass(Instant.class);
+        verify(idempotencyKeyDao).claim(eq("k-9"), eq("Deposit"), claimedAt.capture());
+        when(idempotencyKeyDao.findByKey("k-9")).thenReturn(Optional.of(new IdempotencyRecord("k-9", "Deposit",
+                IdempotencyRecord.Status.PENDING, null, claimedAt.getValue())));
+
+        // Retries go to another node, which has no cached response and sees the key still pending
+        try (PersistentIdempotencyGuard otherNode = new PersistentIdempotencyGuard(idempotencyKeyDao,
+                100, 1, TimeUnit.MINUTES, Duration.ofMinutes(5))) {
+            assertThatThrownBy(() -> otherNode.execute("k-9", "Deposit", AccountResponse.parser(),
+                    this::deposit).join())
+                    .hasCauseInstanceOf(RequestInProgressException.class);
+        }
+        try (PersistentIdempotencyGuard otherNode = new PersistentIdempotencyGuard(idempotencyKeyDao,
+                100, 1, TimeUnit.MINUTES, Duration.ofNanos(1))) {
+            assertThatThrownBy(() -> otherNode.execute("k-9", "Deposit", AccountResponse.parser(),
+                    this::deposit).join())
+                    .hasCauseInstanceOf(RequestOutcomeUnknownException.class);
+        }
+
+        assertThat(invocations).hasValue(1);
+        verify(idempotencyKeyDao, never()).release(eq("k-9"), any(Instant.class));
+    }
+
+    @Test
+    void execute_ConcurrentRetry_ShouldWaitForRunningAttempt() throws SQLException {
+        when(idempotencyKeyDao.claim(eq("k-7"), eq("Deposit"), any(Instant.class))).thenReturn(true);
+        CompletableFuture<AccountResponse> running = new CompletableFuture<>();
+
+        CompletableFuture<AccountResponse> first = guard.execute("k-7", "Deposit", AccountResponse.parser(), () -> {
+            invocations.incrementAndGet();
+            return running;
+        });
+        verify(idempotencyKeyDao, timeout(1000)).claim(eq("k-7"), eq("Deposit"), any(Instant.class));
+        CompletableFuture<AccountResponse> retry =
+                guard.execute("k-7", "Deposit", AccountResponse.parser(), this::deposit);
+        running.complete(RESPONSE);
+
+        assertThat(first.join()).isEqualTo(RESPONSE);
+        assertThat(retry.join()).isEqualTo(RESPONSE);
+        assertThat(invocations).hasValue(1);
+    }
+
+    @Test
+    void execute_WithoutKey_ShouldRunEveryTime() {
+        guard.execute("", "Deposit", AccountResponse.parser(), this::deposit).join();
+        guard.execute("", "Deposit", AccountResponse.parser(), this::deposit).join();
+
+        assertThat(invocations).hasValue(2);
+        verifyNoInteractions(idempotencyKeyDao);
+    }
+
+    private CompletableFuture<AccountResponse> deposit() {
+        invocations.incrementAndGet();
+        return CompletableFuture.completedFuture(RESPONSE);
+    }
+}
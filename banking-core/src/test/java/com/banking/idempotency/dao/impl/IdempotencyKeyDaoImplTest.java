@@ -0,0 +1,87 @@
+package com.banking.idempotency.dao.impl;
+
+import com.banking.dao.transaction.SingleConnectionProvider;
+import com.banking.idempotency.IdempotencyRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyKeyDaoImplTest {
+
+    private static final Instant CLAIMED_AT = Instant.parse("2024-01-01T00:00:00.123456Z");
+
+    private static Connection connection;
+
+    private IdempotencyKeyDaoImpl dao;
+
+    @BeforeAll
+    static void setupDatabase() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS idempotency_keys (" +
+                    "idempotency_key VARCHAR(128) PRIMARY KEY, " +
+                    "operation VARCHAR(64) NOT NULL, " +
+                    "status VARCHAR(16) NOT NULL, " +
+                    "response VARBINARY, " +
+                    "created_at TIMESTAMP NOT NULL)");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        dao = new IdempotencyKeyDaoImpl(new SingleConnectionProvider(connection));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM idempotency_keys");
+        }
+    }
+
+    @Test
+    void claim_SecondClaimOfSameKey_ShouldReturnFalse() throws SQLException {
+        assertThat(dao.claim("k-1", "Deposit", Instant.now())).isTrue();
+        assertThat(dao.claim("k-1", "Deposit", Instant.now())).isFalse();
+
+        IdempotencyRecord stored = dao.findByKey("k-1").orElseThrow();
+        assertThat(stored.operation()).isEqualTo("Deposit");
+        assertThat(stored.status()).isEqualTo(IdempotencyRecord.Status.PENDING);
+        assertThat(stored.response()).isNull();
+    }
+
+    @Test
+    void complete_ShouldStoreResponse() throws SQLException {
+        byte[] response = "response".getBytes(StandardCharsets.UTF_8);
+        dao.claim("k-2", "Transfer", CLAIMED_AT);
+
+        assertThat(dao.complete("k-2", CLAIMED_AT, response)).isTrue();
+
+        IdempotencyRecord stored = dao.findByKey("k-2").orElseThrow();
+        assertThat(stored.status()).isEqualTo(IdempotencyRecord.Status.COMPLETED);
+        assertThat(stored.response()).isEqualTo(response);
+    }
+
+    @Test
+    void release_ShouldOnlyDeletePendingClaims() throws SQLException {
+        dao.claim("k-3", "Deposit", CLAIMED_AT);
+        dao.claim("k-4", "Deposit", CLAIMED_AT);
+        dao.complete("k-4", CLAIMED_AT, new byte[]{1});
+
+        dao.release("k-3", CLAIMED_AT);
+        dao.release("k-4", CLAIMED_AT);
+
+        assertThat(dao.findByKey("k-3")).isEmpty();
+        assertThat(dao.findByKey("k-4")).isPresent();
+    }
+}
@@ -0,0 +1,143 @@
+package com.banking.ledger;
+
+import com.banking.dao.impl.AccountDaoImpl;
+import com.banking.dao.transaction.DataSourceTransactionManager;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.banking.service.exception.InsufficientFundsException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptimisticLedgerTest {
+
+    private static JdbcDataSource dataSource;
+
+    private AccountDaoImpl accountDao;
+    private OptimisticLedger ledger;
+
+    @BeforeAll
+    static void setupDatabase() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:optimisticdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS accounts (" +
+                    "account_id VARCHAR PRIMARY KEY, " +
+                    "number VARCHAR, " +
+                    "owner_id VARCHAR, " +
+                    "balance DECIMAL(19, 2), " +
+                    "currency VARCHAR, " +
+                    "account_type VARCHAR, " +
+                    "status VARCHAR, " +
+                    "created_at TIMESTAMP, " +
+                    "updated_at TIMESTAMP, " +
+                    "version BIGINT DEFAULT 0 NOT NULL)");
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        accountDao = new AccountDaoImpl(transactionManager);
+        // Generous attempts: the test deliberately piles every writer onto one row
+        OptimisticRetry retry = new OptimisticRetry(1_000, 50, 2_000, TimeUnit.MICROSECONDS);
+        ledger = new OptimisticLedger(accountDao, retry);
+        accountDao.save(account("A1", usd("100.00")));
+        accountDao.save(account("A2", usd("100.00")));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        ledger.close();
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM accounts");
+        }
+    }
+
+    @Test
+    void deposit_ConcurrentWritersOnOneAccount_ShouldNotLoseUpdates() throws SQLException {
+        List<CompletableFuture<Money>> deposits = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            deposits.add(ledger.deposit("A1", usd("1.00")));
+        }
+        CompletableFuture.allOf(deposits.toArray(CompletableFuture[]::new)).join();
+
+        Account stored = accountDao.findById("A1").orElseThrow();
+        assertThat(stored.getBalance()).isEqualTo(usd("300.00"));
+        assertThat(stored.getVersion()).isEqualTo(200);
+    }
+
+    @Test
+    void transfer_ShouldUpdateBothAccountsTogether() throws SQLException {
+        TransferResult result = ledger.transfer("A2", "A1", usd("30.00")).join();
+
+        assertThat(result.sourceBalance()).isEqualTo(usd("70.00"));
+        assertThat(result.targetBalance()).isEqualTo(usd("130.00"));
+        assertThat(accountDao.findById("A2").orElseThrow().getBalance()).isEqualTo(usd("70.00"));
+        assertThat(accountDao.findById("A1").orElseThrow().getBalance()).isEqualTo(usd("130.00"));
+    }
+
+    @Test
+    void transfer_ConcurrentOpposingTransfers_ShouldPreserveTotal() throws SQLException {
+        List<CompletableFuture<TransferResult>> transfers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            transfers.add(ledger.transfer("A1", "A2", usd("1.00")));
+            transfers.add(ledger.transfer("A2", "A1", usd("1.00")));
+        }
+        CompletableFuture.allOf(transfers.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(accountDao.findById("A1").orElseThrow().getBalance()).isEqualTo(usd("100.00"));
+        assertThat(accountDao.findById("A2").orElseThrow().getBalance()).isEqualTo(usd("100.00"));
+        assertThat(accountDao.findById("A1").orElseThrow().getVersion()).isEqualTo(200);
+    }
+
+    @Test
+    void transfer_InsufficientFunds_ShouldLeaveBothAccountsUnchanged() throws SQLException {
+        assertThatThrownBy(() -> ledger.transfer("A1", "A2", usd("500.00")).join())
+                .hasCauseInstanceOf(InsufficientFundsException.class);
+
+        assertThat(accountDao.findById("A1").orElseThrow().getVersion()).isZero();
+        assertThat(accountDao.findById("A2").orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    void withdraw_InsufficientFunds_ShouldFailWithoutRetrying() throws SQLException {
+        assertThatThrownBy(() -> ledger.withdraw("A1", usd("500.00")).join())
+                .hasCauseInstanceOf(InsufficientFundsException.class);
+
+        assertThat(accountDao.findById("A1").orElseThrow().getVersion()).isZero();
+    }
+
+    private static Account account(String accountId, Money balance) {
+        return new Account.Builder()
+                .accountId(accountId)
+                .accountNumber("ACC-" + accountId)
+                .ownerId("owner-" + accountId)
+                .balance(balance)
+                .currency("USD")
+                .type(AccountType.CHECKING)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private static Money usd(String amount) {
+        return Money.parse(amount, "USD");
+    }
+}
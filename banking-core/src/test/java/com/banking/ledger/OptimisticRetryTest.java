@@ -0,0 +1,62 @@
+package com.banking.ledger;
+
+import com.banking.dao.exception.OptimisticLockException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptimisticRetryTest {
+
+    private final OptimisticRetry retry = new OptimisticRetry(3, 1, 8, TimeUnit.MICROSECONDS);
+
+    @Test
+    void execute_ShouldRetryConflictsUntilAttemptSucceeds() throws SQLException {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockException("conflict");
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void execute_ShouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockException("conflict");
+        })).isInstanceOf(OptimisticLockException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void execute_ShouldNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Account is not active");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void delayNanos_ShouldStayWithinExponentialCap() {
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(retry.delayNanos(1)).isBetween(0L, 1_000L);
+            assertThat(retry.delayNanos(3)).isBetween(0L, 4_000L);
+            assertThat(retry.delayNanos(20)).isBetween(0L, 8_000L);
+        }
+    }
+}
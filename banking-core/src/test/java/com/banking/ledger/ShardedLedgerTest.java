@@ -0,0 +1,266 @@
+package com.banking.ledger;
+
+import com.banking.dao.AccountDao;
+import com.banking.dao.exception.OptimisticLockException;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.banking.service.exception.AccountNotFoundException;
+import com.banking.service.exception.InsufficientFundsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedLedgerTest {
+
+    private static final int ACCOUNTS = 16;
+
+    @Mock
+    private AccountDao accountDao;
+
+    private ShardedLedger ledger;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(accountDao.findById(anyString())).thenAnswer(invocation -> {
+            String accountId = invocation.getArgument(0);
+            if (accountId.startsWith("missing")) {
+                return Optional.empty();
+            }
+            return Optional.of(account(accountId, usd("100.00")));
+        });
+        ledger = new ShardedLedger(accountDao, 4, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledger.close();
+    }
+
+    @Test
+    void deposit_ShouldUpdateBalanceAndPersistAsynchronously() throws SQLException {
+        Money balance = ledger.deposit("A1", usd("25.00")).join();
+
+        assertThat(balance).isEqualTo(usd("125.00"));
+        assertThat(ledger.getBalance("A1").join()).isEqualTo(usd("125.00"));
+
+        ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
+        verify(accountDao, timeout(1000).atLeastOnce()).update(captor.capture());
+        assertThat(captor.getValue().getBalance()).isEqualTo(usd("125.00"));
+    }
+
+    @Test
+    void withdraw_InsufficientFunds_ShouldFailWithoutPersisting() throws SQLException {
+        CompletableFuture<Money> result = ledger.withdraw("A1", usd("150.00"));
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(InsufficientFundsException.class);
+        assertThat(ledger.getBalance("A1").join()).isEqualTo(usd("100.00"));
+
+        ledger.close();
+        verify(accountDao, never()).update(any(Account.class));
+    }
+
+    @Test
+    void getBalance_UnknownAccount_ShouldFail() {
+        assertThatThrownBy(() -> ledger.getBalance("missing-1").join())
+                .hasCauseInstanceOf(AccountNotFoundException.class);
+    }
+
+    @Test
+    void transfer_ShouldMoveMoneyBetweenAccounts() {
+        TransferResult result = ledger.transfer("A1", "A2", usd("40.00")).join();
+
+        assertThat(result.sourceBalance()).isEqualTo(usd("60.00"));
+        assertThat(result.targetBalance()).isEqualTo(usd("140.00"));
+    }
+
+    @Test
+    void transfer_TargetMissing_ShouldRestoreSourceBalance() {
+        assertThatThrownBy(() -> ledger.transfer("A1", "missing-1", usd("40.00")).join())
+                .hasCauseInstanceOf(AccountNotFoundException.class);
+
+        assertThat(ledger.getBalance("A1").join()).isEqualTo(usd("100.00"));
+    }
+
+    @Test
+    void transfer_ConcurrentOpposingTransfers_ShouldConserveMoney() throws SQLException {
+        List<CompletableFuture<TransferResult>> transfers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String source = "A" + (i % ACCOUNTS);
+            String target = "A" + ((i * 7 + 3) % ACCOUNTS);
+            if (!source.equals(target)) {
+                transfers.add(ledger.transfer(source, target, usd("3.00")));
+            }
+        }
+        CompletableFuture.allOf(transfers.stream()
+                .map(transfer -> transfer.exceptionally(e -> null))
+                .toArray(CompletableFuture[]::new)).join();
+
+        Money total = usd("0.00");
+        for (int i = 0; i < ACCOUNTS; i++) {
+            total = total.add(ledger.getBalance("A" + i).join());
+        }
+        assertThat(total.getMinorUnits()).isEqualTo(usd("100.00").getMinorUnits() * ACCOUNTS);
+
+        ledger.close();
+        verify(accountDao, atLeastOnce()).update(any(Account.class));
+    }
+
+    @Test
+    void freezeAccount_ShouldRejectFurtherDeposits() {
+        ledger.freezeAccount("A1").join();
+
+        assertThatThrownBy(() -> ledger.deposit("A1", usd("1.00")).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void deposit_VersionConflict_ShouldRebasePostingOnStoredRow() throws SQLException {
+        Account external = new Account.Builder(account("B1", usd("500.00")))
+                .status(AccountStatus.FROZEN)
+                .version(7)
+                .build();
+        when(accountDao.findById("B1")).thenReturn(Optional.of(account("B1", usd("100.00"))), Optional.of(external));
+        doThrow(new OptimisticLockException("conflict")).doNothing().when(accountDao).update(any(Account.class));
+
+        ledger.deposit("B1", usd("25.00")).join();
+
+        ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
+        verify(accountDao, timeout(1000).times(2)).update(captor.capture());
+        Account rebased = captor.getAllValues().get(1);
+        assertThat(rebased.getBalance()).isEqualTo(usd("525.00"));
+        assertThat(rebased.getStatus()).isEqualTo(AccountStatus.FROZEN);
+        assertThat(rebased.getVersion()).isEqualTo(7);
+    }
+
+    @Test
+    void deposit_ReloadAndPostingBeforeRebase_ShouldKeepEveryPosting() throws Exception {
+        AtomicReference<Account> row = new AtomicReference<>(account("B1", usd("100.00")));
+        CountDownLatch rebasing = new CountDownLatch(1);
+        CountDownLatch posted = new CountDownLatch(1);
+        when(accountDao.findById("B1")).thenAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("ledger-write-behind")) {
+                rebasing.countDown();
+                assertThat(posted.await(5, TimeUnit.SECONDS)).isTrue();
+                return Optional.of(new Account.Builder(row.get()).build());
+            }
+            Account loaded = new Account.Builder(row.get()).build();
+            if (loaded.getVersion() == 0) {
+                // Another node updates the row right after the shard loaded it
+                row.set(new Account.Builder(loaded).balance(usd("200.00")).version(1).build());
+            }
+            return Optional.of(loaded);
+        });
+        storeUpdatesIn(row);
+
+        ledger.deposit("B1", usd("10.00")).join();
+        // The conflicting write evicted the cached copy; the posting below reloads the externally updated row
+        assertThat(rebasing.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ledger.deposit("B1", usd("5.00")).join()).isEqualTo(usd("205.00"));
+        posted.countDown();
+
+        awaitStoredBalance(row, usd("215.00"));
+        assertThat(awaitLedgerBalance("B1", usd("215.00"))).isEqualTo(usd("215.00"));
+    }
+
+    @Test
+    void withdraw_RebaseWouldOverdraw_ShouldRejectPosting() throws Exception {
+        AtomicReference<Account> row = new AtomicReference<>(account("B1", usd("100.00")));
+        when(accountDao.findById("B1")).thenAnswer(invocation -> {
+            Account loaded = new Account.Builder(row.get()).build();
+            if (loaded.getVersion() == 0) {
+                row.set(new Account.Builder(loaded).balance(usd("50.00")).version(1).build());
+            }
+            return Optional.of(loaded);
+        });
+        storeUpdatesIn(row);
+
+        ledger.withdraw("B1", usd("80.00")).join();
+
+        assertThat(awaitLedgerBalance("B1", usd("50.00"))).isEqualTo(usd("50.00"));
+        assertThat(row.get().getBalance()).isEqualTo(usd("50.00"));
+        assertThat(row.get().getVersion()).isEqualTo(1);
+    }
+
+    /**
+     * Makes {@link AccountDao#update} a compare-and-set on the given row, as the JDBC DAO does.
+     */
+    private void storeUpdatesIn(AtomicReference<Account> row) throws SQLException {
+        doAnswer(invocation -> {
+            Account account = invocation.getArgument(0);
+            synchronized (row) {
+                if (row.get().getVersion() != account.getVersion()) {
+                    throw new OptimisticLockException("conflict");
+                }
+                account.markPersisted(account.getVersion() + 1);
+                row.set(new Account.Builder(account).build());
+            }
+            return null;
+        }).when(accountDao).update(any(Account.class));
+    }
+
+    private static void awaitStoredBalance(AtomicReference<Account> row, Money expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!row.get().getBalance().equals(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(row.get().getBalance()).isEqualTo(expected);
+    }
+
+    private Money awaitLedgerBalance(String accountId, Money expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Money balance = ledger.getBalance(accountId).join();
+        while (!balance.equals(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+            balance = ledger.getBalance(accountId).join();
+        }
+        return balance;
+    }
+
+    private static Account account(String accountId, Money balance) {
+        return new Account.Builder()
+                .accountId(accountId)
+                .accountNumber("ACC-" + accountId)
+                .ownerId("owner-" + accountId)
+                .balance(balance)
+                .currency("USD")
+                .type(AccountType.CHECKING)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private static Money usd(String amount) {
+        return Money.parse(amount, "USD");
+    }
+}
@@ -0,0 +1,69 @@
+package com.banking.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void parse_ShouldScaleToMinorUnits() {
+        assertThat(Money.parse("12.5", "USD").getMinorUnits()).isEqualTo(1250);
+        assertThat(Money.parse("-0.01", "USD").getMinorUnits()).isEqualTo(-1);
+        assertThat(Money.parse("100", "JPY").getMinorUnits()).isEqualTo(100);
+        assertThat(Money.parse("1.500", "USD")).isEqualTo(Money.ofMinor(150, "USD"));
+        assertThat(Money.parse("100.0", "JPY")).isEqualTo(Money.ofMinor(100, "JPY"));
+        assertThat(Money.parse("0.000", "JPY")).isEqualTo(Money.zero("JPY"));
+        assertThat(Money.parse("0.000", "USD")).isEqualTo(Money.zero("USD"));
+    }
+
+    @Test
+    void parse_ExcessPrecision_ShouldFail() {
+        assertThatThrownBy(() -> Money.parse("1.005", "USD")).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.parse("1.5", "JPY")).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void parse_InvalidText_ShouldFail() {
+        assertThatThrownBy(() -> Money.parse("", "USD")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("-", "USD")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("1e3", "USD")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("1.2.3", "USD")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void of_ShouldRoundTripThroughBigDecimal() {
+        Money money = Money.of(new BigDecimal("2500.10"), "USD");
+
+        assertThat(money.getMinorUnits()).isEqualTo(250_010);
+        assertThat(money.toBigDecimal()).isEqualTo(new BigDecimal("2500.10"));
+        assertThat(money.toString()).isEqualTo("2500.10");
+        assertThat(Money.ofMinor(-5, "USD").toString()).isEqualTo("-0.05");
+    }
+
+    @Test
+    void add_Overflow_ShouldFail() {
+        Money max = Money.ofMinor(Long.MAX_VALUE, "USD");
+
+        assertThatThrownBy(() -> max.add(Money.ofMinor(1, "USD"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void add_CurrencyMismatch_ShouldFail() {
+        assertThatThrownBy(() -> Money.zero("USD").add(Money.zero("EUR")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getCurrency_ShouldUnpackCode() {
+        Money money = Money.parse("1.00", "EUR");
+
+        assertThat(money.getCurrency()).isEqualTo("EUR");
+        assertThat(money.getScale()).isEqualTo(2);
+        assertThat(money.hasCurrency("EUR")).isTrue();
+        assertThat(money.hasCurrency("USD")).isFalse();
+    }
+}
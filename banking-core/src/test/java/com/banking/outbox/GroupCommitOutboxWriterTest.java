@@ -0,0 +1,178 @@
+package com.banking.outbox;
+
+import com.banking.dao.AccountDao;
+import com.banking.dao.batch.BatchFailure;
+import com.banking.dao.batch.BatchResult;
+import com.banking.dao.transaction.TransactionManager;
+import com.banking.events.dao.AccountCreationEventDao;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitOutboxWriterTest {
+
+    @Mock
+    private AccountDao accountDao;
+
+    @Mock
+    private AccountCreationEventDao eventDao;
+
+    private GatedTransactionManager transactionManager;
+    private GroupCommitOutboxWriter writer;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(accountDao.saveAll(anyCollection())).thenAnswer(invocation ->
+                new BatchResult<Account>(invocation.<Collection<?>>getArgument(0).size(), List.of()));
+        lenient().when(eventDao.saveAll(anyCollection())).thenAnswer(invocation ->
+                new BatchResult<AccountCreationEvent>(invocation.<Collection<?>>getArgument(0).size(), List.of()));
+        transactionManager = new GatedTransactionManager();
+        writer = new GroupCommitOutboxWriter(transactionManager, accountDao, eventDao);
+        callers = Executors.newFixedThreadPool(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionManager.release.countDown();
+        writer.close();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void write_ConcurrentCallers_ShouldShareOneCommit() throws Exception {
+        List<CompletableFuture<Void>> writes = writeWhileFirstCommitBlocks(accounts(10));
+
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertThat(transactionManager.transactions.get()).isEqualTo(2);
+        verify(accountDao, times(1)).save(any(Account.class));
+        verify(accountDao, times(1)).saveAll(anyCollection());
+        verify(eventDao, times(1)).saveAll(anyCollection());
+    }
+
+    @Test
+    void write_RejectedRow_ShouldFailOnlyItsCaller() throws Exception {
+        List<Account> accounts = accounts(4);
+        Account rejected = accounts.get(2);
+        lenient().when(accountDao.saveAll(anyCollection())).thenReturn(new BatchResult<>(2,
+                List.of(new BatchFailure<>(rejected, new SQLException("duplicate key")))));
+        lenient().doThrow(new SQLException("duplicate key")).when(accountDao).save(rejected);
+
+        List<CompletableFuture<Void>> writes = writeWhileFirstCommitBlocks(accounts);
+
+        assertThatThrownBy(() -> writes.get(2).get(5, TimeUnit.SECONDS))
+                .hasRootCauseInstanceOf(SQLException.class);
+        writes.get(0).get(5, TimeUnit.SECONDS);
+        writes.get(1).get(5, TimeUnit.SECONDS);
+        writes.get(3).get(5, TimeUnit.SECONDS);
+        verify(accountDao, times(4)).save(any(Account.class));
+    }
+
+    @Test
+    void write_AfterClose_ShouldBeRejected() {
+        writer.close();
+
+        assertThatThrownBy(() -> writer.write(accounts(1).get(0), event(accounts(1).get(0))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Holds the first commit open until every other write is queued, so the rest form one group.
+     */
+    private List<CompletableFuture<Void>> writeWhileFirstCommitBlocks(List<Account> accounts) throws Exception {
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        writes.add(submit(accounts.get(0)));
+        assertThat(transactionManager.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (Account account : accounts.subList(1, accounts.size())) {
+            writes.add(submit(account));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.pendingCount() < accounts.size() - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(writer.pendingCount()).isEqualTo(accounts.size() - 1);
+        transactionManager.release.countDown();
+        return writes;
+    }
+
+    private CompletableFuture<Void> submit(Account account) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                writer.write(account, event(account));
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }, callers);
+    }
+
+    private static List<Account> accounts(int count) {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accounts.add(new Account.Builder()
+                    .accountId("A" + i)
+                    .accountNumber("N" + i)
+                    .ownerId("owner-" + i)
+                    .balance(Money.parse("10.00", "USD"))
+                    .currency("USD")
+                    .type(AccountType.CHECKING)
+                    .status(AccountStatus.ACTIVE)
+                    .build());
+        }
+        return accounts;
+    }
+
+    private static AccountCreationEvent event(Account account) {
+        return new AccountCreationEvent("CMD-" + account.getAccountId(), "test", account.getOwnerId(),
+                account.getCurrency(), account.getBalance(), account.getAccountType(),
+                Instant.now(), Instant.now());
+    }
+
+    private static class GatedTransactionManager implements TransactionManager {
+        private final AtomicInteger transactions = new AtomicInteger();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public <T> T inTransaction(TransactionCallback<T> callback) throws SQLException {
+            transactions.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return callback.doInTransaction();
+        }
+    }
+}
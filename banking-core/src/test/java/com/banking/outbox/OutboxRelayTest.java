@@ -0,0 +1,99 @@
+package com.banking.outbox;
+
+import com.bank.pulsar.MessageService;
+import com.bank.pulsar.exception.MessageServiceException;
+import com.banking.dao.transaction.AutoCommitTransactionManager;
+import com.banking.events.dao.AccountCreationEventDao;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private AccountCreationEventDao eventDao;
+
+    @Mock
+    private MessageService messageService;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(eventDao, AutoCommitTransactionManager.INSTANCE, messageService,
+                2, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void relay_ShouldPublishPageDeleteItAndReturnPrefetchedPage() throws SQLException {
+        List<AccountCreationEvent> page = List.of(event("e1", 1), event("e2", 2));
+        List<AccountCreationEvent> next = List.of(event("e3", 3));
+        when(messageService.sendLogMessageAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(eventDao.findAfter(2, "e2", 2)).thenReturn(next);
+
+        List<AccountCreationEvent> result = relay.relay(page);
+
+        assertThat(result).isEqualTo(next);
+        verify(messageService, times(2)).sendLogMessageAsync(any());
+        verify(eventDao).deleteAll(List.of("e1", "e2"));
+    }
+
+    @Test
+    void relay_SendFails_ShouldKeepUnpublishedEvents() throws SQLException {
+        List<AccountCreationEvent> page = List.of(event("e1", 1), event("e2", 2));
+        when(messageService.sendLogMessageAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new MessageServiceException("broker down")));
+        when(eventDao.findAfter(2, "e2", 2)).thenReturn(List.of(event("e3", 3)));
+
+        List<AccountCreationEvent> result = relay.relay(page);
+
+        assertThat(result).isEmpty();
+        verify(eventDao).deleteAll(List.of("e1"));
+    }
+
+    @Test
+    void start_ShouldDrainOutboxAndRewindWhenEmpty() throws SQLException {
+        when(eventDao.findAfter(anyLong(), anyString(), anyInt())).thenReturn(List.of());
+        when(eventDao.findAfter(Long.MIN_VALUE, "", 2))
+                .thenReturn(List.of(event("e1", 1)))
+                .thenReturn(List.of());
+        when(messageService.sendLogMessageAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.start();
+        try {
+            verify(eventDao, timeout(1000)).deleteAll(List.of("e1"));
+            verify(eventDao, timeout(1000).atLeast(2)).findAfter(Long.MIN_VALUE, "", 2);
+        } finally {
+            relay.close();
+        }
+    }
+
+    private static AccountCreationEvent event(String eventId, long timestamp) {
+        Instant now = Instant.now();
+        return new AccountCreationEvent(eventId, "CMD-" + eventId, timestamp, "test", "owner-1", "USD",
+                Money.parse("10.00", "USD"), AccountType.CHECKING, now, now);
+    }
+}
@@ -3,17 +3,28 @@ package com.banking.service.impl;
 import com.banking.dao.AccountDao;
 import com.banking.dao.exception.AccountCreationException;
 import com.banking.dao.impl.AccountDaoImpl;
+import com.banking.dao.transaction.JdbcTransactionManager;
+import com.banking.dao.transaction.TransactionManager;
+import com.banking.events.dao.AccountCreationEventDao;
+import com.banking.events.dao.impl.AccountCreationEventDaoImpl;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.id.AccountNumberGenerator;
+import com.banking.id.SnowflakeIdGenerator;
+import com.banking.ledger.Ledger;
+import com.banking.ledger.ShardedLedger;
 import com.banking.dto.CreateAccountDto;
 import com.banking.model.Account;
 import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.banking.outbox.TransactionalOutboxWriter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Instant;
@@ -32,9 +43,15 @@ class AccountServiceImplTest {
 
     private static AccountDao dao;
 
+    private static AccountCreationEventDao eventDao;
+
+    private static TransactionManager transactionManager;
+
+    private Ledger ledger;
+
     @BeforeAll
     static void setupDatabase() throws SQLException, SQLException {
-        connection = DriverManager.getConnection("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1");
+        connection = DriverManager.getConnection("jdbc:h2:mem:account-service-test;DB_CLOSE_DELAY=-1");
         Statement stmt = connection.createStatement();
         stmt.execute("CREATE TABLE accounts (" +
                 "account_id VARCHAR PRIMARY KEY, " +
@@ -45,20 +62,40 @@ class AccountServiceImplTest {
                 "account_type VARCHAR, " +
                 "status VARCHAR, " +
                 "created_at TIMESTAMP, " +
-                "updated_at TIMESTAMP)");
+                "updated_at TIMESTAMP, " +
+                "version BIGINT DEFAULT 0 NOT NULL)");
+        stmt.execute("CREATE TABLE IF NOT EXISTS account_creation_events (" +
+                "event_id VARCHAR PRIMARY KEY, " +
+                "event_type VARCHAR, " +
+                "command_id VARCHAR, " +
+                "source VARCHAR, " +
+                "owner_id VARCHAR, " +
+                "currency VARCHAR, " +
+                "initial_balance DECIMAL, " +
+                "account_type VARCHAR, " +
+                "created_at TIMESTAMP, " +
+                "updated_at TIMESTAMP, " +
+                "timestamp BIGINT)");
         dao = new AccountDaoImpl(connection);
+        eventDao = new AccountCreationEventDaoImpl(connection);
+        transactionManager = new JdbcTransactionManager(connection);
     }
 
 
     @BeforeEach
     void setup() throws SQLException {
-        accountService = new AccountServiceImpl(dao, null);
+        ledger = new ShardedLedger(dao);
+        accountService = new AccountServiceImpl(
+                new TransactionalOutboxWriter(transactionManager, dao, eventDao), ledger,
+                new AccountNumberGenerator(new SnowflakeIdGenerator(1)));
     }
 
     @AfterEach
     void tearDown() throws SQLException {
+        ledger.close();
         try (Statement stmt = connection.createStatement()) {
             stmt.execute("DELETE FROM accounts");
+            stmt.execute("DELETE FROM account_creation_events");
         }
     }
 
@@ -67,7 +104,7 @@ class AccountServiceImplTest {
         CreateAccountDto dto = new CreateAccountDto(
                 "user123",
                 "USD",
-                new BigDecimal("5.00"),
+                Money.parse("5.00", "USD"),
                 AccountType.SAVINGS,
                 Instant.now(),
                 Instant.now()
@@ -77,8 +114,33 @@ class AccountServiceImplTest {
         assertThat(createdAccount).isNotNull();
         assertThat(createdAccount.getOwnerId()).isEqualTo("user123");
         assertThat(createdAccount.getCurrency()).isEqualTo("USD");
-        assertThat(createdAccount.getBalance()).isEqualByComparingTo(new BigDecimal("5.00"));
+        assertThat(createdAccount.getBalance()).isEqualTo(Money.parse("5.00", "USD"));
         assertThat(createdAccount.getAccountType()).isEqualTo(AccountType.SAVINGS);
+        assertThat(count("accounts")).isEqualTo(1);
+        assertThat(count("account_creation_events")).isEqualTo(1);
+    }
+
+    @Test
+    void createAccount_EventWriteFails_ShouldRollBackAccount() throws SQLException {
+        AccountCreationEventDao failingEventDao = mock(AccountCreationEventDao.class);
+        doThrow(new SQLException("outbox unavailable")).when(failingEventDao).save(any(AccountCreationEvent.class));
+        AccountServiceImpl service = new AccountServiceImpl(
+                new TransactionalOutboxWriter(transactionManager, dao, failingEventDao), ledger,
+                new AccountNumberGenerator(new SnowflakeIdGenerator(1)));
+        CreateAccountDto dto = new CreateAccountDto(
+                "user123",
+                "USD",
+                Money.parse("5.00", "USD"),
+                AccountType.SAVINGS,
+                Instant.now(),
+                Instant.now()
+        );
+
+        assertThatThrownBy(() -> service.createAccount(dto))
+                .isInstanceOf(AccountCreationException.class);
+
+        assertThat(count("accounts")).isEqualTo(0);
+        assertTrue(connection.getAutoCommit());
     }
 
     @Test
@@ -104,4 +166,12 @@ class AccountServiceImplTest {
     @Test
     void closeAccount() {
     }
-}
\ No newline at end of file
+
+    private static long count(String table) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
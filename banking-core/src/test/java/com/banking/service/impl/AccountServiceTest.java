@@ -1,23 +1,29 @@
 package com.banking.service.impl;
 
-import com.banking.dao.AccountDao;
 import com.banking.dao.exception.AccountCreationException;
 import com.banking.dto.CreateAccountDto;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.id.AccountNumberGenerator;
+import com.banking.id.SnowflakeIdGenerator;
+import com.banking.ledger.Ledger;
+import com.banking.ledger.TransferResult;
 import com.banking.model.Account;
 import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.banking.outbox.OutboxWriter;
+import com.banking.service.exception.InsufficientFundsException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 
-import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,21 +34,28 @@ import static org.mockito.Mockito.*;
 class AccountServiceTest {
 
     @Mock
-    private AccountDao accountDao;
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private Ledger ledger;
 
-    @InjectMocks
     private AccountServiceImpl accountService;
 
     @Captor
     private ArgumentCaptor<Account> accountCaptor;
 
+    @Captor
+    private ArgumentCaptor<AccountCreationEvent> eventCaptor;
+
     private CreateAccountDto validAccountDto;
     private static final String OWNER_ID = "user123";
     private static final String CURRENCY = "USD";
-    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100.00");
+    private static final Money INITIAL_BALANCE = Money.parse("100.00", CURRENCY);
 
     @BeforeEach
     void setUp() {
+        accountService = new AccountServiceImpl(outboxWriter, ledger,
+                new AccountNumberGenerator(new SnowflakeIdGenerator(1)));
         Instant fixedTimestamp = Instant.parse("2023-10-01T10:00:00Z");
 
         validAccountDto = new CreateAccountDto(
@@ -58,45 +71,69 @@ class AccountServiceTest {
 
     @Test
     void createAccount_ShouldSuccessfullyCreateAccount() throws SQLException {
-        doNothing().when(accountDao).save(any(Account.class));
         Account  createdAccount = accountService.createAccount(validAccountDto);
 
         assertNotNull(createdAccount);
         assertEquals(OWNER_ID, createdAccount.getOwnerId());
         assertEquals(CURRENCY, createdAccount.getCurrency());
         assertEquals(AccountType.SAVINGS, createdAccount.getAccountType() );
-        assertEquals(0, INITIAL_BALANCE.compareTo(createdAccount.getBalance()));
+        assertEquals(INITIAL_BALANCE, createdAccount.getBalance());
 
-        verify(accountDao, times(1)).save(any(Account.class));
+        verify(outboxWriter, times(1)).write(accountCaptor.capture(), eventCaptor.capture());
+        assertSame(createdAccount, accountCaptor.getValue());
+        assertEquals(OWNER_ID, eventCaptor.getValue().getOwnerId());
+        assertEquals(INITIAL_BALANCE, eventCaptor.getValue().getInitialBalance());
 
     }
 
     @Test
     void createAccount_ShouldThrowExceptionWhenDaoFails() throws SQLException {
         SQLException expectedException = new SQLException("Database error");
-        doThrow( expectedException ).when(accountDao).save(any(Account.class));
+        doThrow( expectedException ).when(outboxWriter).write(any(Account.class), any(AccountCreationEvent.class));
 
         assertThatThrownBy( () -> accountService.createAccount(validAccountDto) )
                 .isInstanceOf(AccountCreationException.class)
                         .hasMessageContaining("Failed to create account");
 
-        verify(accountDao).save(any(Account.class));
+        verify(outboxWriter).write(any(Account.class), any(AccountCreationEvent.class));
     }
 
     @Test
     void deposit() {
+        when(ledger.deposit("A1", INITIAL_BALANCE))
+                .thenReturn(CompletableFuture.completedFuture(Money.parse("200.00", CURRENCY)));
+
+        accountService.deposit("A1", INITIAL_BALANCE);
+
+        verify(ledger).deposit("A1", INITIAL_BALANCE);
     }
 
     @Test
     void withdraw() {
+        when(ledger.withdraw("A1", INITIAL_BALANCE))
+                .thenReturn(CompletableFuture.failedFuture(new InsufficientFundsException("Insufficient balance")));
+
+        assertThatThrownBy(() -> accountService.withdraw("A1", INITIAL_BALANCE))
+                .isInstanceOf(InsufficientFundsException.class)
+                .hasMessageContaining("Insufficient balance");
     }
 
     @Test
     void transfer() {
+        when(ledger.transfer("A1", "A2", INITIAL_BALANCE))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new TransferResult(Money.zero(CURRENCY), Money.parse("200.00", CURRENCY))));
+
+        accountService.transfer("A1", "A2", INITIAL_BALANCE);
+
+        verify(ledger).transfer("A1", "A2", INITIAL_BALANCE);
     }
 
     @Test
     void getBalance() {
+        when(ledger.getBalance("A1")).thenReturn(CompletableFuture.completedFuture(INITIAL_BALANCE));
+
+        assertEquals(INITIAL_BALANCE, accountService.getBalance("A1"));
     }
 
     @Test
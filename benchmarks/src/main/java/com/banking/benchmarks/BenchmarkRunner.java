@@ -0,0 +1,59 @@
+package com.banking.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.JavaFlightRecorderProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Runs the suites with one of the profiler setups below and writes the results as JSON to
+ * {@code target/jmh-<profile>.json}, the input of {@link RegressionCheck}.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.banking.benchmarks.BenchmarkRunner gc AccountDaoBenchmark
+ * </pre>
+ * The first argument picks the profile; the rest are passed to JMH as usual (benchmark regexes,
+ * {@code -f}, {@code -wi}, ...), except for the result file options, which the profile sets.
+ */
+public final class BenchmarkRunner {
+
+    public enum Profile {
+        /** Timings only. */
+        BASELINE,
+        /** Adds bytes allocated per operation ({@code gc.alloc.rate.norm}), GC count and GC time. */
+        GC,
+        /** GC profile plus a JFR recording per benchmark with allocation sampling, under {@code target/jfr}. */
+        ALLOC
+    }
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Profile profile = args.length == 0 ? Profile.BASELINE : Profile.valueOf(args[0].toUpperCase(Locale.ROOT));
+        String[] jmhArgs = args.length == 0 ? args : Arrays.copyOfRange(args, 1, args.length);
+        new Runner(options(profile, new CommandLineOptions(jmhArgs))).run();
+    }
+
+    static Options options(Profile profile, CommandLineOptions commandLine) {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + profile.name().toLowerCase(Locale.ROOT) + ".json")
+                // A fixed, pre-touched heap keeps GC counts comparable between runs and machines
+                .jvmArgsAppend("-Xms2g", "-Xmx2g", "-XX:+AlwaysPreTouch");
+        switch (profile) {
+            case BASELINE -> { }
+            case GC -> builder.addProfiler(GCProfiler.class);
+            case ALLOC -> builder.addProfiler(GCProfiler.class)
+                    .addProfiler(JavaFlightRecorderProfiler.class, "configName=profile;dir=target/jfr");
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.banking.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files and exits with status 1 if any benchmark got slower, or
+ * allocates more per operation, by more than the allowed percentage.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.banking.benchmarks.RegressionCheck \
+ *     baseline/jmh-gc.json target/jmh-gc.json 10
+ * </pre>
+ * Benchmarks missing from either file are skipped.
+ */
+public final class RegressionCheck {
+
+    private static final double DEFAULT_MAX_REGRESSION_PERCENT = 10.0;
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // Below this many bytes per operation, allocation differences are JIT noise
+    private static final double MIN_ALLOCATION_BYTES = 16.0;
+
+    private record Score(double value, String unit, double allocatedBytes) {
+        boolean lowerIsBetter() {
+            return unit.endsWith("/op");
+        }
+    }
+
+    private RegressionCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: RegressionCheck <baseline.json> <current.json> [max regression %]");
+            System.exit(2);
+        }
+        double maxPercent = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_MAX_REGRESSION_PERCENT;
+        List<String> regressions = compare(read(new File(args[0])), read(new File(args[1])), maxPercent);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions above " + maxPercent + "%");
+            return;
+        }
+        regressions.forEach(System.out::println);
+        System.exit(1);
+    }
+
+    static List<String> compare(Map<String, Score> baseline, Map<String, Score> current, double maxPercent) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null || !before.unit().equals(after.unit())) {
+                continue;
+            }
+            double change = percentChange(before.value(), after.value());
+            double worse = after.lowerIsBetter() ? change : -change;
+            if (worse > maxPercent) {
+                regressions.add(String.format("REGRESSION %s: %.3f -> %.3f %s (%+.1f%%)",
+                        entry.getKey(), before.value(), after.value(), after.unit(), change));
+            }
+            if (!Double.isNaN(before.allocatedBytes()) && !Double.isNaN(after.allocatedBytes())
+                    && after.allocatedBytes() >= MIN_ALLOCATION_BYTES
+                    && percentChange(before.allocatedBytes(), after.allocatedBytes()) > maxPercent) {
+                regressions.add(String.format("ALLOCATION %s: %.1f -> %.1f B/op", entry.getKey(),
+                        before.allocatedBytes(), after.allocatedBytes()));
+            }
+        }
+        return regressions;
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0 ? (after == 0 ? 0 : Double.POSITIVE_INFINITY) : (after - before) / before * 100;
+    }
+
+    static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            JsonNode primary = result.path("primaryMetric");
+            JsonNode allocation = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            scores.put(key(result), new Score(primary.path("score").asDouble(), primary.path("scoreUnit").asText(),
+                    allocation.isMissingNode() ? Double.NaN : allocation.path("score").asDouble()));
+        }
+        return scores;
+    }
+
+    // benchmark method, mode and parameters, e.g. "...AccountDaoBenchmark.findById avgt {accounts=10000}"
+    private static String key(JsonNode result) {
+        Map<String, String> params = new TreeMap<>();
+        for (Map.Entry<String, JsonNode> param : result.path("params").properties()) {
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        String key = result.path("benchmark").asText() + " " + result.path("mode").asText();
+        return params.isEmpty() ? key : key + " " + params;
+    }
+}
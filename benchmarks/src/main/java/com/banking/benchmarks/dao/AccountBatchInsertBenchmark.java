@@ -0,0 +1,122 @@
+package com.banking.benchmarks.dao;
+
+import com.banking.dao.batch.BatchResult;
+import com.banking.dao.impl.AccountDaoImpl;
+import com.banking.id.UuidV7Generator;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting {@code rows} accounts one {@link AccountDaoImpl#save} at a time versus one
+ * {@link AccountDaoImpl#saveAll}, against in-memory H2. Each invocation inserts a fresh set of rows and
+ * the table is emptied after every iteration, so both benchmarks insert into a table of the same size.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar AccountBatchInsertBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountBatchInsertBenchmark {
+
+    private static final Money OPENING_BALANCE = Money.parse("100.00", "USD");
+
+    @Param({"100", "5000"})
+    public int rows;
+
+    private Connection connection;
+    private AccountDaoImpl dao;
+    private List<Account> accounts;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:batch-insert-benchmark-" + System.nanoTime());
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE accounts (" +
+                    "account_id VARCHAR(36) PRIMARY KEY, " +
+                    "number VARCHAR(32), " +
+                    "owner_id VARCHAR(64), " +
+                    "balance DECIMAL(19, 2), " +
+                    "currency VARCHAR(3), " +
+                    "account_type VARCHAR(16), " +
+                    "status VARCHAR(16), " +
+                    "created_at TIMESTAMP, " +
+                    "updated_at TIMESTAMP, " +
+                    "version BIGINT DEFAULT 0 NOT NULL)");
+        }
+        dao = new AccountDaoImpl(connection);
+    }
+
+    /**
+     * Builds the rows outside the measurement; an invocation takes milliseconds, which keeps the
+     * per-invocation setup overhead negligible.
+     */
+    @Setup(Level.Invocation)
+    public void newAccounts() {
+        accounts = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            long n = sequence++;
+            accounts.add(new Account.Builder()
+                    .accountId(UuidV7Generator.INSTANCE.nextString())
+                    .accountNumber("BENCH" + n)
+                    .ownerId("owner-" + n)
+                    .balance(OPENING_BALANCE)
+                    .currency("USD")
+                    .type(AccountType.CHECKING)
+                    .status(AccountStatus.ACTIVE)
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRows() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM accounts");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Account> singleRowInserts() throws SQLException {
+        for (Account account : accounts) {
+            dao.save(account);
+        }
+        return accounts;
+    }
+
+    @Benchmark
+    public BatchResult<Account> saveAll() throws SQLException {
+        return dao.saveAll(accounts);
+    }
+}
@@ -0,0 +1,123 @@
+package com.banking.benchmarks.dao;
+
+import com.banking.dao.impl.AccountDaoImpl;
+import com.banking.id.UuidV7Generator;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row {@link AccountDaoImpl#save} and {@link AccountDaoImpl#findById} against in-memory H2,
+ * so that the numbers reflect the DAO's own JDBC overhead rather than a network round trip.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountDaoBenchmark {
+
+    private static final Money OPENING_BALANCE = Money.parse("100.00", "USD");
+
+    /** Rows present for findById lookups. */
+    @Param({"10000"})
+    public int accounts;
+
+    private Connection connection;
+    private AccountDaoImpl dao;
+    private String[] accountIds;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:dao-benchmark-" + System.nanoTime());
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE accounts (" +
+                    "account_id VARCHAR(36) PRIMARY KEY, " +
+                    "number VARCHAR(32), " +
+                    "owner_id VARCHAR(64), " +
+                    "balance DECIMAL(19, 2), " +
+                    "currency VARCHAR(3), " +
+                    "account_type VARCHAR(16), " +
+                    "status VARCHAR(16), " +
+                    "created_at TIMESTAMP, " +
+                    "updated_at TIMESTAMP, " +
+                    "version BIGINT DEFAULT 0 NOT NULL)");
+        }
+        dao = new AccountDaoImpl(connection);
+
+        List<Account> seed = new ArrayList<>(accounts);
+        accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            Account account = newAccount("owner-");
+            seed.add(account);
+            accountIds[i] = account.getAccountId();
+        }
+        dao.saveAll(seed);
+    }
+
+    /**
+     * Removes the rows inserted by {@code save} so that every iteration starts from the same table.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteSavedRows() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM accounts WHERE owner_id LIKE 'saved-%'");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public Account save() throws SQLException {
+        Account account = newAccount("saved-");
+        dao.save(account);
+        return account;
+    }
+
+    @Benchmark
+    public Optional<Account> findById() throws SQLException {
+        return dao.findById(accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)]);
+    }
+
+    private Account newAccount(String ownerPrefix) {
+        long n = sequence++;
+        return new Account.Builder()
+                .accountId(UuidV7Generator.INSTANCE.nextString())
+                .accountNumber("BENCH" + n)
+                .ownerId(ownerPrefix + n)
+                .balance(OPENING_BALANCE)
+                .currency("USD")
+                .type(AccountType.CHECKING)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
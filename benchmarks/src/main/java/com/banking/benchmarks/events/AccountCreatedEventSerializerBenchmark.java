@@ -0,0 +1,48 @@
+package com.banking.benchmarks.events;
+
+import com.banking.dto.CreateAccountDto;
+import com.banking.events.serializer.AccountCreatedEventSerializer;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of an account-created replication event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountCreatedEventSerializerBenchmark {
+
+    private AccountCreatedEventSerializer serializer;
+    private CreateAccountDto dto;
+
+    @Setup
+    public void setUp() {
+        serializer = new AccountCreatedEventSerializer("node-1");
+        Instant now = Instant.now();
+        dto = new CreateAccountDto("owner-1", "USD", Money.parse("250.00", "USD"), AccountType.SAVINGS,
+                now, now, "CMD-1");
+    }
+
+    @Benchmark
+    public byte[] serializeAccountCreated() throws JsonProcessingException {
+        return serializer.serializeAccountCreated(dto, "CMD-1");
+    }
+}
@@ -0,0 +1,104 @@
+package com.banking.benchmarks.events;
+
+import com.banking.events.cdc.AccountChange;
+import com.banking.events.cdc.ChangeOperation;
+import com.banking.events.cdc.DebeziumChangeDecoder;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming Debezium decoder against decoding the String and the full Jackson tree, for a
+ * schema-wrapped update of an {@code accounts} row as the Postgres connector sends it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DebeziumChangeDecoderBenchmark {
+
+    private static final String ROW = """
+            {"account_id":"0190f0c4-7d1e-7cc3-9a7e-2b5f0c1d2e3f","number":"1000-0000-0001","owner_id":"owner-1",
+             "balance":"125.50","currency":"USD","account_type":"CHECKING","status":"ACTIVE",
+             "created_at":1700000000123456,"updated_at":1700000500123456,"version":4}""";
+
+    private static final String FIELD_SCHEMA = """
+            {"type":"string","optional":true,"field":"column"}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DebeziumChangeDecoder decoder = DebeziumChangeDecoder.INSTANCE;
+    private final byte[] message = message();
+
+    private static byte[] message() {
+        String fields = String.join(",", Collections.nCopies(10, FIELD_SCHEMA));
+        String json = """
+                {"schema":{"type":"struct","fields":[
+                  {"type":"struct","fields":[%1$s],"optional":true,"name":"dbserver1.public.accounts.Value","field":"before"},
+                  {"type":"struct","fields":[%1$s],"optional":true,"name":"dbserver1.public.accounts.Value","field":"after"},
+                  {"type":"struct","fields":[%1$s],"optional":false,"name":"io.debezium.connector.postgresql.Source","field":"source"},
+                  {"type":"string","optional":false,"field":"op"},{"type":"int64","optional":true,"field":"ts_ms"}],
+                  "optional":false,"name":"dbserver1.public.accounts.Envelope"},
+                 "payload":{"before":%2$s,"after":%2$s,
+                  "source":{"version":"2.5.0.Final","connector":"postgresql","name":"dbserver1","ts_ms":1700000500000,
+                   "snapshot":"false","db":"bank","sequence":"[\\"24023040\\",\\"24023128\\"]","schema":"public",
+                   "table":"accounts","txId":565,"lsn":24023128,"xmin":null},
+                  "op":"u","ts_ms":1700000500999,"transaction":null}}""".formatted(fields, ROW);
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String decodeString() {
+        return new String(message, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public AccountChange decodeTree() throws IOException {
+        JsonNode payload = objectMapper.readTree(message).get("payload");
+        JsonNode source = payload.get("source");
+        JsonNode after = payload.get("after");
+        String currency = after.get("currency").asText();
+        Account account = new Account.Builder()
+                .accountId(after.get("account_id").asText())
+                .accountNumber(after.get("number").asText())
+                .ownerId(after.get("owner_id").asText())
+                .currency(currency)
+                .balance(Money.parse(after.get("balance").asText(), currency))
+                .type(AccountType.safeValueOf(after.get("account_type").asText()))
+                .status(AccountStatus.safeValueOf(after.get("status").asText()))
+                .createdAt(micros(after.get("created_at").asLong()))
+                .updatedAt(micros(after.get("updated_at").asLong()))
+                .version(after.get("version").asLong())
+                .build();
+        return new AccountChange(ChangeOperation.fromCode(payload.get("op").asText()),
+                source.get("lsn").asLong(), source.get("table").asText(), account);
+    }
+
+    @Benchmark
+    public Object decodeStreaming() {
+        return decoder.decode(message);
+    }
+
+    private static Instant micros(long micros) {
+        return Instant.ofEpochSecond(micros / 1_000_000L, micros % 1_000_000L * 1_000L);
+    }
+}
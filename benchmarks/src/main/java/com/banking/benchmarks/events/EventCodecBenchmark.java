@@ -0,0 +1,121 @@
+package com.banking.benchmarks.events;
+
+import com.banking.dto.CreateAccountDto;
+import com.banking.events.codec.BinaryEventCodec;
+import com.banking.events.codec.EncodedAccountCreationEvent;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.events.serializer.AccountCreatedEventSerializer;
+import com.banking.events.serializer.AccountCreationEventSerializer;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary event codec against the Jackson serializers for an account-created event: encoding, reading
+ * one field, and decoding the whole event. The encoded sizes are printed once per fork.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BinaryEventCodec codec = BinaryEventCodec.INSTANCE;
+
+    private AccountCreationEvent event;
+    private CreateAccountDto dto;
+    private AccountCreationEventSerializer jsonSerializer;
+    private AccountCreatedEventSerializer nestedJsonSerializer;
+    private ByteBuffer buffer;
+    private byte[] json;
+    private ByteBuffer binary;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Instant now = Instant.now();
+        event = new AccountCreationEvent("CMD-1", "node-1", "owner-1", "USD", Money.parse("250.00", "USD"),
+                AccountType.SAVINGS, now, now);
+        dto = new CreateAccountDto("owner-1", "USD", Money.parse("250.00", "USD"), AccountType.SAVINGS,
+                now, now, "CMD-1");
+        jsonSerializer = new AccountCreationEventSerializer();
+        nestedJsonSerializer = new AccountCreatedEventSerializer("node-1");
+        buffer = ByteBuffer.allocateDirect(4096);
+
+        json = jsonSerializer.serialize(event);
+        binary = ByteBuffer.wrap(codec.encode(event));
+        System.out.printf("%nEncoded sizes: json=%d nested json=%d binary=%d bytes%n", json.length,
+                nestedJsonSerializer.serializeAccountCreated(dto, "CMD-1").length, binary.remaining());
+    }
+
+    //=== Encoding ===//
+
+    @Benchmark
+    public byte[] encodeNestedJson() throws JsonProcessingException {
+        return nestedJsonSerializer.serializeAccountCreated(dto, "CMD-1");
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws JsonProcessingException {
+        return jsonSerializer.serialize(event);
+    }
+
+    @Benchmark
+    public int encodeBinaryIntoReusedBuffer() {
+        buffer.clear();
+        codec.encode(event, buffer);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public byte[] encodeBinaryToArray() {
+        return codec.encode(event);
+    }
+
+    //=== Decoding ===//
+
+    @Benchmark
+    public String readOwnerIdJson() throws IOException {
+        return objectMapper.readTree(json).get("ownerId").asText();
+    }
+
+    @Benchmark
+    public String readOwnerIdBinary() {
+        return ((EncodedAccountCreationEvent) codec.decode(binary)).getOwnerId();
+    }
+
+    @Benchmark
+    public AccountCreationEvent decodeJson() throws IOException {
+        JsonNode node = objectMapper.readTree(json);
+        String currency = node.get("currency").asText();
+        return new AccountCreationEvent(node.get("eventId").asText(), node.get("commandId").asText(),
+                node.get("timestamp").asLong(), node.get("source").asText(), node.get("ownerId").asText(),
+                currency, Money.parse(node.get("initialBalance").asText(), currency),
+                AccountType.valueOf(node.get("accountType").asText()),
+                Instant.parse(node.get("createdAt").asText()), Instant.parse(node.get("updatedAt").asText()));
+    }
+
+    @Benchmark
+    public AccountCreationEvent decodeBinary() {
+        return ((EncodedAccountCreationEvent) codec.decode(binary)).toEvent();
+    }
+}
@@ -0,0 +1,50 @@
+package com.banking.benchmarks.grpc;
+
+import com.banking.grpc.AccountGrpcService;
+import com.banking.grpc.AccountResponse;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a domain account to its protobuf response, with and without encoding it for the wire.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountResponseMappingBenchmark {
+
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        account = Account.create("owner-1", "USD", AccountType.CHECKING, Money.parse("1234.56", "USD"),
+                Instant.now(), Instant.now(), "00000000000000000000");
+    }
+
+    @Benchmark
+    public AccountResponse mapToAccountResponse() {
+        return AccountGrpcService.mapToAccountResponse(account);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() {
+        return AccountGrpcService.mapToAccountResponse(account).toByteArray();
+    }
+}
@@ -0,0 +1,68 @@
+package com.banking.benchmarks.id;
+
+import com.banking.id.AccountNumberGenerator;
+import com.banking.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one node's ID generator, shared by all benchmark threads as in the server.
+ * <p>
+ * A worker issues at most 4096 IDs per millisecond, so about 4.1 million per second is the ceiling;
+ * the multi-threaded runs show whether CAS contention keeps callers below it.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar SnowflakeIdGeneratorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnowflakeIdGeneratorBenchmark {
+
+    private SnowflakeIdGenerator idGenerator;
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Setup
+    public void setUp() {
+        idGenerator = new SnowflakeIdGenerator(1);
+        accountNumberGenerator = new AccountNumberGenerator(new SnowflakeIdGenerator(2));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long nextId_1Thread() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long nextId_8Threads() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String accountNumber_1Thread() {
+        return accountNumberGenerator.next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String accountNumber_8Threads() {
+        return accountNumberGenerator.next();
+    }
+}
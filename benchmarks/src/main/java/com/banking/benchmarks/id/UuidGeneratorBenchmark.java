@@ -0,0 +1,55 @@
+package com.banking.benchmarks.id;
+
+import com.banking.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of minting an account or event ID in its stored string form.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar UuidGeneratorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UuidGeneratorBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public String randomV4_1Thread() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomV4_8Threads() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String timeOrderedV7_1Thread() {
+        return UuidV7Generator.INSTANCE.nextString();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String timeOrderedV7_8Threads() {
+        return UuidV7Generator.INSTANCE.nextString();
+    }
+}
@@ -0,0 +1,210 @@
+package com.banking.benchmarks.id;
+
+import com.banking.dao.impl.AccountDaoImpl;
+import com.banking.dao.support.SqlDialect;
+import com.banking.events.dao.impl.AccountCreationEventDaoImpl;
+import com.banking.events.model.AccountCreationEvent;
+import com.banking.id.UuidV7Generator;
+import com.banking.model.Account;
+import com.banking.model.AccountStatus;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Insert throughput of {@code accounts} and {@code account_creation_events} keyed by random v4
+ * versus time-ordered v7 UUIDs, through the production DAOs. Index sizes are printed when each
+ * trial ends.
+ * <p>
+ * Runs against a file-backed H2 database in a temporary directory by default. B-tree page splits
+ * are what random keys cost in PostgreSQL, so run it there too, against a scratch database: the
+ * benchmark drops and recreates both tables.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar UuidInsertBenchmark
+ * java -jar benchmarks/target/benchmarks.jar UuidInsertBenchmark \
+ *     -p jdbcUrl='jdbc:postgresql://localhost:5432/bench?user=bench&amp;password=bench'
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final Money OPENING_BALANCE = Money.parse("100.00", "USD");
+
+    public enum KeyType {
+        RANDOM_V4 {
+            @Override
+            String next() { return UUID.randomUUID().toString(); }
+        },
+        TIME_ORDERED_V7 {
+            @Override
+            String next() { return UuidV7Generator.INSTANCE.nextString(); }
+        };
+
+        abstract String next();
+    }
+
+    @Param({"RANDOM_V4", "TIME_ORDERED_V7"})
+    public KeyType keyType;
+
+    /** Empty for a temporary H2 database. */
+    @Param({""})
+    public String jdbcUrl;
+
+    private Path tempDirectory;
+    private Connection connection;
+    private AccountDaoImpl accountDao;
+    private AccountCreationEventDaoImpl eventDao;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        String url = jdbcUrl;
+        if (url.isEmpty()) {
+            tempDirectory = Files.createTempDirectory("uuid-insert");
+            url = "jdbc:h2:file:" + tempDirectory.resolve("bench");
+        }
+        connection = DriverManager.getConnection(url);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS accounts");
+            stmt.execute("DROP TABLE IF EXISTS account_creation_events");
+            stmt.execute("CREATE TABLE accounts (" +
+                    "account_id VARCHAR(36) PRIMARY KEY, " +
+                    "number VARCHAR(32), " +
+                    "owner_id VARCHAR(64), " +
+                    "balance DECIMAL(19, 2), " +
+                    "currency VARCHAR(3), " +
+                    "account_type VARCHAR(16), " +
+                    "status VARCHAR(16), " +
+                    "created_at TIMESTAMP, " +
+                    "updated_at TIMESTAMP, " +
+                    "version BIGINT DEFAULT 0 NOT NULL)");
+            stmt.execute("CREATE TABLE account_creation_events (" +
+                    "event_id VARCHAR(36) PRIMARY KEY, " +
+                    "event_type VARCHAR(32), " +
+                    "command_id VARCHAR(64), " +
+                    "source VARCHAR(64), " +
+                    "owner_id VARCHAR(64), " +
+                    "currency VARCHAR(3), " +
+                    "initial_balance DECIMAL(19, 2), " +
+                    "account_type VARCHAR(16), " +
+                    "created_at TIMESTAMP, " +
+                    "updated_at TIMESTAMP, " +
+                    "timestamp BIGINT)");
+        }
+        accountDao = new AccountDaoImpl(connection, BATCH_SIZE);
+        eventDao = new AccountCreationEventDaoImpl(connection, BATCH_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertAccountsWithEvents() throws SQLException {
+        Instant now = Instant.now();
+        List<Account> accounts = new ArrayList<>(BATCH_SIZE);
+        List<AccountCreationEvent> events = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long n = sequence++;
+            String ownerId = "owner-" + n;
+            accounts.add(new Account.Builder()
+                    .accountId(keyType.next())
+                    .accountNumber("BENCH" + n)
+                    .ownerId(ownerId)
+                    .balance(OPENING_BALANCE)
+                    .currency("USD")
+                    .type(AccountType.CHECKING)
+                    .status(AccountStatus.ACTIVE)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            events.add(new AccountCreationEvent(keyType.next(), "CMD-" + n, now.toEpochMilli(),
+                    "UuidInsertBenchmark", ownerId, "USD", OPENING_BALANCE, AccountType.CHECKING, now, now));
+        }
+        accountDao.saveAll(accounts);
+        eventDao.saveAll(events);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        try {
+            SqlDialect dialect = SqlDialect.of(connection);
+            for (String table : List.of("accounts", "account_creation_events")) {
+                System.out.printf("%n%s %s: %,d rows, %s%n", keyType, table, rowCount(table),
+                        storageSize(dialect, table));
+            }
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("DROP TABLE accounts");
+                stmt.execute("DROP TABLE account_creation_events");
+            }
+        } finally {
+            connection.close();
+            if (tempDirectory != null) {
+                try (Stream<Path> files = Files.walk(tempDirectory)) {
+                    for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+    }
+
+    private long rowCount(String table) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private String storageSize(SqlDialect dialect, String table) throws SQLException {
+        // H2 only reports table and indexes together
+        String sql = switch (dialect) {
+            case POSTGRESQL -> "SELECT pg_indexes_size(?::regclass)";
+            case H2 -> "SELECT DISK_SPACE_USED(?)";
+        };
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, dialect == SqlDialect.H2 ? table.toUpperCase(Locale.ROOT) : table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                long bytes = rs.getLong(1);
+                String label = dialect == SqlDialect.H2 ? "table and indexes" : "indexes";
+                return String.format("%,d KiB %s", bytes / 1024, label);
+            }
+        }
+    }
+}
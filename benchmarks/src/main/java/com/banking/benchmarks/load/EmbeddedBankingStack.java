@@ -0,0 +1,139 @@
+package com.banking.benchmarks.load;
+
+import com.banking.config.server.ServerLoadEnv.ExecutorType;
+import com.banking.config.server.ServerLoadEnv.LedgerMode;
+import com.banking.dao.AccountDao;
+import com.banking.dao.impl.AccountDaoImpl;
+import com.banking.dao.transaction.DataSourceTransactionManager;
+import com.banking.events.dao.AccountCreationEventDao;
+import com.banking.events.dao.impl.AccountCreationEventDaoImpl;
+import com.banking.grpc.AccountGrpcService;
+import com.banking.grpc.GrpcServer;
+import com.banking.id.AccountNumberGenerator;
+import com.banking.id.SnowflakeIdGenerator;
+import com.banking.ledger.Ledger;
+import com.banking.ledger.OptimisticLedger;
+import com.banking.ledger.ShardedLedger;
+import com.banking.outbox.GroupCommitOutboxWriter;
+import com.banking.outbox.OutboxWriter;
+import com.banking.service.impl.AccountServiceImpl;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The production wiring from {@code Main} on an in-memory H2 database: group-commit outbox,
+ * the chosen ledger and the gRPC service, served on localhost or in-process.
+ */
+final class EmbeddedBankingStack implements AutoCloseable {
+
+    private final Connection keepAlive;
+    private final OutboxWriter outboxWriter;
+    private final Ledger ledger;
+    private final GrpcServer localhostServer;
+    private final Server inProcessServer;
+    private final ExecutorService inProcessExecutor;
+    private final ManagedChannel channel;
+
+    EmbeddedBankingStack(LoadTestConfig.Transport transport, LedgerMode ledgerMode) throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:loadtest-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        this.keepAlive = dataSource.getConnection();
+        createSchema(keepAlive);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        AccountDao accountDao = new AccountDaoImpl(transactionManager);
+        AccountCreationEventDao eventDao = new AccountCreationEventDaoImpl(transactionManager);
+        this.outboxWriter = new GroupCommitOutboxWriter(transactionManager, accountDao, eventDao);
+        this.ledger = switch (ledgerMode) {
+            case SHARDED -> new ShardedLedger(accountDao);
+            case OPTIMISTIC -> new OptimisticLedger(accountDao);
+        };
+        AccountGrpcService service = new AccountGrpcService(new AccountServiceImpl(outboxWriter, ledger,
+                new AccountNumberGenerator(new SnowflakeIdGenerator(0))));
+
+        switch (transport) {
+            case LOCALHOST -> {
+                this.localhostServer = new GrpcServer(0, ExecutorType.VIRTUAL, 0, 5, List.of(service)).start();
+                this.inProcessServer = null;
+                this.inProcessExecutor = null;
+                this.channel = ManagedChannelBuilder.forAddress("localhost", localhostServer.getPort())
+                        .usePlaintext()
+                        .build();
+            }
+            case INPROCESS -> {
+                String name = InProcessServerBuilder.generateName();
+                this.localhostServer = null;
+                this.inProcessExecutor = Executors.newVirtualThreadPerTaskExecutor();
+                this.inProcessServer = InProcessServerBuilder.forName(name)
+                        .executor(inProcessExecutor)
+                        .addService(service)
+                        .build()
+                        .start();
+                this.channel = InProcessChannelBuilder.forName(name).build();
+            }
+            default -> throw new IllegalArgumentException("Unknown transport " + transport);
+        }
+    }
+
+    ManagedChannel channel() {
+        return channel;
+    }
+
+    private static void createSchema(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE accounts (" +
+                    "account_id VARCHAR(36) PRIMARY KEY, " +
+                    "number VARCHAR(32), " +
+                    "owner_id VARCHAR(64), " +
+                    "balance DECIMAL(19, 2), " +
+                    "currency VARCHAR(3), " +
+                    "account_type VARCHAR(16), " +
+                    "status VARCHAR(16), " +
+                    "created_at TIMESTAMP, " +
+                    "updated_at TIMESTAMP, " +
+                    "version BIGINT DEFAULT 0 NOT NULL)");
+            stmt.execute("CREATE TABLE account_creation_events (" +
+                    "event_id VARCHAR(36) PRIMARY KEY, " +
+                    "event_type VARCHAR(32), " +
+                    "command_id VARCHAR(64), " +
+                    "source VARCHAR(64), " +
+                    "owner_id VARCHAR(64), " +
+                    "currency VARCHAR(3), " +
+                    "initial_balance DECIMAL(19, 2), " +
+                    "account_type VARCHAR(16), " +
+                    "created_at TIMESTAMP, " +
+                    "updated_at TIMESTAMP, " +
+                    "timestamp BIGINT)");
+        }
+    }
+
+    /**
+     * Same order as the server shutdown hook: stop serving, then drain pending writes.
+     */
+    @Override
+    public void close() throws Exception {
+        channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        if (localhostServer != null) {
+            localhostServer.stop();
+        }
+        if (inProcessServer != null) {
+            inProcessServer.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+            inProcessExecutor.shutdown();
+        }
+        outboxWriter.close();
+        ledger.close();
+        keepAlive.close();
+    }
+}
@@ -0,0 +1,80 @@
+package com.banking.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms and error counts for one measurement window.
+ * <p>
+ * Latency runs from the operation's intended start to its completion. In open-loop mode the
+ * intended start comes from the fixed schedule, so time an operation spent waiting to be sent
+ * counts against it instead of silently disappearing (coordinated omission).
+ * Operations intended to start before the window opened are ignored.
+ */
+final class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final long windowStartNanos;
+
+    LatencyRecorder(long windowStartNanos) {
+        this.windowStartNanos = windowStartNanos;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long intendedStartNanos, long completedNanos, boolean success) {
+        if (intendedStartNanos < windowStartNanos) {
+            return;
+        }
+        latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedStartNanos));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void report(PrintStream out, String title, long windowNanos) {
+        double seconds = windowNanos / 1e9;
+        out.println();
+        out.println(title);
+        out.printf("%-15s %10s %10s %10s %10s %10s %10s %8s%n",
+                "operation", "count", "ops/s", "p50 us", "p99 us", "p99.9 us", "max us", "errors");
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation).getIntervalHistogram();
+            long operationErrors = errors.get(operation).sumThenReset();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            print(out, operation.name(), histogram, seconds, operationErrors);
+            total.add(histogram);
+            totalErrors += operationErrors;
+        }
+        if (total.getTotalCount() > 0) {
+            print(out, "ALL", total, seconds, totalErrors);
+        }
+    }
+
+    private static void print(PrintStream out, String name, Histogram histogram, double seconds, long errors) {
+        out.printf("%-15s %10d %10.0f %10d %10d %10d %10d %8d%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9),
+                histogram.getMaxValue(),
+                errors);
+    }
+}
@@ -0,0 +1,151 @@
+package com.banking.benchmarks.load;
+
+import com.banking.config.server.ServerLoadEnv.LedgerMode;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load generator settings, parsed from {@code --name=value} arguments.
+ */
+final class LoadTestConfig {
+
+    enum Transport {
+        /** Embedded server on an ephemeral localhost port, through the real Netty transport. */
+        LOCALHOST,
+        /** Embedded server behind an in-process channel; leaves out serialization and sockets. */
+        INPROCESS
+    }
+
+    static final String USAGE = """
+            Options (--name=value):
+              target          host:port of a running server; empty starts an embedded one (default empty)
+              transport       localhost | inprocess, for the embedded server (default localhost)
+              ledger          sharded | optimistic, for the embedded server (default sharded)
+              accounts        accounts created before the run (default 10000)
+              hot-accounts    fraction of accounts that are hot (default 0.01)
+              hot-traffic     fraction of operations aimed at hot accounts (default 0.9)
+              mix             operation weights (default deposit:25,withdraw:25,transfer:35,balance:15)
+              rate            open loop: operations started per second; 0 runs closed loop (default 0)
+              concurrency     closed loop: operations kept outstanding (default 64)
+              max-in-flight   open loop: cap on outstanding operations (default 10000)
+              warmup          seconds excluded from the results (default 10)
+              duration        measured seconds (default 60)
+            """;
+
+    private static final Set<String> OPTIONS = Set.of("target", "transport", "ledger", "accounts", "hot-accounts",
+            "hot-traffic", "mix", "rate", "concurrency", "max-in-flight", "warmup", "duration");
+
+    private final String target;
+    private final Transport transport;
+    private final LedgerMode ledgerMode;
+    private final int accounts;
+    private final double hotAccounts;
+    private final double hotTraffic;
+    private final Map<Operation, Integer> mix;
+    private final int rate;
+    private final int concurrency;
+    private final int maxInFlight;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+
+    private LoadTestConfig(Map<String, String> values) {
+        this.target = values.getOrDefault("target", "");
+        this.transport = parseEnum(values.getOrDefault("transport", "localhost"), Transport.class);
+        this.ledgerMode = parseEnum(values.getOrDefault("ledger", "sharded"), LedgerMode.class);
+        this.accounts = parsePositive(values, "accounts", "10000");
+        this.hotAccounts = parseFraction(values, "hot-accounts", "0.01");
+        this.hotTraffic = parseFraction(values, "hot-traffic", "0.9");
+        this.mix = parseMix(values.getOrDefault("mix", "deposit:25,withdraw:25,transfer:35,balance:15"));
+        this.rate = Integer.parseInt(values.getOrDefault("rate", "0"));
+        this.concurrency = parsePositive(values, "concurrency", "64");
+        this.maxInFlight = parsePositive(values, "max-in-flight", "10000");
+        this.warmupSeconds = Integer.parseInt(values.getOrDefault("warmup", "10"));
+        this.durationSeconds = parsePositive(values, "duration", "60");
+        if (accounts < 2) {
+            throw new IllegalArgumentException("accounts must be at least 2 for transfers");
+        }
+        if (rate < 0 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("rate and warmup must not be negative");
+        }
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(values);
+    }
+
+    String target() { return target; }
+    Transport transport() { return transport; }
+    LedgerMode ledgerMode() { return ledgerMode; }
+    int accounts() { return accounts; }
+    double hotAccounts() { return hotAccounts; }
+    double hotTraffic() { return hotTraffic; }
+    Map<Operation, Integer> mix() { return mix; }
+    int rate() { return rate; }
+    boolean openLoop() { return rate > 0; }
+    int concurrency() { return concurrency; }
+    int maxInFlight() { return maxInFlight; }
+    int warmupSeconds() { return warmupSeconds; }
+    int durationSeconds() { return durationSeconds; }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            Operation operation = switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+                case "deposit" -> Operation.DEPOSIT;
+                case "withdraw" -> Operation.WITHDRAW;
+                case "transfer" -> Operation.TRANSFER;
+                case "balance" -> Operation.GET_BALANCE;
+                default -> throw new IllegalArgumentException("Unknown operation in mix: " + parts[0]);
+            };
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + entry);
+            }
+            weights.put(operation, weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix must contain a positive weight");
+        }
+        return weights;
+    }
+
+    private static int parsePositive(Map<String, String> values, String name, String defaultValue) {
+        int parsed = Integer.parseInt(values.getOrDefault(name, defaultValue));
+        if (parsed <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return parsed;
+    }
+
+    private static double parseFraction(Map<String, String> values, String name, String defaultValue) {
+        double parsed = Double.parseDouble(values.getOrDefault(name, defaultValue));
+        if (parsed < 0 || parsed > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1");
+        }
+        return parsed;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(String value, Class<E> type) {
+        return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+    }
+}
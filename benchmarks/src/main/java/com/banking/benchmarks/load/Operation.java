@@ -0,0 +1,12 @@
+package com.banking.benchmarks.load;
+
+/**
+ * RPCs issued by the load generator. Only the last four make up the measured mix.
+ */
+enum Operation {
+    CREATE_ACCOUNT,
+    DEPOSIT,
+    WITHDRAW,
+    TRANSFER,
+    GET_BALANCE
+}
@@ -0,0 +1,239 @@
+package com.banking.benchmarks.load;
+
+import com.banking.grpc.AccountResponse;
+import com.banking.grpc.AccountRequest;
+import com.banking.grpc.AccountServiceGrpc;
+import com.banking.grpc.CreateAccountRequest;
+import com.banking.grpc.TransactionRequest;
+import com.banking.grpc.TransferRequest;
+import com.banking.model.AccountType;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of the gRPC {@code AccountService} with a TPC-B-like mix: a set of accounts
+ * is created up front, then deposits, withdrawals, transfers and balance reads run against them,
+ * skewed toward a hot set.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.banking.benchmarks.load.TpcbLoadGenerator \
+ *     --accounts=100000 --rate=20000 --duration=120
+ * </pre>
+ * Without {@code --rate} the run is closed loop: {@code --concurrency} operations are kept
+ * outstanding and each completion starts the next, which finds the saturation throughput but
+ * understates tail latency. With {@code --rate} it is open loop: operations start on a fixed
+ * schedule whether or not earlier ones have finished, and latency is measured from the scheduled
+ * start.
+ */
+public final class TpcbLoadGenerator {
+
+    private static final String CURRENCY = "USD";
+    // Large enough that withdrawals and transfers of AMOUNT rarely hit insufficient funds
+    private static final String OPENING_BALANCE = "1000000.00";
+    private static final String AMOUNT = "1.00";
+
+    private final LoadTestConfig config;
+    private final ManagedChannel channel;
+    private final AccountServiceGrpc.AccountServiceStub stub;
+
+    private TpcbLoadGenerator(LoadTestConfig config, ManagedChannel channel) {
+        this.config = config;
+        this.channel = channel;
+        this.stub = AccountServiceGrpc.newStub(channel);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (config.target().isEmpty()) {
+            try (EmbeddedBankingStack stack = new EmbeddedBankingStack(config.transport(), config.ledgerMode())) {
+                new TpcbLoadGenerator(config, stack.channel()).run();
+            }
+        } else {
+            ManagedChannel channel = ManagedChannelBuilder.forTarget(config.target()).usePlaintext().build();
+            try {
+                new TpcbLoadGenerator(config, channel).run();
+            } finally {
+                channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void run() throws InterruptedException {
+        System.out.printf("Creating %d accounts%n", config.accounts());
+        long setupStart = System.nanoTime();
+        LatencyRecorder setupRecorder = new LatencyRecorder(setupStart);
+        String[] accountIds = createAccounts(setupRecorder);
+        setupRecorder.report(System.out, "Account creation", System.nanoTime() - setupStart);
+
+        Workload workload = new Workload(accountIds, config.hotAccounts(), config.hotTraffic(), config.mix());
+        long start = System.nanoTime();
+        long windowStart = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long windowNanos = TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        long end = windowStart + windowNanos;
+        LatencyRecorder recorder = new LatencyRecorder(windowStart);
+
+        System.out.printf("%nRunning %s for %ds after %ds warmup%n",
+                config.openLoop() ? "open loop at " + config.rate() + " ops/s"
+                        : "closed loop with " + config.concurrency() + " outstanding",
+                config.durationSeconds(), config.warmupSeconds());
+        if (config.openLoop()) {
+            runOpenLoop(workload, recorder, start, end);
+        } else {
+            runClosedLoop(workload, recorder, end);
+        }
+        recorder.report(System.out, "Mixed workload", windowNanos);
+    }
+
+    //=== Setup ===//
+
+    private String[] createAccounts(LatencyRecorder recorder) throws InterruptedException {
+        String[] accountIds = new String[config.accounts()];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        AccountServiceGrpc.AccountServiceBlockingStub blockingStub = AccountServiceGrpc.newBlockingStub(channel);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < config.concurrency(); worker++) {
+                executor.execute(() -> {
+                    for (int i = next.getAndIncrement(); i < accountIds.length; i = next.getAndIncrement()) {
+                        long started = System.nanoTime();
+                        try {
+                            AccountResponse response = blockingStub.createAccount(CreateAccountRequest.newBuilder()
+                                    .setOwnerId("load-owner-" + i)
+                                    .setCurrency(CURRENCY)
+                                    .setInitialBalance(OPENING_BALANCE)
+                                    .setAccountType(AccountType.CHECKING.name())
+                                    .build());
+                            accountIds[i] = response.getAccountId();
+                            recorder.record(Operation.CREATE_ACCOUNT, started, System.nanoTime(), true);
+                        } catch (RuntimeException e) {
+                            recorder.record(Operation.CREATE_ACCOUNT, started, System.nanoTime(), false);
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " accounts could not be created");
+        }
+        return accountIds;
+    }
+
+    //=== Load loops ===//
+
+    /**
+     * Keeps {@code concurrency} operations outstanding; each completion starts the next one.
+     */
+    private void runClosedLoop(Workload workload, LatencyRecorder recorder, long end) throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(config.concurrency());
+        for (int i = 0; i < config.concurrency(); i++) {
+            new Runnable() {
+                @Override
+                public void run() {
+                    long now = System.nanoTime();
+                    if (now >= end) {
+                        finished.countDown();
+                        return;
+                    }
+                    issue(workload, workload.nextOperation(ThreadLocalRandom.current()), now, recorder, this);
+                }
+            }.run();
+        }
+        finished.await();
+    }
+
+    /**
+     * Starts operations on a fixed schedule. When {@code max-in-flight} operations are outstanding the
+     * sender waits, but the waiting still counts toward latency because it is measured from the schedule.
+     */
+    private void runOpenLoop(Workload workload, LatencyRecorder recorder, long start, long end)
+            throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            inFlight.acquire();
+            issue(workload, workload.nextOperation(random), intendedStart, recorder, inFlight::release);
+        }
+        if (!inFlight.tryAcquire(config.maxInFlight(), 30, TimeUnit.SECONDS)) {
+            System.err.println("Outstanding operations did not finish within 30s");
+        }
+    }
+
+    private void issue(Workload workload, Operation operation, long intendedStart, LatencyRecorder recorder,
+                       Runnable onComplete) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String accountId = workload.pickAccount(random);
+        switch (operation) {
+            case DEPOSIT -> stub.deposit(transaction(accountId),
+                    completion(operation, intendedStart, recorder, onComplete));
+            case WITHDRAW -> stub.withdraw(transaction(accountId),
+                    completion(operation, intendedStart, recorder, onComplete));
+            case TRANSFER -> stub.transfer(TransferRequest.newBuilder()
+                            .setSourceId(accountId)
+                            .setTargetId(workload.pickOtherAccount(random, accountId))
+                            .setAmount(AMOUNT)
+                            .setCurrency(CURRENCY)
+                            .build(),
+                    completion(operation, intendedStart, recorder, onComplete));
+            case GET_BALANCE -> stub.getBalance(AccountRequest.newBuilder().setAccountId(accountId).build(),
+                    completion(operation, intendedStart, recorder, onComplete));
+            default -> throw new IllegalArgumentException("Not part of the mix: " + operation);
+        }
+    }
+
+    private static TransactionRequest transaction(String accountId) {
+        return TransactionRequest.newBuilder()
+                .setAccountId(accountId)
+                .setAmount(AMOUNT)
+                .setCurrency(CURRENCY)
+                .build();
+    }
+
+    private static <T> StreamObserver<T> completion(Operation operation, long intendedStart,
+                                                    LatencyRecorder recorder, Runnable onComplete) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(T value) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                recorder.record(operation, intendedStart, System.nanoTime(), false);
+                onComplete.run();
+            }
+
+            @Override
+            public void onCompleted() {
+                recorder.record(operation, intendedStart, System.nanoTime(), true);
+                onComplete.run();
+            }
+        };
+    }
+}
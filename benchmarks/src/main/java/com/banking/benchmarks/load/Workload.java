@@ -0,0 +1,65 @@
+package com.banking.benchmarks.load;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the next operation from the weighted mix and the accounts it touches.
+ * <p>
+ * Skew follows a hot set: the first {@code hotAccounts} fraction of the accounts receives
+ * {@code hotTraffic} of all picks, the rest is spread uniformly over the remaining accounts.
+ */
+final class Workload {
+
+    private final String[] accountIds;
+    private final int hotCount;
+    private final double hotTraffic;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(String[] accountIds, double hotAccounts, double hotTraffic, Map<Operation, Integer> mix) {
+        this.accountIds = accountIds;
+        // At least two, so that a transfer can always find a second hot account
+        this.hotCount = Math.max(2, (int) (accountIds.length * hotAccounts));
+        this.hotTraffic = hotCount == accountIds.length ? 1.0 : hotTraffic;
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation nextOperation(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    String pickAccount(ThreadLocalRandom random) {
+        return accountIds[pickIndex(random)];
+    }
+
+    /**
+     * Picks an account other than {@code excluded}, for the other side of a transfer.
+     */
+    String pickOtherAccount(ThreadLocalRandom random, String excluded) {
+        String accountId;
+        do {
+            accountId = accountIds[pickIndex(random)];
+        } while (accountId.equals(excluded));
+        return accountId;
+    }
+
+    private int pickIndex(ThreadLocalRandom random) {
+        if (random.nextDouble() < hotTraffic) {
+            return random.nextInt(hotCount);
+        }
+        return hotCount + random.nextInt(accountIds.length - hotCount);
+    }
+}
@@ -0,0 +1,67 @@
+package com.banking.benchmarks.model;
+
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain operations on a single account, without persistence.
+ * <p>
+ * {@code create} passes its account number in, so that it measures the domain object and the
+ * UUIDv7 account ID rather than the 4096-per-millisecond ceiling of the account number generator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountBenchmark {
+
+    private static final Money OPENING_BALANCE = Money.parse("100.00", "USD");
+    // Enough for every withdrawal an iteration can make
+    private static final Money LARGE_BALANCE = Money.parse("1000000000000.00", "USD");
+    private static final Money AMOUNT = Money.parse("1.25", "USD");
+
+    private final Instant now = Instant.now();
+
+    private Account account;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        account = Account.create("owner-1", "USD", AccountType.CHECKING, LARGE_BALANCE, now, now,
+                "00000000000000000000");
+    }
+
+    @Benchmark
+    public Account create() {
+        return Account.create("owner-1", "USD", AccountType.CHECKING, OPENING_BALANCE, now, now,
+                "00000000000000000000");
+    }
+
+    @Benchmark
+    public Account deposit() {
+        account.deposit(AMOUNT);
+        return account;
+    }
+
+    @Benchmark
+    public Account withdraw() {
+        account.withdraw(AMOUNT);
+        return account;
+    }
+}
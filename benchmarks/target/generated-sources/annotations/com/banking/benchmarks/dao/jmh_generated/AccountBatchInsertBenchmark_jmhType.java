@@ -0,0 +1,4 @@
+package com.banking.benchmarks.dao.jmh_generated;
+public class AccountBatchInsertBenchmark_jmhType extends AccountBatchInsertBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.banking.benchmarks.dao.jmh_generated;
+public class AccountDaoBenchmark_jmhType extends AccountDaoBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.banking.benchmarks.events.jmh_generated;
+public class AccountCreatedEventSerializerBenchmark_jmhType extends AccountCreatedEventSerializerBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.banking.benchmarks.events.jmh_generated;
+public class DebeziumChangeDecoderBenchmark_jmhType extends DebeziumChangeDecoderBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.banking.benchmarks.events.jmh_generated;
+public class EventCodecBenchmark_jmhType extends EventCodecBenchmark_jmhType_B3 {
+}
+
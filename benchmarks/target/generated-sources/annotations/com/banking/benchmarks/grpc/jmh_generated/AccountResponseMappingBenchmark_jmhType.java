@@ -0,0 +1,4 @@
+package com.banking.benchmarks.grpc.jmh_generated;
+public class AccountResponseMappingBenchmark_jmhType extends AccountResponseMappingBenchmark_jmhType_B3 {
+}
+
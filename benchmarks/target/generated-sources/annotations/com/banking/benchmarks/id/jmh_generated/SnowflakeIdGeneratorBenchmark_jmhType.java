@@ -0,0 +1,4 @@
+package com.banking.benchmarks.id.jmh_generated;
+public class SnowflakeIdGeneratorBenchmark_jmhType extends SnowflakeIdGeneratorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.banking.benchmarks.id.jmh_generated;
+public class UuidGeneratorBenchmark_jmhType extends UuidGeneratorBenchmark_jmhType_B3 {
+}
+
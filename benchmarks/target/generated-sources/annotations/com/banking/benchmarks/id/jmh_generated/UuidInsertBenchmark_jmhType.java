@@ -0,0 +1,4 @@
+package com.banking.benchmarks.id.jmh_generated;
+public class UuidInsertBenchmark_jmhType extends UuidInsertBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.banking.benchmarks.model.jmh_generated;
+public class AccountBenchmark_jmhType extends AccountBenchmark_jmhType_B3 {
+}
+
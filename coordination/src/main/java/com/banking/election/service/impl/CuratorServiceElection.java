@@ -2,6 +2,9 @@ package com.banking.election.service.impl;
 
 import com.banking.election.service.ServiceElection;
 import com.banking.election.service.ServiceElectionListener;
+import com.banking.observability.Counter;
+import com.banking.observability.MetricsRegistry;
+import com.banking.observability.jfr.LeadershipChangeEvent;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.recipes.leader.LeaderLatch;
 import org.apache.curator.framework.recipes.leader.LeaderLatchListener;
@@ -15,13 +18,18 @@ public class CuratorServiceElection implements ServiceElection {
     private final List<ServiceElectionListener> listeners = new CopyOnWriteArrayList<>();
     private final LeaderLatch leaderLatch;
     private final String nodeId;
+    private final String latchPath;
     private static final Logger logger = LoggerFactory.getLogger(CuratorServiceElection.class);
     private volatile boolean closed = false;
+    private final Counter elections;
+    private final Counter revocations;
 
     private final LeaderLatchListener internalListener = new LeaderLatchListener() {
         @Override
         public void isLeader() {
             logger.info("Node {} is now the LEADER", nodeId);
+            elections.increment();
+            recordLeadershipChange(true);
             notifyListeners(true);
             performLeaderTasks();
         }
@@ -29,14 +37,28 @@ public class CuratorServiceElection implements ServiceElection {
         @Override
         public void notLeader() {
             logger.info("Node {} is no longer the leader", nodeId);
+            revocations.increment();
+            recordLeadershipChange(false);
             notifyListeners(false);
             stopLeaderTasks();
         }
     };
 
     public CuratorServiceElection(CuratorFramework client, String latchPath, String nodeId) {
+        this(client, latchPath, nodeId, MetricsRegistry.INSTANCE);
+    }
+
+    public CuratorServiceElection(CuratorFramework client, String latchPath, String nodeId,
+                                  MetricsRegistry registry) {
         this.nodeId = nodeId;
+        this.latchPath = latchPath;
         this.leaderLatch = new LeaderLatch(client, latchPath, nodeId);
+        registry.gauge("election_is_leader", "1 while this node holds leadership", "latch")
+                .labels(latchPath).track(() -> isLeader() ? 1 : 0);
+        this.elections = registry.counter("election_leadership_acquired_total",
+                "Times this node became leader", "latch").labels(latchPath);
+        this.revocations = registry.counter("election_leadership_lost_total",
+                "Times this node lost leadership", "latch").labels(latchPath);
     }
 
     @Override
@@ -45,6 +67,16 @@ public class CuratorServiceElection implements ServiceElection {
         leaderLatch.start();
     }
 
+    private void recordLeadershipChange(boolean leader) {
+        LeadershipChangeEvent event = new LeadershipChangeEvent();
+        if (event.shouldCommit()) {
+            event.latchPath = latchPath;
+            event.nodeId = nodeId;
+            event.leader = leader;
+            event.commit();
+        }
+    }
+
     private void notifyListeners(boolean isLeader) {
         for (ServiceElectionListener listener : listeners) {
             try {
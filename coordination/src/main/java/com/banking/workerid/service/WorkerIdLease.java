@@ -0,0 +1,31 @@
+package com.banking.workerid.service;
+
+/**
+ * Exclusive claim on a small integer worker ID, for ID schemes that must not hand the same
+ * worker ID to two live nodes.
+ */
+public interface WorkerIdLease extends AutoCloseable {
+    /**
+     * Claim a worker ID. Blocks until one is held or none is free.
+     */
+    void acquire() throws Exception;
+
+    /**
+     * @return the claimed worker ID
+     * @throws IllegalStateException if {@link #acquire()} has not succeeded
+     */
+    int getWorkerId();
+
+    /**
+     * Check whether no other node can currently hold this worker ID.
+     * Callers must stop issuing IDs while this returns false.
+     * @return true while the lease is held
+     */
+    boolean isValid();
+
+    /**
+     * Release the worker ID.
+     */
+    @Override
+    void close() throws Exception;
+}
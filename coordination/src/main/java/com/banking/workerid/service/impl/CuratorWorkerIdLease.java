@@ -0,0 +1,141 @@
+package com.banking.workerid.service.impl;
+
+import com.banking.workerid.service.WorkerIdLease;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.state.ConnectionState;
+import org.apache.curator.framework.state.ConnectionStateListener;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Leases a worker ID by creating the ephemeral node {@code <basePath>/<id>} for the first free ID.
+ * <p>
+ * The node disappears with the ZooKeeper session, so a crashed node frees its ID once the session
+ * times out. The lease turns invalid as soon as the connection is suspended, because the session
+ * may expire on the server before the client notices, and only turns valid again after
+ * reconnecting if the node still belongs to this session or could be recreated.
+ */
+public class CuratorWorkerIdLease implements WorkerIdLease {
+    private static final Logger logger = LoggerFactory.getLogger(CuratorWorkerIdLease.class);
+
+    private final CuratorFramework client;
+    private final String basePath;
+    private final int maxWorkers;
+    private final byte[] nodeData;
+
+    private final ConnectionStateListener connectionListener = this::onConnectionStateChanged;
+
+    private volatile int workerId = -1;
+    private volatile boolean valid = false;
+    private volatile boolean closed = false;
+
+    public CuratorWorkerIdLease(CuratorFramework client, String basePath, int maxWorkers, String nodeId) {
+        if (maxWorkers <= 0) {
+            throw new IllegalArgumentException("maxWorkers must be positive");
+        }
+        this.client = client;
+        this.basePath = basePath;
+        this.maxWorkers = maxWorkers;
+        this.nodeData = nodeId.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void acquire() throws Exception {
+        if (closed) throw new IllegalStateException("Worker ID lease closed");
+        if (workerId >= 0) return;
+
+        // A random starting point keeps nodes that boot together from racing for the same IDs
+        int start = ThreadLocalRandom.current().nextInt(maxWorkers);
+        for (int i = 0; i < maxWorkers; i++) {
+            int candidate = (start + i) % maxWorkers;
+            try {
+                client.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL)
+                        .forPath(pathOf(candidate), nodeData);
+            } catch (KeeperException.NodeExistsException e) {
+                continue;
+            }
+            workerId = candidate;
+            client.getConnectionStateListenable().addListener(connectionListener);
+            valid = true;
+            logger.info("Leased worker ID {} under {}", candidate, basePath);
+            return;
+        }
+        throw new IllegalStateException("All " + maxWorkers + " worker IDs under " + basePath + " are taken");
+    }
+
+    @Override
+    public int getWorkerId() {
+        int id = workerId;
+        if (id < 0) throw new IllegalStateException("Worker ID not acquired");
+        return id;
+    }
+
+    @Override
+    public boolean isValid() {
+        return valid;
+    }
+
+    private void onConnectionStateChanged(CuratorFramework client, ConnectionState newState) {
+        switch (newState) {
+            case SUSPENDED, LOST -> {
+                if (valid) {
+                    valid = false;
+                    logger.warn("Worker ID {} lease suspended: connection {}", workerId, newState);
+                }
+            }
+            case RECONNECTED -> reclaim();
+            default -> { }
+        }
+    }
+
+    private synchronized void reclaim() {
+        if (closed || valid) return;
+        String path = pathOf(workerId);
+        try {
+            try {
+                // The session expired and took the node with it
+                client.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL).forPath(path, nodeData);
+            } catch (KeeperException.NodeExistsException e) {
+                Stat stat = client.checkExists().forPath(path);
+                long sessionId = client.getZookeeperClient().getZooKeeper().getSessionId();
+                if (stat == null || stat.getEphemeralOwner() != sessionId) {
+                    logger.error("Worker ID {} is now held by another node; ID generation stays disabled", workerId);
+                    return;
+                }
+            }
+            valid = true;
+            logger.info("Worker ID {} lease restored", workerId);
+        } catch (Exception e) {
+            logger.error("Error restoring worker ID {} lease", workerId, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (closed) return;
+        closed = true;
+        valid = false;
+        if (workerId < 0) return;
+
+        client.getConnectionStateListenable().removeListener(connectionListener);
+        try {
+            client.delete().guaranteed().forPath(pathOf(workerId));
+        } catch (KeeperException.NoNodeException e) {
+            logger.debug("Worker ID {} node already gone", workerId);
+        } catch (Exception e) {
+            logger.warn("Error releasing worker ID {}", workerId, e);
+            throw e;
+        }
+        logger.info("Released worker ID {}", workerId);
+    }
+
+    private String pathOf(int id) {
+        return basePath + "/" + id;
+    }
+}
@@ -0,0 +1,38 @@
+package com.banking.workerid.service.impl;
+
+import com.banking.workerid.service.WorkerIdLease;
+
+/**
+ * Worker ID fixed by configuration, for single-node deployments and tests.
+ * Nothing stops two nodes from being configured with the same ID.
+ */
+public class StaticWorkerIdLease implements WorkerIdLease {
+    private final int workerId;
+    private volatile boolean closed = false;
+
+    public StaticWorkerIdLease(int workerId) {
+        if (workerId < 0) {
+            throw new IllegalArgumentException("workerId must not be negative: " + workerId);
+        }
+        this.workerId = workerId;
+    }
+
+    @Override
+    public void acquire() {
+    }
+
+    @Override
+    public int getWorkerId() {
+        return workerId;
+    }
+
+    @Override
+    public boolean isValid() {
+        return !closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,110 @@
+package com.banking.workerid.service.impl;
+
+import com.banking.registry.service.impl.CuratorZooKeeperClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+@DisplayName("CuratorWorkerIdLease Integration Tests")
+class CuratorWorkerIdLeaseTest {
+
+    private static final int ZOOKEEPER_PORT = 2181;
+    private static final String BASE_PATH = "/worker-ids";
+
+    @Container
+    private static final GenericContainer<?> zookeeperContainer =
+            new GenericContainer<>("zookeeper:latest")
+                    .withExposedPorts(ZOOKEEPER_PORT)
+                    .withEnv("ZOO_MY_ID", "1")
+                    .withEnv("ZOOKEEPER_CLIENT_PORT", "2181");
+
+    private CuratorZooKeeperClient curatorClient;
+
+    private final List<CuratorWorkerIdLease> leases = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String connectionString = String.format("%s:%d",
+                zookeeperContainer.getHost(),
+                zookeeperContainer.getMappedPort(ZOOKEEPER_PORT));
+
+        curatorClient = new CuratorZooKeeperClient(connectionString);
+        curatorClient.getClient().blockUntilConnected();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (CuratorWorkerIdLease lease : leases) {
+            lease.close();
+        }
+        if (curatorClient != null) {
+            curatorClient.close();
+        }
+    }
+
+    private CuratorWorkerIdLease newLease(int maxWorkers, String nodeId) {
+        CuratorWorkerIdLease lease = new CuratorWorkerIdLease(curatorClient.getClient(), BASE_PATH, maxWorkers, nodeId);
+        leases.add(lease);
+        return lease;
+    }
+
+    @Test
+    @DisplayName("Should hand out distinct worker IDs")
+    void shouldHandOutDistinctWorkerIds() throws Exception {
+        Set<Integer> workerIds = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            CuratorWorkerIdLease lease = newLease(4, "node-" + i);
+            lease.acquire();
+            assertTrue(lease.isValid());
+            workerIds.add(lease.getWorkerId());
+        }
+
+        assertEquals(Set.of(0, 1, 2, 3), workerIds);
+        assertTrue(curatorClient.exists(BASE_PATH + "/" + leases.get(0).getWorkerId()));
+    }
+
+    @Test
+    @DisplayName("Should fail when every worker ID is taken")
+    void shouldFailWhenEveryWorkerIdIsTaken() throws Exception {
+        newLease(2, "node-a").acquire();
+        newLease(2, "node-b").acquire();
+
+        assertThrows(IllegalStateException.class, () -> newLease(2, "node-c").acquire());
+    }
+
+    @Test
+    @DisplayName("Should free the worker ID on close")
+    void shouldFreeWorkerIdOnClose() throws Exception {
+        CuratorWorkerIdLease first = newLease(1, "node-a");
+        first.acquire();
+        first.close();
+
+        assertFalse(first.isValid());
+        assertFalse(curatorClient.exists(BASE_PATH + "/0"));
+
+        CuratorWorkerIdLease second = newLease(1, "node-b");
+        second.acquire();
+        assertEquals(0, second.getWorkerId());
+    }
+
+    @Test
+    @DisplayName("Should reject getWorkerId before acquire")
+    void shouldRejectGetWorkerIdBeforeAcquire() {
+        CuratorWorkerIdLease lease = newLease(4, "node-a");
+
+        assertFalse(lease.isValid());
+        assertThrows(IllegalStateException.class, lease::getWorkerId);
+    }
+}
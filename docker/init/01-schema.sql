@@ -0,0 +1,49 @@
+-- Schema of the banking database. Runs on the first start of the postgres service in
+-- docker-compose.db.yml; every statement is idempotent, so the file can also be applied by hand to
+-- upgrade an existing database (psql -f docker/init/01-schema.sql).
+
+CREATE TABLE IF NOT EXISTS accounts (
+    account_id   VARCHAR(36)    PRIMARY KEY,
+    number       VARCHAR(32)    NOT NULL UNIQUE,
+    owner_id     VARCHAR        NOT NULL,
+    -- Wide enough for every supported currency's minor units
+    balance      NUMERIC(19, 4) NOT NULL,
+    currency     VARCHAR(3)     NOT NULL,
+    account_type VARCHAR(16)    NOT NULL,
+    status       VARCHAR(16)    NOT NULL,
+    created_at   TIMESTAMP      NOT NULL,
+    updated_at   TIMESTAMP      NOT NULL
+);
+
+-- Optimistic concurrency: every UPDATE of an account increments the version and checks the one it read.
+-- Existing rows start at 0.
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Outbox of account creations, relayed in (timestamp, event_id) order
+CREATE TABLE IF NOT EXISTS account_creation_events (
+    event_id        VARCHAR(36)    PRIMARY KEY,
+    event_type      VARCHAR(32)    NOT NULL,
+    command_id      VARCHAR,
+    source          VARCHAR,
+    owner_id        VARCHAR        NOT NULL,
+    currency        VARCHAR(3)     NOT NULL,
+    initial_balance NUMERIC(19, 4) NOT NULL,
+    account_type    VARCHAR(16)    NOT NULL,
+    created_at      TIMESTAMP      NOT NULL,
+    updated_at      TIMESTAMP      NOT NULL,
+    timestamp       BIGINT         NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS account_creation_events_order_idx
+    ON account_creation_events (timestamp, event_id);
+
+-- Client idempotency keys of mutating RPCs. created_at is when the key was claimed; the owner completes or
+-- releases the row only while created_at still matches its claim. A PENDING row older than the guard's
+-- pending timeout is never run again, as its request may have been applied; it needs reconciling.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(128) PRIMARY KEY,
+    operation       VARCHAR(64)  NOT NULL,
+    status          VARCHAR(16)  NOT NULL,
+    response        BYTEA,
+    created_at      TIMESTAMP    NOT NULL
+);
@@ -0,0 +1,270 @@
+package com.bank.filelog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only log on local disk, split into memory-mapped {@link LogSegment}s named after the offset of
+ * their first entry. A new segment is started when the next entry does not fit the current one.
+ * <p>
+ * Appends are serialized; reads and {@link FileLogConsumer}s run concurrently with them. Opening the
+ * log scans every segment to rebuild its index and find the end, so startup time grows with the
+ * amount of data kept.
+ */
+public class FileLog implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FileLog.class);
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+    public static final int DEFAULT_INDEX_INTERVAL_BYTES = 4 * 1024;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int indexIntervalBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition appended = appendLock.newCondition();
+    private final ScheduledExecutorService flusher;
+    private volatile LogSegment active;
+    private volatile boolean closed;
+
+    public FileLog(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES, DEFAULT_INDEX_INTERVAL_BYTES, FsyncPolicy.PERIODIC, 1_000);
+    }
+
+    /**
+     * @param segmentBytes        capacity of each segment file; also the largest entry the log accepts
+     * @param indexIntervalBytes  bytes of entries between two sparse index points
+     * @param fsyncIntervalMillis flush period for {@link FsyncPolicy#PERIODIC}, ignored otherwise
+     */
+    public FileLog(Path directory, int segmentBytes, int indexIntervalBytes, FsyncPolicy fsyncPolicy,
+                   long fsyncIntervalMillis) throws IOException {
+        if (segmentBytes <= LogSegment.HEADER_BYTES || indexIntervalBytes <= 0) {
+            throw new IllegalArgumentException("Segment size and index interval must be positive");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.indexIntervalBytes = indexIntervalBytes;
+        this.fsyncPolicy = fsyncPolicy;
+        Files.createDirectories(directory);
+        openSegments();
+
+        if (fsyncPolicy == FsyncPolicy.PERIODIC) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "file-log-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, fsyncIntervalMillis, fsyncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+        logger.info("Opened file log at {} with {} segments, next offset {}", directory, segments.size(),
+                nextOffset());
+    }
+
+    /**
+     * Appends an entry and returns its offset. With {@link FsyncPolicy#ALWAYS} the entry is on disk when
+     * this returns.
+     *
+     * @param key account ID the entry belongs to, or null
+     * @throws IllegalArgumentException if the entry is larger than a segment
+     */
+    public long append(String key, byte[] payload) throws IOException {
+        byte[] keyBytes = key == null ? null : key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes != null && keyBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Key of " + keyBytes.length + " bytes is too long");
+        }
+        int entrySize = LogSegment.entrySize(keyBytes, payload);
+        if (entrySize > segmentBytes) {
+            throw new IllegalArgumentException("Entry of " + entrySize + " bytes exceeds the segment size "
+                    + segmentBytes);
+        }
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IOException("File log " + directory + " is closed");
+            }
+            LogSegment segment = active;
+            if (!segment.fits(entrySize)) {
+                segment = roll(segment);
+            }
+            long offset = segment.nextOffset();
+            segment.append(System.currentTimeMillis(), keyBytes, payload);
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                segment.force();
+            }
+            appended.signalAll();
+            return offset;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code maxRecords} entries from {@code fromOffset} on, possibly spanning segments;
+     *         empty if there are none yet
+     */
+    public List<LogRecord> read(long fromOffset, int maxRecords) {
+        List<LogRecord> records = new ArrayList<>();
+        long offset = Math.max(fromOffset, startOffset());
+        Map.Entry<Long, LogSegment> entry = segments.floorEntry(offset);
+        while (entry != null && records.size() < maxRecords) {
+            List<LogRecord> read = entry.getValue().read(offset, maxRecords - records.size());
+            records.addAll(read);
+            if (!read.isEmpty()) {
+                offset = read.get(read.size() - 1).offset() + 1;
+            }
+            if (offset < entry.getValue().nextOffset()) {
+                break;
+            }
+            entry = segments.higherEntry(entry.getKey());
+        }
+        return records;
+    }
+
+    /**
+     * Waits until an entry at {@code offset} exists or the timeout passes.
+     *
+     * @return whether the entry exists
+     */
+    public boolean awaitOffset(long offset, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offset < nextOffset()) {
+            return true;
+        }
+        long remaining = unit.toNanos(timeout);
+        appendLock.lock();
+        try {
+            while (offset >= nextOffset() && remaining > 0 && !closed) {
+                remaining = appended.awaitNanos(remaining);
+            }
+            return offset < nextOffset();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long startOffset() {
+        return segments.firstKey();
+    }
+
+    /**
+     * @return offset the next appended entry gets
+     */
+    public long nextOffset() {
+        return active.nextOffset();
+    }
+
+    /**
+     * Opens a consumer that resumes from the offset last committed under {@code name}.
+     */
+    public FileLogConsumer consumer(String name) throws IOException {
+        return new FileLogConsumer(this, name, directory.resolve(FileLogConsumer.OFFSETS_DIRECTORY));
+    }
+
+    /**
+     * Forces all appended entries to disk.
+     */
+    public void flush() {
+        for (LogSegment segment : segments.values()) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appended.signalAll();
+        } finally {
+            appendLock.unlock();
+        }
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        IOException failure = null;
+        for (LogSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        logger.info("Closed file log at {}", directory);
+    }
+
+    //=== Segments ===//
+
+    private void openSegments() throws IOException {
+        List<Long> baseOffsets = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.log")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                baseOffsets.add(Long.parseLong(name.substring(0, name.length() - ".log".length())));
+            }
+        }
+        baseOffsets.sort(null);
+        if (baseOffsets.isEmpty()) {
+            baseOffsets.add(0L);
+        }
+        try {
+            for (long baseOffset : baseOffsets) {
+                LogSegment segment = LogSegment.open(directory, baseOffset, segmentBytes, indexIntervalBytes);
+                LogSegment previous = segments.isEmpty() ? null : segments.lastEntry().getValue();
+                if (previous != null && previous.nextOffset() != baseOffset) {
+                    throw new IOException("Segment " + segment.file() + " does not follow offset "
+                            + previous.nextOffset());
+                }
+                segments.put(baseOffset, segment);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (LogSegment segment : segments.values()) {
+                segment.close();
+            }
+            throw e;
+        }
+        active = segments.lastEntry().getValue();
+    }
+
+    private LogSegment roll(LogSegment full) throws IOException {
+        // A sealed segment is never written again, so flush it now whatever the policy
+        full.force();
+        LogSegment next = LogSegment.open(directory, full.nextOffset(), segmentBytes, indexIntervalBytes);
+        segments.put(next.baseOffset(), next);
+        active = next;
+        logger.debug("Rolled file log {} to segment {}", directory, next.file());
+        return next;
+    }
+
+    private void flushQuietly() {
+        try {
+            active.force();
+        } catch (UncheckedIOException | IllegalStateException e) {
+            logger.warn("Failed to flush file log {}", directory, e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.filelog;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * FileLogConfig:
+ * Loads the embedded file log settings from .env or environment variables.
+ */
+public class FileLogConfig {
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int indexIntervalBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+
+    public FileLogConfig() {
+        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+
+        this.directory = Path.of(dotenv.get("LOG_DIR", "data/log"));
+        this.segmentBytes = parsePositive(dotenv, "LOG_SEGMENT_BYTES",
+                String.valueOf(FileLog.DEFAULT_SEGMENT_BYTES));
+        this.indexIntervalBytes = parsePositive(dotenv, "LOG_INDEX_INTERVAL_BYTES",
+                String.valueOf(FileLog.DEFAULT_INDEX_INTERVAL_BYTES));
+        // always: fsync every append; periodic: every LOG_FSYNC_INTERVAL_MS; never: leave it to the OS
+        this.fsyncPolicy = FsyncPolicy.valueOf(dotenv.get("LOG_FSYNC", "periodic").toUpperCase(Locale.ROOT));
+        this.fsyncIntervalMillis = parsePositive(dotenv, "LOG_FSYNC_INTERVAL_MS", "1000");
+    }
+
+    private static int parsePositive(Dotenv dotenv, String key, String defaultValue) {
+        int value = Integer.parseInt(dotenv.get(key, defaultValue));
+        if (value <= 0) {
+            throw new IllegalArgumentException(key + " must be positive: " + value);
+        }
+        return value;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public int getIndexIntervalBytes() {
+        return indexIntervalBytes;
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public long getFsyncIntervalMillis() {
+        return fsyncIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("File Log Config [directory=%s, segmentBytes=%d, fsync=%s]",
+                directory, segmentBytes, fsyncPolicy);
+    }
+}
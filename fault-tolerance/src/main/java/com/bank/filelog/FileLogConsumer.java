@@ -0,0 +1,98 @@
+package com.bank.filelog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Reads a {@link FileLog} in order from a position of its own. Any number of consumers can read the same
+ * log; each named one keeps the offset it last committed in {@code consumers/<name>.offset} and resumes
+ * from it when reopened. A consumer is not thread-safe.
+ */
+public class FileLogConsumer {
+    static final String OFFSETS_DIRECTORY = "consumers";
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final FileLog log;
+    private final String name;
+    private final Path offsetFile;
+    private long position;
+
+    FileLogConsumer(FileLog log, String name, Path offsetsDirectory) throws IOException {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid consumer name: " + name);
+        }
+        this.log = log;
+        this.name = name;
+        Files.createDirectories(offsetsDirectory);
+        this.offsetFile = offsetsDirectory.resolve(name + ".offset");
+        this.position = Math.max(readCommitted(), log.startOffset());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return offset of the next entry {@link #poll} returns
+     */
+    public long position() {
+        return position;
+    }
+
+    public void seek(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        position = offset;
+    }
+
+    /**
+     * Returns up to {@code maxRecords} entries from the current position and moves past them, waiting up
+     * to the timeout for the first one to be appended.
+     *
+     * @return the entries, empty if none arrived in time
+     */
+    public List<LogRecord> poll(int maxRecords, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!log.awaitOffset(position, timeout, unit)) {
+            return List.of();
+        }
+        List<LogRecord> records = log.read(position, maxRecords);
+        if (!records.isEmpty()) {
+            position = records.get(records.size() - 1).offset() + 1;
+        }
+        return records;
+    }
+
+    /**
+     * Commits the current position, so a reopened consumer starts after the entries polled so far.
+     */
+    public void commit() throws IOException {
+        commit(position);
+    }
+
+    /**
+     * Commits {@code offset} as the next entry to read after a restart.
+     */
+    public void commit(long offset) throws IOException {
+        Path temp = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+        Files.write(temp, ByteBuffer.allocate(Long.BYTES).putLong(offset).array());
+        Files.move(temp, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private long readCommitted() throws IOException {
+        if (!Files.exists(offsetFile)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(offsetFile);
+        if (bytes.length != Long.BYTES) {
+            throw new IOException("Corrupt offset file " + offsetFile);
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
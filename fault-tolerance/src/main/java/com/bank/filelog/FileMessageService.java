@@ -0,0 +1,100 @@
+package com.bank.filelog;
+
+import com.bank.pulsar.MessageService;
+import com.bank.pulsar.exception.MessageServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link MessageService} that keeps the replication log in an embedded {@link FileLog} instead of a
+ * broker. Replicas in the same process read it through {@link #newConsumer}. Sends are durable according
+ * to the configured {@link FsyncPolicy}.
+ */
+public class FileMessageService implements MessageService {
+    private static final Logger logger = LoggerFactory.getLogger(FileMessageService.class);
+
+    private final FileLogConfig config;
+    private FileLog log;
+
+    public FileMessageService(FileLogConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public void start() throws MessageServiceException {
+        try {
+            log = new FileLog(config.getDirectory(), config.getSegmentBytes(), config.getIndexIntervalBytes(),
+                    config.getFsyncPolicy(), config.getFsyncIntervalMillis());
+        } catch (IOException e) {
+            throw new MessageServiceException("Failed to open file log at " + config.getDirectory(), e);
+        }
+        logger.info("File message service started: {}", config);
+    }
+
+    @Override
+    public void sendLogMessage(byte[] message) throws MessageServiceException {
+        sendLogMessage(null, message);
+    }
+
+    @Override
+    public void sendLogMessage(String key, byte[] message) throws MessageServiceException {
+        try {
+            long offset = getLog().append(key, message);
+            logger.debug("Appended log message at offset {}", offset);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MessageServiceException("Failed to append log message", e);
+        }
+    }
+
+    /**
+     * Appends synchronously; a local append is cheap enough not to need a pipeline.
+     */
+    @Override
+    public CompletableFuture<Void> sendLogMessageAsync(String key, byte[] message) {
+        try {
+            sendLogMessage(key, message);
+            return CompletableFuture.completedFuture(null);
+        } catch (MessageServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> sendLogMessageAsync(byte[] message) {
+        return sendLogMessageAsync(null, message);
+    }
+
+    /**
+     * Opens a consumer of the log that resumes from the offset last committed under {@code name}.
+     */
+    public FileLogConsumer newConsumer(String name) throws MessageServiceException {
+        try {
+            return getLog().consumer(name);
+        } catch (IOException e) {
+            throw new MessageServiceException("Failed to open consumer " + name, e);
+        }
+    }
+
+    public FileLog getLog() {
+        if (log == null) {
+            throw new IllegalStateException("File message service is not started");
+        }
+        return log;
+    }
+
+    @Override
+    public void close() throws MessageServiceException {
+        if (log == null) {
+            return;
+        }
+        try {
+            log.close();
+            logger.info("File message service closed");
+        } catch (IOException e) {
+            throw new MessageServiceException("Failed to close file log", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.bank.filelog;
+
+/**
+ * When appended entries are forced from the page cache to disk. Entries are visible to consumers as
+ * soon as they are appended whatever the policy; the policy only decides what survives a power loss.
+ */
+public enum FsyncPolicy {
+    /** Before every append returns. Nothing acknowledged is lost, at the cost of one flush per entry. */
+    ALWAYS,
+    /** On a timer; a crash loses at most one interval of entries. */
+    PERIODIC,
+    /** Left to the operating system, except when a segment is rolled or the log is closed. */
+    NEVER
+}
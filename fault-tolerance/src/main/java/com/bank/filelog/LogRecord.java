@@ -0,0 +1,11 @@
+package com.bank.filelog;
+
+/**
+ * One entry of a {@link FileLog}.
+ *
+ * @param offset    position of the entry in the log, starting at 0 and without gaps
+ * @param timestamp append time in epoch milliseconds
+ * @param key       account ID the entry belongs to, or null
+ */
+public record LogRecord(long offset, long timestamp, String key, byte[] payload) {
+}
@@ -0,0 +1,290 @@
+package com.bank.filelog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped file of a {@link FileLog}, holding the entries from {@link #baseOffset()} on.
+ * <p>
+ * The file is sized to its capacity up front and entries are written back to back:
+ * <pre>
+ *   int   length of the rest of the entry
+ *   int   CRC32C of everything after this field
+ *   long  offset
+ *   long  timestamp
+ *   short key length in bytes, -1 for no key
+ *   key bytes, payload bytes
+ * </pre>
+ * The length is written last. Recovery stops at the first entry whose length, offset or checksum does
+ * not check out, which is the end of the data after a clean shutdown or a torn write, and zeroes
+ * everything after it. Otherwise entries lost in a crash could pass the checks again once appends of
+ * the same sizes have rewritten the offsets before them.
+ * <p>
+ * A sparse index maps every entry that starts at least {@code indexIntervalBytes} after the previous
+ * indexed one to its file position; a lookup binary-searches the index and scans forward from there. The index lives in memory and is
+ * rebuilt by the scan that recovers the segment when it is opened.
+ * <p>
+ * Only one thread appends. Readers may run concurrently: they see entries up to the published size.
+ */
+final class LogSegment implements Closeable {
+
+    static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES * 2 + Short.BYTES;
+    private static final int CHECKED_FROM = Integer.BYTES * 2;
+
+    private final long baseOffset;
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int indexIntervalBytes;
+
+    private int[] indexOffsets = new int[64];
+    private int[] indexPositions = new int[64];
+    private int indexSize;
+    private int lastIndexedPosition = -1;
+
+    // Published after an entry is fully written, so readers never see a partial entry
+    private volatile int size;
+    private volatile long nextOffset;
+    private int forcedSize;
+
+    private LogSegment(long baseOffset, Path file, FileChannel channel, MappedByteBuffer buffer,
+                       int indexIntervalBytes) {
+        this.baseOffset = baseOffset;
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.indexIntervalBytes = indexIntervalBytes;
+        this.nextOffset = baseOffset;
+    }
+
+    /**
+     * Opens the segment file starting at {@code baseOffset}, creating it with {@code capacity} bytes if
+     * missing, and recovers the entries it holds. A torn or corrupt tail is dropped. A new file's
+     * directory entry is forced to disk before this returns.
+     */
+    static LogSegment open(Path directory, long baseOffset, int capacity, int indexIntervalBytes)
+            throws IOException {
+        Path file = directory.resolve(fileName(baseOffset));
+        boolean created = Files.notExists(file);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long length = Math.max(channel.size(), capacity);
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Segment " + file + " is larger than 2 GiB");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            LogSegment segment = new LogSegment(baseOffset, file, channel, buffer, indexIntervalBytes);
+            segment.recover();
+            if (created) {
+                forceDirectory(directory);
+            }
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Forces a directory's entries, such as a newly created file, to disk.
+     */
+    static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows cannot open a directory as a channel
+        }
+    }
+
+    static String fileName(long baseOffset) {
+        return String.format("%020d.log", baseOffset);
+    }
+
+    long baseOffset() { return baseOffset; }
+    long nextOffset() { return nextOffset; }
+    int size() { return size; }
+    Path file() { return file; }
+
+    static int entrySize(byte[] key, byte[] payload) {
+        return HEADER_BYTES + (key == null ? 0 : key.length) + payload.length;
+    }
+
+    boolean fits(int entrySize) {
+        return size + entrySize <= buffer.capacity();
+    }
+
+    /**
+     * Writes the next entry. The caller checks {@link #fits} first.
+     */
+    void append(long timestamp, byte[] key, byte[] payload) {
+        int position = size;
+        int entrySize = entrySize(key, payload);
+        long offset = nextOffset;
+        buffer.putLong(position + CHECKED_FROM, offset);
+        buffer.putLong(position + CHECKED_FROM + Long.BYTES, timestamp);
+        buffer.putShort(position + CHECKED_FROM + Long.BYTES * 2, (short) (key == null ? -1 : key.length));
+        int dataPosition = position + HEADER_BYTES;
+        if (key != null) {
+            buffer.put(dataPosition, key);
+            dataPosition += key.length;
+        }
+        buffer.put(dataPosition, payload);
+        buffer.putInt(position + Integer.BYTES, checksum(position + CHECKED_FROM, entrySize - CHECKED_FROM));
+        buffer.putInt(position, entrySize - Integer.BYTES);
+
+        index(offset, position);
+        nextOffset = offset + 1;
+        size = position + entrySize;
+    }
+
+    /**
+     * @return up to {@code maxRecords} entries starting at {@code fromOffset}, fewer at the end of the segment
+     */
+    List<LogRecord> read(long fromOffset, int maxRecords) {
+        long end = nextOffset;
+        int limit = size;
+        if (fromOffset >= end || maxRecords <= 0) {
+            return List.of();
+        }
+        int position = floorPosition(fromOffset);
+        List<LogRecord> records = new ArrayList<>(Math.min(maxRecords, (int) Math.min(end - fromOffset, 1024)));
+        while (position < limit && records.size() < maxRecords) {
+            int entrySize = buffer.getInt(position) + Integer.BYTES;
+            long offset = buffer.getLong(position + CHECKED_FROM);
+            if (offset >= fromOffset) {
+                records.add(decode(position, entrySize));
+            }
+            position += entrySize;
+        }
+        return records;
+    }
+
+    /**
+     * Forces the entries written since the last call to disk.
+     */
+    synchronized void force() {
+        int current = size;
+        if (current > forcedSize) {
+            buffer.force(forcedSize, current - forcedSize);
+            forcedSize = current;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    //=== Internals ===//
+
+    private LogRecord decode(int position, int entrySize) {
+        long offset = buffer.getLong(position + CHECKED_FROM);
+        long timestamp = buffer.getLong(position + CHECKED_FROM + Long.BYTES);
+        int keyLength = buffer.getShort(position + CHECKED_FROM + Long.BYTES * 2);
+        int dataPosition = position + HEADER_BYTES;
+        String key = null;
+        if (keyLength >= 0) {
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(dataPosition, keyBytes);
+            key = new String(keyBytes, StandardCharsets.UTF_8);
+            dataPosition += keyLength;
+        }
+        byte[] payload = new byte[position + entrySize - dataPosition];
+        buffer.get(dataPosition, payload);
+        return new LogRecord(offset, timestamp, key, payload);
+    }
+
+    private int checksum(int position, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, length));
+        return (int) crc.getValue();
+    }
+
+    private synchronized void index(long offset, int position) {
+        if (lastIndexedPosition >= 0 && position - lastIndexedPosition < indexIntervalBytes) {
+            return;
+        }
+        if (indexSize == indexOffsets.length) {
+            indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+            indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+        }
+        indexOffsets[indexSize] = (int) (offset - baseOffset);
+        indexPositions[indexSize] = position;
+        indexSize++;
+        lastIndexedPosition = position;
+    }
+
+    private synchronized int floorPosition(long offset) {
+        int relative = (int) Math.max(0, offset - baseOffset);
+        int found = Arrays.binarySearch(indexOffsets, 0, indexSize, relative);
+        int entry = found >= 0 ? found : -found - 2;
+        return entry < 0 ? 0 : indexPositions[entry];
+    }
+
+    private void recover() {
+        int capacity = buffer.capacity();
+        int position = 0;
+        long offset = baseOffset;
+        while (position + HEADER_BYTES <= capacity) {
+            int entrySize = buffer.getInt(position) + Integer.BYTES;
+            if (entrySize < HEADER_BYTES || position + entrySize > capacity
+                    || buffer.getLong(position + CHECKED_FROM) != offset
+                    || buffer.getInt(position + Integer.BYTES)
+                    != checksum(position + CHECKED_FROM, entrySize - CHECKED_FROM)) {
+                break;
+            }
+            index(offset, position);
+            position += entrySize;
+            offset++;
+        }
+        clearTail(position);
+        nextOffset = offset;
+        size = position;
+        forcedSize = position;
+    }
+
+    /**
+     * Zeroes and forces everything after the recovered entries. Pages that are already zero are only
+     * read, so a clean segment is not rewritten.
+     */
+    private void clearTail(int position) {
+        int capacity = buffer.capacity();
+        boolean cleared = false;
+        int i = position;
+        for (; i < capacity && i % Long.BYTES != 0; i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+                cleared = true;
+            }
+        }
+        for (; i + Long.BYTES <= capacity; i += Long.BYTES) {
+            if (buffer.getLong(i) != 0) {
+                buffer.putLong(i, 0L);
+                cleared = true;
+            }
+        }
+        for (; i < capacity; i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            buffer.force(position, capacity - position);
+        }
+    }
+}
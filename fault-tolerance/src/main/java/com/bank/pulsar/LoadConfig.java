@@ -17,6 +17,18 @@ public class LoadConfig {
 
     private final String debeziumSubscription;
     private final String logSubscription;
+    private final String applierSubscription;
+
+    private final int receiveBatchSize;
+    private final long receiveBatchTimeoutMillis;
+    private final int payloadLogEvery;
+
+    private final int maxInFlightMessages;
+    private final long batchingMaxDelayMillis;
+    private final int batchingMaxBytes;
+
+    private final int applierLanes;
+    private final int applierMaxInFlight;
 
     public LoadConfig() {
         Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
@@ -34,6 +46,35 @@ public class LoadConfig {
         // Subscriptions
         this.debeziumSubscription = dotenv.get("PULSAR_DEBEZIUM_SUBSCRIPTION", "debezium-subscription");
         this.logSubscription = dotenv.get("PULSAR_LOG_SUBSCRIPTION", "log-subscription");
+        // Key_Shared, so it cannot share a name with the Shared log subscription
+        this.applierSubscription = dotenv.get("REPLICA_APPLIER_SUBSCRIPTION", "log-applier-subscription");
+
+        // Consumption: a batch size of 1 keeps the one-message receive loop with synchronous acks
+        this.receiveBatchSize = parsePositive(dotenv, "PULSAR_RECEIVE_BATCH_SIZE", "500");
+        this.receiveBatchTimeoutMillis = parsePositive(dotenv, "PULSAR_RECEIVE_BATCH_TIMEOUT_MS", "100");
+        // Log every Nth payload at INFO; 0 logs none
+        this.payloadLogEvery = Integer.parseInt(dotenv.get("PULSAR_PAYLOAD_LOG_EVERY", "0"));
+        if (payloadLogEvery < 0) {
+            throw new IllegalArgumentException("PULSAR_PAYLOAD_LOG_EVERY must not be negative: " + payloadLogEvery);
+        }
+
+        // Publishing: async sends block once this many messages await the broker
+        this.maxInFlightMessages = parsePositive(dotenv, "PULSAR_MAX_IN_FLIGHT", "1000");
+        this.batchingMaxDelayMillis = parsePositive(dotenv, "PULSAR_BATCHING_MAX_DELAY_MS", "5");
+        this.batchingMaxBytes = parsePositive(dotenv, "PULSAR_BATCHING_MAX_BYTES", "131072");
+
+        // Replica apply: one ordered lane per core by default
+        this.applierLanes = parsePositive(dotenv, "REPLICA_APPLIER_LANES",
+                String.valueOf(Runtime.getRuntime().availableProcessors()));
+        this.applierMaxInFlight = parsePositive(dotenv, "REPLICA_APPLIER_MAX_IN_FLIGHT", "1000");
+    }
+
+    private static int parsePositive(Dotenv dotenv, String key, String defaultValue) {
+        int value = Integer.parseInt(dotenv.get(key, defaultValue));
+        if (value <= 0) {
+            throw new IllegalArgumentException(key + " must be positive: " + value);
+        }
+        return value;
     }
 
     public String getPulsarUrl() {
@@ -60,6 +101,69 @@ public class LoadConfig {
         return Objects.requireNonNull(logSubscription, "Log subscription name not found");
     }
 
+    /**
+     * @return the Key_Shared subscription the replica applies the log through
+     */
+    public String getApplierSubscription() {
+        return Objects.requireNonNull(applierSubscription, "Applier subscription name not found");
+    }
+
+    /**
+     * @return the most messages one batch receive returns; 1 turns batch receiving off
+     */
+    public int getReceiveBatchSize() {
+        return receiveBatchSize;
+    }
+
+    /**
+     * @return how long a batch receive waits to fill a batch before returning what it has
+     */
+    public long getReceiveBatchTimeoutMillis() {
+        return receiveBatchTimeoutMillis;
+    }
+
+    /**
+     * @return log one in this many consumed payloads at INFO, or 0 to log none
+     */
+    public int getPayloadLogEvery() {
+        return payloadLogEvery;
+    }
+
+    /**
+     * @return how many published messages may await the broker before sends block
+     */
+    public int getMaxInFlightMessages() {
+        return maxInFlightMessages;
+    }
+
+    /**
+     * @return longest time a message waits in the producer for its batch to fill
+     */
+    public long getBatchingMaxDelayMillis() {
+        return batchingMaxDelayMillis;
+    }
+
+    /**
+     * @return size at which the producer sends a batch without waiting for the delay
+     */
+    public int getBatchingMaxBytes() {
+        return batchingMaxBytes;
+    }
+
+    /**
+     * @return number of threads the replica applies log entries on
+     */
+    public int getApplierLanes() {
+        return applierLanes;
+    }
+
+    /**
+     * @return how many received log entries may wait to be applied before the replica stops receiving
+     */
+    public int getApplierMaxInFlight() {
+        return applierMaxInFlight;
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -2,8 +2,43 @@ package com.bank.pulsar;
 
 import com.bank.pulsar.exception.MessageServiceException;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface MessageService {
     void sendLogMessage(byte[] message) throws MessageServiceException;
+
+    /**
+     * Sends a log message keyed by the account it belongs to. Messages with the same key are stored
+     * and delivered in the order they were sent, even when the log is partitioned.
+     * The default implementation ignores the key.
+     *
+     * @param key account ID, or null for a message that belongs to no account
+     */
+    default void sendLogMessage(String key, byte[] message) throws MessageServiceException {
+        sendLogMessage(message);
+    }
+
+    /**
+     * Sends a log message without waiting for the broker.
+     * Messages sent from one thread are stored in the order they were sent.
+     * The default implementation sends synchronously.
+     */
+    default CompletableFuture<Void> sendLogMessageAsync(byte[] message) {
+        try {
+            sendLogMessage(message);
+            return CompletableFuture.completedFuture(null);
+        } catch (MessageServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Async variant of {@link #sendLogMessage(String, byte[])}. The default implementation ignores the key.
+     */
+    default CompletableFuture<Void> sendLogMessageAsync(String key, byte[] message) {
+        return sendLogMessageAsync(message);
+    }
+
     void start() throws MessageServiceException;
     void close() throws MessageServiceException;
 }
@@ -0,0 +1,36 @@
+package com.bank.pulsar;
+
+import org.apache.pulsar.client.api.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Logs one in every {@code every} consumed payloads at INFO, and only message IDs at DEBUG otherwise,
+ * so a busy consumer does not spend its time decoding and writing payloads. Used by one loop at a time.
+ */
+class PayloadSampler {
+    private static final Logger logger = LoggerFactory.getLogger(PayloadSampler.class);
+
+    private final String source;
+    private final int every;
+    private long received;
+
+    /**
+     * @param every sampling interval, or 0 to log no payloads
+     */
+    PayloadSampler(String source, int every) {
+        this.source = source;
+        this.every = every;
+    }
+
+    void received(Message<byte[]> msg) {
+        if (every > 0 && received++ % every == 0) {
+            logger.info("{} message received: ID={} content={}", source, msg.getMessageId(),
+                    new String(msg.getData(), StandardCharsets.UTF_8));
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("{} message received: ID={}", source, msg.getMessageId());
+        }
+    }
+}
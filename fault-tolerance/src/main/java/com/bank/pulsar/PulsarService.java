@@ -1,11 +1,20 @@
 package com.bank.pulsar;
 
 import com.bank.pulsar.exception.MessageServiceException;
+import com.banking.observability.Counter;
+import com.banking.observability.LatencyHistogram;
+import com.banking.observability.MetricFamily;
+import com.banking.observability.MetricsRegistry;
+import com.banking.observability.jfr.MessageConsumeEvent;
+import com.banking.observability.jfr.MessageSendEvent;
 import org.apache.pulsar.client.api.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -29,8 +38,32 @@ public class PulsarService implements MessageService {
     private volatile boolean runningDebezium = true;
     private volatile boolean runningLog = true;
 
+    // Debezium forwarding: completes once every message received so far is published, in receive order.
+    // Confined to the Debezium loop.
+    private CompletableFuture<Void> forwarded = CompletableFuture.completedFuture(null);
+    private final Set<CompletableFuture<Void>> forwardsInFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean forwardFailed;
+
+    // Send latency runs until the broker has persisted the message
+    private final LatencyHistogram logSendDuration;
+    private final Counter logSendErrors;
+    private final LatencyHistogram debeziumAckDuration;
+    private final LatencyHistogram logAckDuration;
+
     public PulsarService(LoadConfig config) {
+        this(config, MetricsRegistry.INSTANCE);
+    }
+
+    public PulsarService(LoadConfig config, MetricsRegistry registry) {
         this.config = config;
+        this.logSendDuration = registry.histogram("pulsar_send_duration_seconds",
+                "Time from sending a message until the broker acknowledged it", "producer").labels("log");
+        this.logSendErrors = registry.counter("pulsar_send_errors_total",
+                "Messages the broker did not accept", "producer").labels("log");
+        MetricFamily<LatencyHistogram> ackDuration = registry.histogram("pulsar_ack_duration_seconds",
+                "Time taken to acknowledge a consumed message", "consumer");
+        this.debeziumAckDuration = ackDuration.labels("debezium");
+        this.logAckDuration = ackDuration.labels("log");
     }
 
     protected PulsarClient createPulsarClient(String url) throws PulsarClientException {
@@ -61,12 +94,26 @@ public class PulsarService implements MessageService {
 
     /**
      * Creates a new log producer that forwards messages to the log topic.
+     * Async sends are batched, and block the caller once the in-flight window is full.
+     * <p>
+     * The log topic may be partitioned (create it with {@code pulsar-admin topics create-partitioned-topic}).
+     * Keyed messages then go to the partition their Murmur3 key hash selects, so one account's messages
+     * stay in one partition; keyless ones are spread round-robin. Batches are grouped by key so that
+     * {@code Key_Shared} consumers can dispatch them.
      */
     public void newLogProducer() throws MessageServiceException {
         try {
             logProducer = client.newProducer()
                     .topic(config.getLogTopic()) // log topic
                     .compressionType(CompressionType.LZ4)
+                    .enableBatching(true)
+                    .batchingMaxPublishDelay(config.getBatchingMaxDelayMillis(), TimeUnit.MILLISECONDS)
+                    .batchingMaxBytes(config.getBatchingMaxBytes())
+                    .maxPendingMessages(config.getMaxInFlightMessages())
+                    .blockIfQueueFull(true)
+                    .messageRoutingMode(MessageRoutingMode.RoundRobinPartition)
+                    .hashingScheme(HashingScheme.Murmur3_32Hash)
+                    .batcherBuilder(BatcherBuilder.KEY_BASED)
                     .create();
             logger.info("Log producer created for Pulsar topic: {}", config.getLogTopic());
         } catch (PulsarClientException | NullPointerException e) {
@@ -83,10 +130,10 @@ public class PulsarService implements MessageService {
      */
     public void newLogConsumer() throws MessageServiceException {
         try {
-            logConsumer = client.newConsumer()
+            logConsumer = withBatchReceivePolicy(client.newConsumer()
                     .topic(config.getLogTopic()) // log topic
                     .subscriptionName(config.getLogSubscription())
-                    .subscriptionType(SubscriptionType.Shared)
+                    .subscriptionType(SubscriptionType.Shared))
                     .subscribe();
             logger.info("Log consumer subscribed to topic: {}", config.getLogTopic());
         } catch (PulsarClientException e) {
@@ -103,10 +150,10 @@ public class PulsarService implements MessageService {
      */
     public void newDebeziumConsumer() throws MessageServiceException {
         try {
-            debeziumConsumer = client.newConsumer()
+            debeziumConsumer = withBatchReceivePolicy(client.newConsumer()
                     .topic(config.getDebeziumTopic())
                     .subscriptionName(config.getDebeziumSubscription())
-                    .subscriptionType(SubscriptionType.Shared)
+                    .subscriptionType(SubscriptionType.Shared))
                     .subscribe();
             logger.info("Debezium consumer subscribed to topic: {}", config.getDebeziumTopic());
         } catch (PulsarClientException e) {
@@ -114,43 +161,164 @@ public class PulsarService implements MessageService {
         }
     }
 
+    private ConsumerBuilder<byte[]> withBatchReceivePolicy(ConsumerBuilder<byte[]> builder) {
+        if (!batchReceiving()) {
+            return builder;
+        }
+        return builder.batchReceivePolicy(BatchReceivePolicy.builder()
+                .maxNumMessages(config.getReceiveBatchSize())
+                .timeout((int) config.getReceiveBatchTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build());
+    }
+
+    private boolean batchReceiving() {
+        return config.getReceiveBatchSize() > 1;
+    }
+
 
     /**
      * Consumes messages from Debezium topic and forwards them to the log topic.
+     * Publishing is asynchronous, so the loop keeps receiving while earlier messages are in flight; a
+     * message is acknowledged only after it and every message received before it are stored in the log
+     * topic. With a receive batch size above 1, each batch is acknowledged in one async call.
+     * <p>
+     * If a publish fails, forwarding pauses until the sends in flight settle, and every unacknowledged
+     * message, from the failed one on, is redelivered and published again in order. Messages after the
+     * failed one that had already been published then appear twice in the log topic, the later copy
+     * behind the failed message, so each key's last copy is in order.
      */
     public void consumeDebeziumMessages() throws MessageServiceException {
+        if (batchReceiving()) {
+            consumeDebeziumBatches();
+            return;
+        }
         logger.info("Starting Debezium consumption loop...");
+        PayloadSampler sampler = new PayloadSampler("Debezium", config.getPayloadLogEvery());
         while (runningDebezium) {
             try {
+                if (forwardFailed) {
+                    redeliverAfterForwardFailure();
+                    continue;
+                }
                 Message<byte[]> msg = debeziumConsumer.receive(1, TimeUnit.SECONDS);
                 if (msg != null) {
-                    String received = new String(msg.getData(), StandardCharsets.UTF_8);
-                    logger.info("Debezium message received: ID={} content={}", msg.getMessageId(), received);
+                    MessageConsumeEvent event = new MessageConsumeEvent();
+                    event.begin();
+                    sampler.received(msg);
+                    forwarded = forwarded.thenCombine(forward(msg), (previous, sent) -> null);
+                    forwarded.thenRun(() -> acknowledgeForwarded(msg, event));
+                }
+            } catch (PulsarClientException e) {
+                throw new MessageServiceException("Failed to receive Debezium messages", e);
+            }
+        }
+        logger.info("Stopped Debezium consumption loop.");
+    }
+
+    // Debezium keys each change by the primary key of its row, which keeps one account's changes together
+    private static String keyOf(Message<byte[]> msg) {
+        return msg.hasKey() ? msg.getKey() : null;
+    }
 
-                    // Forward to log topic
-                    sendLogMessage(msg.getData());
+    /**
+     * Publishes the message to the log topic without waiting. A failed publish stops forwarding until
+     * {@link #redeliverAfterForwardFailure()} has run.
+     */
+    private CompletableFuture<Void> forward(Message<byte[]> msg) {
+        CompletableFuture<Void> send = sendLogMessageAsync(keyOf(msg), msg.getData());
+        forwardsInFlight.add(send);
+        send.whenComplete((ignored, e) -> {
+            forwardsInFlight.remove(send);
+            if (e != null && !forwardFailed) {
+                forwardFailed = true;
+                logger.warn("Failed to forward Debezium message {}, redelivering from it", msg.getMessageId(), e);
+            }
+        });
+        return send;
+    }
+
+    private void acknowledgeForwarded(Message<byte[]> msg, MessageConsumeEvent event) {
+        long ackStart = System.nanoTime();
+        debeziumConsumer.acknowledgeAsync(msg).whenComplete((ackIgnored, ackError) -> {
+            debeziumAckDuration.recordSince(ackStart);
+            if (ackError != null) {
+                logger.warn("Failed to acknowledge Debezium message {}", msg.getMessageId(), ackError);
+                return;
+            }
+            commitConsumed(event, config.getDebeziumTopic(), msg.getMessageId(), 1, msg.size());
+        });
+    }
+
+    /**
+     * Waits for the sends still in flight, then has the broker redeliver every unacknowledged message.
+     * Acknowledgements follow receive order and stopped at the failed message, so it and everything
+     * received after it come back in order.
+     */
+    private void redeliverAfterForwardFailure() {
+        CompletableFuture.allOf(forwardsInFlight.toArray(CompletableFuture[]::new))
+                .handle((ignored, e) -> null)
+                .join();
+        forwarded = CompletableFuture.completedFuture(null);
+        forwardFailed = false;
+        debeziumConsumer.redeliverUnacknowledgedMessages();
+        logger.info("Redelivering unacknowledged Debezium messages after a failed publish");
+    }
 
-                    debeziumConsumer.acknowledge(msg);
+    private void consumeDebeziumBatches() throws MessageServiceException {
+        logger.info("Starting Debezium batch consumption loop with batches of up to {} messages...",
+                config.getReceiveBatchSize());
+        PayloadSampler sampler = new PayloadSampler("Debezium", config.getPayloadLogEvery());
+        while (runningDebezium) {
+            try {
+                if (forwardFailed) {
+                    redeliverAfterForwardFailure();
+                    continue;
+                }
+                Messages<byte[]> batch = debeziumConsumer.batchReceive();
+                if (batch.size() == 0) {
+                    continue;
+                }
+                MessageConsumeEvent event = new MessageConsumeEvent();
+                event.begin();
+                CompletableFuture<?>[] sends = new CompletableFuture<?>[batch.size()];
+                int i = 0;
+                for (Message<byte[]> msg : batch) {
+                    sampler.received(msg);
+                    sends[i++] = forward(msg);
                 }
+                // Acknowledge only once the batch and every earlier one are stored in the log topic
+                forwarded = forwarded.thenCombine(CompletableFuture.allOf(sends), (previous, sent) -> null);
+                forwarded.thenRun(() -> acknowledgeBatch(debeziumConsumer, batch, config.getDebeziumTopic(),
+                        debeziumAckDuration, event));
             } catch (PulsarClientException e) {
                 throw new MessageServiceException("Failed to receive Debezium messages", e);
             }
         }
-        logger.info("Stopped Debezium consumption loop.");
+        logger.info("Stopped Debezium batch consumption loop.");
     }
 
     /**
      * Consumes log messages (used by replicas).
+     * With a receive batch size above 1, each batch is acknowledged in one async call.
      */
     public void consumeLogMessages() throws MessageServiceException {
+        if (batchReceiving()) {
+            consumeLogBatches();
+            return;
+        }
         logger.info("Starting log consumption loop...");
+        PayloadSampler sampler = new PayloadSampler("Log", config.getPayloadLogEvery());
         while (runningLog) {
             try {
                 Message<byte[]> msg = logConsumer.receive(1, TimeUnit.SECONDS);
                 if (msg != null) {
-                    String received = new String(msg.getData(), StandardCharsets.UTF_8);
-                    logger.info("Replica received log message: ID={} content={}", msg.getMessageId(), received);
+                    MessageConsumeEvent event = new MessageConsumeEvent();
+                    event.begin();
+                    sampler.received(msg);
+                    long ackStart = System.nanoTime();
                     logConsumer.acknowledge(msg);
+                    logAckDuration.recordSince(ackStart);
+                    commitConsumed(event, config.getLogTopic(), msg.getMessageId(), 1, msg.size());
                 }
             } catch (PulsarClientException e) {
                 throw new MessageServiceException("Failed to receive log messages", e);
@@ -159,21 +327,146 @@ public class PulsarService implements MessageService {
         logger.info("Stopped log consumption loop.");
     }
 
+    private void consumeLogBatches() throws MessageServiceException {
+        logger.info("Starting log batch consumption loop with batches of up to {} messages...",
+                config.getReceiveBatchSize());
+        PayloadSampler sampler = new PayloadSampler("Log", config.getPayloadLogEvery());
+        while (runningLog) {
+            try {
+                Messages<byte[]> batch = logConsumer.batchReceive();
+                if (batch.size() == 0) {
+                    continue;
+                }
+                MessageConsumeEvent event = new MessageConsumeEvent();
+                event.begin();
+                for (Message<byte[]> msg : batch) {
+                    sampler.received(msg);
+                }
+                acknowledgeBatch(logConsumer, batch, config.getLogTopic(), logAckDuration, event);
+            } catch (PulsarClientException e) {
+                throw new MessageServiceException("Failed to receive log messages", e);
+            }
+        }
+        logger.info("Stopped log batch consumption loop.");
+    }
+
     /**
-     * Sends a log message to the configured log topic.
+     * Acknowledges the batch without waiting for the broker. Shared subscriptions cannot acknowledge
+     * cumulatively, so the batch is sent as one list of message IDs. If the acknowledgement is lost the
+     * messages are redelivered, as they would be after a crash.
+     */
+    private void acknowledgeBatch(Consumer<byte[]> consumer, Messages<byte[]> batch, String topic,
+                                  LatencyHistogram ackDuration, MessageConsumeEvent event) {
+        long ackStart = System.nanoTime();
+        MessageId firstId = batch.iterator().next().getMessageId();
+        int count = batch.size();
+        long bytes = 0;
+        for (Message<byte[]> msg : batch) {
+            bytes += msg.size();
+        }
+        long totalBytes = bytes;
+        consumer.acknowledgeAsync(batch).whenComplete((ignored, e) -> {
+            ackDuration.recordSince(ackStart);
+            if (e != null) {
+                logger.warn("Failed to acknowledge {} messages from {}", count, topic, e);
+                return;
+            }
+            commitConsumed(event, topic, firstId, count, totalBytes);
+        });
+    }
+
+    /**
+     * Sends a log message without a key to the configured log topic.
      */
     @Override
     public void sendLogMessage(byte[] message) throws MessageServiceException {
+        sendLogMessage(null, message);
+    }
+
+    /**
+     * Sends a log message to the configured log topic.
+     */
+    @Override
+    public void sendLogMessage(String key, byte[] message) throws MessageServiceException {
+        MessageSendEvent event = new MessageSendEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean sent = false;
         try {
-            TypedMessageBuilder<byte[]> messageBuilder = logProducer.newMessage();
-            messageBuilder.value(message)
-                    .key("my-key")
-                    .property("banking", "primary")
-                    .eventTime(System.currentTimeMillis());
-            MessageId messageId = messageBuilder.send();
+            MessageId messageId = newLogMessage(key, message).send();
+            logSendDuration.recordSince(start);
+            sent = true;
             logger.info("Message forwarded to log topic with ID: {}", messageId);
         } catch (PulsarClientException | NullPointerException e) {
+            logSendErrors.increment();
             throw new MessageServiceException("Failed to send log message", e);
+        } finally {
+            commitSent(event, message, sent);
+        }
+    }
+
+    /**
+     * Sends a log message without a key asynchronously.
+     */
+    @Override
+    public CompletableFuture<Void> sendLogMessageAsync(byte[] message) {
+        return sendLogMessageAsync(null, message);
+    }
+
+    /**
+     * Sends a log message asynchronously; the producer keeps several sends in flight.
+     */
+    @Override
+    public CompletableFuture<Void> sendLogMessageAsync(String key, byte[] message) {
+        if (logProducer == null) {
+            logSendErrors.increment();
+            return CompletableFuture.failedFuture(new MessageServiceException("Log producer is not created"));
+        }
+        MessageSendEvent event = new MessageSendEvent();
+        event.begin();
+        long start = System.nanoTime();
+        return newLogMessage(key, message)
+                .sendAsync()
+                .handle((messageId, e) -> {
+                    commitSent(event, message, e == null);
+                    if (e != null) {
+                        logSendErrors.increment();
+                        throw new CompletionException(
+                                new MessageServiceException("Failed to send log message", e));
+                    }
+                    logSendDuration.recordSince(start);
+                    logger.debug("Message forwarded to log topic with ID: {}", messageId);
+                    return null;
+                });
+    }
+
+    private TypedMessageBuilder<byte[]> newLogMessage(String key, byte[] message) {
+        TypedMessageBuilder<byte[]> messageBuilder = logProducer.newMessage()
+                .value(message)
+                .property("banking", "primary")
+                .eventTime(System.currentTimeMillis());
+        return key == null ? messageBuilder : messageBuilder.key(key);
+    }
+
+    private void commitSent(MessageSendEvent event, byte[] message, boolean sent) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.topic = config.getLogTopic();
+            event.bytes = message == null ? 0 : message.length;
+            event.succeeded = sent;
+            event.commit();
+        }
+    }
+
+    private static void commitConsumed(MessageConsumeEvent event, String topic, MessageId firstId, int messages,
+                                       long bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.topic = topic;
+            event.messageId = firstId.toString();
+            event.messages = messages;
+            event.bytes = bytes;
+            event.commit();
         }
     }
 
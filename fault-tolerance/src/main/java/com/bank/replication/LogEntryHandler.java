@@ -0,0 +1,17 @@
+package com.bank.replication;
+
+import com.bank.replication.exception.InvalidLogEntryException;
+
+/**
+ * Applies one replicated log entry on a replica.
+ */
+@FunctionalInterface
+public interface LogEntryHandler {
+
+    /**
+     * @param key account ID the entry belongs to, or null for an entry without one
+     * @throws InvalidLogEntryException if the entry can never be applied; it is skipped
+     * @throws Exception if the entry was not applied; it is retried before any later entry of the same key
+     */
+    void apply(String key, byte[] entry) throws Exception;
+}
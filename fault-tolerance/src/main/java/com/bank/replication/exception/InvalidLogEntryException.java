@@ -0,0 +1,15 @@
+package com.bank.replication.exception;
+
+/**
+ * A log entry can never be applied, e.g. because it cannot be decoded. Unlike other failures it is
+ * not retried: the entry is logged and skipped.
+ */
+public class InvalidLogEntryException extends Exception {
+    public InvalidLogEntryException(String message) {
+        super(message);
+    }
+
+    public InvalidLogEntryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
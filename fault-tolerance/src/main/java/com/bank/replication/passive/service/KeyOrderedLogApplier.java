@@ -0,0 +1,199 @@
+package com.bank.replication.passive.service;
+
+import com.bank.pulsar.LoadConfig;
+import com.bank.pulsar.exception.MessageServiceException;
+import com.bank.replication.LogEntryHandler;
+import com.bank.replication.exception.InvalidLogEntryException;
+import org.apache.pulsar.client.api.Consumer;
+import org.apache.pulsar.client.api.Message;
+import org.apache.pulsar.client.api.PulsarClient;
+import org.apache.pulsar.client.api.PulsarClientException;
+import org.apache.pulsar.client.api.SubscriptionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the replicated log on a replica in parallel while keeping each account's entries in order.
+ * <p>
+ * The log topic is consumed through a {@code Key_Shared} subscription of its own, so replicas sharing
+ * the subscription each receive all entries of a disjoint set of keys, in order. Within this replica every
+ * key is hashed to one of several single-threaded lanes: different accounts apply in parallel, entries
+ * of one account apply one after another. A failed entry is retried on its lane until it applies, so
+ * later entries of the same key never overtake it. An entry the handler rejects as invalid is logged
+ * and skipped. Entries are acknowledged once applied or skipped.
+ * <p>
+ * If an entry is still failing when the applier closes, it stays unacknowledged and the entries queued
+ * behind it on its lane are dropped unapplied, so after a restart they are redelivered in order.
+ */
+public class KeyOrderedLogApplier implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(KeyOrderedLogApplier.class);
+
+    private static final long INITIAL_RETRY_MILLIS = 100;
+    private static final long MAX_RETRY_MILLIS = 5_000;
+
+    private final PulsarClient client;
+    private final LoadConfig config;
+    private final LogEntryHandler handler;
+    private final ExecutorService[] lanes;
+    private final Semaphore inFlight;
+    private final Thread receiver;
+    private volatile boolean running;
+    private Consumer<byte[]> consumer;
+    private int nextKeylessLane;
+
+    public KeyOrderedLogApplier(PulsarClient client, LoadConfig config, LogEntryHandler handler) {
+        this(client, config, handler, config.getApplierLanes(), config.getApplierMaxInFlight());
+    }
+
+    /**
+     * @param lanes       number of threads entries are applied on
+     * @param maxInFlight received entries that may wait to be applied before receiving pauses
+     */
+    public KeyOrderedLogApplier(PulsarClient client, LoadConfig config, LogEntryHandler handler,
+                                int lanes, int maxInFlight) {
+        if (lanes <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("Lanes and in-flight limit must be positive");
+        }
+        this.client = client;
+        this.config = config;
+        this.handler = handler;
+        this.lanes = new ExecutorService[lanes];
+        for (int i = 0; i < lanes; i++) {
+            String name = "log-applier-" + i;
+            this.lanes[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, name));
+        }
+        this.inFlight = new Semaphore(maxInFlight);
+        this.receiver = new Thread(this::receive, "log-applier-receiver");
+    }
+
+    public void start() throws MessageServiceException {
+        try {
+            consumer = client.newConsumer()
+                    .topic(config.getLogTopic())
+                    .subscriptionName(config.getApplierSubscription())
+                    .subscriptionType(SubscriptionType.Key_Shared)
+                    .subscribe();
+        } catch (PulsarClientException e) {
+            throw new MessageServiceException("Failed to subscribe log applier", e);
+        }
+        running = true;
+        receiver.start();
+        logger.info("Log applier subscribed to {} with {} lanes", config.getLogTopic(), lanes.length);
+    }
+
+    private void receive() {
+        while (running) {
+            try {
+                Message<byte[]> msg = consumer.receive(1, TimeUnit.SECONDS);
+                if (msg == null) {
+                    continue;
+                }
+                inFlight.acquire();
+                int lane = lane(msg);
+                try {
+                    lanes[lane].execute(() -> apply(lane, msg));
+                } catch (RejectedExecutionException e) {
+                    // The lane was abandoned while closing; the entry is redelivered after a restart
+                    inFlight.release();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (PulsarClientException e) {
+                if (running) {
+                    logger.error("Log applier stopped receiving", e);
+                }
+                return;
+            }
+        }
+    }
+
+    private int lane(Message<byte[]> msg) {
+        if (!msg.hasKey()) {
+            // No ordering to keep, so spread keyless entries evenly
+            nextKeylessLane = (nextKeylessLane + 1) % lanes.length;
+            return nextKeylessLane;
+        }
+        return Math.floorMod(msg.getKey().hashCode(), lanes.length);
+    }
+
+    private void apply(int lane, Message<byte[]> msg) {
+        try {
+            String key = msg.hasKey() ? msg.getKey() : null;
+            long backoff = INITIAL_RETRY_MILLIS;
+            while (true) {
+                try {
+                    handler.apply(key, msg.getData());
+                    break;
+                } catch (InvalidLogEntryException e) {
+                    // Fails the same way on every retry, so retrying would stall the lane for good
+                    logger.error("Skipping invalid log entry {} for key {}", msg.getMessageId(), key, e);
+                    break;
+                } catch (Exception e) {
+                    if (!running) {
+                        // Left unacknowledged, so it is delivered again after a restart. Later entries
+                        // of this lane must not be applied before it, so they are dropped as well.
+                        abandon(lane);
+                        return;
+                    }
+                    logger.warn("Failed to apply log entry {} for key {}, retrying in {} ms",
+                            msg.getMessageId(), key, backoff, e);
+                    Thread.sleep(backoff);
+                    backoff = Math.min(backoff * 2, MAX_RETRY_MILLIS);
+                }
+            }
+            consumer.acknowledgeAsync(msg).exceptionally(e -> {
+                logger.warn("Failed to acknowledge log entry {}", msg.getMessageId(), e);
+                return null;
+            });
+        } catch (InterruptedException e) {
+            abandon(lane);
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void abandon(int lane) {
+        int dropped = lanes[lane].shutdownNow().size();
+        inFlight.release(dropped);
+        logger.warn("Log applier lane {} stopped with {} entries left for redelivery", lane, dropped + 1);
+    }
+
+    /**
+     * Stops receiving, lets the lanes finish the entries they already hold, then closes the consumer.
+     * A lane whose current entry keeps failing is abandoned instead of drained.
+     */
+    @Override
+    public void close() throws MessageServiceException {
+        running = false;
+        try {
+            receiver.join(TimeUnit.SECONDS.toMillis(5));
+            for (ExecutorService lane : lanes) {
+                lane.shutdown();
+            }
+            for (ExecutorService lane : lanes) {
+                if (!lane.awaitTermination(30, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (consumer != null) {
+                consumer.close();
+            }
+            logger.info("Log applier closed");
+        } catch (PulsarClientException e) {
+            throw new MessageServiceException("Failed to close log applier consumer", e);
+        }
+    }
+}
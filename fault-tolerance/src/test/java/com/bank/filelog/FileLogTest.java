@@ -0,0 +1,190 @@
+package com.bank.filelog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileLogTest {
+
+    private static final int SEGMENT_BYTES = 1024;
+    private static final int INDEX_INTERVAL_BYTES = 128;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_ShouldRollSegmentsAndReadAcrossThem() throws Exception {
+        try (FileLog log = open(FsyncPolicy.ALWAYS)) {
+            for (int i = 0; i < 100; i++) {
+                assertThat(log.append(i % 2 == 0 ? "account-" + i : null, payload(i))).isEqualTo(i);
+            }
+
+            assertThat(segmentFiles()).hasSizeGreaterThan(1);
+            List<LogRecord> records = log.read(0, 1000);
+            assertThat(records).hasSize(100);
+            for (int i = 0; i < 100; i++) {
+                assertThat(records.get(i).offset()).isEqualTo(i);
+                assertThat(records.get(i).key()).isEqualTo(i % 2 == 0 ? "account-" + i : null);
+                assertThat(records.get(i).payload()).isEqualTo(payload(i));
+            }
+        }
+    }
+
+    @Test
+    void read_ShouldStartAtAnyOffsetThroughSparseIndex() throws Exception {
+        try (FileLog log = open(FsyncPolicy.NEVER)) {
+            for (int i = 0; i < 100; i++) {
+                log.append(null, payload(i));
+            }
+
+            for (long offset : new long[]{0, 1, 7, 38, 63, 99}) {
+                List<LogRecord> records = log.read(offset, 3);
+                assertThat(records).isNotEmpty();
+                assertThat(records.get(0).offset()).isEqualTo(offset);
+                assertThat(records.get(0).payload()).isEqualTo(payload((int) offset));
+            }
+            assertThat(log.read(100, 10)).isEmpty();
+        }
+    }
+
+    @Test
+    void open_ShouldRecoverEntriesAndDropTornTail() throws Exception {
+        try (FileLog log = open(FsyncPolicy.NEVER)) {
+            for (int i = 0; i < 5; i++) {
+                log.append(null, payload(i));
+            }
+        }
+        // Corrupt the last payload byte of the last entry, as a write cut short by a crash would
+        int entrySize = LogSegment.entrySize(null, payload(4));
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(LogSegment.fileName(0)).toFile(), "rw")) {
+            file.seek(5L * entrySize - 1);
+            file.write(0x7f);
+        }
+
+        try (FileLog log = open(FsyncPolicy.NEVER)) {
+            assertThat(log.nextOffset()).isEqualTo(4);
+            assertThat(log.read(0, 10)).extracting(LogRecord::offset).containsExactly(0L, 1L, 2L, 3L);
+
+            assertThat(log.append("account-1", payload(9))).isEqualTo(4);
+            assertThat(log.read(4, 1).get(0).payload()).isEqualTo(payload(9));
+        }
+    }
+
+    @Test
+    void open_ShouldNotResurrectEntriesAfterRecoveredEnd() throws Exception {
+        try (FileLog log = open(FsyncPolicy.NEVER)) {
+            for (int i = 0; i < 5; i++) {
+                log.append(null, payload(i));
+            }
+        }
+        // Lose entry 2; entries 3 and 4 are intact but come after the recovered end
+        int entrySize = LogSegment.entrySize(null, payload(2));
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(LogSegment.fileName(0)).toFile(), "rw")) {
+            file.seek(3L * entrySize - 1);
+            file.write(0x7f);
+        }
+        try (FileLog log = open(FsyncPolicy.NEVER)) {
+            assertThat(log.nextOffset()).isEqualTo(2);
+            // Same size as the lost entry, so offsets 3 and 4 would line up again
+            log.append(null, payload(7));
+        }
+
+        try (FileLog log = open(FsyncPolicy.NEVER)) {
+            assertThat(log.nextOffset()).isEqualTo(3);
+            assertThat(log.read(2, 10)).extracting(LogRecord::offset).containsExactly(2L);
+        }
+    }
+
+    @Test
+    void open_ShouldContinueOffsetsAcrossSegmentsAfterRestart() throws Exception {
+        try (FileLog log = open(FsyncPolicy.PERIODIC)) {
+            for (int i = 0; i < 60; i++) {
+                log.append(null, payload(i));
+            }
+        }
+
+        try (FileLog log = open(FsyncPolicy.PERIODIC)) {
+            assertThat(log.startOffset()).isZero();
+            assertThat(log.nextOffset()).isEqualTo(60);
+            assertThat(log.append(null, payload(60))).isEqualTo(60);
+            assertThat(log.read(55, 10)).extracting(LogRecord::offset).containsExactly(55L, 56L, 57L, 58L, 59L, 60L);
+        }
+    }
+
+    @Test
+    void append_ShouldRejectEntryLargerThanSegment() throws Exception {
+        try (FileLog log = open(FsyncPolicy.NEVER)) {
+            assertThatThrownBy(() -> log.append(null, new byte[SEGMENT_BYTES]))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(log.nextOffset()).isZero();
+        }
+    }
+
+    @Test
+    void consumers_ShouldTrackOffsetsIndependently() throws Exception {
+        try (FileLog log = open(FsyncPolicy.NEVER)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(null, payload(i));
+            }
+            FileLogConsumer first = log.consumer("replica-1");
+            FileLogConsumer second = log.consumer("replica-2");
+
+            assertThat(first.poll(4, 1, TimeUnit.SECONDS)).extracting(LogRecord::offset)
+                    .containsExactly(0L, 1L, 2L, 3L);
+            first.commit();
+            assertThat(second.poll(100, 1, TimeUnit.SECONDS)).hasSize(10);
+            assertThat(second.poll(100, 50, TimeUnit.MILLISECONDS)).isEmpty();
+
+            // A reopened consumer resumes from its committed offset
+            assertThat(log.consumer("replica-1").position()).isEqualTo(4);
+            assertThat(log.consumer("replica-2").position()).isZero();
+        }
+    }
+
+    @Test
+    void poll_ShouldWakeUpOnAppend() throws Exception {
+        try (FileLog log = open(FsyncPolicy.NEVER)) {
+            FileLogConsumer consumer = log.consumer("waiting");
+            Thread appender = new Thread(() -> {
+                try {
+                    Thread.sleep(100);
+                    log.append("account-1", payload(0));
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            appender.start();
+
+            List<LogRecord> records = consumer.poll(10, 5, TimeUnit.SECONDS);
+            appender.join();
+
+            assertThat(records).hasSize(1);
+            assertThat(records.get(0).key()).isEqualTo("account-1");
+        }
+    }
+
+    private FileLog open(FsyncPolicy fsyncPolicy) throws IOException {
+        return new FileLog(directory, SEGMENT_BYTES, INDEX_INTERVAL_BYTES, fsyncPolicy, 10);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).toList();
+        }
+    }
+
+    private static byte[] payload(int i) {
+        return ("entry-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,118 @@
+package com.bank.filelog;
+
+import com.bank.pulsar.exception.MessageServiceException;
+import com.bank.replication.passive.service.PassiveReplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileMessageServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private FileMessageService messageService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        messageService = new FileMessageService(config());
+        messageService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        messageService.close();
+    }
+
+    @Test
+    void sendLogMessage_ShouldBeConsumedInOrder() throws Exception {
+        FileLogConsumer consumer = messageService.newConsumer("replica");
+
+        messageService.sendLogMessage(bytes("first"));
+        messageService.sendLogMessage("account-1", bytes("second"));
+        messageService.sendLogMessageAsync("account-2", bytes("third")).join();
+
+        List<LogRecord> records = consumer.poll(10, 1, TimeUnit.SECONDS);
+        assertThat(records).extracting(record -> new String(record.payload(), StandardCharsets.UTF_8))
+                .containsExactly("first", "second", "third");
+        assertThat(records).extracting(LogRecord::key).containsExactly(null, "account-1", "account-2");
+    }
+
+    @Test
+    void replicate_ShouldReachEveryReplicaConsumer() throws Exception {
+        PassiveReplication replication = new PassiveReplication(messageService);
+        FileLogConsumer first = messageService.newConsumer("replica-1");
+        FileLogConsumer second = messageService.newConsumer("replica-2");
+
+        for (int i = 0; i < 20; i++) {
+            replication.replicate(bytes("entry-" + i));
+        }
+
+        assertThat(first.poll(100, 1, TimeUnit.SECONDS)).hasSize(20);
+        assertThat(second.poll(5, 1, TimeUnit.SECONDS)).hasSize(5);
+    }
+
+    @Test
+    void restart_ShouldResumeConsumersFromCommittedOffsets() throws Exception {
+        FileLogConsumer consumer = messageService.newConsumer("replica");
+        for (int i = 0; i < 10; i++) {
+            messageService.sendLogMessage(bytes("entry-" + i));
+        }
+        consumer.poll(6, 1, TimeUnit.SECONDS);
+        consumer.commit();
+        messageService.close();
+
+        messageService = new FileMessageService(config());
+        messageService.start();
+        List<LogRecord> records = messageService.newConsumer("replica").poll(100, 1, TimeUnit.SECONDS);
+
+        assertThat(records).extracting(LogRecord::offset).containsExactly(6L, 7L, 8L, 9L);
+        messageService.sendLogMessage(bytes("entry-10"));
+        assertThat(messageService.getLog().nextOffset()).isEqualTo(11);
+    }
+
+    @Test
+    void sendLogMessage_ShouldFailBeforeStart() {
+        FileMessageService notStarted = new FileMessageService(config());
+
+        assertThatThrownBy(() -> notStarted.sendLogMessage(bytes("entry")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void sendLogMessageAsync_ShouldFailForOversizedMessage() {
+        assertThat(messageService.sendLogMessageAsync(new byte[8192])).isCompletedExceptionally();
+    }
+
+    private FileLogConfig config() {
+        return new FileLogConfig() {
+            @Override
+            public Path getDirectory() {
+                return directory;
+            }
+
+            @Override
+            public int getSegmentBytes() {
+                return 4096;
+            }
+
+            @Override
+            public FsyncPolicy getFsyncPolicy() {
+                return FsyncPolicy.ALWAYS;
+            }
+        };
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -4,10 +4,12 @@ import org.apache.pulsar.client.api.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -30,7 +32,6 @@ class PulsarServiceTest {
     @Mock
     private Message<byte[]> mockMessage;
 
-    @InjectMocks
     private PulsarService pulsarService;
 
     @Mock
@@ -65,6 +66,14 @@ class PulsarServiceTest {
         ProducerBuilder<byte[]> builder = mock(ProducerBuilder.class);
         when(builder.topic(anyString())).thenReturn(builder);
         when(builder.compressionType(any())).thenReturn(builder);
+        when(builder.enableBatching(anyBoolean())).thenReturn(builder);
+        when(builder.batchingMaxPublishDelay(anyLong(), any())).thenReturn(builder);
+        when(builder.batchingMaxBytes(anyInt())).thenReturn(builder);
+        when(builder.maxPendingMessages(anyInt())).thenReturn(builder);
+        when(builder.blockIfQueueFull(anyBoolean())).thenReturn(builder);
+        when(builder.messageRoutingMode(any())).thenReturn(builder);
+        when(builder.hashingScheme(any())).thenReturn(builder);
+        when(builder.batcherBuilder(any())).thenReturn(builder);
         when(builder.create()).thenReturn(mockProducer);
         when(mockClient.newProducer()).thenReturn(builder);
 
@@ -78,8 +87,134 @@ class PulsarServiceTest {
         verify(mockClient).newProducer();
         verify(builder).topic("log-topic");
         verify(builder).compressionType(CompressionType.LZ4);
+        verify(builder).blockIfQueueFull(true);
+        verify(builder).hashingScheme(HashingScheme.Murmur3_32Hash);
         verify(builder).create();
     }
 
+    @Test
+    void consumeLogMessages_BatchMode_ShouldAcknowledgeWholeBatchAsync() throws Exception {
+        when(config.getLogTopic()).thenReturn("log-topic");
+        when(config.getLogSubscription()).thenReturn("log-subscription");
+        when(config.getReceiveBatchSize()).thenReturn(2);
+        when(config.getReceiveBatchTimeoutMillis()).thenReturn(100L);
+        Consumer<byte[]> logConsumer = mock(Consumer.class);
+        ConsumerBuilder<byte[]> builder = mock(ConsumerBuilder.class);
+        when(builder.topic(anyString())).thenReturn(builder);
+        when(builder.subscriptionName(anyString())).thenReturn(builder);
+        when(builder.subscriptionType(any())).thenReturn(builder);
+        when(builder.batchReceivePolicy(any())).thenReturn(builder);
+        when(builder.subscribe()).thenReturn(logConsumer);
+        when(mockClient.newConsumer()).thenReturn(builder);
+
+        Message<byte[]> second = mock(Message.class);
+        Messages<byte[]> batch = mock(Messages.class);
+        when(batch.size()).thenReturn(2);
+        when(batch.iterator()).thenAnswer(invocation -> List.of(mockMessage, second).iterator());
+        when(mockMessage.getMessageId()).thenReturn(MessageId.earliest);
+        when(logConsumer.acknowledgeAsync(batch)).thenReturn(CompletableFuture.completedFuture(null));
+        when(logConsumer.batchReceive()).thenAnswer(invocation -> {
+            pulsarService.stopLogConsuming();
+            return batch;
+        });
+
+        doReturn(mockClient).when(pulsarService).createPulsarClient(anyString());
+        pulsarService.start();
+        pulsarService.newLogConsumer();
+        pulsarService.consumeLogMessages();
+
+        verify(builder).batchReceivePolicy(any());
+        verify(logConsumer).acknowledgeAsync(batch);
+        verify(logConsumer, never()).acknowledge(any(Message.class));
+        verify(logConsumer, never()).receive(anyInt(), any());
+    }
+
+    @Test
+    void consumeDebeziumMessages_ShouldForwardKeyAndAcknowledgeOnlyAfterPublish() throws Exception {
+        when(config.getLogTopic()).thenReturn("log-topic");
+        when(config.getDebeziumTopic()).thenReturn("debezium-topic");
+        when(config.getDebeziumSubscription()).thenReturn("debezium-subscription");
+        ProducerBuilder<byte[]> producerBuilder = mock(ProducerBuilder.class, RETURNS_SELF);
+        when(producerBuilder.create()).thenReturn(mockProducer);
+        ConsumerBuilder<byte[]> consumerBuilder = mock(ConsumerBuilder.class, RETURNS_SELF);
+        when(consumerBuilder.subscribe()).thenReturn(mockDebeziumConsumer);
+        when(mockClient.newProducer()).thenReturn(producerBuilder);
+        when(mockClient.newConsumer()).thenReturn(consumerBuilder);
+
+        CompletableFuture<MessageId> published = new CompletableFuture<>();
+        when(mockProducer.newMessage()).thenReturn(mockMessageBuilder);
+        when(mockMessageBuilder.value(any())).thenReturn(mockMessageBuilder);
+        when(mockMessageBuilder.key(anyString())).thenReturn(mockMessageBuilder);
+        when(mockMessageBuilder.property(anyString(), anyString())).thenReturn(mockMessageBuilder);
+        when(mockMessageBuilder.eventTime(anyLong())).thenReturn(mockMessageBuilder);
+        when(mockMessageBuilder.sendAsync()).thenReturn(published);
+        when(mockMessage.getData()).thenReturn(new byte[]{1});
+        when(mockMessage.hasKey()).thenReturn(true);
+        when(mockMessage.getKey()).thenReturn("ACC-1");
+        lenient().when(mockMessage.getMessageId()).thenReturn(MessageId.earliest);
+        when(mockDebeziumConsumer.acknowledgeAsync(mockMessage)).thenReturn(CompletableFuture.completedFuture(null));
+        when(mockDebeziumConsumer.receive(anyInt(), any())).thenReturn(mockMessage).thenAnswer(invocation -> {
+            pulsarService.stopDebeziumConsuming();
+            return null;
+        });
 
-}
\ No newline at end of file
+        doReturn(mockClient).when(pulsarService).createPulsarClient(anyString());
+        pulsarService.start();
+        pulsarService.newLogProducer();
+        pulsarService.newDebeziumConsumer();
+        pulsarService.consumeDebeziumMessages();
+
+        verify(mockMessageBuilder).key("ACC-1");
+        verify(mockDebeziumConsumer, never()).acknowledgeAsync(any(Message.class));
+        published.complete(MessageId.earliest);
+        verify(mockDebeziumConsumer).acknowledgeAsync(mockMessage);
+        verify(mockDebeziumConsumer, never()).acknowledge(any(Message.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consumeDebeziumMessages_FailedPublish_ShouldNotAcknowledgeLaterMessagesAndRedeliver() throws Exception {
+        when(config.getLogTopic()).thenReturn("log-topic");
+        when(config.getDebeziumTopic()).thenReturn("debezium-topic");
+        when(config.getDebeziumSubscription()).thenReturn("debezium-subscription");
+        ProducerBuilder<byte[]> producerBuilder = mock(ProducerBuilder.class, RETURNS_SELF);
+        when(producerBuilder.create()).thenReturn(mockProducer);
+        ConsumerBuilder<byte[]> consumerBuilder = mock(ConsumerBuilder.class, RETURNS_SELF);
+        when(consumerBuilder.subscribe()).thenReturn(mockDebeziumConsumer);
+        when(mockClient.newProducer()).thenReturn(producerBuilder);
+        when(mockClient.newConsumer()).thenReturn(consumerBuilder);
+
+        CompletableFuture<MessageId> first = new CompletableFuture<>();
+        when(mockProducer.newMessage()).thenReturn(mockMessageBuilder);
+        when(mockMessageBuilder.value(any())).thenReturn(mockMessageBuilder);
+        when(mockMessageBuilder.key(anyString())).thenReturn(mockMessageBuilder);
+        when(mockMessageBuilder.property(anyString(), anyString())).thenReturn(mockMessageBuilder);
+        when(mockMessageBuilder.eventTime(anyLong())).thenReturn(mockMessageBuilder);
+        when(mockMessageBuilder.sendAsync()).thenReturn(first, CompletableFuture.completedFuture(MessageId.earliest));
+        Message<byte[]> second = mock(Message.class);
+        for (Message<byte[]> msg : List.of(mockMessage, second)) {
+            when(msg.getData()).thenReturn(new byte[]{1});
+            when(msg.hasKey()).thenReturn(true);
+            when(msg.getKey()).thenReturn("ACC-1");
+            lenient().when(msg.getMessageId()).thenReturn(MessageId.earliest);
+        }
+        when(mockDebeziumConsumer.receive(anyInt(), any())).thenReturn(mockMessage, second).thenAnswer(invocation -> {
+            // The first publish fails after the second one succeeded
+            first.completeExceptionally(new PulsarClientException("broker unavailable"));
+            return null;
+        }).thenAnswer(invocation -> {
+            pulsarService.stopDebeziumConsuming();
+            return null;
+        });
+
+        doReturn(mockClient).when(pulsarService).createPulsarClient(anyString());
+        pulsarService.start();
+        pulsarService.newLogProducer();
+        pulsarService.newDebeziumConsumer();
+        pulsarService.consumeDebeziumMessages();
+
+        verify(mockDebeziumConsumer, never()).acknowledgeAsync(any(Message.class));
+        verify(mockDebeziumConsumer, never()).negativeAcknowledge(any(Message.class));
+        verify(mockDebeziumConsumer).redeliverUnacknowledgedMessages();
+    }
+}
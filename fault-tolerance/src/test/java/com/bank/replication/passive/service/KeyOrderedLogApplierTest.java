@@ -0,0 +1,150 @@
+package com.bank.replication.passive.service;
+
+import com.bank.pulsar.LoadConfig;
+import com.bank.replication.exception.InvalidLogEntryException;
+import org.apache.pulsar.client.api.Consumer;
+import org.apache.pulsar.client.api.ConsumerBuilder;
+import org.apache.pulsar.client.api.Message;
+import org.apache.pulsar.client.api.PulsarClient;
+import org.apache.pulsar.client.api.SubscriptionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KeyOrderedLogApplierTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_ShouldKeepOrderPerKeyAndRetryFailedEntryFirst() throws Exception {
+        LoadConfig config = mock(LoadConfig.class);
+        when(config.getLogTopic()).thenReturn("log-topic");
+        when(config.getApplierSubscription()).thenReturn("log-applier-subscription");
+        PulsarClient client = mock(PulsarClient.class);
+        ConsumerBuilder<byte[]> builder = mock(ConsumerBuilder.class, RETURNS_SELF);
+        Consumer<byte[]> consumer = mock(Consumer.class);
+        when(client.newConsumer()).thenReturn(builder);
+        when(builder.subscribe()).thenReturn(consumer);
+        when(consumer.acknowledgeAsync(any(Message.class))).thenReturn(CompletableFuture.completedFuture(null));
+        Message<byte[]> a1 = entry("A", 1);
+        Message<byte[]> b2 = entry("B", 2);
+        Message<byte[]> a3 = entry("A", 3);
+        Message<byte[]> b4 = entry("B", 4);
+        when(consumer.receive(anyInt(), any(TimeUnit.class))).thenReturn(a1, b2, a3, b4).thenReturn(null);
+
+        Map<String, List<Integer>> applied = new ConcurrentHashMap<>();
+        AtomicBoolean failedOnce = new AtomicBoolean();
+        KeyOrderedLogApplier applier = new KeyOrderedLogApplier(client, config, (key, entry) -> {
+            if (entry[0] == 1 && failedOnce.compareAndSet(false, true)) {
+                throw new IllegalStateException("replica not ready");
+            }
+            applied.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add((int) entry[0]);
+        }, 4, 16);
+
+        applier.start();
+        verify(consumer, timeout(5_000).times(4)).acknowledgeAsync(any(Message.class));
+        applier.close();
+
+        verify(builder).subscriptionType(SubscriptionType.Key_Shared);
+        assertThat(applied.get("A")).containsExactly(1, 3);
+        assertThat(applied.get("B")).containsExactly(2, 4);
+        assertThat(failedOnce).isTrue();
+        verify(consumer).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_InvalidEntry_ShouldBeSkippedAndAcknowledged() throws Exception {
+        Consumer<byte[]> consumer = mock(Consumer.class);
+        PulsarClient client = client(consumer);
+        when(consumer.acknowledgeAsync(any(Message.class))).thenReturn(CompletableFuture.completedFuture(null));
+        Message<byte[]> poison = entry("A", 1);
+        Message<byte[]> next = entry("A", 2);
+        when(consumer.receive(anyInt(), any(TimeUnit.class))).thenReturn(poison, next).thenReturn(null);
+
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        KeyOrderedLogApplier applier = new KeyOrderedLogApplier(client, config(), (key, entry) -> {
+            if (entry[0] == 1) {
+                throw new InvalidLogEntryException("cannot decode");
+            }
+            applied.add((int) entry[0]);
+        }, 1, 16);
+
+        applier.start();
+        verify(consumer, timeout(5_000)).acknowledgeAsync(next);
+        applier.close();
+
+        verify(consumer).acknowledgeAsync(poison);
+        assertThat(applied).containsExactly(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void close_WhileEntryFails_ShouldNotApplyLaterEntriesOfItsLane() throws Exception {
+        Consumer<byte[]> consumer = mock(Consumer.class);
+        PulsarClient client = client(consumer);
+        Message<byte[]> failing = entry("A", 1);
+        Message<byte[]> later = entry("A", 2);
+        when(consumer.receive(anyInt(), any(TimeUnit.class))).thenReturn(failing, later).thenReturn(null);
+
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch attempted = new CountDownLatch(1);
+        KeyOrderedLogApplier applier = new KeyOrderedLogApplier(client, config(), (key, entry) -> {
+            if (entry[0] == 1) {
+                attempted.countDown();
+                throw new IllegalStateException("replica not ready");
+            }
+            applied.add((int) entry[0]);
+        }, 1, 16);
+
+        applier.start();
+        assertThat(attempted.await(5, TimeUnit.SECONDS)).isTrue();
+        applier.close();
+
+        assertThat(applied).isEmpty();
+        verify(consumer, never()).acknowledgeAsync(any(Message.class));
+        verify(consumer).close();
+    }
+
+    private static LoadConfig config() {
+        LoadConfig config = mock(LoadConfig.class);
+        when(config.getLogTopic()).thenReturn("log-topic");
+        when(config.getApplierSubscription()).thenReturn("log-applier-subscription");
+        return config;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PulsarClient client(Consumer<byte[]> consumer) throws Exception {
+        PulsarClient client = mock(PulsarClient.class);
+        ConsumerBuilder<byte[]> builder = mock(ConsumerBuilder.class, RETURNS_SELF);
+        when(client.newConsumer()).thenReturn(builder);
+        when(builder.subscribe()).thenReturn(consumer);
+        return client;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Message<byte[]> entry(String key, int value) {
+        Message<byte[]> msg = mock(Message.class);
+        when(msg.hasKey()).thenReturn(true);
+        when(msg.getKey()).thenReturn(key);
+        when(msg.getData()).thenReturn(new byte[]{(byte) value});
+        return msg;
+    }
+}
@@ -0,0 +1,30 @@
+package com.banking.observability;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing count. Increments from many threads go to separate cells and are only
+ * summed when the value is read.
+ */
+public final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Counters only go up: " + amount);
+        }
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,26 @@
+package com.banking.observability;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Value read from its owner when metrics are scraped, such as a pool size or a leadership flag.
+ * Reports {@code NaN} until {@link #track} is called.
+ */
+public final class Gauge {
+
+    private volatile DoubleSupplier value = () -> Double.NaN;
+
+    Gauge() {
+    }
+
+    /**
+     * Reads the gauge from {@code value} from now on. The supplier runs on the scraping thread.
+     */
+    public void track(DoubleSupplier value) {
+        this.value = value;
+    }
+
+    public double get() {
+        return value.getAsDouble();
+    }
+}
@@ -0,0 +1,82 @@
+package com.banking.observability;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency distribution over fixed buckets from 50µs to 10s, exported in seconds.
+ * <p>
+ * Recording is a binary search over the bucket bounds and two {@link LongAdder} increments; no
+ * allocation and no lock. Counts are stored per bucket and only made cumulative when scraped.
+ */
+public final class LatencyHistogram {
+
+    private static final long[] UPPER_BOUNDS_NANOS = {
+            50_000, 100_000, 250_000, 500_000,
+            1_000_000, 2_500_000, 5_000_000,
+            10_000_000, 25_000_000, 50_000_000,
+            100_000_000, 250_000_000, 500_000_000,
+            1_000_000_000, 2_500_000_000L, 5_000_000_000L, 10_000_000_000L
+    };
+
+    static final String[] UPPER_BOUNDS_SECONDS = Arrays.stream(UPPER_BOUNDS_NANOS)
+            .mapToObj(nanos -> BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString())
+            .toArray(String[]::new);
+
+    // One more than the bounds: the last cell counts observations above 10s
+    private final LongAdder[] buckets = new LongAdder[UPPER_BOUNDS_NANOS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        recordNanos(unit.toNanos(duration));
+    }
+
+    public void recordNanos(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        int index = Arrays.binarySearch(UPPER_BOUNDS_NANOS, nanos);
+        buckets[index >= 0 ? index : -index - 1].increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, a {@link System#nanoTime()} reading.
+     */
+    public void recordSince(long startNanos) {
+        recordNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return cumulative counts per bucket bound, with the total count last
+     */
+    long[] cumulativeCounts() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            total += buckets[i].sum();
+            counts[i] = total;
+        }
+        return counts;
+    }
+
+    public long count() {
+        long total = 0;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+
+    public double sumSeconds() {
+        return sumNanos.sum() / 1e9;
+    }
+}
@@ -0,0 +1,55 @@
+package com.banking.observability;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * All series of one metric name, one per combination of label values. Resolve the series for fixed
+ * labels once and keep it in a field; {@link #labels} is a map lookup.
+ */
+public final class MetricFamily<M> {
+
+    public enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+
+    private final String name;
+    private final String help;
+    private final Type type;
+    private final List<String> labelNames;
+    private final Supplier<M> factory;
+    private final Map<List<String>, M> series = new ConcurrentHashMap<>();
+
+    MetricFamily(String name, String help, Type type, List<String> labelNames, Supplier<M> factory) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = labelNames;
+        this.factory = factory;
+    }
+
+    /**
+     * @param labelValues one value per label name, in the order the family was registered with
+     */
+    public M labels(String... labelValues) {
+        if (labelValues.length != labelNames.size()) {
+            throw new IllegalArgumentException(name + " expects labels " + labelNames
+                    + " but got " + Arrays.toString(labelValues));
+        }
+        List<String> key = List.of(labelValues);
+        M existing = series.get(key);
+        return existing != null ? existing : series.computeIfAbsent(key, k -> factory.get());
+    }
+
+    public String getName() { return name; }
+    public String getHelp() { return help; }
+    public Type getType() { return type; }
+    public List<String> getLabelNames() { return labelNames; }
+
+    Map<List<String>, M> series() {
+        return series;
+    }
+}
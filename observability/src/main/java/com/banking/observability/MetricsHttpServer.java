@@ -0,0 +1,86 @@
+package com.banking.observability;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves a {@link MetricsRegistry} at {@code GET /metrics} for Prometheus to scrape, on the JDK's
+ * built-in HTTP server. Scrapes are handled one at a time on a single daemon thread.
+ */
+public class MetricsHttpServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHttpServer.class);
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final MetricsRegistry registry;
+
+    public MetricsHttpServer(int port, MetricsRegistry registry) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+    }
+
+    public MetricsHttpServer start() {
+        server.start();
+        logger.info("Metrics endpoint listening on port {}", getPort());
+        return this;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream(16 * 1024);
+            try (Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8)) {
+                registry.writeTo(writer);
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                body.writeTo(out);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to serve metrics", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+        logger.info("Metrics endpoint stopped");
+    }
+}
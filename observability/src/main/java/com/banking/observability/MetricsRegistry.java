@@ -0,0 +1,151 @@
+package com.banking.observability;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the metric families of a process and renders them in the Prometheus text exposition format.
+ * <p>
+ * Registering a name that already exists returns the existing family, so components that are built
+ * more than once share their series. Registering it again with another type or other labels is a bug
+ * and throws. Counter names end in {@code _total} by convention; the registry does not add it.
+ */
+public class MetricsRegistry {
+
+    public static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private static final Pattern METRIC_NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final Pattern LABEL_NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+    private final Map<String, MetricFamily<?>> families = new ConcurrentHashMap<>();
+
+    public MetricFamily<Counter> counter(String name, String help, String... labelNames) {
+        return register(name, help, MetricFamily.Type.COUNTER, labelNames, Counter::new);
+    }
+
+    public MetricFamily<Gauge> gauge(String name, String help, String... labelNames) {
+        return register(name, help, MetricFamily.Type.GAUGE, labelNames, Gauge::new);
+    }
+
+    public MetricFamily<LatencyHistogram> histogram(String name, String help, String... labelNames) {
+        return register(name, help, MetricFamily.Type.HISTOGRAM, labelNames, LatencyHistogram::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <M> MetricFamily<M> register(String name, String help, MetricFamily.Type type, String[] labelNames,
+                                         Supplier<M> factory) {
+        if (!METRIC_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        for (String labelName : labelNames) {
+            if (!LABEL_NAME.matcher(labelName).matches() || labelName.startsWith("__")) {
+                throw new IllegalArgumentException("Invalid label name for " + name + ": " + labelName);
+            }
+        }
+        List<String> labels = List.of(labelNames);
+        MetricFamily<?> family = families.computeIfAbsent(name,
+                n -> new MetricFamily<>(n, help, type, labels, factory));
+        if (family.getType() != type || !family.getLabelNames().equals(labels)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.getType()
+                    + " with labels " + family.getLabelNames());
+        }
+        return (MetricFamily<M>) family;
+    }
+
+    //=== Exposition ===//
+
+    /**
+     * Writes every family, sorted by name, in the Prometheus text format version 0.0.4.
+     */
+    public void writeTo(Writer out) throws IOException {
+        List<MetricFamily<?>> sorted = new ArrayList<>(families.values());
+        sorted.sort(Comparator.comparing(MetricFamily::getName));
+        for (MetricFamily<?> family : sorted) {
+            String name = family.getName();
+            out.write("# HELP " + name + " " + escapeHelp(family.getHelp()) + "\n");
+            out.write("# TYPE " + name + " " + family.getType().name().toLowerCase(Locale.ROOT) + "\n");
+            for (Map.Entry<List<String>, ?> series : family.series().entrySet()) {
+                String labels = labels(family.getLabelNames(), series.getKey());
+                switch (series.getValue()) {
+                    case Counter counter -> sample(out, name, labels, Long.toString(counter.get()));
+                    case Gauge gauge -> sample(out, name, labels, formatDouble(gauge.get()));
+                    case LatencyHistogram histogram -> writeHistogram(out, name, family.getLabelNames(),
+                            series.getKey(), histogram);
+                    default -> throw new IllegalStateException("Unknown metric " + series.getValue());
+                }
+            }
+        }
+    }
+
+    private static void writeHistogram(Writer out, String name, List<String> labelNames, List<String> labelValues,
+                                       LatencyHistogram histogram) throws IOException {
+        List<String> bucketLabelNames = new ArrayList<>(labelNames);
+        bucketLabelNames.add("le");
+        long[] counts = histogram.cumulativeCounts();
+        for (int i = 0; i < counts.length; i++) {
+            List<String> bucketLabelValues = new ArrayList<>(labelValues);
+            bucketLabelValues.add(i < LatencyHistogram.UPPER_BOUNDS_SECONDS.length
+                    ? LatencyHistogram.UPPER_BOUNDS_SECONDS[i] : "+Inf");
+            sample(out, name + "_bucket", labels(bucketLabelNames, bucketLabelValues), Long.toString(counts[i]));
+        }
+        String labels = labels(labelNames, labelValues);
+        // The sum is read after the buckets, so under load it may include a few more observations
+        sample(out, name + "_sum", labels, formatDouble(histogram.sumSeconds()));
+        sample(out, name + "_count", labels, Long.toString(counts[counts.length - 1]));
+    }
+
+    private static void sample(Writer out, String name, String labels, String value) throws IOException {
+        out.write(name);
+        out.write(labels);
+        out.write(' ');
+        out.write(value);
+        out.write('\n');
+    }
+
+    private static String labels(List<String> names, List<String> values) {
+        if (names.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(names.get(i)).append("=\"");
+            String value = values.get(i);
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                switch (c) {
+                    case '\\' -> sb.append("\\\\");
+                    case '"' -> sb.append("\\\"");
+                    case '\n' -> sb.append("\\n");
+                    default -> sb.append(c);
+                }
+            }
+            sb.append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String formatDouble(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,29 @@
+package com.banking.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One account service operation, such as a deposit or a transfer.
+ */
+@Name("com.banking.AccountOperation")
+@Label("Account Operation")
+@Category({"Banking", "Service"})
+@Description("An account service operation; asynchronous ones last until their future completes")
+@StackTrace(false)
+public class AccountOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Account Id")
+    @Description("The account operated on, or the source account of a transfer")
+    public String accountId;
+
+    @Label("Error")
+    @Description("Simple name of the exception the operation failed with, null when it succeeded")
+    public String error;
+}
@@ -0,0 +1,32 @@
+package com.banking.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One DAO call, from borrowing the connection until the result is returned or the call threw.
+ */
+@Name("com.banking.DaoStatement")
+@Label("DAO Statement")
+@Category({"Banking", "Database"})
+@Description("A DAO call, including the wait for a pooled connection")
+@StackTrace(false)
+public class DaoStatementEvent extends jdk.jfr.Event {
+
+    @Label("DAO")
+    public String dao;
+
+    @Label("Statement")
+    @Description("Which DAO method ran, e.g. find_by_id")
+    public String statement;
+
+    @Label("Rows")
+    @Description("Rows returned or written, -1 when the call does not report it")
+    public int rows;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,23 @@
+package com.banking.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This node gained or lost leadership. Rare, so it keeps its stack trace.
+ */
+@Name("com.banking.LeadershipChange")
+@Label("Leadership Change")
+@Category({"Banking", "Coordination"})
+public class LeadershipChangeEvent extends jdk.jfr.Event {
+
+    @Label("Latch Path")
+    public String latchPath;
+
+    @Label("Node Id")
+    public String nodeId;
+
+    @Label("Leader")
+    public boolean leader;
+}
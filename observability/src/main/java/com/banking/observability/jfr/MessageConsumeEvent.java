@@ -0,0 +1,32 @@
+package com.banking.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A consumed message or batch of messages, from the moment it was received until it was acknowledged.
+ */
+@Name("com.banking.MessageConsume")
+@Label("Message Consume")
+@Category({"Banking", "Messaging"})
+@StackTrace(false)
+public class MessageConsumeEvent extends jdk.jfr.Event {
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Message Id")
+    @Description("The first message of a batch")
+    public String messageId;
+
+    @Label("Messages")
+    public int messages;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,27 @@
+package com.banking.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A message published to the broker, until the broker acknowledged or rejected it.
+ */
+@Name("com.banking.MessageSend")
+@Label("Message Send")
+@Category({"Banking", "Messaging"})
+@StackTrace(false)
+public class MessageSendEvent extends jdk.jfr.Event {
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Size")
+    @DataAmount
+    public int bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,77 @@
+package com.banking.observability;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    void counter_SameNameTwice_ShouldShareSeries() {
+        registry.counter("calls_total", "Calls", "method").labels("a").increment();
+        registry.counter("calls_total", "Calls", "method").labels("a").add(2);
+
+        assertThat(registry.counter("calls_total", "Calls", "method").labels("a").get()).isEqualTo(3);
+    }
+
+    @Test
+    void register_SameNameWithOtherType_ShouldThrow() {
+        registry.counter("calls_total", "Calls", "method");
+
+        assertThatThrownBy(() -> registry.histogram("calls_total", "Calls", "method"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void labels_WrongNumberOfValues_ShouldThrow() {
+        MetricFamily<Counter> family = registry.counter("calls_total", "Calls", "method", "code");
+
+        assertThatThrownBy(() -> family.labels("a")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void histogram_ShouldBucketByUpperBound() {
+        LatencyHistogram histogram = registry.histogram("latency_seconds", "Latency").labels();
+        histogram.record(100, TimeUnit.MICROSECONDS);
+        histogram.record(3, TimeUnit.MILLISECONDS);
+        histogram.record(20, TimeUnit.SECONDS);
+
+        assertThat(histogram.count()).isEqualTo(3);
+        assertThat(histogram.sumSeconds()).isCloseTo(20.0031, within(1e-9));
+        long[] counts = histogram.cumulativeCounts();
+        assertThat(counts[0]).isZero();
+        assertThat(counts[1]).isEqualTo(1);
+        assertThat(counts[6]).isEqualTo(2);
+        assertThat(counts[counts.length - 2]).isEqualTo(2);
+        assertThat(counts[counts.length - 1]).isEqualTo(3);
+    }
+
+    @Test
+    void writeTo_ShouldRenderPrometheusText() throws IOException {
+        registry.counter("calls_total", "Calls by \"method\"", "method").labels("a\"b").increment();
+        registry.gauge("pool_size", "Pool size").labels().track(() -> 4);
+        registry.histogram("latency_seconds", "Latency", "op").labels("get").record(1, TimeUnit.MILLISECONDS);
+
+        StringWriter out = new StringWriter();
+        registry.writeTo(out);
+
+        assertThat(out.toString())
+                .contains("# TYPE calls_total counter\n")
+                .contains("calls_total{method=\"a\\\"b\"} 1\n")
+                .contains("# TYPE pool_size gauge\npool_size 4.0\n")
+                .contains("latency_seconds_bucket{op=\"get\",le=\"0.0005\"} 0\n")
+                .contains("latency_seconds_bucket{op=\"get\",le=\"0.001\"} 1\n")
+                .contains("latency_seconds_bucket{op=\"get\",le=\"+Inf\"} 1\n")
+                .contains("latency_seconds_sum{op=\"get\"} 0.001\n")
+                .contains("latency_seconds_count{op=\"get\"} 1\n");
+        assertThat(out.toString().indexOf("calls_total")).isLessThan(out.toString().indexOf("latency_seconds"));
+    }
+}
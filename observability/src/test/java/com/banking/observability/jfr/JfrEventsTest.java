@@ -0,0 +1,58 @@
+package com.banking.observability.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrEventsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void daoStatementEvent_ShouldBeRecordedWithItsFields() throws IOException {
+        Path file = dir.resolve("dao.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(DaoStatementEvent.class);
+            recording.start();
+
+            DaoStatementEvent event = new DaoStatementEvent();
+            event.begin();
+            event.end();
+            event.dao = "account";
+            event.statement = "find_by_id";
+            event.rows = 1;
+            event.succeeded = true;
+            event.commit();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).hasSize(1);
+        RecordedEvent recorded = events.get(0);
+        assertThat(recorded.getEventType().getName()).isEqualTo("com.banking.DaoStatement");
+        assertThat(recorded.getString("statement")).isEqualTo("find_by_id");
+        assertThat(recorded.getInt("rows")).isEqualTo(1);
+        assertThat(recorded.getBoolean("succeeded")).isTrue();
+        assertThat(recorded.getStackTrace()).isNull();
+    }
+
+    @Test
+    void events_WithoutRecording_ShouldNotCommit() {
+        AccountOperationEvent event = new AccountOperationEvent();
+        event.begin();
+        event.end();
+
+        assertThat(event.shouldCommit()).isFalse();
+    }
+}